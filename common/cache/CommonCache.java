@@ -20,6 +20,7 @@ package grakn.core.common.cache;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
@@ -50,6 +51,10 @@ public class CommonCache<KEY, VALUE> {
 
     public VALUE getIfPresent(KEY key) { return cache.getIfPresent(key); }
 
+    public void forEach(BiConsumer<KEY, VALUE> consumer) {
+        cache.asMap().forEach(consumer);
+    }
+
     public void clear() {
         cache.invalidateAll();
     }
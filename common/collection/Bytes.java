@@ -20,12 +20,14 @@ package grakn.core.common.collection;
 
 import grakn.core.common.exception.GraknCheckedException;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.UUID;
 
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
@@ -34,6 +36,7 @@ import static java.util.Arrays.copyOfRange;
 public class Bytes {
 
     public static final int SHORT_SIZE = 2;
+    public static final int CHAR_SIZE = 2;
     public static final int SHORT_UNSIGNED_MAX_VALUE = 65_535; // (2 ^ SHORT_SIZE x 8) - 1
     public static final int INTEGER_SIZE = 4;
     public static final int LONG_SIZE = 8;
@@ -68,6 +71,33 @@ public class Bytes {
         return true;
     }
 
+    /**
+     * Returns the smallest byte array that is greater than every byte array that begins with
+     * the given prefix, in unsigned byte order, or null if there is no such byte array.
+     *
+     * @param prefix the prefix of the byte arrays to be bounded
+     * @return the exclusive upper bound of the byte arrays that begin with the prefix
+     */
+    @Nullable
+    public static byte[] nextPrefix(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xFF) {
+                byte[] bound = Arrays.copyOf(prefix, i + 1);
+                bound[i]++;
+                return bound;
+            }
+        }
+        return null;
+    }
+
+    public static int compareUnsigned(byte[] bytes1, byte[] bytes2) {
+        for (int i = 0; i < Math.min(bytes1.length, bytes2.length); i++) {
+            int comparison = Integer.compare(bytes1[i] & 0xff, bytes2[i] & 0xff);
+            if (comparison != 0) return comparison;
+        }
+        return Integer.compare(bytes1.length, bytes2.length);
+    }
+
     public static byte[] unsignedShortToBytes(int num) {
         byte[] bytes = new byte[SHORT_SIZE];
         bytes[1] = (byte) (num);
@@ -194,6 +224,36 @@ public class Bytes {
         return new String(x, encoding);
     }
 
+    /**
+     * Convert {@code String} to lexicographically sorted bytes.
+     *
+     * Every UTF-16 code unit of the string is written as 2 big-endian bytes,
+     * without a length prefix, so that the unsigned byte order of the result
+     * is exactly the order of {@code String.compareTo()}, and every prefix of
+     * the string is encoded as a prefix of the bytes.
+     *
+     * @param value the {@code String} value to convert
+     * @return the sorted byte representation of the {@code String} value
+     */
+    public static byte[] stringToSortedBytes(String value) {
+        byte[] bytes = new byte[value.length() * CHAR_SIZE];
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            bytes[i * CHAR_SIZE] = (byte) (c >> 8);
+            bytes[i * CHAR_SIZE + 1] = (byte) c;
+        }
+        return bytes;
+    }
+
+    public static String sortedBytesToString(byte[] bytes) {
+        assert bytes.length % CHAR_SIZE == 0;
+        char[] chars = new char[bytes.length / CHAR_SIZE];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (((bytes[i * CHAR_SIZE] & 0xff) << 8) | (bytes[i * CHAR_SIZE + 1] & 0xff));
+        }
+        return new String(chars);
+    }
+
     public static byte booleanToByte(boolean value) {
         return (byte) (value ? 1 : 0);
     }
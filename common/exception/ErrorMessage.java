@@ -67,6 +67,12 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Server(15, "Iteration was requested for ID '%s', but this ID does not correspond to an existing query iterator.");
         public static final Server DUPLICATE_REQUEST =
                 new Server(16, "The request with ID '%s' is a duplicate.");
+        public static final Server BAD_OPTION_VALUE =
+                new Server(17, "The value '%s' of the option '%s' was not recognised.");
+        public static final Server UNPREPARED_QUERY_PARAMETER =
+                new Server(18, "The parameter '%s' was given for a query that is not prepared.");
+        public static final Server PROFILED_PREPARED_QUERY =
+                new Server(19, "A prepared query cannot be profiled.");
 
         private static final String codePrefix = "SRV";
         private static final String messagePrefix = "Invalid Server Operation";
@@ -117,6 +123,12 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Database(3, "Database with the name '%s' has been deleted.");
         public static final Database DATABASE_CLOSED =
                 new Database(4, "Attempted to open a new session from the database '%s' that has been closed.");
+        public static final Database INCOMPATIBLE_STORAGE_FORMAT =
+                new Database(5, "The database '%s' was stored in an older storage format, and has to be exported " +
+                        "and imported again to be opened.");
+        public static final Database BULK_LOAD_IN_PROGRESS =
+                new Database(6, "The database '%s' is being bulk loaded, and cannot be used by another session or " +
+                        "transaction until the load is complete.");
 
         private static final String codePrefix = "DBS";
         private static final String messagePrefix = "Invalid Database Operations";
@@ -169,6 +181,9 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Transaction(12, "The transaction type '%s' was not recognised.");
         public static final Transaction DATA_ACQUIRE_LOCK_TIMEOUT =
                 new Transaction(13, "Could not acquire lock for data transaction. A schema session may have been left open.");
+        public static final Transaction BULK_LOAD_NOT_EXCLUSIVE =
+                new Transaction(14, "A bulk load transaction has to be the only transaction of the only session open " +
+                        "on the database '%s'.");
 
         private static final String codePrefix = "TXN";
         private static final String messagePrefix = "Invalid Transaction Operation";
@@ -242,6 +257,10 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new ThingRead(9, "The variable '%s' cannot be used to calculate aggregate functions, as it contains non-numeric values.");
         public static final ThingRead NUMERIC_IS_NOT_NUMBER =
                 new ThingRead(10, "The numeric value is not a valid number (NaN).");
+        public static final ThingRead INVALID_PARAMETER_LITERAL =
+                new ThingRead(11, "The parameter '%s' cannot be bound to '%s', which is neither a value nor an IID.");
+        public static final ThingRead INVALID_PARAMETER_VALUE_TYPE =
+                new ThingRead(12, "The parameter '%s' cannot be bound to the value '%s', as none of its attribute types has a comparable value type.");
 
         private static final String codePrefix = "THR";
         private static final String messagePrefix = "Invalid Thing Read";
@@ -22,6 +22,7 @@ import grakn.common.collection.Either;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
@@ -76,6 +77,16 @@ public class Iterators {
         return new LinkedIterators<>(converted);
     }
 
+    public static <T> ResourceIterator<T> merge(ResourceIterator<T> sorted1, ResourceIterator<T> sorted2,
+                                                Comparator<? super T> comparator) {
+        return new SortedMergeIterator<>(sorted1, sorted2, comparator);
+    }
+
+    public static <T> ResourceIterator<T> intersect(List<ResourceIterator<T>> sortedIterators,
+                                                    Comparator<? super T> comparator) {
+        return new SortedIntersectionIterator<>(sortedIterators, comparator);
+    }
+
     public static <T> ResourceIterator<T> loop(T seed, Predicate<T> predicate, UnaryOperator<T> function) {
         return new LoopIterator<>(seed, predicate, function);
     }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.common.iterator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Intersects iterators that are each sorted by the same comparator, and distinct within
+ * themselves, into one sorted iterator of the elements that are in every one of them,
+ * which are returned from the first iterator. The iterators are advanced in lockstep,
+ * so this only ever holds on to the current element of each iterator.
+ */
+class SortedIntersectionIterator<T> extends AbstractResourceIterator<T> {
+
+    private final List<ResourceIterator<T>> iterators;
+    private final Comparator<? super T> comparator;
+    private final List<T> heads;
+    private T next;
+    private boolean isExhausted;
+
+    SortedIntersectionIterator(List<ResourceIterator<T>> iterators, Comparator<? super T> comparator) {
+        assert !iterators.isEmpty();
+        this.iterators = iterators;
+        this.comparator = comparator;
+        this.heads = new ArrayList<>(iterators.size());
+        for (int i = 0; i < iterators.size(); i++) heads.add(null);
+        this.next = null;
+        this.isExhausted = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !isExhausted) fetchNext();
+        return next != null;
+    }
+
+    private void fetchNext() {
+        T candidate = null;
+        int agreed = 0;
+        // cycle through the iterators, advancing each to the candidate, until all of them agree on it
+        for (int i = 0; agreed < iterators.size(); i = (i + 1) % iterators.size()) {
+            T head = advance(i, candidate);
+            if (head == null) {
+                isExhausted = true;
+                recycle();
+                return;
+            } else if (candidate != null && comparator.compare(head, candidate) == 0) {
+                agreed++;
+            } else {
+                candidate = head;
+                agreed = 1;
+            }
+        }
+        next = heads.get(0);
+        for (int i = 0; i < heads.size(); i++) heads.set(i, null);
+    }
+
+    private T advance(int index, T target) {
+        T head = heads.get(index);
+        ResourceIterator<T> iterator = iterators.get(index);
+        while (head == null || (target != null && comparator.compare(head, target) < 0)) {
+            if (!iterator.hasNext()) return null;
+            head = iterator.next();
+        }
+        heads.set(index, head);
+        return head;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        T result = next;
+        next = null;
+        return result;
+    }
+
+    @Override
+    public void recycle() {
+        iterators.forEach(ResourceIterator::recycle);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.common.iterator;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class SortedIntersectionIteratorTest {
+
+    @SafeVarargs
+    private static List<Integer> intersect(List<Integer>... sorted) {
+        List<ResourceIterator<Integer>> iterators = new ArrayList<>();
+        for (List<Integer> list : sorted) iterators.add(iterate(list));
+        return new SortedIntersectionIterator<>(iterators, Comparator.naturalOrder()).toList();
+    }
+
+    @Test
+    public void test_intersection_returns_common_elements_in_order() {
+        assertEquals(list(3, 7, 9), intersect(list(1, 3, 5, 7, 9), list(2, 3, 7, 8, 9), list(3, 4, 7, 9, 10)));
+        assertEquals(list(5), intersect(list(1, 5), list(5, 9)));
+        assertEquals(list(1, 2, 3), intersect(list(1, 2, 3), list(1, 2, 3)));
+        assertEquals(list(1, 2, 3), intersect(list(1, 2, 3)));
+    }
+
+    @Test
+    public void test_intersection_of_disjoint_or_empty_iterators_is_empty() {
+        assertEquals(list(), intersect(list(1, 3, 5), list(2, 4, 6)));
+        assertEquals(list(), intersect(list(1, 2, 3), list()));
+        assertEquals(list(), intersect(list(), list(1, 2, 3)));
+        assertEquals(list(), intersect(list()));
+
+        SortedIntersectionIterator<Integer> it = new SortedIntersectionIterator<>(
+                list(iterate(list(1)), iterate(list(2))), Comparator.naturalOrder()
+        );
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException ignored) {
+        }
+    }
+
+    @Test
+    public void test_intersection_returns_elements_from_the_first_iterator() {
+        String a1 = "a1", c1 = "c1", a2 = "a2", b2 = "b2", c2 = "c2";
+        Comparator<String> byLetter = Comparator.comparing(s -> s.charAt(0));
+        List<String> intersection = new SortedIntersectionIterator<>(
+                list(iterate(list(a1, c1)), iterate(list(a2, b2, c2))), byLetter
+        ).toList();
+        assertEquals(2, intersection.size());
+        assertSame(a1, intersection.get(0));
+        assertSame(c1, intersection.get(1));
+    }
+
+    @Test
+    public void test_intersection_recycles_its_iterators_once_exhausted() {
+        RecyclableIterator<Integer> first = new RecyclableIterator<>(iterate(list(1, 2)));
+        RecyclableIterator<Integer> second = new RecyclableIterator<>(iterate(list(2, 3)));
+        SortedIntersectionIterator<Integer> it = new SortedIntersectionIterator<>(
+                list(first, second), Comparator.naturalOrder()
+        );
+        assertEquals(2, (int) it.next());
+        assertFalse(first.isRecycled || second.isRecycled);
+        assertFalse(it.hasNext());
+        assertTrue(first.isRecycled && second.isRecycled);
+    }
+
+    private static class RecyclableIterator<T> extends AbstractResourceIterator<T> {
+
+        private final ResourceIterator<T> iterator;
+        private boolean isRecycled;
+
+        RecyclableIterator(ResourceIterator<T> iterator) {
+            this.iterator = iterator;
+            this.isRecycled = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iterator.hasNext();
+        }
+
+        @Override
+        public T next() {
+            return iterator.next();
+        }
+
+        @Override
+        public void recycle() {
+            isRecycled = true;
+            iterator.recycle();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.common.iterator;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+
+/**
+ * Merges two iterators that are each sorted by the same comparator, and distinct within
+ * themselves, into one sorted iterator. Elements that are equal by the comparator in both
+ * iterators are returned once, from the first iterator. Unlike {@code DistinctIterator},
+ * this only ever holds on to the next element of each iterator.
+ */
+class SortedMergeIterator<T> extends AbstractResourceIterator<T> {
+
+    private final ResourceIterator<T> first;
+    private final ResourceIterator<T> second;
+    private final Comparator<? super T> comparator;
+    private T firstNext;
+    private T secondNext;
+
+    SortedMergeIterator(ResourceIterator<T> first, ResourceIterator<T> second, Comparator<? super T> comparator) {
+        this.first = first;
+        this.second = second;
+        this.comparator = comparator;
+        this.firstNext = null;
+        this.secondNext = null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (firstNext == null && first.hasNext()) firstNext = first.next();
+        if (secondNext == null && second.hasNext()) secondNext = second.next();
+        return firstNext != null || secondNext != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        T result;
+        if (secondNext == null) {
+            result = firstNext;
+            firstNext = null;
+        } else if (firstNext == null) {
+            result = secondNext;
+            secondNext = null;
+        } else {
+            int comparison = comparator.compare(firstNext, secondNext);
+            if (comparison <= 0) {
+                result = firstNext;
+                firstNext = null;
+                if (comparison == 0) secondNext = null;
+            } else {
+                result = secondNext;
+                secondNext = null;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void recycle() {
+        first.recycle();
+        second.recycle();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.common.iterator;
+
+import org.junit.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.fail;
+
+public class SortedMergeIteratorTest {
+
+    private static List<Integer> merge(List<Integer> first, List<Integer> second) {
+        return new SortedMergeIterator<>(iterate(first), iterate(second), Comparator.naturalOrder()).toList();
+    }
+
+    @Test
+    public void test_merge_interleaves_in_order() {
+        assertEquals(list(1, 2, 3, 4, 5, 6, 7), merge(list(1, 3, 5, 7), list(2, 4, 6)));
+        assertEquals(list(1, 2, 3, 4, 5, 6), merge(list(4, 5, 6), list(1, 2, 3)));
+    }
+
+    @Test
+    public void test_merge_returns_duplicates_once_from_the_first_iterator() {
+        String a1 = "a1", c1 = "c1", a2 = "a2", b2 = "b2", c2 = "c2";
+        Comparator<String> byLetter = Comparator.comparing(s -> s.charAt(0));
+        List<String> merged = new SortedMergeIterator<>(
+                iterate(list(a1, c1)), iterate(list(a2, b2, c2)), byLetter
+        ).toList();
+        assertEquals(3, merged.size());
+        assertSame(a1, merged.get(0));
+        assertSame(b2, merged.get(1));
+        assertSame(c1, merged.get(2));
+
+        assertEquals(list(1, 2, 3), merge(list(1, 2, 3), list(1, 2, 3)));
+    }
+
+    @Test
+    public void test_merge_of_empty_iterators() {
+        assertEquals(list(), merge(list(), list()));
+        assertEquals(list(1, 2), merge(list(), list(1, 2)));
+        assertEquals(list(1, 2), merge(list(1, 2), list()));
+
+        SortedMergeIterator<Integer> it = new SortedMergeIterator<>(
+                iterate(list()), iterate(list()), Comparator.<Integer>naturalOrder()
+        );
+        assertFalse(it.hasNext());
+        try {
+            it.next();
+            fail();
+        } catch (NoSuchElementException ignored) {
+        }
+    }
+}
@@ -31,8 +31,14 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final boolean DEFAULT_INFER = false;
     public static final boolean DEFAULT_EXPLAIN = false;
     public static final boolean DEFAULT_PARALLEL = true;
+    public static final boolean DEFAULT_BULK_LOAD = false;
     public static final boolean DEFAULT_QUERY_READ_PREFETCH = true;
     public static final boolean DEFAULT_QUERY_WRITE_PREFETCH = false;
+    public static final long DEFAULT_STORAGE_MEMORY_BUDGET_MB = 1024;
+    public static final boolean DEFAULT_SUBSTRING_INDEX = false;
+    public static final boolean DEFAULT_PLAN_STORE = false;
+    public static final boolean DEFAULT_APPROXIMATE_AGGREGATES = false;
+    public static final double DEFAULT_REPLAN_COST_RATIO = 10.0;
 
     private PARENT parent;
     private Boolean infer = null;
@@ -40,6 +46,8 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     private Integer batchSize = null;
     private Integer sessionIdlTimeoutMillis = null;
     private Integer schemaLockAcquireTimeoutMillis = null;
+    private Boolean bulkLoad = null;
+    private Double replanCostRatio = null;
 
     protected Boolean prefetch = null;
 
@@ -105,13 +113,93 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    /**
+     * Returns whether data write transactions load their writes into storage in bulk:
+     * bypassing conflict detection and the memtables, and ingesting sorted files instead.
+     * This is only safe when the loading transactions are the only writers of the database.
+     */
+    public boolean bulkLoad() {
+        if (bulkLoad != null) return bulkLoad;
+        else if (parent != null) return parent.bulkLoad();
+        else return DEFAULT_BULK_LOAD;
+    }
+
+    public SELF bulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+        return getThis();
+    }
+
+    /**
+     * Returns how many times more than its plan estimated an edge of a traversal has to be observed to cost
+     * before the traversal is planned again, and restarted with the new plan if it has not answered anything yet.
+     */
+    public double replanCostRatio() {
+        if (replanCostRatio != null) return replanCostRatio;
+        else if (parent != null) return parent.replanCostRatio();
+        else return DEFAULT_REPLAN_COST_RATIO;
+    }
+
+    public SELF replanCostRatio(double replanCostRatio) {
+        if (replanCostRatio < 1) throw GraknException.of(ILLEGAL_ARGUMENT);
+        this.replanCostRatio = replanCostRatio;
+        return getThis();
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
+        private Long storageMemoryBudgetMB = null;
+        private Boolean substringIndex = null;
+        private Boolean planStore = null;
+
         @Override
         Database getThis() {
             return this;
         }
 
+        /**
+         * Returns the memory, in megabytes, that the storage of all databases of a
+         * server may use for its block cache and memtables together.
+         */
+        public long storageMemoryBudgetMB() {
+            if (storageMemoryBudgetMB != null) return storageMemoryBudgetMB;
+            else return DEFAULT_STORAGE_MEMORY_BUDGET_MB;
+        }
+
+        public Database storageMemoryBudgetMB(long storageMemoryBudgetMB) {
+            if (storageMemoryBudgetMB <= 0) throw GraknException.of(ILLEGAL_ARGUMENT);
+            this.storageMemoryBudgetMB = storageMemoryBudgetMB;
+            return this;
+        }
+
+        /**
+         * Returns whether databases created from now on maintain a trigram index of their
+         * string attributes, which {@code contains} and {@code like} predicates are looked up by.
+         * A database keeps the setting it was created with for as long as it exists.
+         */
+        public boolean substringIndex() {
+            if (substringIndex != null) return substringIndex;
+            else return DEFAULT_SUBSTRING_INDEX;
+        }
+
+        public Database substringIndex(boolean substringIndex) {
+            this.substringIndex = substringIndex;
+            return this;
+        }
+
+        /**
+         * Returns whether databases store their query plans and type resolutions when they close,
+         * and restore them when they are opened again, rather than plan every query from scratch.
+         */
+        public boolean planStore() {
+            if (planStore != null) return planStore;
+            else return DEFAULT_PLAN_STORE;
+        }
+
+        public Database planStore(boolean planStore) {
+            this.planStore = planStore;
+            return this;
+        }
+
         public Database parent(Options<?, ?> parent) {
             throw GraknException.of(ILLEGAL_ARGUMENT);
         }
@@ -136,6 +224,7 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static class Query extends Options<Transaction, Query> {
 
         private Boolean parallel = null;
+        private Boolean approximateAggregates = null;
         private GraqlQuery query = null;
 
         @Override
@@ -177,5 +266,19 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
             this.parallel = parallel;
             return this;
         }
+
+        /**
+         * Returns whether aggregates may be approximated with bounded error, in constant memory,
+         * where they would otherwise have to hold on to every value or answer that they aggregate.
+         */
+        public boolean approximateAggregates() {
+            if (approximateAggregates != null) return approximateAggregates;
+            return DEFAULT_APPROXIMATE_AGGREGATES;
+        }
+
+        public Query approximateAggregates(boolean approximateAggregates) {
+            this.approximateAggregates = approximateAggregates;
+            return this;
+        }
     }
 }
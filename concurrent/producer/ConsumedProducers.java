@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.exception.GraknException;
+
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static grakn.core.concurrent.common.ExecutorService.async;
+
+/**
+ * Drives a list of producers, one after another, to produce every one of their items, which are
+ * passed to a consumer on the threads that produced them, rather than handed over to the caller
+ * through a queue. The consumer is therefore called concurrently, and must be thread-safe.
+ *
+ * Requests are sent to the producer in batches, and a new batch is requested once half of the
+ * previous batch has been consumed, to keep every thread of the producer busy until it is done.
+ * The protocol relies on the following invariants:
+ *
+ * - Only the producer at the head of the queue is ever sent requests, and it is only removed
+ *   when it calls {@code done()}, which every producer does at most once, after its last item.
+ * - {@code pending} is the number of items requested from the head producer that have not been
+ *   consumed yet. Every request adds a batch to it, and every consumed item takes one from it.
+ * - {@code pending} is decremented atomically, so exactly one consumer sees it drop to half a batch,
+ *   and requests the next batch. No more than one and a half batches are ever outstanding.
+ * - A producer that is done has no outstanding requests, so {@code pending} is reset, and the
+ *   next producer starts with a single batch.
+ */
+@ThreadSafe
+class ConsumedProducers<T> implements Producer.Queue<T> {
+
+    private final ConcurrentLinkedQueue<Producer<T>> producers;
+    private final Consumer<T> consumer;
+    private final int batchSize;
+    private final AtomicInteger pending;
+    private final CompletableFuture<Void> completion;
+
+    ConsumedProducers(List<Producer<T>> producers, Consumer<T> consumer, int batchSize) {
+        assert !producers.isEmpty() && batchSize > 1;
+        this.producers = new ConcurrentLinkedQueue<>(producers);
+        this.consumer = consumer;
+        this.batchSize = batchSize;
+        this.pending = new AtomicInteger(0);
+        this.completion = new CompletableFuture<>();
+    }
+
+    void consume() {
+        request();
+        try {
+            completion.join();
+        } catch (CompletionException e) {
+            producers.forEach(Producer::recycle);
+            throw GraknException.of(e.getCause());
+        }
+    }
+
+    private synchronized void request() {
+        Producer<T> producer = producers.peek();
+        if (producer == null) return;
+        pending.addAndGet(batchSize);
+        async().submit(() -> producer.produce(this, batchSize));
+    }
+
+    @Override
+    public void put(T item) {
+        if (completion.isDone()) return;
+        try {
+            consumer.accept(item);
+        } catch (Throwable e) {
+            done(e);
+            return;
+        }
+        if (pending.decrementAndGet() == batchSize / 2) request();
+    }
+
+    @Override
+    public synchronized void done() {
+        Producer<T> producer = producers.poll();
+        if (producer != null) producer.recycle();
+        pending.set(0);
+        if (producers.isEmpty()) completion.complete(null);
+        else request();
+    }
+
+    @Override
+    public synchronized void done(Throwable e) {
+        completion.completeExceptionally(e);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.concurrent.common.ExecutorService;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+import static junit.framework.TestCase.fail;
+
+public class ConsumedProducersTest {
+
+    private static final int BATCH_SIZE = 4;
+
+    @BeforeClass
+    public static void initialiseExecutors() {
+        if (!ExecutorService.isInitialised()) ExecutorService.initialise(Runtime.getRuntime().availableProcessors());
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = from; i < to; i++) items.add(i);
+        return items;
+    }
+
+    private static Set<Integer> consume(List<Producer<Integer>> producers, AtomicInteger consumed) {
+        Set<Integer> items = ConcurrentHashMap.newKeySet();
+        new ConsumedProducers<>(producers, item -> {
+            consumed.incrementAndGet();
+            items.add(item);
+        }, BATCH_SIZE).consume();
+        return items;
+    }
+
+    @Test
+    public void every_item_is_consumed_once_across_batch_boundaries() {
+        for (int size = 0; size <= 4 * BATCH_SIZE + 1; size++) {
+            AtomicInteger consumed = new AtomicInteger();
+            Set<Integer> items = consume(list(Producers.producer(iterate(range(0, size)))), consumed);
+            assertEquals(size, consumed.get());
+            assertEquals(size, items.size());
+        }
+    }
+
+    @Test
+    public void every_producer_is_consumed_in_turn() {
+        List<Producer<Integer>> producers = new ArrayList<>();
+        int size = 0;
+        for (int producerSize : list(0, 1, BATCH_SIZE / 2, BATCH_SIZE, BATCH_SIZE + 1, 3 * BATCH_SIZE)) {
+            producers.add(Producers.producer(iterate(range(size, size + producerSize))));
+            size += producerSize;
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        Set<Integer> items = consume(producers, consumed);
+        assertEquals(size, consumed.get());
+        assertEquals(size, items.size());
+    }
+
+    @Test
+    public void items_of_parallel_producers_are_consumed_once() {
+        List<List<Integer>> iterators = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < 4 * BATCH_SIZE; i++) {
+            iterators.add(range(size, size + i));
+            size += i;
+        }
+        Producer<Integer> producer = Producers.async(iterate(iterators).map(items -> iterate(items)), 4);
+        AtomicInteger consumed = new AtomicInteger();
+        Set<Integer> items = consume(list(producer), consumed);
+        assertEquals(size, consumed.get());
+        assertEquals(size, items.size());
+    }
+
+    @Test
+    public void requests_are_whole_batches_and_no_more_than_one_and_a_half_are_outstanding() {
+        int size = 10 * BATCH_SIZE + 1;
+        RequestRecordingProducer producer = new RequestRecordingProducer(Producers.producer(iterate(range(0, size))));
+        AtomicInteger consumed = new AtomicInteger();
+        consume(list(producer), consumed);
+        assertEquals(size, consumed.get());
+        assertTrue(producer.requests.stream().allMatch(request -> request == BATCH_SIZE));
+        assertTrue(producer.maxOutstanding.get() <= BATCH_SIZE + BATCH_SIZE / 2);
+    }
+
+    @Test
+    public void a_failing_consumer_fails_the_consumption() {
+        List<Producer<Integer>> producers = list(Producers.producer(iterate(range(0, 2 * BATCH_SIZE))),
+                                                 Producers.producer(iterate(range(0, 2 * BATCH_SIZE))));
+        try {
+            new ConsumedProducers<>(producers, item -> {
+                if (item == BATCH_SIZE) throw new IllegalStateException();
+            }, BATCH_SIZE).consume();
+            fail();
+        } catch (GraknException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private static class RequestRecordingProducer implements Producer<Integer> {
+
+        private final Producer<Integer> producer;
+        private final ConcurrentLinkedQueue<Integer> requests;
+        private final AtomicLong requested;
+        private final AtomicLong produced;
+        private final AtomicLong maxOutstanding;
+
+        RequestRecordingProducer(Producer<Integer> producer) {
+            this.producer = producer;
+            this.requests = new ConcurrentLinkedQueue<>();
+            this.requested = new AtomicLong();
+            this.produced = new AtomicLong();
+            this.maxOutstanding = new AtomicLong();
+        }
+
+        @Override
+        public synchronized void produce(Queue<Integer> queue, int request) {
+            requests.add(request);
+            long outstanding = requested.addAndGet(request) - produced.get();
+            maxOutstanding.accumulateAndGet(outstanding, Math::max);
+            producer.produce(new Queue<Integer>() {
+                @Override
+                public void put(Integer item) {
+                    produced.incrementAndGet();
+                    queue.put(item);
+                }
+
+                @Override
+                public void done() {
+                    queue.done();
+                }
+
+                @Override
+                public void done(Throwable e) {
+                    queue.done(e);
+                }
+            }, request);
+        }
+
+        @Override
+        public void recycle() {
+            producer.recycle();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.concurrent.common.ExecutorService;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static java.time.Duration.between;
+import static junit.framework.TestCase.assertEquals;
+
+/**
+ * Compares how long the {@code WorkStealingProducer} and the {@code AsyncProducer} take to produce every item of
+ * the same streams of iterators, whose sizes and costs per item are skewed, as those of traversals usually are.
+ */
+public class ProducerBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ProducerBenchmarkTest.class);
+    private static final int PARALLELISATION = Runtime.getRuntime().availableProcessors();
+    private static final int ITERATORS = 512;
+    private static final int ROUNDS = 5;
+    private static final long SEED = 0;
+
+    private static volatile long sink;
+
+    @BeforeClass
+    public static void initialiseExecutors() {
+        if (!ExecutorService.isInitialised()) ExecutorService.initialise(PARALLELISATION);
+    }
+
+    @Test
+    public void work_stealing_producer_produces_every_item_of_skewed_iterators() {
+        benchmark(Producers.DEFAULT_BATCH_SIZE);
+        benchmark(Producers.MAX_BATCH_SIZE);
+    }
+
+    private void benchmark(int batchSize) {
+        List<int[]> sizesAndCosts = skewedIterators(new Random(SEED));
+        long expected = sizesAndCosts.stream().mapToLong(sizeAndCost -> sizeAndCost[0]).sum();
+        Duration async = Duration.ZERO, workStealing = Duration.ZERO;
+        for (int round = 0; round < ROUNDS; round++) {
+            async = async.plus(time(AsyncProducer::new, sizesAndCosts, batchSize, expected));
+            workStealing = workStealing.plus(time(WorkStealingProducer::new, sizesAndCosts, batchSize, expected));
+        }
+        LOG.info("{} items of {} iterators on {} threads, in batches of {}: async in {} ms, work-stealing in {} ms",
+                 expected, ITERATORS, PARALLELISATION, batchSize, async.toMillis(), workStealing.toMillis());
+    }
+
+    private static Duration time(BiFunction<ResourceIterator<ResourceIterator<Integer>>, Integer,
+                                         Producer<Integer>> producerFn,
+                                 List<int[]> sizesAndCosts, int batchSize, long expected) {
+        ResourceIterator<ResourceIterator<Integer>> iterators = iterate(sizesAndCosts).map(
+                sizeAndCost -> iterate(range(sizeAndCost[0])).map(item -> work(item, sizeAndCost[1]))
+        );
+        Instant start = Instant.now();
+        long produced = Producers.produce(list(producerFn.apply(iterators, PARALLELISATION)), batchSize).count();
+        Duration duration = between(start, Instant.now());
+        assertEquals(expected, produced);
+        return duration;
+    }
+
+    /**
+     * Generates the sizes and costs per item of iterators of which most are small, and a few are large, and of
+     * which the costs per item span two orders of magnitude.
+     */
+    private static List<int[]> skewedIterators(Random random) {
+        List<int[]> sizesAndCosts = new ArrayList<>();
+        for (int i = 0; i < ITERATORS; i++) {
+            int size = random.nextInt(10) == 0 ? 1_000 + random.nextInt(10_000) : random.nextInt(100);
+            int cost = (int) Math.pow(10, 1 + random.nextDouble() * 2);
+            sizesAndCosts.add(new int[]{size, cost});
+        }
+        return sizesAndCosts;
+    }
+
+    private static List<Integer> range(int size) {
+        List<Integer> items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) items.add(i);
+        return items;
+    }
+
+    private static Integer work(Integer item, int cost) {
+        long hash = item;
+        for (int i = 0; i < cost; i++) hash = hash * 31 + i;
+        sink = hash;
+        return item;
+    }
+}
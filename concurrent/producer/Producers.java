@@ -23,6 +23,7 @@ import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import static grakn.common.collection.Collections.list;
 
@@ -30,11 +31,12 @@ public class Producers {
 
     public static final int DEFAULT_BATCH_SIZE = 32;
     public static final int MAX_BATCH_SIZE = (Integer.MAX_VALUE / 2) - 1;
+    public static final int CONSUME_BATCH_SIZE = 1024;
 
     public static <T> BaseProducer<T> empty() { return producer(Iterators.empty()); }
 
     public static <T> Producer<T> async(ResourceIterator<ResourceIterator<T>> iterators, int parallelisation) {
-        return new AsyncProducer<>(iterators, parallelisation);
+        return new WorkStealingProducer<>(iterators, parallelisation);
     }
 
     public static <T> BaseProducer<T> producer(ResourceIterator<T> iterator) {
@@ -56,4 +58,12 @@ public class Producers {
     public static <T> ProducerIterator<T> produce(List<Producer<T>> producers, int batchSize) {
         return new ProducerIterator<>(producers, batchSize);
     }
+
+    /**
+     * Produces every item of the given producers, and passes each of them to a thread-safe consumer
+     * on the thread that produced it, blocking until every item has been consumed.
+     */
+    public static <T> void consume(List<Producer<T>> producers, Consumer<T> consumer) {
+        new ConsumedProducers<>(producers, consumer, CONSUME_BATCH_SIZE).consume();
+    }
 }
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.concurrent.common.ConcurrentSet;
+
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static grakn.core.concurrent.common.ExecutorService.async;
+
+/**
+ * Produces the items of a stream of iterators on up to a given number of workers, without any lock on the
+ * path that produces the items.
+ *
+ * The items requested from the producer are not split between the iterators up front: they are kept as a
+ * single demand, which every worker claims a few items of at a time, and fulfils from the iterator that it
+ * holds. Workers on productive iterators therefore carry on claiming, while those on sparse iterators fall
+ * behind, rather than either being left idle or holding back the request. A worker that finds no demand
+ * left stops, and leaves its iterator for any worker to take over, and a worker whose iterator runs out
+ * takes over a left iterator, or the next iterator of the stream, which is the only step that is serialised.
+ */
+@ThreadSafe
+public class WorkStealingProducer<T> implements Producer<T> {
+
+    private static final int CLAIM_SIZE = 8;
+
+    private final int parallelisation;
+    private final ResourceIterator<ResourceIterator<T>> iterators;
+    private final ConcurrentLinkedQueue<ResourceIterator<T>> leftIterators;
+    private final ConcurrentSet<ResourceIterator<T>> startedIterators;
+    private final AtomicInteger demand;
+    private final AtomicInteger workers;
+    private final AtomicInteger unfinished;
+    private final AtomicBoolean isDone;
+    private volatile boolean isStreamed;
+
+    WorkStealingProducer(ResourceIterator<ResourceIterator<T>> iterators, int parallelisation) {
+        assert parallelisation > 0;
+        this.iterators = iterators;
+        this.parallelisation = parallelisation;
+        this.leftIterators = new ConcurrentLinkedQueue<>();
+        this.startedIterators = new ConcurrentSet<>();
+        this.demand = new AtomicInteger(0);
+        this.workers = new AtomicInteger(0);
+        this.unfinished = new AtomicInteger(0);
+        this.isDone = new AtomicBoolean(false);
+        this.isStreamed = false;
+    }
+
+    @Override
+    public void produce(Queue<T> queue, int request) {
+        if (isDone.get()) return;
+        demand.addAndGet(request);
+        spawn(queue);
+    }
+
+    private void spawn(Queue<T> queue) {
+        int running;
+        while ((running = workers.get()) < parallelisation && running * CLAIM_SIZE < demand.get() && !isDone.get()) {
+            if (workers.compareAndSet(running, running + 1)) async().execute(() -> work(queue));
+        }
+    }
+
+    private void work(Queue<T> queue) {
+        ResourceIterator<T> iterator = null;
+        int claimed = 0;
+        try {
+            while (!isDone.get()) {
+                if (claimed == 0 && (claimed = claim()) == 0) break;
+                if (iterator == null && (iterator = take(queue)) == null) break;
+                if (iterator.hasNext()) {
+                    queue.put(iterator.next());
+                    claimed--;
+                } else {
+                    finish(queue, iterator);
+                    iterator = null;
+                }
+            }
+        } catch (Throwable e) {
+            done(queue, e);
+        }
+        if (claimed > 0) demand.addAndGet(claimed);
+        if (iterator != null) leftIterators.add(iterator);
+        workers.decrementAndGet();
+        // the demand or the iterators may have been left after the other workers had already stopped
+        if (demand.get() > 0 && (!leftIterators.isEmpty() || !isStreamed)) spawn(queue);
+    }
+
+    private int claim() {
+        int available;
+        do {
+            if ((available = demand.get()) == 0) return 0;
+        } while (!demand.compareAndSet(available, available - Math.min(available, CLAIM_SIZE)));
+        return Math.min(available, CLAIM_SIZE);
+    }
+
+    @Nullable
+    private ResourceIterator<T> take(Queue<T> queue) {
+        ResourceIterator<T> iterator = leftIterators.poll();
+        if (iterator != null) return iterator;
+        synchronized (iterators) {
+            if (!isStreamed && iterators.hasNext()) {
+                unfinished.incrementAndGet();
+                iterator = iterators.next();
+                startedIterators.add(iterator);
+                return iterator;
+            }
+            isStreamed = true;
+        }
+        if (unfinished.get() == 0) done(queue);
+        return null;
+    }
+
+    private void finish(Queue<T> queue, ResourceIterator<T> iterator) {
+        startedIterators.remove(iterator);
+        if (unfinished.decrementAndGet() == 0 && isStreamed) done(queue);
+    }
+
+    private void done(Queue<T> queue) {
+        if (isDone.compareAndSet(false, true)) {
+            queue.done();
+        }
+    }
+
+    private void done(Queue<T> queue, Throwable e) {
+        if (isDone.compareAndSet(false, true)) {
+            queue.done(e);
+        }
+    }
+
+    @Override
+    public void recycle() {
+        synchronized (iterators) {
+            iterators.recycle();
+        }
+        startedIterators.forEach(ResourceIterator::recycle);
+    }
+}
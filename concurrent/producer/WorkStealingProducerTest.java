@@ -0,0 +1,281 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.concurrent.producer;
+
+import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.concurrent.common.ExecutorService;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertFalse;
+import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
+import static junit.framework.TestCase.assertSame;
+import static junit.framework.TestCase.assertTrue;
+
+public class WorkStealingProducerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @BeforeClass
+    public static void initialiseExecutors() {
+        // some of the tests hold two workers blocked at once, each of which takes up a thread
+        int parallelisation = Math.max(2, Runtime.getRuntime().availableProcessors());
+        if (!ExecutorService.isInitialised()) ExecutorService.initialise(parallelisation);
+    }
+
+    private static List<Integer> range(int from, int to) {
+        List<Integer> items = new ArrayList<>();
+        for (int i = from; i < to; i++) items.add(i);
+        return items;
+    }
+
+    private static Set<Integer> drain(TestQueue queue) {
+        Set<Integer> items = new HashSet<>();
+        for (Integer item : queue.items) assertTrue(items.add(item));
+        return items;
+    }
+
+    @Test
+    public void an_empty_stream_is_done_without_any_item() throws InterruptedException {
+        TestQueue queue = new TestQueue();
+        new WorkStealingProducer<>(iterate(new ArrayList<ResourceIterator<Integer>>()), 4).produce(queue, 10);
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertTrue(queue.items.isEmpty());
+        assertNull(queue.error);
+        assertEquals(1, queue.doneCount.get());
+    }
+
+    @Test
+    public void a_stream_of_empty_iterators_is_done_without_any_item() throws InterruptedException {
+        List<ResourceIterator<Integer>> iterators = new ArrayList<>();
+        for (int i = 0; i < 20; i++) iterators.add(iterate(new ArrayList<>()));
+        TestQueue queue = new TestQueue();
+        new WorkStealingProducer<>(iterate(iterators), 4).produce(queue, 10);
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertTrue(queue.items.isEmpty());
+        assertEquals(1, queue.doneCount.get());
+    }
+
+    @Test
+    public void every_item_of_every_iterator_is_produced_once() throws InterruptedException {
+        List<ResourceIterator<Integer>> iterators = new ArrayList<>();
+        int size = 0;
+        for (int i = 0; i < 50; i++) {
+            int iteratorSize = (i * 7) % 30;
+            iterators.add(iterate(range(size, size + iteratorSize)));
+            size += iteratorSize;
+        }
+        TestQueue queue = new TestQueue();
+        new WorkStealingProducer<>(iterate(iterators), 4).produce(queue, size + 1);
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertEquals(new HashSet<>(range(0, size)), drain(queue));
+        assertEquals(1, queue.doneCount.get());
+    }
+
+    @Test
+    public void an_iterator_that_throws_fails_the_queue_once() throws InterruptedException {
+        RuntimeException exception = new RuntimeException();
+        List<ResourceIterator<Integer>> iterators = list(
+                iterate(range(0, 5)),
+                iterate(range(5, 10)).map(item -> {
+                    if (item == 7) throw exception;
+                    else return item;
+                }),
+                iterate(range(10, 15))
+        );
+        TestQueue queue = new TestQueue();
+        WorkStealingProducer<Integer> producer = new WorkStealingProducer<>(iterate(iterators), 2);
+        producer.produce(queue, 100);
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertSame(exception, queue.error);
+
+        producer.produce(queue, 100);
+        Thread.sleep(100);
+        assertEquals(1, queue.doneCount.get());
+    }
+
+    @Test
+    public void recycling_while_workers_run_recycles_the_stream_and_every_unfinished_iterator()
+            throws InterruptedException {
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch gate = new CountDownLatch(1);
+        TestIterator first = new TestIterator(range(0, 100), entered, gate);
+        TestIterator second = new TestIterator(range(100, 200), entered, gate);
+        TestIterator finished = new TestIterator(new ArrayList<>(), new CountDownLatch(0), new CountDownLatch(0));
+        TestStream stream = new TestStream(list(finished, first, second));
+        TestQueue queue = new TestQueue();
+        WorkStealingProducer<Integer> producer = new WorkStealingProducer<>(stream, 2);
+        producer.produce(queue, 100);
+        assertTrue(entered.await(TIMEOUT_SECONDS, SECONDS));
+
+        producer.recycle();
+        assertTrue(stream.isRecycled);
+        assertTrue(first.isRecycled);
+        assertTrue(second.isRecycled);
+        assertFalse(finished.isRecycled);
+
+        gate.countDown();
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertNull(queue.error);
+        assertTrue(queue.items.isEmpty());
+    }
+
+    @Test
+    public void requests_that_race_the_last_worker_to_exit_are_still_produced() throws InterruptedException {
+        int size = 10_000;
+        TestQueue queue = new TestQueue();
+        WorkStealingProducer<Integer> producer = new WorkStealingProducer<>(iterate(list(iterate(range(0, size)))), 1);
+        // every request is for one item, and is made as soon as the last one is received, so it often arrives while
+        // the only worker has found no demand left, and is exiting, such that only its exit can spawn a new one
+        for (int i = 0; i < size; i++) {
+            producer.produce(queue, 1);
+            Integer item = queue.items.poll(TIMEOUT_SECONDS, SECONDS);
+            assertNotNull(item);
+            assertEquals(i, item.intValue());
+        }
+        producer.produce(queue, 1);
+        assertTrue(queue.done.await(TIMEOUT_SECONDS, SECONDS));
+        assertTrue(queue.items.isEmpty());
+    }
+
+    @Test
+    public void claims_of_a_worker_that_stops_are_returned_to_the_demand() throws InterruptedException {
+        CountDownLatch gate = new CountDownLatch(1);
+        TestIterator slow = new TestIterator(range(0, 100), new CountDownLatch(1), gate);
+        TestIterator fast = new TestIterator(list(-1), new CountDownLatch(1), new CountDownLatch(0));
+        TestQueue queue = new TestQueue();
+        int request = 24;
+        // the request spawns both workers, one of which holds the slow iterator, while the other one produces the
+        // fast iterator, finds the stream exhausted, and stops, returning the rest of its claims to the demand
+        new WorkStealingProducer<>(new TestStream(list(slow, fast)), 2).produce(queue, request);
+        assertEquals(-1, queue.items.poll(TIMEOUT_SECONDS, SECONDS).intValue());
+
+        gate.countDown();
+        for (int i = 1; i < request; i++) assertNotNull(queue.items.poll(TIMEOUT_SECONDS, SECONDS));
+        assertNull(queue.items.poll(100, MILLISECONDS));
+        assertEquals(0, queue.doneCount.get());
+    }
+
+    private static class TestQueue implements Producer.Queue<Integer> {
+
+        private final BlockingQueue<Integer> items = new LinkedBlockingQueue<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final AtomicInteger doneCount = new AtomicInteger();
+        private volatile Throwable error;
+
+        @Override
+        public void put(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void done() {
+            doneCount.incrementAndGet();
+            done.countDown();
+        }
+
+        @Override
+        public void done(Throwable e) {
+            error = e;
+            doneCount.incrementAndGet();
+            done.countDown();
+        }
+    }
+
+    /**
+     * Iterates over the given items, once the gate has opened, and over nothing once it has been recycled.
+     */
+    private static class TestIterator extends AbstractResourceIterator<Integer> {
+
+        private final Iterator<Integer> items;
+        private final CountDownLatch entered;
+        private final CountDownLatch gate;
+        private volatile boolean isRecycled;
+
+        private TestIterator(List<Integer> items, CountDownLatch entered, CountDownLatch gate) {
+            this.items = items.iterator();
+            this.entered = entered;
+            this.gate = gate;
+            this.isRecycled = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return !isRecycled && items.hasNext();
+        }
+
+        @Override
+        public Integer next() {
+            return items.next();
+        }
+
+        @Override
+        public void recycle() {
+            isRecycled = true;
+        }
+    }
+
+    private static class TestStream extends AbstractResourceIterator<ResourceIterator<Integer>> {
+
+        private final Iterator<TestIterator> iterators;
+        private volatile boolean isRecycled;
+
+        private TestStream(List<TestIterator> iterators) {
+            this.iterators = iterators.iterator();
+            this.isRecycled = false;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !isRecycled && iterators.hasNext();
+        }
+
+        @Override
+        public ResourceIterator<Integer> next() {
+            return iterators.next();
+        }
+
+        @Override
+        public void recycle() {
+            isRecycled = true;
+        }
+    }
+}
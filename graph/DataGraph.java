@@ -19,6 +19,7 @@
 package grakn.core.graph;
 
 import grakn.common.collection.Pair;
+import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.GraknCheckedException;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
@@ -29,6 +30,7 @@ import grakn.core.graph.common.KeyGenerator;
 import grakn.core.graph.common.StatisticsBytes;
 import grakn.core.graph.common.Storage;
 import grakn.core.graph.iid.EdgeIID;
+import grakn.core.graph.iid.IndexIID;
 import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.vertex.AttributeVertex;
@@ -38,23 +40,35 @@ import grakn.core.graph.vertex.Vertex;
 import grakn.core.graph.vertex.impl.AttributeVertexImpl;
 import grakn.core.graph.vertex.impl.ThingVertexImpl;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.pair;
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.common.collection.Bytes.compareUnsigned;
 import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.collection.Bytes.longToBytes;
+import static grakn.core.common.collection.Bytes.longToSortedBytes;
+import static grakn.core.common.collection.Bytes.nextPrefix;
+import static grakn.core.common.collection.Bytes.sortedBytesToLong;
 import static grakn.core.common.collection.Bytes.stripPrefix;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
+import static grakn.core.common.iterator.Iterators.empty;
+import static grakn.core.common.iterator.Iterators.intersect;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.tree;
@@ -76,6 +90,7 @@ import static grakn.core.graph.common.StatisticsBytes.snapshotKey;
 import static grakn.core.graph.common.StatisticsBytes.vertexCountKey;
 import static grakn.core.graph.common.StatisticsBytes.vertexTransitiveCountKey;
 import static grakn.core.graph.iid.VertexIID.Thing.generate;
+import static java.util.Arrays.copyOfRange;
 
 public class DataGraph implements Graph {
 
@@ -87,6 +102,8 @@ public class DataGraph implements Graph {
     private final AttributesByIID attributesByIID;
     private final Statistics statistics;
     private boolean isModified;
+    private volatile Boolean isSubstringIndexed;
+    private volatile Boolean isSortedIndexed;
 
     public DataGraph(Storage.Data storage, SchemaGraph schemaGraph) {
         this.storage = storage;
@@ -96,6 +113,8 @@ public class DataGraph implements Graph {
         thingsByTypeIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
         statistics = new Statistics(schemaGraph, storage);
+        isSubstringIndexed = null;
+        isSortedIndexed = null;
     }
 
     @Override
@@ -194,6 +213,213 @@ public class DataGraph implements Graph {
         else return link(thingsByTypeIID.get(typeVertex.iid()).iterator(), storageIterator).distinct();
     }
 
+    /**
+     * Returns the instances of a given type split into disjoint partitions, each of which is read with its own
+     * bounded seek over a range of the ISA edges of the type, so that the partitions can be iterated in parallel.
+     *
+     * The boundaries of the ranges are sampled from the first and last instance keys of the type, as entities,
+     * relations and roles are keyed in sequence, and are spread evenly between them. Attributes are keyed by
+     * their values, which are not evenly spread, and so are never split. The first and last ranges are unbounded
+     * below and above respectively, so that every instance is in exactly one partition.
+     *
+     * @param type       the type of the instances
+     * @param partitions the greatest number of partitions to split the instances into
+     * @return the iterators over every partition of the instances of the type, of which there is at least one
+     */
+    public List<ResourceIterator<ThingVertex>> get(TypeVertex type, int partitions) {
+        assert storage.isOpen();
+        if (partitions <= 1 || type.isAttributeType()) return list(get(type));
+        byte[] prefix = join(type.iid().bytes(), Encoding.Edge.ISA.in().bytes());
+        byte[] firstKey = storage.iterate(prefix, (key, value) -> key).firstOrNull();
+        byte[] lastKey = firstKey == null ? null : storage.getLastKey(prefix);
+        if (lastKey == null || lastKey.length != prefix.length + VertexIID.Thing.DEFAULT_LENGTH) return list(get(type));
+
+        int keyPos = prefix.length + VertexIID.Thing.PREFIX_W_TYPE_LENGTH;
+        byte[] keyPrefix = copyOfRange(firstKey, 0, keyPos);
+        long first = sortedBytesToLong(copyOfRange(firstKey, keyPos, firstKey.length));
+        long span = sortedBytesToLong(copyOfRange(lastKey, keyPos, lastKey.length)) - first;
+        if (span < partitions) return list(get(type));
+
+        List<ResourceIterator<ThingVertex>> iterators = new ArrayList<>(partitions);
+        byte[] fromKey = null;
+        for (int i = 1; i <= partitions; i++) {
+            byte[] toKey = i == partitions ? null
+                    : join(keyPrefix, longToSortedBytes(first + (long) ((double) span * i / partitions)));
+            iterators.add(get(type, prefix, fromKey, toKey));
+            fromKey = toKey;
+        }
+        return iterators;
+    }
+
+    /**
+     * Returns the instances of the given types split into disjoint partitions, of which there are at most the given
+     * number in total, rather than for every type. The partitions are shared between the types in proportion to
+     * their instance counts, and when there are more types than partitions, the instances of several types are
+     * linked into a single partition.
+     *
+     * @param types      the types of the instances
+     * @param partitions the greatest number of partitions to split the instances of all the types into
+     * @return the iterators over every partition of the instances of the types, of which there is at least one
+     */
+    public List<ResourceIterator<ThingVertex>> get(List<TypeVertex> types, int partitions) {
+        assert storage.isOpen() && !types.isEmpty() && partitions > 0;
+        long[] counts = new long[types.size()];
+        long total = 0;
+        for (int i = 0; i < types.size(); i++) {
+            counts[i] = Math.max(1, stats().thingVertexCount(types.get(i)));
+            total += counts[i];
+        }
+        List<ResourceIterator<ThingVertex>> iterators = new ArrayList<>();
+        for (int i = 0; i < types.size(); i++) {
+            iterators.addAll(get(types.get(i), (int) ((double) partitions * counts[i] / total)));
+        }
+        if (iterators.size() <= partitions) return iterators;
+
+        List<List<ResourceIterator<ThingVertex>>> linked = new ArrayList<>(partitions);
+        for (int i = 0; i < partitions; i++) linked.add(new ArrayList<>());
+        for (int i = 0; i < iterators.size(); i++) linked.get(i % partitions).add(iterators.get(i));
+        List<ResourceIterator<ThingVertex>> capped = new ArrayList<>(partitions);
+        for (List<ResourceIterator<ThingVertex>> partition : linked) capped.add(link(partition));
+        return capped;
+    }
+
+    private ResourceIterator<ThingVertex> get(TypeVertex type, byte[] prefix, @Nullable byte[] fromKey,
+                                              @Nullable byte[] toKey) {
+        ResourceIterator<ThingVertex> storageIterator = storage.iterate(
+                prefix, fromKey, toKey, (key, value) -> convert(EdgeIID.InwardsISA.of(key).end())
+        );
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        ResourceIterator<ThingVertex> bufferedIterator = iterate(thingsByTypeIID.get(type.iid())).filter(vertex -> {
+            byte[] key = join(prefix, vertex.iid().bytes());
+            return (fromKey == null || compareUnsigned(key, fromKey) >= 0)
+                    && (toKey == null || compareUnsigned(key, toKey) < 0);
+        });
+        return link(bufferedIterator, storageIterator).distinct();
+    }
+
+    /**
+     * Returns the attributes of a given type whose values lie within a given range, which are read
+     * with a single bounded seek over the ISA edges of the type, as those are ordered by value.
+     *
+     * This is only valid for attribute types of value types whose IIDs are of a fixed length, and
+     * are sorted by value: i.e. {@code LONG}, {@code DOUBLE} and {@code DATETIME}.
+     *
+     * @param type          the attribute type of the attributes
+     * @param from          the IID of the lower bound of the values, or null if unbounded
+     * @param fromInclusive whether the lower bound is included in the range
+     * @param to            the IID of the upper bound of the values, or null if unbounded
+     * @param toInclusive   whether the upper bound is included in the range
+     * @return an iterator over the attributes of the type with values within the range
+     */
+    public ResourceIterator<ThingVertex> get(TypeVertex type, @Nullable VertexIID.Attribute<?> from, boolean fromInclusive,
+                                             @Nullable VertexIID.Attribute<?> to, boolean toInclusive) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().isSorted();
+        byte[] prefix = join(type.iid().bytes(), Encoding.Edge.ISA.in().bytes());
+        byte[] fromKey = null, toKey = null;
+        if (from != null) {
+            fromKey = fromInclusive ? join(prefix, from.bytes()) : nextPrefix(join(prefix, from.bytes()));
+            if (fromKey == null) return empty();
+        }
+        if (to != null) toKey = toInclusive ? nextPrefix(join(prefix, to.bytes())) : join(prefix, to.bytes());
+        return get(type, prefix, fromKey, toKey);
+    }
+
+    /**
+     * Returns the string attributes of a given type whose values lie within a given range, in the
+     * order of {@code String.compareTo()}, which are read with a single bounded seek over the
+     * sorted index of the attributes of the type.
+     *
+     * @param type          the attribute type of the attributes, of value type {@code STRING}
+     * @param from          the lower bound of the values, or null if unbounded
+     * @param fromInclusive whether the lower bound is included in the range
+     * @param to            the upper bound of the values, or null if unbounded
+     * @param toInclusive   whether the upper bound is included in the range
+     * @return an iterator over the attributes of the type with values within the range
+     */
+    public ResourceIterator<ThingVertex> get(TypeVertex type, @Nullable String from, boolean fromInclusive,
+                                             @Nullable String to, boolean toInclusive) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().equals(Encoding.ValueType.STRING);
+        byte[] prefix = IndexIID.SortedAttribute.prefix(type.iid());
+        byte[] fromKey = null, toKey = null;
+        // the least key that is greater than a given key is the key followed by a 0 byte
+        if (from != null) fromKey = fromInclusive ? sortedKey(type, from) : join(sortedKey(type, from), new byte[]{0});
+        if (to != null) toKey = toInclusive ? join(sortedKey(type, to), new byte[]{0}) : sortedKey(type, to);
+        byte[] lower = fromKey, upper = toKey;
+        Predicate<ThingVertex> isInRange = vertex -> {
+            byte[] key = sortedKey(type, vertex.asAttribute().asString().value());
+            return (lower == null || compareUnsigned(key, lower) >= 0) && (upper == null || compareUnsigned(key, upper) < 0);
+        };
+        if (!isSortedIndexed()) return get(type).filter(isInRange);
+
+        ResourceIterator<ThingVertex> storageIterator = storage.iterate(
+                prefix, fromKey, toKey, (key, value) -> convert(VertexIID.Attribute.of(value))
+        );
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        ResourceIterator<ThingVertex> bufferedIterator = iterate(thingsByTypeIID.get(type.iid())).filter(isInRange);
+        return link(bufferedIterator, storageIterator).distinct();
+    }
+
+    /**
+     * Returns whether the database maintains a sorted index of its string attributes, which is
+     * marked in storage when the database is created. The attributes of a database without the
+     * marker are scanned instead.
+     */
+    public boolean isSortedIndexed() {
+        if (isSortedIndexed == null) isSortedIndexed = storage.get(IndexIID.SortedAttribute.marker()) != null;
+        return isSortedIndexed;
+    }
+
+    /**
+     * Returns whether the database maintains a trigram index of its string attributes, which
+     * is decided once, when the database is created, and marked in storage.
+     */
+    public boolean isSubstringIndexed() {
+        if (isSubstringIndexed == null) isSubstringIndexed = storage.get(IndexIID.AttributeTrigram.marker()) != null;
+        return isSubstringIndexed;
+    }
+
+    /**
+     * Returns the string attributes of a given type that may contain every one of the given substrings,
+     * regardless of case, which are found by intersecting the trigram index entries of the substrings.
+     * This is a superset of the attributes that contain the substrings, which the caller is responsible
+     * for filtering, and is every attribute of the type if the database has no trigram index, or the
+     * substrings are all shorter than a trigram.
+     *
+     * @param type       the attribute type of the attributes, of value type {@code STRING}
+     * @param substrings the substrings that the values of the attributes must contain
+     * @return an iterator over the attributes of the type that may contain the substrings
+     */
+    public ResourceIterator<ThingVertex> getContaining(TypeVertex type, Collection<String> substrings) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().equals(Encoding.ValueType.STRING);
+        Set<String> trigrams = new HashSet<>();
+        substrings.forEach(substring -> trigrams.addAll(IndexIID.AttributeTrigram.trigrams(substring)));
+        if (trigrams.isEmpty() || !isSubstringIndexed()) return get(type);
+
+        List<ResourceIterator<byte[]>> postings = new ArrayList<>();
+        for (String trigram : trigrams) {
+            postings.add(storage.iterate(
+                    IndexIID.AttributeTrigram.prefix(type.iid(), trigram),
+                    (key, value) -> IndexIID.AttributeTrigram.attribute(key).bytes()
+            ));
+        }
+        ResourceIterator<ThingVertex> storageIterator = intersect(postings, Bytes::compareUnsigned)
+                .map(iid -> convert(VertexIID.Attribute.of(iid)));
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        List<String> folded = iterate(substrings).map(IndexIID.AttributeTrigram::fold).toList();
+        ResourceIterator<ThingVertex> bufferedIterator = iterate(thingsByTypeIID.get(type.iid())).filter(vertex -> {
+            String value = IndexIID.AttributeTrigram.fold(vertex.asAttribute().asString().value());
+            return iterate(folded).allMatch(value::contains);
+        });
+        return link(bufferedIterator, storageIterator).distinct();
+    }
+
+    private static byte[] sortedKey(TypeVertex type, String value) {
+        return IndexIID.SortedAttribute.of(value, type.iid()).bytes();
+    }
+
     public AttributeVertex<Boolean> get(TypeVertex type, boolean value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -606,6 +832,57 @@ public class DataGraph implements Graph {
             return needsBackgroundCounting;
         }
 
+        /**
+         * Returns whether any count job committed to storage is yet to be counted by the background
+         * counter, in which case the attribute vertex and has edge counts lag behind the data.
+         */
+        public boolean hasPendingCountJobs() {
+            ResourceIterator<byte[]> countJobs = storage.iterate(StatisticsBytes.countJobKey(), (key, value) -> key);
+            boolean hasPending = countJobs.hasNext();
+            countJobs.recycle();
+            return hasPending;
+        }
+
+        /**
+         * Returns the exact number of instances of a type, which are not instances of its subtypes,
+         * including the instances created and deleted by this transaction. This count is only exact
+         * for attribute types when there are no pending count jobs.
+         */
+        public long exactThingVertexCount(TypeVertex type) {
+            if (!type.isAttributeType()) return thingVertexCount(type);
+            long delta = 0;
+            for (Map.Entry<VertexIID.Attribute<?>, Encoding.Statistics.JobOperation> job : attributeVertexCountJobs.entrySet()) {
+                if (job.getKey().type().equals(type.iid())) {
+                    delta += countJobDelta(job.getValue(), storage.get(attributeCountedKey(job.getKey())) != null);
+                }
+            }
+            return vertexCount(type.iid(), false) + delta;
+        }
+
+        /**
+         * Returns the exact number of has edges from instances of a thing type to instances of an
+         * attribute type, including the edges created and deleted by this transaction. This count
+         * is only exact when there are no pending count jobs.
+         */
+        public long exactHasEdgeCount(TypeVertex thing, TypeVertex attribute) {
+            long delta = 0;
+            for (Map.Entry<Pair<VertexIID.Thing, VertexIID.Attribute<?>>, Encoding.Statistics.JobOperation> job :
+                    hasEdgeCountJobs.entrySet()) {
+                VertexIID.Thing thingIID = job.getKey().first();
+                VertexIID.Attribute<?> attIID = job.getKey().second();
+                if (thingIID.type().equals(thing.iid()) && attIID.type().equals(attribute.iid())) {
+                    delta += countJobDelta(job.getValue(), storage.get(StatisticsBytes.hasEdgeCountedKey(thingIID, attIID)) != null);
+                }
+            }
+            return hasEdgeCount(thing.iid(), attribute.iid()) + delta;
+        }
+
+        private long countJobDelta(Encoding.Statistics.JobOperation operation, boolean isCounted) {
+            if (operation == CREATED && !isCounted) return 1;
+            else if (operation == DELETED && isCounted) return -1;
+            else return 0;
+        }
+
         public void vertexCreated(VertexIID.Type typeIID) {
             deltaVertexCount.compute(typeIID, (k, v) -> (v == null ? 0 : v) + 1);
         }
@@ -709,12 +986,22 @@ public class DataGraph implements Graph {
                     storage.mergeUntracked(vertexTransitiveCountKey(schemaGraph.rootRoleType().iid()), longToBytes(delta));
                 }
             });
-            attributeVertexCountJobs.forEach((attIID, countWorkValue) -> storage.putUntracked(
-                    attributeCountJobKey(attIID), countWorkValue.bytes()
-            ));
-            hasEdgeCountJobs.forEach((hasEdge, countWorkValue) -> storage.putUntracked(
-                    hasEdgeCountJobKey(hasEdge.first(), hasEdge.second()), countWorkValue.bytes()
-            ));
+            if (storage.isBulkLoad()) {
+                // A bulk load is the only writer of the storage, so it counts its own jobs rather
+                // than leaving them to the background counter, which would read them back one by one
+                attributeVertexCountJobs.forEach(this::processAttributeCountJob);
+                hasEdgeCountJobs.forEach((hasEdge, countWorkValue) -> processHasEdgeCountJob(
+                        hasEdge.first(), hasEdge.second(), countWorkValue
+                ));
+                needsBackgroundCounting = false;
+            } else {
+                attributeVertexCountJobs.forEach((attIID, countWorkValue) -> storage.putUntracked(
+                        attributeCountJobKey(attIID), countWorkValue.bytes()
+                ));
+                hasEdgeCountJobs.forEach((hasEdge, countWorkValue) -> storage.putUntracked(
+                        hasEdgeCountJobKey(hasEdge.first(), hasEdge.second()), countWorkValue.bytes()
+                ));
+            }
             if (!deltaVertexCount.isEmpty()) {
                 storage.mergeUntracked(snapshotKey(), longToBytes(1));
             }
@@ -747,10 +1034,13 @@ public class DataGraph implements Graph {
         }
 
         private void processAttributeCountJob(CountJob countJob) {
-            VertexIID.Attribute<?> attIID = countJob.asAttribute().attIID();
-            if (countJob.value() == CREATED) {
+            processAttributeCountJob(countJob.asAttribute().attIID(), countJob.value());
+        }
+
+        private void processAttributeCountJob(VertexIID.Attribute<?> attIID, Encoding.Statistics.JobOperation operation) {
+            if (operation == CREATED) {
                 processAttributeCreatedCountJob(attIID);
-            } else if (countJob.value() == DELETED) {
+            } else if (operation == DELETED) {
                 processAttributeDeletedCountJob(attIID);
             } else {
                 assert false;
@@ -776,11 +1066,14 @@ public class DataGraph implements Graph {
         }
 
         private void processHasEdgeCountJob(CountJob countJob) {
-            VertexIID.Thing thingIID = countJob.asHasEdge().thingIID();
-            VertexIID.Attribute<?> attIID = countJob.asHasEdge().attIID();
-            if (countJob.value() == CREATED) {
+            processHasEdgeCountJob(countJob.asHasEdge().thingIID(), countJob.asHasEdge().attIID(), countJob.value());
+        }
+
+        private void processHasEdgeCountJob(VertexIID.Thing thingIID, VertexIID.Attribute<?> attIID,
+                                            Encoding.Statistics.JobOperation operation) {
+            if (operation == CREATED) {
                 processHasEdgeCreatedCountJob(thingIID, attIID);
-            } else if (countJob.value() == DELETED) {
+            } else if (operation == DELETED) {
                 processHasEdgeDeletedCountJob(thingIID, attIID);
             } else {
                 assert false;
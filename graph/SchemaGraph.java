@@ -89,6 +89,7 @@ public class SchemaGraph implements Graph {
     private final Rules rules;
     private final Statistics statistics;
     private final Cache cache;
+    private final Set<Label> modifiedTypes;
     private final boolean isReadOnly;
     private boolean isModified;
 
@@ -103,6 +104,7 @@ public class SchemaGraph implements Graph {
         rules = new Rules();
         statistics = new Statistics();
         cache = new Cache();
+        modifiedTypes = ConcurrentHashMap.newKeySet();
         isModified = false;
     }
 
@@ -322,6 +324,8 @@ public class SchemaGraph implements Graph {
             if (type != null) throw GraknException.of(INVALID_SCHEMA_WRITE, newScopedLabel);
             typesByLabel.remove(oldScopedLabel);
             typesByLabel.put(newScopedLabel, vertex);
+            modifiedTypes.add(Label.of(oldLabel, oldScope));
+            modifiedTypes.add(Label.of(newLabel, newScope));
             return vertex;
         } finally {
             multiLabelLock.writeLock().unlock();
@@ -337,6 +341,7 @@ public class SchemaGraph implements Graph {
 
             typesByLabel.remove(vertex.scopedLabel());
             typesByIID.remove(vertex.iid());
+            modifiedTypes.add(vertex.properLabel());
         } finally {
             singleLabelLocks.get(vertex.scopedLabel()).writeLock().unlock();
             multiLabelLock.readLock().unlock();
@@ -347,10 +352,34 @@ public class SchemaGraph implements Graph {
         if (!isModified) isModified = true;
     }
 
+    public void setModified(TypeVertex type) {
+        modifiedTypes.add(type.properLabel());
+        setModified();
+    }
+
     public boolean isModified() {
         return isModified;
     }
 
+    /**
+     * Returns the labels of the types that have been created, modified or deleted in this graph,
+     * together with the labels of their subtypes and supertypes, which inherit from them or pass
+     * on to them what may have been modified. This must be called before the graph is committed.
+     *
+     * @return the labels of every type whose definition may differ from the one in storage
+     */
+    public Set<Label> modifiedTypes() {
+        Set<Label> labels = new HashSet<>(modifiedTypes);
+        for (Label label : modifiedTypes) {
+            TypeVertex type = typesByLabel.get(label.scopedName());
+            if (type == null || type.isDeleted()) continue;
+            tree(type, v -> v.ins().edge(SUB).from()).forEachRemaining(v -> labels.add(v.properLabel()));
+            loop(type, Objects::nonNull, v -> v.outs().edge(SUB).to().firstOrNull())
+                    .forEachRemaining(v -> labels.add(v.properLabel()));
+        }
+        return labels;
+    }
+
     /**
      * Commits all the writes captured in this graph into storage.
      *
@@ -376,6 +405,7 @@ public class SchemaGraph implements Graph {
     public void clear() {
         typesByIID.clear();
         typesByLabel.clear();
+        modifiedTypes.clear();
         rules.clear();
     }
 
@@ -387,10 +417,12 @@ public class SchemaGraph implements Graph {
         private final ReadWriteLock multiLabelLock;
         private final Conclusions conclusionsIndex;
         private final References referencesIndex;
+        private final Set<String> modifiedRules;
 
         public Rules() {
             rulesByLabel = new ConcurrentHashMap<>();
             rulesByIID = new ConcurrentHashMap<>();
+            modifiedRules = ConcurrentHashMap.newKeySet();
             singleLabelLocks = new ConcurrentHashMap<>();
             multiLabelLock = newReadWriteLock();
             conclusionsIndex = new Conclusions();
@@ -457,6 +489,7 @@ public class SchemaGraph implements Graph {
                         SchemaGraph.this, StructureIID.Rule.generate(keyGenerator), label, when, then
                 ));
                 rulesByIID.put(rule.iid(), rule);
+                modifiedRules.add(label);
                 return rule;
             } finally {
                 singleLabelLocks.get(label).writeLock().unlock();
@@ -472,6 +505,8 @@ public class SchemaGraph implements Graph {
                 if (rule != null) throw GraknException.of(INVALID_SCHEMA_WRITE, newLabel);
                 rulesByLabel.remove(oldLabel);
                 rulesByLabel.put(newLabel, vertex);
+                modifiedRules.add(oldLabel);
+                modifiedRules.add(newLabel);
                 return vertex;
             } finally {
                 multiLabelLock.writeLock().unlock();
@@ -487,12 +522,21 @@ public class SchemaGraph implements Graph {
 
                 rulesByLabel.remove(vertex.label());
                 rulesByIID.remove(vertex.iid());
+                modifiedRules.add(vertex.label());
             } finally {
                 singleLabelLocks.get(vertex.label()).writeLock().unlock();
                 multiLabelLock.readLock().unlock();
             }
         }
 
+        /**
+         * Returns the labels of the rules that have been created, renamed or deleted in this graph,
+         * under their old labels as well as their new ones. This must be called before the graph is committed.
+         */
+        public Set<String> modifiedRules() {
+            return new HashSet<>(modifiedRules);
+        }
+
         public void commit() {
             rulesByIID.values().parallelStream().filter(v -> v.status().equals(Encoding.Status.BUFFERED)).forEach(
                     ruleStructure -> ruleStructure.iid(StructureIID.Rule.generate(storage.asSchema().schemaKeyGenerator()))
@@ -505,6 +549,7 @@ public class SchemaGraph implements Graph {
         public void clear() {
             rulesByIID.clear();
             rulesByLabel.clear();
+            modifiedRules.clear();
             conclusionsIndex.clear();
             referencesIndex.clear();
         }
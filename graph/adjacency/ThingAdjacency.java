@@ -24,6 +24,8 @@ import grakn.core.graph.edge.ThingEdge;
 import grakn.core.graph.iid.IID;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.List;
+
 public interface ThingAdjacency {
 
     /**
@@ -60,6 +62,16 @@ public interface ThingAdjacency {
      */
     ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent);
 
+    /**
+     * Returns the edges of type {@code encoding} that connect to each of a batch of
+     * {@code adjacents} vertices, which are looked up in storage together.
+     *
+     * @param encoding  type of the edge to filter by
+     * @param adjacents vertices that the edges connect to
+     * @return the edge that connects to each of the {@code adjacents}, in the same order, or null if there is none
+     */
+    List<ThingEdge> edges(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents);
+
     /**
      * Returns an edge of type {@code encoding} that connects to an {@code adjacent}
      * vertex, that is an optimisation edge over a given {@code optimised} vertex.
@@ -31,16 +31,21 @@ import grakn.core.graph.iid.InfixIID;
 import grakn.core.graph.iid.SuffixIID;
 import grakn.core.graph.vertex.ThingVertex;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Predicate;
 
+import static grakn.core.common.collection.Bytes.compareUnsigned;
 import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.iterator.Iterators.iterate;
-import static grakn.core.common.iterator.Iterators.link;
+import static grakn.core.common.iterator.Iterators.merge;
 import static java.util.Arrays.copyOfRange;
 import static java.util.Collections.emptyIterator;
 
@@ -49,7 +54,7 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
     final ThingVertex owner;
     final Encoding.Direction.Adjacency direction;
     final ConcurrentMap<InfixIID.Thing, ConcurrentSet<InfixIID.Thing>> infixes;
-    final ConcurrentMap<InfixIID.Thing, ConcurrentMap<EdgeIID.Thing, ThingEdge>> edges;
+    final ConcurrentMap<InfixIID.Thing, ConcurrentNavigableMap<EdgeIID.Thing, ThingEdge>> edges;
 
     ThingAdjacencyImpl(ThingVertex owner, Encoding.Direction.Adjacency direction) {
         this.owner = owner;
@@ -58,6 +63,22 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         this.edges = new ConcurrentHashMap<>();
     }
 
+    /**
+     * Returns the IID that an edge is stored by in this adjacency, which is the
+     * outwards IID of the edge in an outwards adjacency, and the inwards IID otherwise.
+     */
+    EdgeIID.Thing edgeIID(ThingEdge edge) {
+        return direction.isOut() ? edge.outIID() : edge.inIID();
+    }
+
+    /**
+     * Compares edges in the order that they are stored in this adjacency, which
+     * is also the order that they are read in from storage.
+     */
+    int compare(ThingEdge edge1, ThingEdge edge2) {
+        return compareUnsigned(edgeIID(edge1).bytes(), edgeIID(edge2).bytes());
+    }
+
     InfixIID.Thing infixIID(Encoding.Edge.Thing encoding, IID... lookAhead) {
         Encoding.Infix infix = direction.isOut() ? encoding.out() : encoding.in();
         return InfixIID.Thing.of(infix, lookAhead);
@@ -95,7 +116,11 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             iids = newIIDs;
         }
 
-        return iterate(iids).flatMap(iid -> iterate(edges.get(iid).values()));
+        // Every infix is a prefix of the IIDs of the edges under it, so the edges are iterated
+        // in the order of the adjacency by iterating the infixes in order, then the edges of each
+        List<InfixIID.Thing> sortedIIDs = new ArrayList<>(iids);
+        sortedIIDs.sort((iid1, iid2) -> compareUnsigned(iid1.bytes(), iid2.bytes()));
+        return iterate(sortedIIDs).flatMap(iid -> iterate(edges.get(iid).values()));
     }
 
     @Override
@@ -130,6 +155,13 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         return edge;
     }
 
+    @Override
+    public List<ThingEdge> edges(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents) {
+        List<ThingEdge> edges = new ArrayList<>(adjacents.size());
+        for (ThingVertex adjacent : adjacents) edges.add(edge(encoding, adjacent));
+        return edges;
+    }
+
     private ThingEdgeImpl put(Encoding.Edge.Thing encoding, ThingEdgeImpl edge, IID[] infixes, boolean isModified, boolean isReflexive) {
         assert encoding.lookAhead() == infixes.length;
         InfixIID.Thing infixIID = infixIID(encoding);
@@ -139,12 +171,15 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             );
         }
 
-        Map<EdgeIID.Thing, ThingEdge> edgesByOutIID = edges.computeIfAbsent(infixIID, iid -> new ConcurrentHashMap<>());
-        if (edgesByOutIID.containsKey(edge.outIID())) {
-            ThingEdge thingEdge = edgesByOutIID.get(edge.outIID());
+        Map<EdgeIID.Thing, ThingEdge> edgesByIID = edges.computeIfAbsent(
+                infixIID, iid -> new ConcurrentSkipListMap<>((iid1, iid2) -> compareUnsigned(iid1.bytes(), iid2.bytes()))
+        );
+        EdgeIID.Thing edgeIID = edgeIID(edge);
+        if (edgesByIID.containsKey(edgeIID)) {
+            ThingEdge thingEdge = edgesByIID.get(edgeIID);
             if (thingEdge.isInferred() && !edge.isInferred()) thingEdge.isInferred(false);
         } else {
-            edgesByOutIID.put(edge.outIID(), edge);
+            edgesByIID.put(edgeIID, edge);
         }
 
         if (isModified) owner.setModified();
@@ -182,8 +217,15 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
         put(edge.encoding(), edge, infixTails(edge), true, false);
     }
 
+    /**
+     * Caches a persisted edge in this adjacency, so that it is found again without reading storage.
+     *
+     * Read transactions never modify persisted edges, and may read far more of them than fit on
+     * the heap: they stream persisted edges instead, and only the edges they put are kept here.
+     */
     @Override
     public ThingEdge cache(ThingEdge edge) {
+        if (owner.graph().storage().isReadOnly()) return edge;
         return put(edge.encoding(), (ThingEdgeImpl) edge, infixTails(edge), false, false);
     }
 
@@ -191,7 +233,7 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
     public void remove(ThingEdge edge) {
         InfixIID.Thing infixIID = infixIID(edge.encoding(), infixTails(edge));
         if (edges.containsKey(infixIID)) {
-            edges.get(infixIID).remove(edge.outIID());
+            edges.get(infixIID).remove(edgeIID(edge));
             owner.setModified();
         }
     }
@@ -264,18 +306,52 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             super(owner, direction);
         }
 
+        /**
+         * Iterates the edges of this adjacency in storage order, merging the persisted edges with the
+         * buffered ones. An edge that is both buffered and persisted is returned once, from the buffer.
+         */
         private ResourceIterator<ThingEdge> edgeIterator(Encoding.Edge.Thing encoding, IID... lookahead) {
             byte[] iid = join(owner.iid().bytes(), infixIID(encoding, lookahead).bytes());
             ResourceIterator<ThingEdge> storageIterator = owner.graph().storage()
                     .iterate(iid, (key, value) -> cache(newPersistedEdge(EdgeIID.Thing.of(key))));
             ResourceIterator<ThingEdge> bufferedIterator = bufferedEdgeIterator(encoding, lookahead);
-            return link(bufferedIterator, storageIterator).distinct();
+            if (owner.graph().storage().isReadOnly() && !bufferedIterator.hasNext()) {
+                bufferedIterator.recycle();
+                return storageIterator;
+            } else {
+                return merge(bufferedIterator, storageIterator, this::compare);
+            }
         }
 
         private ThingEdgeImpl.Persisted newPersistedEdge(EdgeIID.Thing of) {
             return new ThingEdgeImpl.Persisted(owner.graph(), of);
         }
 
+        /**
+         * Puts an edge to an {@code adjacent} vertex, unless the edge is inferred and already exists.
+         *
+         * Read transactions do not cache the persisted edges that they read, so an inferred edge that
+         * is also persisted would otherwise be buffered, and be found in place of the persisted edge.
+         * The existing edge takes precedence instead, and nothing is buffered.
+         */
+        @Override
+        public ThingEdgeImpl put(Encoding.Edge.Thing encoding, ThingVertex adjacent, boolean isInferred) {
+            if (isInferred) {
+                ThingEdge edge = edge(encoding, adjacent);
+                if (edge != null) return (ThingEdgeImpl) edge;
+            }
+            return super.put(encoding, adjacent, isInferred);
+        }
+
+        @Override
+        public ThingEdge put(Encoding.Edge.Thing encoding, ThingVertex adjacent, ThingVertex optimised, boolean isInferred) {
+            if (isInferred) {
+                ThingEdge edge = edge(encoding, adjacent, optimised);
+                if (edge != null) return edge;
+            }
+            return super.put(encoding, adjacent, optimised, isInferred);
+        }
+
         @Override
         public ThingIteratorBuilderImpl edge(Encoding.Edge.Thing encoding) {
             return new ThingIteratorBuilderImpl(edgeIterator(encoding));
@@ -297,6 +373,29 @@ public abstract class ThingAdjacencyImpl implements ThingAdjacency {
             else return cache(newPersistedEdge(edgeIID));
         }
 
+        @Override
+        public List<ThingEdge> edges(Encoding.Edge.Thing encoding, List<? extends ThingVertex> adjacents) {
+            assert !encoding.isOptimisation();
+            List<ThingEdge> edges = new ArrayList<>(adjacents.size());
+            List<Integer> unbuffered = new ArrayList<>();
+            List<EdgeIID.Thing> edgeIIDs = new ArrayList<>();
+            for (ThingVertex adjacent : adjacents) {
+                ThingEdge edge = super.edge(encoding, adjacent);
+                if (edge == null) {
+                    unbuffered.add(edges.size());
+                    edgeIIDs.add(EdgeIID.Thing.of(owner.iid(), infixIID(encoding), adjacent.iid()));
+                }
+                edges.add(edge);
+            }
+            if (edgeIIDs.isEmpty()) return edges;
+
+            List<byte[]> values = owner.graph().storage().getAll(iterate(edgeIIDs).map(IID::bytes).toList());
+            for (int i = 0; i < edgeIIDs.size(); i++) {
+                if (values.get(i) != null) edges.set(unbuffered.get(i), cache(newPersistedEdge(edgeIIDs.get(i))));
+            }
+            return edges;
+        }
+
         @Override
         public ThingEdge edge(Encoding.Edge.Thing encoding, ThingVertex adjacent, ThingVertex optimised) {
             assert encoding.isOptimisation();
@@ -21,6 +21,7 @@ package grakn.core.graph.common;
 import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Label;
+import grakn.core.graph.iid.VertexIID;
 import graql.lang.common.GraqlArg;
 
 import javax.annotation.Nullable;
@@ -45,6 +46,15 @@ public class Encoding {
 
     public static final String ROCKS_DATA = "data";
     public static final String ROCKS_SCHEMA = "schema";
+    public static final String ROCKS_BULK_LOAD = "bulk-load";
+
+    /**
+     * The version of the layout of the data storage, which a database records in the default partition of its
+     * data storage when it is created, so that a database stored in any other layout is refused when it is opened.
+     * The key does not begin with any {@code Prefix}, so that it is never read or iterated over as data.
+     */
+    public static final long DATA_STORAGE_FORMAT = 1;
+    public static final byte[] DATA_STORAGE_FORMAT_KEY = "storage-format".getBytes(UTF_8);
 
     public enum Key {
         PERSISTED(0, true),
@@ -140,6 +150,59 @@ public class Encoding {
 
     }
 
+    /**
+     * The partitions (RocksDB column families) in which the keys of the data
+     * storage are stored, grouped by their {@code PrefixType}, so that each
+     * partition can be tuned to the access pattern of the keys it holds.
+     *
+     * Keys of {@code PrefixType.THING} are further split into the vertices
+     * themselves, and the edges stored under them.
+     */
+    public enum Partition {
+        DEFAULT("default"),
+        INDEX("index"),
+        STATISTICS("statistics"),
+        THING_VERTEX("thing_vertex"),
+        THING_EDGE("thing_edge");
+
+        private final String label;
+        private final byte[] bytes;
+
+        Partition(String label) {
+            this.label = label;
+            this.bytes = label.getBytes(UTF_8);
+        }
+
+        /**
+         * Returns the partition of a given key, or key prefix. A prefix is
+         * always assigned the same partition as every key that it prefixes,
+         * provided that it covers at least the prefix of the key.
+         *
+         * @param key the key, or key prefix, to be partitioned
+         * @return the partition in which the key is stored
+         */
+        public static Partition of(byte[] key) {
+            switch (Prefix.of(key[0]).type()) {
+                case INDEX:
+                    return INDEX;
+                case STATISTICS:
+                    return STATISTICS;
+                case THING:
+                    return VertexIID.Thing.isVertexKey(key) ? THING_VERTEX : THING_EDGE;
+                default:
+                    return DEFAULT;
+            }
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public byte[] bytes() {
+            return bytes;
+        }
+    }
+
     /**
      * The values in this class will be used as 'prefixes' within an IID in the
      * of every object database, and must not overlap with each other.
@@ -151,6 +214,8 @@ public class Encoding {
         INDEX_TYPE(0, PrefixType.INDEX),
         INDEX_RULE(10, PrefixType.INDEX),
         INDEX_ATTRIBUTE(20, PrefixType.INDEX),
+        INDEX_ATTRIBUTE_SORTED(30, PrefixType.INDEX),
+        INDEX_ATTRIBUTE_TRIGRAM(40, PrefixType.INDEX),
         STATISTICS_THINGS(50, PrefixType.STATISTICS),
         STATISTICS_COUNT_JOB(51, PrefixType.STATISTICS),
         STATISTICS_COUNTED(52, PrefixType.STATISTICS),
@@ -397,6 +462,14 @@ public class Encoding {
             return isKeyable;
         }
 
+        /**
+         * Returns whether attribute IIDs of this value type are of a fixed length and ordered by
+         * value, such that the attributes of a type can be scanned by a range of values.
+         */
+        public boolean isSorted() {
+            return this == LONG || this == DOUBLE || this == DATETIME;
+        }
+
         public Set<ValueType> assignables() {
             return ASSIGNABLES.get(this);
         }
@@ -734,7 +807,9 @@ public class Encoding {
         enum Prefix {
             TYPE(Encoding.Prefix.INDEX_TYPE),
             RULE(Encoding.Prefix.INDEX_RULE),
-            ATTRIBUTE(Encoding.Prefix.INDEX_ATTRIBUTE);
+            ATTRIBUTE(Encoding.Prefix.INDEX_ATTRIBUTE),
+            ATTRIBUTE_SORTED(Encoding.Prefix.INDEX_ATTRIBUTE_SORTED),
+            ATTRIBUTE_TRIGRAM(Encoding.Prefix.INDEX_ATTRIBUTE_TRIGRAM);
 
             private final Encoding.Prefix prefix;
 
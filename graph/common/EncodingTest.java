@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.graph.common;
+
+import grakn.core.common.exception.GraknCheckedException;
+import grakn.core.common.parameters.Label;
+import grakn.core.graph.iid.EdgeIID;
+import grakn.core.graph.iid.IndexIID;
+import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.iid.VertexIID;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+import static grakn.core.common.collection.Bytes.join;
+import static grakn.core.graph.common.Encoding.Partition.DEFAULT;
+import static grakn.core.graph.common.Encoding.Partition.INDEX;
+import static grakn.core.graph.common.Encoding.Partition.STATISTICS;
+import static grakn.core.graph.common.Encoding.Partition.THING_EDGE;
+import static grakn.core.graph.common.Encoding.Partition.THING_VERTEX;
+import static java.util.Arrays.copyOfRange;
+import static junit.framework.TestCase.assertEquals;
+
+public class EncodingTest {
+
+    private static final VertexIID.Type ENTITY_TYPE = type(Encoding.Prefix.VERTEX_ENTITY_TYPE);
+    private static final VertexIID.Type ATTRIBUTE_TYPE = type(Encoding.Prefix.VERTEX_ATTRIBUTE_TYPE);
+    private static final KeyGenerator.Data KEY_GENERATOR = new KeyGenerator.Data.Buffered();
+
+    private static VertexIID.Type type(Encoding.Prefix prefix) {
+        return VertexIID.Type.of(new byte[]{prefix.key(), 0, 1});
+    }
+
+    private static VertexIID.Thing entity() {
+        return VertexIID.Thing.generate(KEY_GENERATOR, ENTITY_TYPE, Label.of("person"));
+    }
+
+    @Test
+    public void thing_vertices_and_their_prefixes_are_partitioned_as_thing_vertices() {
+        VertexIID.Thing entity = entity();
+        assertEquals(THING_VERTEX, Encoding.Partition.of(entity.bytes()));
+        byte[] prefix = copyOfRange(entity.bytes(), 0, VertexIID.Thing.PREFIX_W_TYPE_LENGTH);
+        assertEquals(THING_VERTEX, Encoding.Partition.of(prefix));
+    }
+
+    @Test
+    public void attribute_vertices_of_every_value_type_are_partitioned_as_thing_vertices()
+            throws GraknCheckedException {
+        VertexIID.Attribute<?>[] attributes = new VertexIID.Attribute<?>[]{
+                new VertexIID.Attribute.Boolean(ATTRIBUTE_TYPE, true),
+                new VertexIID.Attribute.Long(ATTRIBUTE_TYPE, 42L),
+                new VertexIID.Attribute.Double(ATTRIBUTE_TYPE, 4.2),
+                new VertexIID.Attribute.String(ATTRIBUTE_TYPE, "a string long enough to not fit in a long"),
+                new VertexIID.Attribute.DateTime(ATTRIBUTE_TYPE, LocalDateTime.of(2021, 1, 1, 0, 0))
+        };
+        for (VertexIID.Attribute<?> attribute : attributes) {
+            assertEquals(THING_VERTEX, Encoding.Partition.of(attribute.bytes()));
+            byte[] edge = join(attribute.bytes(), InfixIID.Thing.of(Encoding.Infix.EDGE_HAS_IN).bytes(),
+                               entity().bytes());
+            assertEquals(THING_EDGE, Encoding.Partition.of(edge));
+        }
+    }
+
+    @Test
+    public void thing_edges_and_their_prefixes_are_partitioned_as_thing_edges() {
+        VertexIID.Thing entity = entity();
+        InfixIID.Thing infix = InfixIID.Thing.of(Encoding.Infix.EDGE_HAS_OUT);
+        assertEquals(THING_EDGE, Encoding.Partition.of(join(entity.bytes(), infix.bytes())));
+        assertEquals(THING_EDGE, Encoding.Partition.of(EdgeIID.Thing.of(entity, infix, entity()).bytes()));
+    }
+
+    @Test
+    public void index_statistics_and_type_keys_are_partitioned_by_their_prefix() {
+        assertEquals(INDEX, Encoding.Partition.of(IndexIID.Attribute.of(42L, ATTRIBUTE_TYPE).bytes()));
+        assertEquals(INDEX, Encoding.Partition.of(IndexIID.AttributeTrigram.marker()));
+        assertEquals(INDEX, Encoding.Partition.of(IndexIID.SortedAttribute.marker()));
+        assertEquals(STATISTICS, Encoding.Partition.of(StatisticsBytes.vertexCountKey(ENTITY_TYPE)));
+        assertEquals(DEFAULT, Encoding.Partition.of(ENTITY_TYPE.bytes()));
+        assertEquals(DEFAULT, Encoding.Partition.of(EdgeIID.InwardsISA.of(ENTITY_TYPE, entity()).bytes()));
+    }
+}
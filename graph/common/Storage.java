@@ -22,6 +22,8 @@ import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 
+import javax.annotation.Nullable;
+import java.util.List;
 import java.util.function.BiFunction;
 
 import static grakn.common.util.Objects.className;
@@ -31,8 +33,18 @@ public interface Storage {
 
     boolean isOpen();
 
+    boolean isReadOnly();
+
     byte[] get(byte[] key);
 
+    /**
+     * Returns the values of a batch of keys, looked up together in storage.
+     *
+     * @param keys the keys to look up
+     * @return the value of every key, in the order of the keys, or null for every key that does not exist
+     */
+    List<byte[]> getAll(List<byte[]> keys);
+
     byte[] getLastKey(byte[] prefix);
 
     void delete(byte[] key);
@@ -49,6 +61,19 @@ public interface Storage {
 
     <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor);
 
+    /**
+     * Returns an iterator over the keys that begin with a given prefix, and lie within the range
+     * {@code [from, to)} in unsigned byte order, which is read with a single bounded seek.
+     *
+     * @param prefix      the prefix of every key to iterate over
+     * @param from        the inclusive lower bound of the keys, which begins with the prefix, or null if unbounded
+     * @param to          the exclusive upper bound of the keys, which begins with the prefix, or null if unbounded
+     * @param constructor the function to construct every element of the iterator from its key and value
+     * @return an iterator over the keys within the range
+     */
+    <G> ResourceIterator<G> iterate(byte[] prefix, @Nullable byte[] from, @Nullable byte[] to,
+                                    BiFunction<byte[], byte[], G> constructor);
+
     GraknException exception(ErrorMessage error);
 
     GraknException exception(Exception exception);
@@ -57,6 +82,8 @@ public interface Storage {
 
     default boolean isSchema() { return false; }
 
+    default boolean isBulkLoad() { return false; }
+
     default Schema asSchema() {
         throw exception(GraknException.of(ILLEGAL_CAST, className(this.getClass()), className(Schema.class)));
     }
@@ -284,7 +284,8 @@ public abstract class TypeEdgeImpl implements TypeEdge {
          * Set the head type vertex of this type edge to override a given type vertex.
          *
          * Once the property has been set, we write to storage immediately as this type edge
-         * does not buffer information in memory before being persisted.
+         * does not buffer information in memory before being persisted. Both ends of the edge
+         * are marked as modified, as they are when an edge is put between them.
          *
          * @param overridden the type vertex to override by the head
          */
@@ -293,6 +294,8 @@ public abstract class TypeEdgeImpl implements TypeEdge {
             this.overridden = overridden;
             overriddenIID = overridden.iid();
             graph.storage().put(outIID.bytes(), overriddenIID.bytes());
+            from().setModified();
+            to().setModified();
         }
 
         /**
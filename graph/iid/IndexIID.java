@@ -23,7 +23,10 @@ import grakn.core.graph.common.Encoding;
 
 import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
+import static grakn.core.common.collection.Bytes.CHAR_SIZE;
 import static grakn.core.common.collection.Bytes.DOUBLE_SIZE;
 import static grakn.core.common.collection.Bytes.LONG_SIZE;
 import static grakn.core.common.collection.Bytes.booleanToByte;
@@ -36,7 +39,9 @@ import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.collection.Bytes.longToSortedBytes;
 import static grakn.core.common.collection.Bytes.sortedBytesToDouble;
 import static grakn.core.common.collection.Bytes.sortedBytesToLong;
+import static grakn.core.common.collection.Bytes.sortedBytesToString;
 import static grakn.core.common.collection.Bytes.stringToBytes;
+import static grakn.core.common.collection.Bytes.stringToSortedBytes;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.graph.common.Encoding.ValueType.STRING_ENCODING;
 import static grakn.core.graph.common.Encoding.ValueType.TIME_ZONE_ID;
@@ -217,6 +222,127 @@ public abstract class IndexIID extends IID {
         }
     }
 
+    /**
+     * The index of attributes of variable-length value types by their type, and then their value
+     * in sorted bytes, which orders the attributes of every type by value, such that they can be
+     * looked up by a range of values, or a prefix of their value, with a single bounded seek.
+     */
+    public static class SortedAttribute extends IndexIID {
+
+        static final int VALUE_INDEX = PrefixIID.LENGTH + VertexIID.Type.LENGTH;
+
+        SortedAttribute(byte[] bytes) {
+            super(bytes);
+        }
+
+        /**
+         * @return a byte array representing the key that marks the index as maintained in a database
+         */
+        public static byte[] marker() {
+            return Encoding.Index.Prefix.ATTRIBUTE_SORTED.bytes();
+        }
+
+        /**
+         * @return a byte array representing the index scan prefix of the attributes of a given type
+         */
+        public static byte[] prefix(VertexIID.Type typeIID) {
+            return join(Encoding.Index.Prefix.ATTRIBUTE_SORTED.bytes(), typeIID.bytes);
+        }
+
+        public static SortedAttribute of(String value, VertexIID.Type typeIID) {
+            return new SortedAttribute(join(prefix(typeIID), stringToSortedBytes(value)));
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.Prefix.ATTRIBUTE_SORTED.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes, PrefixIID.LENGTH, VALUE_INDEX)).toString() + "]" +
+                        "[" + (bytes.length - VALUE_INDEX) + ": " + sortedBytesToString(copyOfRange(bytes, VALUE_INDEX, bytes.length)) + "]";
+            }
+            return readableString;
+        }
+    }
+
+    /**
+     * The index of string attributes by their type, and then every trigram of their value, followed by
+     * the attribute IID, such that the attributes of a type that contain a trigram are listed in order.
+     * Trigrams are taken over the case-folded value, as substrings are matched regardless of case.
+     */
+    public static class AttributeTrigram extends IndexIID {
+
+        public static final int TRIGRAM_LENGTH = 3;
+        static final int ATTRIBUTE_INDEX = PrefixIID.LENGTH + VertexIID.Type.LENGTH + TRIGRAM_LENGTH * CHAR_SIZE;
+
+        AttributeTrigram(byte[] bytes) {
+            super(bytes);
+        }
+
+        /**
+         * @return a byte array representing the key that marks the index as maintained in a database
+         */
+        public static byte[] marker() {
+            return Encoding.Index.Prefix.ATTRIBUTE_TRIGRAM.bytes();
+        }
+
+        /**
+         * @return a byte array representing the index scan prefix of the attributes of a type with a trigram
+         */
+        public static byte[] prefix(VertexIID.Type typeIID, String trigram) {
+            assert trigram.length() == TRIGRAM_LENGTH;
+            return join(Encoding.Index.Prefix.ATTRIBUTE_TRIGRAM.bytes(), typeIID.bytes, stringToSortedBytes(trigram));
+        }
+
+        public static AttributeTrigram of(VertexIID.Type typeIID, String trigram, VertexIID.Attribute.String attIID) {
+            return new AttributeTrigram(join(prefix(typeIID, trigram), attIID.bytes));
+        }
+
+        public static VertexIID.Attribute.String attribute(byte[] bytes) {
+            return new VertexIID.Attribute.String(copyOfRange(bytes, ATTRIBUTE_INDEX, bytes.length));
+        }
+
+        /**
+         * Returns the distinct trigrams of the case-folded value of a string, which are none
+         * if the string is shorter than a trigram.
+         *
+         * @param value the string to be split into trigrams
+         * @return the set of trigrams of the string
+         */
+        public static Set<String> trigrams(String value) {
+            String folded = fold(value);
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + TRIGRAM_LENGTH <= folded.length(); i++) {
+                trigrams.add(folded.substring(i, i + TRIGRAM_LENGTH));
+            }
+            return trigrams;
+        }
+
+        /**
+         * Folds the case of every character of a string, such that two characters are folded
+         * to the same character if they are equal regardless of case, as in
+         * {@code String.regionMatches(true, ...)}.
+         */
+        public static String fold(String value) {
+            char[] chars = value.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                int trigramIndex = PrefixIID.LENGTH + VertexIID.Type.LENGTH;
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.Prefix.ATTRIBUTE_TRIGRAM.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes, PrefixIID.LENGTH, trigramIndex)).toString() + "]" +
+                        "[" + (ATTRIBUTE_INDEX - trigramIndex) + ": " + sortedBytesToString(copyOfRange(bytes, trigramIndex, ATTRIBUTE_INDEX)) + "]" +
+                        "[" + (bytes.length - ATTRIBUTE_INDEX) + ": " + attribute(bytes).toString() + "]";
+            }
+            return readableString;
+        }
+    }
+
     public static class Attribute extends IndexIID {
 
         static final int VALUE_INDEX = PrefixIID.LENGTH + VertexIID.Attribute.VALUE_TYPE_LENGTH;
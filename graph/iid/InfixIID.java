@@ -27,7 +27,7 @@ import static java.util.Arrays.copyOfRange;
 
 public abstract class InfixIID<EDGE_ENCODING extends Encoding.Edge> extends IID {
 
-    static final int LENGTH = 1;
+    public static final int LENGTH = 1;
 
     private InfixIID(byte[] bytes) {
         super(bytes);
@@ -164,6 +164,22 @@ public abstract class VertexIID extends IID {
             }
         }
 
+        /**
+         * Returns whether a given key, or key prefix, that begins with a {@code VertexIID.Thing}
+         * does not extend beyond it, i.e. whether it refers to a {@code ThingVertex} rather than
+         * to one of the edges stored under it.
+         *
+         * @param key the key, or key prefix, beginning with a {@code VertexIID.Thing}
+         * @return true if the key ends within, or exactly at the end of, the {@code VertexIID.Thing}
+         */
+        public static boolean isVertexKey(byte[] key) {
+            if (Encoding.Vertex.Thing.of(key[0]).equals(ATTRIBUTE)) {
+                return VertexIID.Attribute.isAttributeVertexKey(key);
+            } else {
+                return key.length <= DEFAULT_LENGTH;
+            }
+        }
+
         public Type type() {
             return Type.of(copyOfRange(bytes, PrefixIID.LENGTH, PREFIX_W_TYPE_LENGTH));
         }
@@ -254,6 +270,35 @@ public abstract class VertexIID extends IID {
             }
         }
 
+        static boolean isAttributeVertexKey(byte[] key) {
+            if (key.length <= VALUE_INDEX) return true;
+            int valueLength;
+            switch (Encoding.ValueType.of(key[VALUE_TYPE_INDEX])) {
+                case BOOLEAN:
+                    valueLength = 1;
+                    break;
+                case LONG:
+                    valueLength = LONG_SIZE;
+                    break;
+                case DOUBLE:
+                    valueLength = DOUBLE_SIZE;
+                    break;
+                case STRING:
+                    if (key.length < VALUE_INDEX + STRING_SIZE_ENCODING) return true;
+                    valueLength = STRING_SIZE_ENCODING + unsignedBytesToShort(
+                            copyOfRange(key, VALUE_INDEX, VALUE_INDEX + STRING_SIZE_ENCODING)
+                    );
+                    break;
+                case DATETIME:
+                    valueLength = DATETIME_SIZE;
+                    break;
+                default:
+                    assert false;
+                    throw GraknException.of(UNRECOGNISED_VALUE);
+            }
+            return key.length <= VALUE_INDEX + valueLength;
+        }
+
         public abstract VALUE value();
 
         public Encoding.ValueType valueType() {
@@ -19,6 +19,7 @@
 package grakn.core.graph.vertex.impl;
 
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.graph.DataGraph;
 import grakn.core.graph.adjacency.ThingAdjacency;
 import grakn.core.graph.adjacency.impl.ThingAdjacencyImpl;
@@ -33,6 +34,8 @@ import java.time.LocalDateTime;
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_VERTEX_CASTING;
 import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_OPERATION;
+import static grakn.core.common.iterator.Iterators.empty;
+import static grakn.core.common.iterator.Iterators.iterate;
 
 public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl implements AttributeVertex<VALUE> {
 
@@ -97,6 +100,10 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
         graph.storage().delete(index().bytes());
     }
 
+    void commitVertexToIndex() {
+        graph.storage().putUntracked(index().bytes(), attributeIID.bytes());
+    }
+
     @Override
     void deleteVertexFromGraph() {
         graph.delete(this);
@@ -128,7 +135,7 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
     private void commitVertex() {
         graph.storage().putUntracked(attributeIID.bytes());
         graph.storage().putUntracked(EdgeIID.InwardsISA.of(type().iid(), iid).bytes());
-        graph.storage().putUntracked(index().bytes(), attributeIID.bytes());
+        commitVertexToIndex();
         // TODO: we should make use of attribute indexes to look up attributes by value (without type) quickly
     }
 
@@ -259,6 +266,30 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
             return IndexIID.Attribute.of(value(), type().iid());
         }
 
+        private IndexIID.SortedAttribute sortedIndex() {
+            return IndexIID.SortedAttribute.of(value(), type().iid());
+        }
+
+        private ResourceIterator<IndexIID.AttributeTrigram> trigramIndices() {
+            if (!graph.isSubstringIndexed()) return empty();
+            return iterate(IndexIID.AttributeTrigram.trigrams(value()))
+                    .map(trigram -> IndexIID.AttributeTrigram.of(type().iid(), trigram, iid().asString()));
+        }
+
+        @Override
+        void deleteVertexFromIndex() {
+            super.deleteVertexFromIndex();
+            graph.storage().delete(sortedIndex().bytes());
+            trigramIndices().forEachRemaining(index -> graph.storage().delete(index.bytes()));
+        }
+
+        @Override
+        void commitVertexToIndex() {
+            super.commitVertexToIndex();
+            graph.storage().putUntracked(sortedIndex().bytes(), iid().bytes());
+            trigramIndices().forEachRemaining(index -> graph.storage().putUntracked(index.bytes()));
+        }
+
         @Override
         public boolean isString() { return true; }
 
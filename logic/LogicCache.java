@@ -20,28 +20,140 @@ package grakn.core.logic;
 
 import grakn.core.common.cache.CommonCache;
 import grakn.core.common.parameters.Label;
+import grakn.core.pattern.Disjunction;
 import grakn.core.traversal.Traversal;
+import graql.lang.pattern.Pattern;
 import graql.lang.pattern.variable.Reference;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
 
 public class LogicCache {
 
+    private static final int MAX_FINGERPRINT_LENGTH = 16_384;
+
     private CommonCache<Traversal, Map<Reference, Set<Label>>> typeResolverCache;
     private CommonCache<String, Rule> ruleCache;
+    private CommonCache<graql.lang.pattern.Conjunction<? extends Pattern>, Disjunction> patternCache;
+    private final ConcurrentMap<String, Map<Reference, Set<Label>>> storedResolutions;
 
     public LogicCache() {
         this.ruleCache = new CommonCache<>();
         this.typeResolverCache = new CommonCache<>();
+        this.patternCache = new CommonCache<>();
+        this.storedResolutions = new ConcurrentHashMap<>();
     }
 
     public LogicCache(int size, int timeOutMinutes) {
         this.ruleCache = new CommonCache<>(size, timeOutMinutes);
         this.typeResolverCache = new CommonCache<>(size, timeOutMinutes);
+        this.patternCache = new CommonCache<>(size, timeOutMinutes);
+        this.storedResolutions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the types that the variables of a type resolver traversal resolve to, which are restored from
+     * the resolutions that this cache was read with, if there is one for the traversal, or resolved otherwise.
+     */
+    public Map<Reference, Set<Label>> resolve(Traversal traversal, Function<Traversal, Map<Reference, Set<Label>>> resolver) {
+        return typeResolverCache.get(traversal, t -> {
+            if (!storedResolutions.isEmpty()) {
+                Optional<Map<Reference, Set<Label>>> stored = t.fingerprint().map(storedResolutions::remove);
+                if (stored.isPresent()) return stored.get();
+            }
+            return resolver.apply(t);
+        });
+    }
+
+    /**
+     * Writes the type resolutions in this cache, as well as those it was read with that have not been
+     * used since, such that the cache can be read back in once the server restarts. Only the resolutions
+     * of unparameterised traversals, whose variables are all named, are written.
+     */
+    public void write(DataOutput output) throws IOException {
+        typeResolverCache.forEach((traversal, resolvedTypes) -> {
+            if (resolvedTypes.keySet().stream().allMatch(Reference::isName)) {
+                traversal.fingerprint().filter(fingerprint -> fingerprint.length() <= MAX_FINGERPRINT_LENGTH)
+                        .ifPresent(fingerprint -> storedResolutions.put(fingerprint, resolvedTypes));
+            }
+        });
+        List<Map.Entry<String, Map<Reference, Set<Label>>>> entries = new ArrayList<>(storedResolutions.entrySet());
+        output.writeInt(entries.size());
+        for (Map.Entry<String, Map<Reference, Set<Label>>> entry : entries) {
+            output.writeUTF(entry.getKey());
+            output.writeInt(entry.getValue().size());
+            for (Map.Entry<Reference, Set<Label>> resolvedTypes : entry.getValue().entrySet()) {
+                output.writeUTF(resolvedTypes.getKey().asName().name());
+                output.writeInt(resolvedTypes.getValue().size());
+                for (Label label : resolvedTypes.getValue()) {
+                    output.writeUTF(label.name());
+                    output.writeBoolean(label.scope().isPresent());
+                    if (label.scope().isPresent()) output.writeUTF(label.scope().get());
+                }
+            }
+        }
+    }
+
+    public static LogicCache read(DataInput input) throws IOException {
+        LogicCache cache = new LogicCache();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String fingerprint = input.readUTF();
+            int variables = input.readInt();
+            Map<Reference, Set<Label>> resolution = new HashMap<>();
+            for (int j = 0; j < variables; j++) {
+                Reference.Name reference = Reference.name(input.readUTF());
+                int labels = input.readInt();
+                Set<Label> resolvedTypes = new HashSet<>();
+                for (int k = 0; k < labels; k++) {
+                    String name = input.readUTF();
+                    resolvedTypes.add(input.readBoolean() ? Label.of(name, input.readUTF()) : Label.of(name));
+                }
+                resolution.put(reference, resolvedTypes);
+            }
+            cache.storedResolutions.put(fingerprint, resolution);
+        }
+        return cache;
+    }
+
+    /**
+     * Returns a new cache with the type resolutions and rules of this cache, other than those that may
+     * differ once the given types and rules have been modified in the schema. The entries are copied
+     * into the new cache, as in {@code TraversalCache#copyUnaffectedBy}, and the values are shared.
+     *
+     * @param modifiedTypes the labels of the types that have been modified in the schema
+     * @param modifiedRules the labels of the rules that have been modified in the schema
+     * @return a new cache with the entries that are not concerned with the modified types and rules
+     */
+    public LogicCache copyUnaffectedBy(Set<Label> modifiedTypes, Set<String> modifiedRules) {
+        LogicCache cache = new LogicCache();
+        typeResolverCache.forEach((traversal, resolvedTypes) -> {
+            if (!traversal.isAffectedBy(modifiedTypes) &&
+                    resolvedTypes.values().stream().allMatch(labels -> Collections.disjoint(labels, modifiedTypes))) {
+                cache.typeResolverCache.put(traversal, resolvedTypes);
+            }
+        });
+        ruleCache.forEach((label, rule) -> {
+            if (!modifiedRules.contains(label) && !rule.isAffectedBy(modifiedTypes)) cache.ruleCache.put(label, rule);
+        });
+        return cache;
     }
 
     public CommonCache<Traversal, Map<Reference, Set<Label>>> resolver() { return typeResolverCache; }
 
+    public CommonCache<graql.lang.pattern.Conjunction<? extends Pattern>, Disjunction> pattern() { return patternCache; }
+
     CommonCache<String, Rule> rule() { return ruleCache; }
 }
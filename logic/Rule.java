@@ -173,6 +173,19 @@ public class Rule {
         return structure.hashCode(); // does not need caching
     }
 
+    /**
+     * Returns whether the type resolution of this rule may differ once the given types have been modified.
+     */
+    boolean isAffectedBy(Set<Label> modifiedTypes) {
+        return isAffectedBy(when, modifiedTypes) || isAffectedBy(then, modifiedTypes);
+    }
+
+    private static boolean isAffectedBy(Conjunction conjunction, Set<Label> modifiedTypes) {
+        return conjunction.traversal().isAffectedBy(modifiedTypes) || Iterators.iterate(conjunction.negations()).anyMatch(
+                negation -> Iterators.iterate(negation.disjunction().conjunctions()).anyMatch(c -> isAffectedBy(c, modifiedTypes))
+        );
+    }
+
     public void validateSatisfiable() {
         Stream.concat(then.variables().stream(), when.variables().stream()).forEach(variable -> {
             if (!variable.isSatisfiable())
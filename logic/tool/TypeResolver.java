@@ -27,6 +27,7 @@ import grakn.core.graph.common.Encoding;
 import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicCache;
 import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
 import grakn.core.pattern.constraint.thing.HasConstraint;
 import grakn.core.pattern.constraint.thing.IIDConstraint;
 import grakn.core.pattern.constraint.thing.IsConstraint;
@@ -49,6 +50,7 @@ import grakn.core.traversal.Traversal;
 import grakn.core.traversal.TraversalEngine;
 import grakn.core.traversal.common.Identifier;
 import graql.lang.common.GraqlArg.ValueType;
+import graql.lang.pattern.Pattern;
 import graql.lang.pattern.variable.Reference;
 
 import java.util.HashMap;
@@ -109,6 +111,7 @@ public class TypeResolver {
     }
 
     public void resolve(Conjunction conjunction, boolean insertable) {
+        if (conjunction.isResolved()) return;
         resolveLabels(conjunction);
         TraversalBuilder traversalBuilder = new TraversalBuilder(conjunction, conceptMgr, insertable);
         Map<Reference, Set<Label>> resolvedLabels = executeResolverTraversals(traversalBuilder);
@@ -134,8 +137,20 @@ public class TypeResolver {
         resolve(conjunction, false);
     }
 
+    /**
+     * Returns the disjunction that a pattern normalises into, with the types of each of its conjunctions resolved.
+     * If asked to, the disjunction is cached until the schema is modified: it is then shared by every caller,
+     * and must only be read, or cloned into conjunctions of its own through {@code Conjunction.cloneResolved()}.
+     */
+    public Disjunction resolve(graql.lang.pattern.Conjunction<? extends Pattern> pattern, boolean isCached) {
+        if (isCached) return logicCache.pattern().get(pattern, p -> resolve(p, false));
+        Disjunction disjunction = Disjunction.create(pattern.normalise());
+        disjunction.conjunctions().forEach(this::resolve);
+        return disjunction;
+    }
+
     private Map<Reference, Set<Label>> executeResolverTraversals(TraversalBuilder traversalBuilder) {
-        return logicCache.resolver().get(traversalBuilder.traversal(), traversal -> {
+        return logicCache.resolve(traversalBuilder.traversal(), traversal -> {
             Map<Reference, Set<Label>> mapping = new HashMap<>();
             traversalEng.iterator(traversal, true).forEachRemaining(
                     result -> result.forEach((ref, vertex) -> {
@@ -69,6 +69,7 @@ public class Conjunction implements Pattern, Cloneable {
 
     private boolean isSatisfiable;
     private boolean isBounded;
+    private boolean isResolved;
 
     public Conjunction(Set<Variable> variables, Set<Negation> negations) {
         this.variableSet = unmodifiableSet(variables);
@@ -77,6 +78,7 @@ public class Conjunction implements Pattern, Cloneable {
         this.hash = Objects.hash(variables, negations);
         this.isSatisfiable = true;
         this.isBounded = false;
+        this.isResolved = false;
     }
 
     private Map<Identifier.Variable, Variable> parseToMap(Set<Variable> variables) {
@@ -158,6 +160,14 @@ public class Conjunction implements Pattern, Cloneable {
         return isBounded;
     }
 
+    /**
+     * Returns whether this conjunction is a clone of a conjunction whose types had already been resolved,
+     * which carries over those types, such that they do not have to be resolved again.
+     */
+    public boolean isResolved() {
+        return isResolved;
+    }
+
     private boolean printable(Variable variable) {
         if (variable.reference().isName() || !variable.reference().isLabel()) return !variable.constraints().isEmpty();
         if (variable.isThing()) return !variable.asThing().relation().isEmpty() && !variable.asThing().has().isEmpty();
@@ -171,6 +181,19 @@ public class Conjunction implements Pattern, Cloneable {
                                iterate(this.negations).map(Negation::clone).toSet());
     }
 
+    /**
+     * Returns a clone of this conjunction, once its types have been resolved, that carries over the types
+     * resolved for its variables and whether it is satisfiable. Constraints that are added to the clone
+     * may only narrow down its answers, such that the types resolved for this conjunction remain valid.
+     */
+    public Conjunction cloneResolved() {
+        Conjunction clone = clone();
+        variableSet.forEach(variable -> clone.variable(variable.id()).addResolvedTypes(variable.resolvedTypes()));
+        clone.isSatisfiable = isSatisfiable;
+        clone.isResolved = true;
+        return clone;
+    }
+
     @Override
     public String toString() {
         return Stream.concat(variableSet.stream().filter(this::printable), negations.stream()).map(Pattern::toString)
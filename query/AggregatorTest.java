@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.query;
+
+import grakn.core.query.Matcher.Aggregator.HyperLogLog;
+import grakn.core.query.Matcher.Aggregator.TDigest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AggregatorTest {
+
+    private static final int VALUES = 100_000;
+
+    private static List<Double> shuffled(int size, Random random) {
+        List<Double> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) values.add((double) i);
+        Collections.shuffle(values, random);
+        return values;
+    }
+
+    private static double median(TDigest digest) {
+        return digest.quantile(0.5).asDouble();
+    }
+
+    private static long count(HyperLogLog sketch) {
+        return sketch.count().asLong();
+    }
+
+    @Test
+    public void t_digest_of_no_values_has_no_median() {
+        assertTrue(Double.isNaN(median(new TDigest())));
+    }
+
+    @Test
+    public void t_digest_of_few_values_is_exact_at_the_extremes() {
+        TDigest digest = new TDigest();
+        digest.accumulate(7);
+        assertEquals(7, median(digest), 0);
+        digest.accumulate(3);
+        digest.accumulate(11);
+        assertEquals(3, digest.quantile(0).asDouble(), 0);
+        assertEquals(11, digest.quantile(1).asDouble(), 0);
+        assertEquals(7, median(digest), 0);
+    }
+
+    @Test
+    public void t_digest_estimates_the_quantiles_of_uniform_values() {
+        TDigest digest = new TDigest();
+        shuffled(VALUES, new Random(0)).forEach(digest::accumulate);
+        // the error in rank is largest at the median, and shrinks towards the tails
+        assertEquals(VALUES / 2d, median(digest), VALUES * 0.01);
+        assertEquals(VALUES * 0.01, digest.quantile(0.01).asDouble(), VALUES * 0.001);
+        assertEquals(VALUES * 0.99, digest.quantile(0.99).asDouble(), VALUES * 0.001);
+    }
+
+    @Test
+    public void t_digest_estimates_the_median_of_skewed_values() {
+        TDigest digest = new TDigest();
+        Random random = new Random(0);
+        for (int i = 0; i < VALUES; i++) digest.accumulate(-Math.log(1 - random.nextDouble()));
+        // the median of the exponential distribution with a rate of 1
+        assertEquals(Math.log(2), median(digest), 0.02);
+    }
+
+    @Test
+    public void t_digest_combines_partitions_of_values() {
+        List<Double> values = shuffled(VALUES, new Random(0));
+        TDigest combined = new TDigest();
+        for (int partition = 0; partition < 8; partition++) {
+            TDigest digest = new TDigest();
+            values.subList(partition * VALUES / 8, (partition + 1) * VALUES / 8).forEach(digest::accumulate);
+            combined = combined.combine(digest);
+        }
+        assertEquals(VALUES / 2d, median(combined), VALUES * 0.01);
+        assertEquals(0, combined.quantile(0).asDouble(), 0);
+        assertEquals(VALUES - 1, combined.quantile(1).asDouble(), 0);
+    }
+
+    @Test
+    public void hyper_log_log_of_no_answers_counts_none() {
+        assertEquals(0, count(new HyperLogLog()));
+    }
+
+    @Test
+    public void hyper_log_log_counts_few_answers_almost_exactly() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long i = 0; i < 100; i++) sketch.accumulate(HyperLogLog.mix(i));
+        assertEquals(100, count(sketch), 1);
+    }
+
+    @Test
+    public void hyper_log_log_counts_distinct_answers_within_its_error() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long i = 0; i < VALUES; i++) {
+            sketch.accumulate(HyperLogLog.mix(i));
+            // duplicate answers, as from overlapping conjunctions, are counted once
+            if (i % 2 == 0) sketch.accumulate(HyperLogLog.mix(i));
+        }
+        // within three standard errors of 1.04 / sqrt(2^14)
+        assertEquals(VALUES, count(sketch), VALUES * 0.025);
+    }
+
+    @Test
+    public void hyper_log_log_combines_overlapping_partitions_into_their_union() {
+        HyperLogLog first = new HyperLogLog(), second = new HyperLogLog();
+        for (long i = 0; i < VALUES; i++) first.accumulate(HyperLogLog.mix(i));
+        for (long i = VALUES / 2; i < VALUES * 3 / 2; i++) second.accumulate(HyperLogLog.mix(i));
+        long union = count(first.combine(second));
+        assertEquals(VALUES * 3 / 2d, union, VALUES * 1.5 * 0.025);
+    }
+}
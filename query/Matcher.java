@@ -21,6 +21,7 @@ package grakn.core.query;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Context;
+import grakn.core.concept.Concept;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
@@ -28,6 +29,7 @@ import grakn.core.concept.answer.NumericGroup;
 import grakn.core.concept.thing.Attribute;
 import grakn.core.pattern.Disjunction;
 import grakn.core.reasoner.Reasoner;
+import grakn.core.traversal.TraversalProfile;
 import grakn.core.traversal.common.Identifier;
 import graql.lang.common.GraqlArg;
 import graql.lang.common.GraqlToken;
@@ -38,11 +40,16 @@ import graql.lang.query.builder.Sortable;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -51,13 +58,13 @@ import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 import static grakn.common.collection.Collections.set;
-import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.AGGREGATE_ATTRIBUTE_NOT_NUMBER;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_THING_CASTING;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.SORT_ATTRIBUTE_NOT_COMPARABLE;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.SORT_VARIABLE_NOT_ATTRIBUTE;
+import static grakn.core.common.iterator.Iterators.empty;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.parameters.Arguments.Query.Producer.EXHAUSTIVE;
 import static grakn.core.common.parameters.Arguments.Query.Producer.INCREMENTAL;
@@ -67,6 +74,8 @@ import static java.util.stream.Collectors.groupingBy;
 
 public class Matcher {
 
+    private static final int MAX_SORT_HEAP_SIZE = 1_000_000;
+
     private final Reasoner reasoner;
     private final GraqlMatch query;
     private final Disjunction disjunction;
@@ -78,13 +87,19 @@ public class Matcher {
     }
 
     public Matcher(Reasoner reasoner, GraqlMatch query, @Nullable Context.Query context) {
+        this(reasoner, query, Disjunction.create(query.conjunction().normalise()),
+             iterate(query.filter()).map(v -> Identifier.Variable.of(v.reference().asName())).toSet(), context);
+    }
+
+    private Matcher(Reasoner reasoner, GraqlMatch query, Disjunction disjunction,
+                    Set<Identifier.Variable.Name> filter, @Nullable Context.Query context) {
         this.reasoner = reasoner;
         this.query = query;
-        this.disjunction = Disjunction.create(query.conjunction().normalise());
-        this.filter = iterate(query.filter()).map(v -> Identifier.Variable.of(v.reference().asName())).toSet();
+        this.disjunction = disjunction;
+        this.filter = filter;
         this.context = context;
         if (context != null) {
-            if (query.sort().isPresent()) this.context.producer(EXHAUSTIVE); // TODO: remove this once sort is optimised
+            if (query.sort().isPresent()) this.context.producer(EXHAUSTIVE); // sort consumes every answer first
             else this.context.producer(INCREMENTAL);
         }
     }
@@ -97,6 +112,13 @@ public class Matcher {
         return new Matcher(reasoner, query, context);
     }
 
+    /**
+     * Creates a matcher of a prepared match query, given the disjunction of its template with its parameters bound.
+     */
+    public static Matcher create(Reasoner reasoner, PreparedMatch prepared, Disjunction bound, Context.Query context) {
+        return new Matcher(reasoner, prepared.template(), bound, prepared.filter(), context);
+    }
+
     public static Matcher.Aggregator create(Reasoner reasoner, GraqlMatch.Aggregate query, Context.Query context) {
         Matcher matcher = new Matcher(reasoner, query.match());
         return new Aggregator(matcher, query, context);
@@ -119,50 +141,155 @@ public class Matcher {
     }
 
     ResourceIterator<ConceptMap> execute(Context.Query context) {
-        ResourceIterator<ConceptMap> answers = reasoner.execute(disjunction, filter, context);
-        if (query.sort().isPresent()) answers = sort(answers, query.sort().get());
+        return modify(reasoner.execute(disjunction, filter, context));
+    }
+
+    /**
+     * Executes the query on the calling thread, recording what its traversals cost into the given profile.
+     */
+    public ResourceIterator<ConceptMap> execute(TraversalProfile profile) {
+        assert context != null;
+        return modify(reasoner.execute(disjunction, filter, context, profile).map(answer -> {
+            profile.answered();
+            return answer;
+        }));
+    }
+
+    public TraversalProfile explain() {
+        assert context != null;
+        return reasoner.explain(disjunction, filter, context);
+    }
+
+    private ResourceIterator<ConceptMap> modify(ResourceIterator<ConceptMap> answers) {
+        if (query.sort().isPresent()) answers = sort(answers, query.sort().get(), sortBound());
         if (query.offset().isPresent()) answers = answers.offset(query.offset().get());
         if (query.limit().isPresent()) answers = answers.limit(query.limit().get());
         return answers;
     }
 
-    private ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Sortable.Sorting sorting) {
-        // TODO: Replace this temporary implementation of Graql Match Sort query with a native sorting traversal
+    /**
+     * Collects every answer with a collector, without queueing the answers up for the calling thread.
+     * If the answers are produced in parallel, every producing thread accumulates the answers that
+     * it produces into its own partial container, and the partial containers are combined at the end.
+     */
+    <A, R> R collect(Context.Query context, Collector<ConceptMap, A, R> collector) {
+        return collect(context, collector, true);
+    }
+
+    /**
+     * Collects every answer with a collector, as above, where a collector that is insensitive to
+     * duplicate answers may skip the deduplication of the answers of a disjunction of many conjunctions.
+     */
+    <A, R> R collect(Context.Query context, Collector<ConceptMap, A, R> collector, boolean isDistinct) {
+        if (query.sort().isPresent() || query.offset().isPresent() || query.limit().isPresent()) {
+            return execute(context).stream().collect(collector);
+        }
+        ConcurrentMap<Thread, A> partials = new ConcurrentHashMap<>();
+        reasoner.consume(disjunction, filter, context, answer -> collector.accumulator().accept(
+                partials.computeIfAbsent(Thread.currentThread(), thread -> collector.supplier().get()), answer
+        ), isDistinct);
+        A result = iterate(partials.values()).stream().reduce(collector.combiner()).orElseGet(collector.supplier());
+        return collector.finisher().apply(result);
+    }
+
+    /**
+     * Returns the number of answers as counted by the statistics of the data graph, if they count them exactly.
+     */
+    Optional<Long> countFromStatistics(Context.Query context) {
+        if (query.sort().isPresent() || query.offset().isPresent() || query.limit().isPresent()) return Optional.empty();
+        return reasoner.countFromStatistics(disjunction, filter, context);
+    }
+
+    /**
+     * Returns the number of sorted answers that the query returns or skips, which is all that a sort
+     * needs to retain, or null if the query has no limit, or the bound is too large to retain in a heap.
+     */
+    @Nullable
+    private Integer sortBound() {
+        if (!query.limit().isPresent()) return null;
+        long bound = query.limit().get() + query.offset().orElse(0L);
+        if (bound > MAX_SORT_HEAP_SIZE) return null;
+        else return (int) bound;
+    }
+
+    /**
+     * Sorts the answers by the value of the attribute of the sort variable, keeping the answers
+     * with equal values in the order they were produced in. The attribute of every answer is only
+     * read and validated once, and if only the first {@code bound} answers are needed, they are
+     * selected with a bounded heap that only ever holds on to {@code bound} answers.
+     */
+    private ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Sortable.Sorting sorting,
+                                              @Nullable Integer bound) {
         Reference.Name var = sorting.var().reference().asName();
-        Comparator<ConceptMap> comparator = (answer1, answer2) -> {
-            Attribute att1, att2;
+        Comparator<SortEntry> comparator = (entry1, entry2) -> compare(entry1.attribute, entry2.attribute, var);
+        if (sorting.order() == GraqlArg.Order.DESC) comparator = comparator.reversed();
+        comparator = comparator.thenComparingLong(entry -> entry.index);
+
+        List<SortEntry> entries;
+        long index = 0;
+        if (bound == null) {
+            entries = new ArrayList<>();
+            while (answers.hasNext()) entries.add(new SortEntry(answers.next(), var, index++));
+        } else if (bound == 0) {
+            answers.recycle();
+            return empty();
+        } else {
+            // the heap is ordered in reverse, such that its head is the greatest answer retained so far
+            PriorityQueue<SortEntry> heap = new PriorityQueue<>(bound, comparator.reversed());
+            while (answers.hasNext()) {
+                SortEntry entry = new SortEntry(answers.next(), var, index++);
+                if (heap.size() < bound) heap.add(entry);
+                else if (comparator.compare(entry, heap.peek()) < 0) {
+                    heap.poll();
+                    heap.add(entry);
+                }
+            }
+            entries = new ArrayList<>(heap);
+        }
+        entries.sort(comparator);
+        return iterate(entries).map(entry -> entry.answer);
+    }
+
+    private static int compare(Attribute att1, Attribute att2, Reference.Name var) {
+        if (!att1.getType().getValueType().comparables().contains(att2.getType().getValueType())) {
+            throw GraknException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, var);
+        }
+        if (att1.isString()) {
+            return att1.asString().getValue().compareToIgnoreCase(att2.asString().getValue());
+        } else if (att1.isBoolean()) {
+            return att1.asBoolean().getValue().compareTo(att2.asBoolean().getValue());
+        } else if (att1.isLong() && att2.isLong()) {
+            return att1.asLong().getValue().compareTo(att2.asLong().getValue());
+        } else if (att1.isDouble() || att2.isDouble()) {
+            Double double1 = att1.isLong() ? att1.asLong().getValue() : att1.asDouble().getValue();
+            Double double2 = att2.isLong() ? att2.asLong().getValue() : att2.asDouble().getValue();
+            return double1.compareTo(double2);
+        } else if (att1.isDateTime()) {
+            return (att1.asDateTime().getValue()).compareTo(att2.asDateTime().getValue());
+        } else {
+            throw GraknException.of(ILLEGAL_STATE);
+        }
+    }
+
+    private static class SortEntry {
+
+        final ConceptMap answer;
+        final Attribute attribute;
+        final long index;
+
+        SortEntry(ConceptMap answer, Reference.Name var, long index) {
+            this.answer = answer;
+            this.index = index;
             try {
-                att1 = answer1.get(var).asAttribute();
-                att2 = answer2.get(var).asAttribute();
+                this.attribute = answer.get(var).asAttribute();
             } catch (GraknException e) {
-                if (e.code().isPresent() || e.code().get().equals(INVALID_THING_CASTING.code())) {
+                if (e.code().isPresent() && e.code().get().equals(INVALID_THING_CASTING.code())) {
                     throw GraknException.of(SORT_VARIABLE_NOT_ATTRIBUTE, var);
                 } else {
                     throw e;
                 }
             }
-
-            if (!att1.getType().getValueType().comparables().contains(att2.getType().getValueType())) {
-                throw GraknException.of(SORT_ATTRIBUTE_NOT_COMPARABLE, var);
-            }
-            if (att1.isString()) {
-                return att1.asString().getValue().compareToIgnoreCase(att2.asString().getValue());
-            } else if (att1.isBoolean()) {
-                return att1.asBoolean().getValue().compareTo(att2.asBoolean().getValue());
-            } else if (att1.isLong() && att2.isLong()) {
-                return att1.asLong().getValue().compareTo(att2.asLong().getValue());
-            } else if (att1.isDouble() || att2.isDouble()) {
-                Double double1 = att1.isLong() ? att1.asLong().getValue() : att1.asDouble().getValue();
-                Double double2 = att2.isLong() ? att2.asLong().getValue() : att2.asDouble().getValue();
-                return double1.compareTo(double2);
-            } else if (att1.isDateTime()) {
-                return (att1.asDateTime().getValue()).compareTo(att2.asDateTime().getValue());
-            } else {
-                throw GraknException.of(ILLEGAL_STATE);
-            }
-        };
-        comparator = (sorting.order() == GraqlArg.Order.DESC) ? comparator.reversed() : comparator;
-        return iterate(answers.stream().sorted(comparator).iterator());
+        }
     }
 
     public static class Aggregator {
@@ -179,18 +306,20 @@ public class Matcher {
         }
 
         public Numeric execute() {
-            ResourceIterator<ConceptMap> answers = matcher.execute(context);
-            GraqlToken.Aggregate.Method method = query.method();
-            UnboundVariable var = query.var();
-            return aggregate(answers, method, var);
-        }
-
-        static Numeric aggregate(ResourceIterator<ConceptMap> answers,
-                                 GraqlToken.Aggregate.Method method, UnboundVariable var) {
-            return answers.stream().collect(aggregator(method, var));
+            boolean isApproximate = context.options().approximateAggregates();
+            if (query.method() == GraqlToken.Aggregate.Method.COUNT) {
+                Optional<Long> count = matcher.countFromStatistics(context);
+                if (count.isPresent()) return Numeric.ofLong(count.get());
+                // only the answers of many conjunctions need a set of every answer to be counted exactly
+                if (isApproximate && matcher.disjunction.conjunctions().size() > 1) {
+                    return matcher.collect(context, approximateCount(), false);
+                }
+            }
+            return matcher.collect(context, aggregator(query.method(), query.var(), isApproximate));
         }
 
-        static Collector<ConceptMap, ?, Numeric> aggregator(GraqlToken.Aggregate.Method method, UnboundVariable var) {
+        static Collector<ConceptMap, ?, Numeric> aggregator(GraqlToken.Aggregate.Method method, UnboundVariable var,
+                                                            boolean isApproximate) {
             Collector<ConceptMap, ?, Numeric> aggregator;
             switch (method) {
                 case COUNT:
@@ -203,7 +332,7 @@ public class Matcher {
                     aggregator = mean(var);
                     break;
                 case MEDIAN:
-                    aggregator = median(var);
+                    aggregator = isApproximate ? approximateMedian(var) : median(var);
                     break;
                 case MIN:
                     aggregator = min(var);
@@ -344,7 +473,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<MedianCalculator> combiner() {
-                    return (t, u) -> { throw GraknException.of(ILLEGAL_OPERATION); };
+                    return MedianCalculator::combine;
                 }
 
                 @Override
@@ -359,6 +488,66 @@ public class Matcher {
             };
         }
 
+        static Collector<ConceptMap, ?, Numeric> approximateMedian(UnboundVariable var) {
+            return new Collector<ConceptMap, TDigest, Numeric>() {
+
+                @Override
+                public Supplier<TDigest> supplier() {
+                    return TDigest::new;
+                }
+
+                @Override
+                public BiConsumer<TDigest, ConceptMap> accumulator() {
+                    return (digest, answer) -> digest.accumulate(numeric(answer, var).asNumber().doubleValue());
+                }
+
+                @Override
+                public BinaryOperator<TDigest> combiner() {
+                    return TDigest::combine;
+                }
+
+                @Override
+                public Function<TDigest, Numeric> finisher() {
+                    return digest -> digest.quantile(0.5);
+                }
+
+                @Override
+                public Set<Characteristics> characteristics() {
+                    return set();
+                }
+            };
+        }
+
+        static Collector<ConceptMap, ?, Numeric> approximateCount() {
+            return new Collector<ConceptMap, HyperLogLog, Numeric>() {
+
+                @Override
+                public Supplier<HyperLogLog> supplier() {
+                    return HyperLogLog::new;
+                }
+
+                @Override
+                public BiConsumer<HyperLogLog, ConceptMap> accumulator() {
+                    return (sketch, answer) -> sketch.accumulate(HyperLogLog.hash(answer));
+                }
+
+                @Override
+                public BinaryOperator<HyperLogLog> combiner() {
+                    return HyperLogLog::combine;
+                }
+
+                @Override
+                public Function<HyperLogLog, Numeric> finisher() {
+                    return HyperLogLog::count;
+                }
+
+                @Override
+                public Set<Characteristics> characteristics() {
+                    return set(Characteristics.UNORDERED);
+                }
+            };
+        }
+
         static Collector<ConceptMap, ?, Numeric> min(UnboundVariable var) {
             return new Collector<ConceptMap, OptionalAccumulator<Numeric>, Numeric>() {
 
@@ -410,7 +599,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<STDCalculator> combiner() {
-                    return (t, u) -> { throw GraknException.of(ILLEGAL_OPERATION); };
+                    return STDCalculator::combine;
                 }
 
                 @Override
@@ -495,6 +684,17 @@ public class Matcher {
                 }
             }
 
+            MedianCalculator combine(MedianCalculator other) {
+                if (size() < other.size()) return other.combine(this);
+                other.maxHeap.forEach(this::accumulate);
+                other.minHeap.forEach(this::accumulate);
+                return this;
+            }
+
+            private int size() {
+                return maxHeap.size() + minHeap.size();
+            }
+
             Numeric median() {
                 if (maxHeap.isEmpty() && minHeap.isEmpty()) {
                     return Numeric.ofNaN();
@@ -525,12 +725,223 @@ public class Matcher {
                 M2 += delta * delta2;
             }
 
+            /**
+             * Combines the running statistics of two disjoint sets of values, as by Chan et al.
+             */
+            STDCalculator combine(STDCalculator other) {
+                if (other.n == 0) return this;
+                long total = n + other.n;
+                double delta = other.mean - mean;
+                M2 += other.M2 + delta * delta * ((double) n * other.n / total);
+                mean += delta * other.n / total;
+                n = total;
+                return this;
+            }
+
             Numeric std() {
                 if (n < 2) return Numeric.ofNaN();
                 else return Numeric.ofDouble(sqrt(M2 / (double) (n - 1)));
             }
         }
 
+        /**
+         * A merging t-digest, as by Dunning and Ertl, which sketches a distribution of values in a bounded
+         * number of centroids, that are smaller towards the tails of the distribution, where its quantiles
+         * are estimated most accurately, and which merges with the digests of other partitions of the values.
+         */
+        static class TDigest {
+
+            private static final double COMPRESSION = 100;
+            private static final int BUFFER_SIZE = 5 * (int) COMPRESSION;
+
+            private final double[] bufferMeans;
+            private final double[] bufferWeights;
+            private int buffered;
+            private double[] means;
+            private double[] weights;
+            private double totalWeight;
+            private double min;
+            private double max;
+
+            TDigest() {
+                bufferMeans = new double[BUFFER_SIZE];
+                bufferWeights = new double[BUFFER_SIZE];
+                buffered = 0;
+                means = new double[0];
+                weights = new double[0];
+                totalWeight = 0;
+                min = Double.POSITIVE_INFINITY;
+                max = Double.NEGATIVE_INFINITY;
+            }
+
+            void accumulate(double value) {
+                add(value, 1);
+            }
+
+            TDigest combine(TDigest other) {
+                for (int i = 0; i < other.means.length; i++) add(other.means[i], other.weights[i]);
+                for (int i = 0; i < other.buffered; i++) add(other.bufferMeans[i], other.bufferWeights[i]);
+                // the other's centroids lie within its extremes, which are kept exactly
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+                return this;
+            }
+
+            private void add(double mean, double weight) {
+                if (buffered == BUFFER_SIZE) compress();
+                bufferMeans[buffered] = mean;
+                bufferWeights[buffered] = weight;
+                buffered++;
+                min = Math.min(min, mean);
+                max = Math.max(max, mean);
+            }
+
+            private void compress() {
+                if (buffered == 0) return;
+                int size = means.length + buffered;
+                double[] allMeans = Arrays.copyOf(means, size);
+                double[] allWeights = Arrays.copyOf(weights, size);
+                System.arraycopy(bufferMeans, 0, allMeans, means.length, buffered);
+                System.arraycopy(bufferWeights, 0, allWeights, means.length, buffered);
+                Integer[] order = new Integer[size];
+                for (int i = 0; i < size; i++) {
+                    order[i] = i;
+                    if (i >= means.length) totalWeight += allWeights[i];
+                }
+                Arrays.sort(order, Comparator.comparingDouble(i -> allMeans[i]));
+
+                double[] newMeans = new double[size];
+                double[] newWeights = new double[size];
+                int centroids = 0;
+                double mean = allMeans[order[0]], weight = allWeights[order[0]], weightSoFar = 0;
+                double weightLimit = totalWeight * kInverse(k(0) + 1);
+                for (int j = 1; j < size; j++) {
+                    int i = order[j];
+                    if (weightSoFar + weight + allWeights[i] <= weightLimit) {
+                        weight += allWeights[i];
+                        mean += (allMeans[i] - mean) * allWeights[i] / weight;
+                    } else {
+                        newMeans[centroids] = mean;
+                        newWeights[centroids++] = weight;
+                        weightSoFar += weight;
+                        weightLimit = totalWeight * kInverse(k(weightSoFar / totalWeight) + 1);
+                        mean = allMeans[i];
+                        weight = allWeights[i];
+                    }
+                }
+                newMeans[centroids] = mean;
+                newWeights[centroids++] = weight;
+                means = Arrays.copyOf(newMeans, centroids);
+                weights = Arrays.copyOf(newWeights, centroids);
+                buffered = 0;
+            }
+
+            private static double k(double quantile) {
+                return COMPRESSION / (2 * Math.PI) * Math.asin(2 * quantile - 1);
+            }
+
+            private static double kInverse(double k) {
+                return (Math.sin(Math.min(k * 2 * Math.PI / COMPRESSION, Math.PI / 2)) + 1) / 2;
+            }
+
+            Numeric quantile(double quantile) {
+                compress();
+                if (means.length == 0) return Numeric.ofNaN();
+                else if (means.length == 1) return Numeric.ofDouble(means[0]);
+
+                // interpolate between the centres of the centroids, and the extremes at either end
+                double target = quantile * totalWeight;
+                double weightSoFar = 0, previousMean = min, previousCentre = 0;
+                for (int i = 0; i < means.length; i++) {
+                    double centre = weightSoFar + weights[i] / 2;
+                    if (target < centre) {
+                        return Numeric.ofDouble(interpolate(previousMean, previousCentre, means[i], centre, target));
+                    }
+                    previousMean = means[i];
+                    previousCentre = centre;
+                    weightSoFar += weights[i];
+                }
+                return Numeric.ofDouble(interpolate(previousMean, previousCentre, max, totalWeight, target));
+            }
+
+            private static double interpolate(double fromValue, double from, double toValue, double to, double at) {
+                if (to <= from) return toValue;
+                else return fromValue + (toValue - fromValue) * (at - from) / (to - from);
+            }
+        }
+
+        /**
+         * A HyperLogLog sketch, as by Flajolet et al., which estimates the number of distinct answers
+         * it has seen, with a standard error of 1.04 / sqrt(2^PRECISION), in a fixed number of registers,
+         * and which merges with the sketches of other partitions of the answers by their maxima.
+         */
+        static class HyperLogLog {
+
+            private static final int PRECISION = 14;
+            private static final int REGISTERS = 1 << PRECISION;
+            private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+            private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+            private final byte[] registers;
+
+            HyperLogLog() {
+                registers = new byte[REGISTERS];
+            }
+
+            static long hash(ConceptMap answer) {
+                // an answer is a set of variables, so its hash must not depend on the order of the variables
+                long hash = 0;
+                for (Map.Entry<?, ? extends Concept> entry : answer.concepts().entrySet()) {
+                    hash += mix(hash(entry.getValue()) + GOLDEN_GAMMA * entry.getKey().hashCode());
+                }
+                return mix(hash);
+            }
+
+            private static long hash(Concept concept) {
+                if (concept.isType()) return concept.asType().getLabel().hashCode();
+                long hash = 0xcbf29ce484222325L; // FNV-1a
+                for (byte b : concept.asThing().getIID()) {
+                    hash ^= b;
+                    hash *= 0x100000001b3L;
+                }
+                return hash;
+            }
+
+            static long mix(long hash) {
+                hash ^= hash >>> 33;
+                hash *= 0xff51afd7ed558ccdL;
+                hash ^= hash >>> 33;
+                hash *= 0xc4ceb9fe1a85ec53L;
+                hash ^= hash >>> 33;
+                return hash;
+            }
+
+            void accumulate(long hash) {
+                int register = (int) (hash >>> (Long.SIZE - PRECISION));
+                byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+                if (rank > registers[register]) registers[register] = rank;
+            }
+
+            HyperLogLog combine(HyperLogLog other) {
+                for (int i = 0; i < REGISTERS; i++) {
+                    if (other.registers[i] > registers[i]) registers[i] = other.registers[i];
+                }
+                return this;
+            }
+
+            Numeric count() {
+                double sum = 0;
+                int zeros = 0;
+                for (byte rank : registers) {
+                    sum += 1d / (1L << rank);
+                    if (rank == 0) zeros++;
+                }
+                double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+                if (estimate <= 2.5 * REGISTERS && zeros > 0) estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+                return Numeric.ofLong(Math.round(estimate));
+            }
+        }
+
         private static class NumericComparator implements Comparator<Numeric> {
 
             static NumericComparator natural = new NumericComparator();
@@ -596,9 +1007,8 @@ public class Matcher {
         }
 
         public ResourceIterator<ConceptMapGroup> execute() {
-            // TODO: Replace this temporary implementation of Graql Match Group query with a native grouping traversal
             List<ConceptMapGroup> answerGroups = new ArrayList<>();
-            matcher.execute(context).stream().collect(groupingBy(a -> a.get(query.var())))
+            matcher.collect(context, groupingBy(a -> a.get(query.var())))
                     .forEach((o, cm) -> answerGroups.add(new ConceptMapGroup(o, cm)));
             return iterate(answerGroups);
         }
@@ -614,11 +1024,13 @@ public class Matcher {
             }
 
             public ResourceIterator<NumericGroup> execute() {
-                // TODO: Replace this temporary implementation of Graql Match Group query with a native grouping traversal
+                // groups are keyed by concept, whose equality is that of its IID, and each group only holds
+                // on to the partial aggregate of its answers, rather than to the answers themselves
                 List<NumericGroup> numericGroups = new ArrayList<>();
-                group.matcher.execute(group.context).stream()
-                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(query.method(), query.var())))
-                        .forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
+                boolean isApproximate = group.context.options().approximateAggregates();
+                group.matcher.collect(group.context, groupingBy(
+                        a -> a.get(query.group().var()), aggregator(query.method(), query.var(), isApproximate)
+                )).forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
                 return iterate(numericGroups);
             }
         }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.common.collection.Bytes;
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Label;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.ThingType;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.pattern.variable.ThingVariable;
+import grakn.core.pattern.variable.Variable;
+import grakn.core.traversal.common.Identifier;
+import graql.lang.Graql;
+import graql.lang.common.exception.GraqlException;
+import graql.lang.pattern.constraint.ThingConstraint;
+import graql.lang.pattern.variable.Reference;
+import graql.lang.query.GraqlMatch;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
+import static grakn.core.common.exception.ErrorMessage.ThingRead.CONTRADICTORY_BOUND_VARIABLE;
+import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_PARAMETER_LITERAL;
+import static grakn.core.common.exception.ErrorMessage.ThingRead.INVALID_PARAMETER_VALUE_TYPE;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static graql.lang.common.GraqlToken.Predicate.Equality.EQ;
+import static java.util.Collections.unmodifiableSet;
+
+/**
+ * A match query that is parsed once, as a template, and executed many times with its parameters bound to
+ * different concepts or values. The parameters are named thing variables of the template, which are left
+ * out of its answers, and which are bound to either the IID of a concept, or to the value of an attribute.
+ *
+ * A prepared match holds no state of the transaction it was prepared in, and may be executed in any
+ * transaction of the same database. The template is normalised and type resolved once, until the schema
+ * is modified, and each execution only clones its conjunctions and binds the parameters into them.
+ */
+public class PreparedMatch {
+
+    private final GraqlMatch template;
+    private final Set<Reference.Name> parameters;
+    private final Set<Identifier.Variable.Name> filter;
+
+    PreparedMatch(GraqlMatch template, Set<Reference.Name> parameters) {
+        this.template = template;
+        this.parameters = unmodifiableSet(parameters);
+        this.filter = iterate(template.filter()).map(v -> v.reference().asName())
+                .filter(reference -> !parameters.contains(reference)).map(Identifier.Variable::of).toSet();
+    }
+
+    public GraqlMatch template() {
+        return template;
+    }
+
+    public Set<Reference.Name> parameters() {
+        return parameters;
+    }
+
+    Set<Identifier.Variable.Name> filter() {
+        return filter;
+    }
+
+    /**
+     * Parses the value that a parameter is bound to from Graql, as either a literal value, such as {@code "alice"}
+     * or {@code 42}, or an IID, such as {@code iid 0x...}, by parsing it as the only constraint of the parameter.
+     *
+     * @return the IID, as a {@code byte[]}, or the value, that the parameter is bound to
+     */
+    public static Object parameter(Reference.Name parameter, String literal) {
+        graql.lang.pattern.variable.ThingVariable<?> variable;
+        try {
+            variable = Graql.parseVariable(parameter.syntax() + " " + literal).asThing();
+        } catch (GraqlException e) {
+            throw GraknException.of(INVALID_PARAMETER_LITERAL, parameter, literal);
+        }
+        if (!variable.reference().equals(parameter) || variable.constraints().size() != 1) {
+            throw GraknException.of(INVALID_PARAMETER_LITERAL, parameter, literal);
+        }
+        ThingConstraint constraint = variable.constraints().get(0);
+        if (constraint.isIID()) return Bytes.hexStringToBytes(constraint.asIID().iid());
+        else if (!constraint.isValue() || constraint.asValue().predicate() != EQ) {
+            throw GraknException.of(INVALID_PARAMETER_LITERAL, parameter, literal);
+        }
+        ThingConstraint.Value<?> value = constraint.asValue();
+        if (value.isLong()) return value.asLong().value();
+        else if (value.isDouble()) return value.asDouble().value();
+        else if (value.isBoolean()) return value.asBoolean().value();
+        else if (value.isString()) return value.asString().value();
+        else if (value.isDateTime()) return value.asDateTime().value();
+        else throw GraknException.of(INVALID_PARAMETER_LITERAL, parameter, literal);
+    }
+
+    /**
+     * Binds the parameters of this query into clones of the conjunctions of its type resolved template, once
+     * every value has been validated to be comparable to the values of at least one of the attribute types that
+     * its parameter is resolved to.
+     *
+     * @param resolved the disjunction of the template, whose types have been resolved
+     * @param bindings the IID, as a {@code byte[]}, or the value, of every parameter of this query
+     * @param conceptMgr the concept manager to look the value types of the resolved attribute types up in
+     * @return a new disjunction, with the types of the template and every parameter bound
+     */
+    Disjunction bind(Disjunction resolved, Map<Reference.Name, Object> bindings, ConceptManager conceptMgr) {
+        if (!bindings.keySet().equals(parameters)) throw GraknException.of(ILLEGAL_ARGUMENT);
+        Set<Reference.Name> bound = new HashSet<>();
+        Disjunction disjunction = new Disjunction(iterate(resolved.conjunctions()).map(conjunction -> {
+            Conjunction clone = conjunction.cloneResolved();
+            bindings.forEach((reference, value) -> {
+                Variable variable = clone.variable(Identifier.Variable.of(reference));
+                if (variable == null) return;
+                bind(variable, value, conceptMgr);
+                bound.add(reference);
+            });
+            return clone;
+        }).toList());
+        // a parameter that only occurs in negations would be left unbound, and match anything
+        if (!bound.equals(parameters)) throw GraknException.of(ILLEGAL_ARGUMENT);
+        return disjunction;
+    }
+
+    private static void bind(Variable variable, Object value, ConceptManager conceptMgr) {
+        if (!variable.isThing()) throw GraknException.of(CONTRADICTORY_BOUND_VARIABLE, variable);
+        ThingVariable thing = variable.asThing();
+        if (value instanceof byte[]) {
+            thing.iid((byte[]) value);
+            return;
+        }
+        validateValueType(thing, value, conceptMgr);
+        if (value instanceof Long) thing.valueLong(EQ, (Long) value);
+        else if (value instanceof Double) thing.valueDouble(EQ, (Double) value);
+        else if (value instanceof Boolean) thing.valueBoolean(EQ, (Boolean) value);
+        else if (value instanceof String) thing.valueString(EQ, (String) value);
+        else if (value instanceof LocalDateTime) thing.valueDateTime(EQ, (LocalDateTime) value);
+        else throw GraknException.of(ILLEGAL_ARGUMENT);
+    }
+
+    private static void validateValueType(ThingVariable thing, Object value, ConceptManager conceptMgr) {
+        AttributeType.ValueType valueType = AttributeType.ValueType.of(value.getClass());
+        if (valueType == null) throw GraknException.of(ILLEGAL_ARGUMENT);
+        // a template that cannot be satisfied resolves no types, and has no answers whatever it is bound to
+        if (thing.resolvedTypes().isEmpty()) return;
+        for (Label label : thing.resolvedTypes()) {
+            ThingType type = conceptMgr.getThingType(label.name());
+            if (type != null && type.isAttributeType() &&
+                    type.asAttributeType().getValueType().comparables().contains(valueType)) return;
+        }
+        throw GraknException.of(INVALID_PARAMETER_VALUE_TYPE, thing.reference(), value);
+    }
+}
@@ -28,7 +28,10 @@ import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
 import grakn.core.concept.answer.NumericGroup;
 import grakn.core.logic.LogicManager;
+import grakn.core.pattern.Disjunction;
 import grakn.core.reasoner.Reasoner;
+import grakn.core.traversal.TraversalProfile;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlDelete;
 import graql.lang.query.GraqlInsert;
@@ -38,6 +41,9 @@ import graql.lang.query.GraqlUpdate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.Set;
+
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
@@ -74,6 +80,53 @@ public class QueryManager {
         }
     }
 
+    /**
+     * Returns the procedures that the traversals of a match query are planned into, in the order in which they were
+     * planned, with the estimated cost of each of their edges, without executing the query.
+     */
+    public TraversalProfile explain(GraqlMatch query, Context.Query context) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "explain")) {
+            return Matcher.create(reasoner, query, context).explain();
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    /**
+     * Executes a match query on the calling thread, like {@code match}, and records the procedures that its traversals
+     * are planned into, and what each of their edges costs, into the given profile as the answers are iterated over.
+     */
+    public ResourceIterator<ConceptMap> profile(GraqlMatch query, Context.Query context, TraversalProfile profile) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "profile")) {
+            return Matcher.create(reasoner, query, context).execute(profile).onError(conceptMgr::exception);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
+    /**
+     * Prepares a match query to be executed many times, with the given named variables of the query as its
+     * parameters, which are bound to concepts or values each time the query is executed. The query may be
+     * executed in any transaction of the database, and is only type resolved once until the schema is modified.
+     */
+    public PreparedMatch prepare(GraqlMatch template, Set<Reference.Name> parameters) {
+        return new PreparedMatch(template, parameters);
+    }
+
+    public ResourceIterator<ConceptMap> match(PreparedMatch prepared, Map<Reference.Name, Object> bindings,
+                                              Context.Query context) {
+        try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match_prepared")) {
+            // a schema transaction may modify the schema that a shared resolution would be resolved against
+            Disjunction resolved = logicMgr.typeResolver().resolve(
+                    prepared.template().conjunction(), !context.sessionType().isSchema()
+            );
+            Disjunction bound = prepared.bind(resolved, bindings, conceptMgr);
+            return Matcher.create(reasoner, prepared, bound, context).execute().onError(conceptMgr::exception);
+        } catch (Exception exception) {
+            throw conceptMgr.exception(exception);
+        }
+    }
+
     public Numeric match(GraqlMatch.Aggregate query) {
         return match(query, defaultContext);
     }
@@ -30,18 +30,34 @@ import grakn.core.concept.type.Type;
 import grakn.core.concurrent.actor.Actor;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.concurrent.producer.Producers;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicManager;
 import grakn.core.pattern.Conjunction;
 import grakn.core.pattern.Disjunction;
+import grakn.core.pattern.Negation;
+import grakn.core.pattern.variable.ThingVariable;
 import grakn.core.pattern.variable.Variable;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.traversal.TraversalEngine;
+import grakn.core.traversal.TraversalProfile;
 import grakn.core.traversal.common.Identifier;
+import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 import static grakn.common.collection.Collections.set;
 import static grakn.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_CONJUNCTION;
@@ -53,6 +69,7 @@ import static grakn.core.concurrent.producer.Producers.produce;
 
 public class Reasoner {
     private static final Logger LOG = LoggerFactory.getLogger(Reasoner.class);
+    private static final int ANTI_JOIN_MAX_SIZE = 100_000;
 
     private final TraversalEngine traversalEng;
     private final ConceptManager conceptMgr;
@@ -99,6 +116,126 @@ public class Reasoner {
         return answers;
     }
 
+    /**
+     * Returns the answers of a disjunction, one conjunction after another on the calling thread, and records
+     * what the traversal of each conjunction costs into the given profile as the answers are iterated over.
+     * Conjunctions that are answered by the reasoner are executed as usual, but are not profiled.
+     */
+    public ResourceIterator<ConceptMap> execute(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                                                Context.Query context, TraversalProfile profile) {
+        ResourceIterator<ConceptMap> answers = iterate(disjunction.conjunctions())
+                .flatMap(conj -> iterator(conj, filter, context, profile));
+        if (disjunction.conjunctions().size() > 1) answers = answers.distinct();
+        return answers;
+    }
+
+    /**
+     * Returns a profile of the procedures that the traversals of the conjunctions of a disjunction are planned into,
+     * without executing any of them.
+     */
+    public TraversalProfile explain(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                                    Context.Query context) {
+        TraversalProfile profile = new TraversalProfile(false);
+        for (Conjunction conjunction : disjunction.conjunctions()) {
+            logicMgr.typeResolver().resolve(conjunction);
+            if (!conjunction.isSatisfiable()) profile.skip("unsatisfiable: " + conjunction);
+            else if (isInfer(context)) profile.skip("resolved by the reasoner: " + conjunction);
+            else traversalEng.explain(conjunction.traversal(filter), profile);
+        }
+        return profile;
+    }
+
+    /**
+     * Passes every answer of a disjunction to a thread-safe consumer, on the threads that produced
+     * the answers when the query is parallel, such that the answers are never queued up for a single
+     * consuming thread. Answers of a disjunction of many conjunctions are deduplicated, and consumed, on one thread.
+     */
+    public void consume(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                        Context.Query context, Consumer<ConceptMap> consumer) {
+        consume(disjunction, filter, context, consumer, true);
+    }
+
+    /**
+     * Passes every answer of a disjunction to a thread-safe consumer, as above, but only deduplicates
+     * the answers of a disjunction of many conjunctions if asked to. Otherwise, an answer to more than
+     * one of those conjunctions is consumed once for each of them, on the threads that produced it,
+     * which a consumer that is insensitive to duplicates may prefer over a set of every answer.
+     */
+    public void consume(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                        Context.Query context, Consumer<ConceptMap> consumer, boolean isDistinct) {
+        boolean deduplicates = isDistinct && disjunction.conjunctions().size() > 1;
+        if (!context.options().parallel()) {
+            ResourceIterator<ConceptMap> answers = iterate(disjunction.conjunctions())
+                    .flatMap(conj -> iterator(conj, filter, context));
+            if (deduplicates) answers = answers.distinct();
+            answers.forEachRemaining(consumer);
+        } else if (deduplicates) {
+            execute(disjunction, filter, context).forEachRemaining(consumer);
+        } else {
+            Producers.consume(iterate(disjunction.conjunctions()).map(conj -> producer(conj, filter, context)).toList(), consumer);
+        }
+    }
+
+    /**
+     * Returns the number of answers of a disjunction as counted by the statistics of the data graph,
+     * without traversing a single answer, if the statistics count those answers exactly. That is, if
+     * the disjunction is a single conjunction of either a thing variable of some types, or of a has
+     * edge between two such variables, whose answers are neither inferred nor projected onto fewer variables.
+     */
+    public Optional<Long> countFromStatistics(Disjunction disjunction, Set<Identifier.Variable.Name> filter,
+                                              Context.Query context) {
+        if (disjunction.conjunctions().size() != 1 || isInfer(context)) return Optional.empty();
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        if (!conjunction.negations().isEmpty()) return Optional.empty();
+        List<ThingVariable> things = new ArrayList<>();
+        for (Variable variable : conjunction.variables()) {
+            if (variable.isType()) {
+                if (!variable.reference().isLabel() || variable.constraints().size() != 1) return Optional.empty();
+            } else if (isCountedByStatistics(variable.asThing(), filter)) {
+                things.add(variable.asThing());
+            } else {
+                return Optional.empty();
+            }
+        }
+
+        logicMgr.typeResolver().resolve(conjunction);
+        if (!conjunction.isSatisfiable()) return Optional.empty();
+        DataGraph.Statistics statistics = traversalEng.graph().data().stats();
+        if (things.size() == 1 && things.get(0).has().isEmpty()) {
+            Set<TypeVertex> types = resolvedTypes(things.get(0));
+            if (iterate(types).anyMatch(TypeVertex::isAttributeType) && statistics.hasPendingCountJobs()) {
+                return Optional.empty();
+            }
+            return Optional.of(iterate(types).stream().mapToLong(statistics::exactThingVertexCount).sum());
+        } else if (things.size() == 2) {
+            ThingVariable owner = things.get(0).has().isEmpty() ? things.get(1) : things.get(0);
+            if (owner.has().size() != 1) return Optional.empty();
+            ThingVariable attribute = owner.has().iterator().next().attribute();
+            if (attribute.equals(owner) || !attribute.has().isEmpty() || statistics.hasPendingCountJobs()) {
+                return Optional.empty();
+            }
+            Set<TypeVertex> attributeTypes = resolvedTypes(attribute);
+            return Optional.of(iterate(resolvedTypes(owner)).stream().mapToLong(
+                    ownerType -> iterate(attributeTypes).stream().mapToLong(
+                            attType -> statistics.exactHasEdgeCount(ownerType, attType)
+                    ).sum()
+            ).sum());
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isCountedByStatistics(ThingVariable variable, Set<Identifier.Variable.Name> filter) {
+        return variable.reference().isName() && (filter.isEmpty() || filter.contains(variable.id())) &&
+                iterate(variable.constraints()).allMatch(constraint -> constraint.isIsa() || constraint.isHas());
+    }
+
+    private Set<TypeVertex> resolvedTypes(ThingVariable variable) {
+        // a thing variable that may be of any type is left without resolved types
+        if (variable.resolvedTypes().isEmpty()) return traversalEng.graph().schema().thingTypes().toSet();
+        else return iterate(variable.resolvedTypes()).map(traversalEng.graph().schema()::getType).toSet();
+    }
+
     private Producer<ConceptMap> producer(Conjunction conjunction) {
         return producer(conjunction, set(), defaultContext);
     }
@@ -119,9 +256,7 @@ public class Reasoner {
         }
 
         if (conjunction.negations().isEmpty()) return producer;
-        else return producer.filter(answer -> !iterate(conjunction.negations())
-                .flatMap(negation -> iterator(negation.disjunction(), answer)).hasNext()
-        );
+        else return producer.filter(negationsFilter(conjunction));
     }
 
     public Producer<ConceptMap> producer(Conjunction conjunction, ConceptMap bounds) {
@@ -134,21 +269,36 @@ public class Reasoner {
 
     private ResourceIterator<ConceptMap> iterator(Conjunction conjunction, Set<Identifier.Variable.Name> filter,
                                                   Context.Query context) {
+        return iterator(conjunction, filter, context, null);
+    }
+
+    private ResourceIterator<ConceptMap> iterator(Conjunction conjunction, Set<Identifier.Variable.Name> filter,
+                                                  Context.Query context, @Nullable TraversalProfile profile) {
         ResourceIterator<ConceptMap> answers;
         logicMgr.typeResolver().resolve(conjunction);
         if (conjunction.isSatisfiable()) {
-            if (isInfer(context)) answers = produce(resolve(conjunction, filter), context.producer());
-            else answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
+            if (isInfer(context)) {
+                if (profile != null) profile.skip("resolved by the reasoner: " + conjunction);
+                answers = produce(resolve(conjunction, filter), context.producer());
+            } else if (profile != null) {
+                answers = traversalEng.iterator(conjunction.traversal(filter), profile).map(conceptMgr::conceptMap);
+            } else {
+                answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
+            }
         } else if (!conjunction.isBounded() && conjunctionContainsThings(conjunction, filter)) {
             throw GraknException.of(UNSATISFIABLE_CONJUNCTION, conjunction);
         } else {
+            if (profile != null) profile.skip("unsatisfiable: " + conjunction);
             return Iterators.empty();
         }
 
         if (conjunction.negations().isEmpty()) return answers;
-        else return answers.filter(answer -> !iterate(conjunction.negations()).flatMap(
-                negation -> iterator(negation.disjunction(), answer)
-        ).hasNext());
+        else return answers.filter(negationsFilter(conjunction));
+    }
+
+    private Predicate<ConceptMap> negationsFilter(Conjunction conjunction) {
+        List<NegationFilter> filters = iterate(conjunction.negations()).map(NegationFilter::new).toList();
+        return answer -> iterate(filters).allMatch(filter -> filter.test(answer));
     }
 
     private ResourceIterator<ConceptMap> iterator(Disjunction disjunction, ConceptMap bounds) {
@@ -164,4 +314,103 @@ public class Reasoner {
         newClone.bound(bounds.toMap(Type::getLabel, Thing::getIID));
         return newClone;
     }
+
+    /**
+     * Filters the answers of a conjunction down to those that do not satisfy one of its negations.
+     *
+     * The negation is first re-evaluated for each answer, bound by that answer. The planner estimates what this costs
+     * per answer, and what evaluating the negation once, unbound, would cost. Once the answers filtered so far have cost
+     * as much as the unbound evaluation would, the negation is evaluated into a hash set of its answers, projected onto
+     * the variables that it shares with the answers being filtered, which the remaining answers are then looked up in
+     * instead: a hash anti-join. The set is built by the first answer to cross that threshold, without holding up the
+     * other answers, which carry on re-evaluating the negation until it is complete. If the negation has too many
+     * answers for such a set, the filter carries on re-evaluating the negation for each answer.
+     */
+    private class NegationFilter implements Predicate<ConceptMap> {
+
+        private final Negation negation;
+        private final Set<Reference.Name> negationVariables;
+        private final AtomicInteger tested;
+        private final AtomicBoolean isAntiJoining;
+        private final CompletableFuture<Optional<Set<ConceptMap>>> antiJoin;
+        private volatile double boundCost;
+        private volatile double unboundCost;
+
+        NegationFilter(Negation negation) {
+            this.negation = negation;
+            this.negationVariables = iterate(negation.disjunction().conjunctions())
+                    .flatMap(conjunction -> iterate(conjunction.variables())).map(Variable::reference)
+                    .filter(Reference::isName).map(Reference::asName).toSet();
+            this.tested = new AtomicInteger(0);
+            this.isAntiJoining = new AtomicBoolean(false);
+            this.antiJoin = new CompletableFuture<>();
+            this.boundCost = Double.NaN;
+            this.unboundCost = Double.NaN;
+        }
+
+        @Override
+        public boolean test(ConceptMap answer) {
+            Optional<Set<ConceptMap>> negated = antiJoin.getNow(null);
+            if (negated == null && isAntiJoinCheaper(answer) && isAntiJoining.compareAndSet(false, true)) {
+                negated = Optional.ofNullable(negatedAnswers(answer));
+                antiJoin.complete(negated);
+            }
+            if (negated != null && negated.isPresent()) return !negated.get().contains(answer.filter(negationVariables));
+            else return !iterator(negation.disjunction(), answer).hasNext();
+        }
+
+        /**
+         * Returns whether the answers filtered so far, including the given one, have cost as much to re-evaluate the
+         * negation for as evaluating it unbound would, once, such that an anti-join costs at most twice what the
+         * cheaper of the two would have. The estimates are taken once, by the first answer to be filtered.
+         */
+        private boolean isAntiJoinCheaper(ConceptMap answer) {
+            if (Double.isNaN(unboundCost)) {
+                boundCost = estimatedCost(iterate(negation.disjunction().conjunctions())
+                                                  .map(conjunction -> bound(conjunction, answer)).toList(), set());
+                unboundCost = estimatedCost(negation.disjunction().conjunctions(), sharedFilter(answer));
+            }
+            return tested.incrementAndGet() * boundCost >= unboundCost;
+        }
+
+        private double estimatedCost(List<Conjunction> conjunctions, Set<Identifier.Variable.Name> filter) {
+            double cost = 0;
+            for (Conjunction conjunction : conjunctions) {
+                Conjunction resolved = conjunction.clone();
+                logicMgr.typeResolver().resolve(resolved);
+                if (resolved.isSatisfiable()) cost += traversalEng.estimatedCost(resolved.traversal(filter));
+            }
+            return cost;
+        }
+
+        private Set<Identifier.Variable.Name> sharedFilter(ConceptMap answer) {
+            return iterate(answer.concepts().keySet()).filter(negationVariables::contains)
+                    .map(Identifier.Variable::of).toSet();
+        }
+
+        /**
+         * Returns the answers of the negation, evaluated unbound, and projected onto the variables that it shares with
+         * the given answer, or null if there are more of them than an anti-join may hold.
+         */
+        @Nullable
+        private Set<ConceptMap> negatedAnswers(ConceptMap answer) {
+            Set<Reference.Name> shared = iterate(answer.concepts().keySet()).filter(negationVariables::contains).toSet();
+            Set<Identifier.Variable.Name> filter = sharedFilter(answer);
+            Set<ConceptMap> negated = new HashSet<>();
+            for (Conjunction conjunction : negation.disjunction().conjunctions()) {
+                Conjunction unbound = conjunction.clone();
+                logicMgr.typeResolver().resolve(unbound);
+                if (!unbound.isSatisfiable()) continue;
+                ResourceIterator<ConceptMap> answers = iterator(unbound, filter, defaultContext);
+                while (answers.hasNext()) {
+                    if (negated.size() == ANTI_JOIN_MAX_SIZE) {
+                        answers.recycle();
+                        return null;
+                    }
+                    negated.add(answers.next().filter(shared));
+                }
+            }
+            return negated;
+        }
+    }
 }
@@ -63,5 +63,7 @@ public interface Factory {
         RocksStorage.Schema storageSchema(RocksDatabase database, RocksTransaction.Schema transaction);
 
         RocksStorage.Data storageData(RocksDatabase database, RocksTransaction transaction);
+
+        RocksStorage.Data storageDataBulkLoad(RocksDatabase database, RocksTransaction.Data transaction);
     }
 }
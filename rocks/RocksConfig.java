@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.common.parameters.Options;
+import grakn.core.graph.common.Encoding;
+import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.iid.VertexIID;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
+import org.rocksdb.UInt64AddOperator;
+import org.rocksdb.WriteBufferManager;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The RocksDB configuration shared by every database of a {@code RocksGrakn}.
+ *
+ * The schema storage is small and uniform, so it is opened with a single set of
+ * {@code org.rocksdb.Options}. The data storage is split into one column family
+ * per {@code Encoding.Partition}, each tuned to the keys it holds.
+ *
+ * Every storage of every database shares a single memory budget: one block cache,
+ * which also holds the (pinned) index and filter blocks, and which the memtables
+ * of every storage are charged to through a single {@code WriteBufferManager}.
+ */
+class RocksConfig implements AutoCloseable {
+
+    /**
+     * The length of the prefix that the edge partition is bloom-filtered by: the IID of the
+     * {@code ThingVertex} that owns the edge, followed by the infix of the edge. Attribute
+     * vertices have longer IIDs, and their edges are filtered by the head of the attribute IID.
+     */
+    static final int THING_EDGE_PREFIX_LENGTH = VertexIID.Thing.DEFAULT_LENGTH + InfixIID.LENGTH;
+
+    private static final long KB = 1024L;
+    private static final long MB = 1024L * KB;
+    private static final double BLOOM_FILTER_BITS_PER_KEY = 10;
+    private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.1;
+    private static final double WRITE_BUFFER_BUDGET_RATIO = 0.25;
+    private static final double BLOCK_CACHE_HIGH_PRIORITY_RATIO = 0.1;
+    private static final int BLOCK_CACHE_DEFAULT_SHARD_BITS = -1;
+
+    private final UInt64AddOperator mergeOperator;
+    private final BloomFilter bloomFilter;
+    private final LRUCache blockCache;
+    private final WriteBufferManager writeBufferManager;
+    private final org.rocksdb.Options schemaOptions;
+    private final DBOptions dataOptions;
+    private final Map<Encoding.Partition, ColumnFamilyOptions> dataPartitionOptions;
+
+    RocksConfig(Options.Database options) {
+        long memoryBudget = options.storageMemoryBudgetMB() * MB;
+        mergeOperator = new UInt64AddOperator();
+        bloomFilter = new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false);
+        blockCache = new LRUCache(memoryBudget, BLOCK_CACHE_DEFAULT_SHARD_BITS, false, BLOCK_CACHE_HIGH_PRIORITY_RATIO);
+        writeBufferManager = new WriteBufferManager((long) (memoryBudget * WRITE_BUFFER_BUDGET_RATIO), blockCache);
+        schemaOptions = new org.rocksdb.Options().setCreateIfMissing(true).setMergeOperator(mergeOperator)
+                .setWriteBufferManager(writeBufferManager).setTableFormatConfig(tableConfig(4 * KB));
+        dataOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true)
+                .setWriteBufferManager(writeBufferManager);
+        dataPartitionOptions = new EnumMap<>(Encoding.Partition.class);
+        for (Encoding.Partition partition : Encoding.Partition.values()) {
+            dataPartitionOptions.put(partition, partitionOptions(partition));
+        }
+    }
+
+    private ColumnFamilyOptions partitionOptions(Encoding.Partition partition) {
+        ColumnFamilyOptions options = new ColumnFamilyOptions().setMergeOperator(mergeOperator);
+        switch (partition) {
+            case STATISTICS:
+                // Few, tiny and constantly rewritten counters and count jobs: keep them
+                // in small memtables, and compact them away from the rest of the data
+                return options.setWriteBufferSize(4 * MB)
+                        .setCompactionStyle(CompactionStyle.UNIVERSAL)
+                        .setTableFormatConfig(tableConfig(4 * KB));
+            case INDEX:
+            case THING_VERTEX:
+                // Mostly point lookups by attribute value or vertex IID, which whole-key filters answer
+                return options.setWriteBufferSize(32 * MB)
+                        .setCompactionStyle(CompactionStyle.LEVEL)
+                        .setLevelCompactionDynamicLevelBytes(true)
+                        .setTableFormatConfig(tableConfig(8 * KB).setFilterPolicy(bloomFilter).setWholeKeyFiltering(true));
+            case THING_EDGE:
+                // The bulk of the data, read almost exclusively through adjacency scans, which are
+                // mostly empty: prefix filters let those seeks skip the SST files altogether
+                return options.setWriteBufferSize(128 * MB)
+                        .setCompactionStyle(CompactionStyle.LEVEL)
+                        .setLevelCompactionDynamicLevelBytes(true)
+                        .useCappedPrefixExtractor(THING_EDGE_PREFIX_LENGTH)
+                        .setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO)
+                        .setTableFormatConfig(tableConfig(64 * KB).setFilterPolicy(bloomFilter).setWholeKeyFiltering(true));
+            case DEFAULT:
+            default:
+                return options.setTableFormatConfig(tableConfig(4 * KB));
+        }
+    }
+
+    private BlockBasedTableConfig tableConfig(long blockSize) {
+        return new BlockBasedTableConfig().setBlockSize(blockSize).setBlockCache(blockCache)
+                .setCacheIndexAndFilterBlocks(true)
+                .setCacheIndexAndFilterBlocksWithHighPriority(true)
+                .setPinL0FilterAndIndexBlocksInCache(true);
+    }
+
+    /**
+     * Returns whether a seek to the given prefix within a partition may be answered in prefix
+     * mode, i.e. through the prefix filters of the partition, rather than in total order.
+     *
+     * @param partition the partition in which the seek is performed
+     * @param prefix    the prefix of the keys that the seek is looking for
+     * @return true if the prefix is at least as long as the prefix that the partition is filtered by
+     */
+    static boolean isPrefixSeekable(Encoding.Partition partition, byte[] prefix) {
+        return partition == Encoding.Partition.THING_EDGE && prefix.length >= THING_EDGE_PREFIX_LENGTH;
+    }
+
+    org.rocksdb.Options schemaOptions() {
+        return schemaOptions;
+    }
+
+    DBOptions dataOptions() {
+        return dataOptions;
+    }
+
+    /**
+     * Returns new {@code org.rocksdb.Options} for writing SST files that will be ingested into
+     * a given partition of the data storage, which must agree with the options of that partition.
+     *
+     * @param partition the partition that the SST files will be ingested into
+     * @return the options of the SST file writer, which the caller is responsible for closing
+     */
+    org.rocksdb.Options dataPartitionWriterOptions(Encoding.Partition partition) {
+        return new org.rocksdb.Options(dataOptions, dataPartitionOptions.get(partition));
+    }
+
+    /**
+     * Returns the column family descriptors of the data storage, in the order of
+     * {@code Encoding.Partition.values()}, which is also the order of the column
+     * family handles returned when the data storage is opened with them.
+     *
+     * @return the column family descriptors of every {@code Encoding.Partition}
+     */
+    List<ColumnFamilyDescriptor> dataPartitionDescriptors() {
+        List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (Encoding.Partition partition : Encoding.Partition.values()) {
+            byte[] name = partition == Encoding.Partition.DEFAULT ? RocksDB.DEFAULT_COLUMN_FAMILY : partition.bytes();
+            descriptors.add(new ColumnFamilyDescriptor(name, dataPartitionOptions.get(partition)));
+        }
+        return descriptors;
+    }
+
+    @Override
+    public void close() {
+        dataPartitionOptions.values().forEach(ColumnFamilyOptions::close);
+        dataOptions.close();
+        schemaOptions.close();
+        writeBufferManager.close();
+        blockCache.close();
+        bloomFilter.close();
+        mergeOperator.close();
+    }
+}
@@ -23,20 +23,37 @@ import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Label;
 import grakn.core.common.parameters.Options;
 import grakn.core.graph.SchemaGraph;
 import grakn.core.graph.common.Encoding;
 import grakn.core.graph.common.KeyGenerator;
+import grakn.core.graph.iid.IndexIID;
 import grakn.core.logic.LogicCache;
 import grakn.core.traversal.TraversalCache;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -45,21 +62,32 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Stream;
 
+import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.common.collection.Bytes.longToBytes;
+import static grakn.core.common.exception.ErrorMessage.Database.BULK_LOAD_IN_PROGRESS;
 import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_CLOSED;
+import static grakn.core.common.exception.ErrorMessage.Database.INCOMPATIBLE_STORAGE_FORMAT;
 import static grakn.core.common.exception.ErrorMessage.Internal.DIRTY_INITIALISATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
 import static grakn.core.common.exception.ErrorMessage.Session.SCHEMA_ACQUIRE_LOCK_TIMEOUT;
+import static grakn.core.common.exception.ErrorMessage.Transaction.BULK_LOAD_NOT_EXCLUSIVE;
 import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Comparator.reverseOrder;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 public class RocksDatabase implements Grakn.Database {
 
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDatabase.class);
+    private static final String CACHE_FILE = "cache";
+    private static final int CACHE_FILE_VERSION = 1;
+
     protected final OptimisticTransactionDB rocksSchema;
     protected final OptimisticTransactionDB rocksData;
+    protected final Map<Encoding.Partition, ColumnFamilyHandle> rocksDataPartitions;
     protected final ConcurrentMap<UUID, Pair<RocksSession, Long>> sessions;
     protected final String name;
     protected StatisticsBackgroundCounter statisticsBackgroundCounter;
@@ -69,6 +97,7 @@ public class RocksDatabase implements Grakn.Database {
     private final StampedLock schemaLock;
     private final RocksGrakn grakn;
     private Cache cache;
+    private boolean isBulkLoading;
 
     private final Factory.Session sessionFactory;
     protected final AtomicBoolean isOpen;
@@ -85,8 +114,16 @@ public class RocksDatabase implements Grakn.Database {
         try {
             String schemaDirPath = directory().resolve(Encoding.ROCKS_SCHEMA).toString();
             String dataDirPath = directory().resolve(Encoding.ROCKS_DATA).toString();
-            rocksSchema = OptimisticTransactionDB.open(this.grakn.rocksOptions(), schemaDirPath);
-            rocksData = OptimisticTransactionDB.open(this.grakn.rocksOptions(), dataDirPath);
+            List<ColumnFamilyHandle> partitionHandles = new ArrayList<>();
+            rocksSchema = OptimisticTransactionDB.open(this.grakn.rocksConfig().schemaOptions(), schemaDirPath);
+            rocksData = OptimisticTransactionDB.open(
+                    this.grakn.rocksConfig().dataOptions(), dataDirPath,
+                    this.grakn.rocksConfig().dataPartitionDescriptors(), partitionHandles
+            );
+            rocksDataPartitions = new EnumMap<>(Encoding.Partition.class);
+            for (Encoding.Partition partition : Encoding.Partition.values()) {
+                rocksDataPartitions.put(partition, partitionHandles.get(partition.ordinal()));
+            }
         } catch (RocksDBException e) {
             throw GraknException.of(e);
         }
@@ -107,13 +144,59 @@ public class RocksDatabase implements Grakn.Database {
     }
 
     static RocksDatabase loadAndOpen(RocksGrakn grakn, String name, Factory.Session sessionFactory) {
+        verifyStorageFormat(grakn, name);
         RocksDatabase database = new RocksDatabase(grakn, name, sessionFactory);
+        database.verifyStorageFormat();
         database.load();
+        database.cacheRestore();
         database.statisticsBgCounterStart();
         return database;
     }
 
+    /**
+     * Refuses to open a database whose data storage does not have a column family for every partition, before
+     * the missing column families are created empty, which would hide the data stored in the default one.
+     */
+    private static void verifyStorageFormat(RocksGrakn grakn, String name) {
+        String dataDirPath = grakn.directory().resolve(name).resolve(Encoding.ROCKS_DATA).toString();
+        try (org.rocksdb.Options options = new org.rocksdb.Options()) {
+            Set<String> families = new HashSet<>();
+            for (byte[] family : RocksDB.listColumnFamilies(options, dataDirPath)) {
+                families.add(new String(family, UTF_8));
+            }
+            for (Encoding.Partition partition : Encoding.Partition.values()) {
+                if (!families.contains(partition.label())) throw GraknException.of(INCOMPATIBLE_STORAGE_FORMAT, name);
+            }
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    /**
+     * Refuses to open a database whose data storage does not record the current storage format.
+     */
+    private void verifyStorageFormat() {
+        byte[] format;
+        try {
+            format = rocksData.get(rocksDataPartitions.get(Encoding.Partition.DEFAULT),
+                                   Encoding.DATA_STORAGE_FORMAT_KEY);
+        } catch (RocksDBException e) {
+            closeStorage();
+            throw GraknException.of(e);
+        }
+        if (format == null || bytesToLong(format) != Encoding.DATA_STORAGE_FORMAT) {
+            closeStorage();
+            throw GraknException.of(INCOMPATIBLE_STORAGE_FORMAT, name);
+        }
+    }
+
     protected void initialise() {
+        try {
+            rocksData.put(rocksDataPartitions.get(Encoding.Partition.DEFAULT), Encoding.DATA_STORAGE_FORMAT_KEY,
+                          longToBytes(Encoding.DATA_STORAGE_FORMAT));
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
         try (RocksSession session = createAndOpenSession(SCHEMA, new Options.Session())) {
             try (RocksTransaction.Schema txn = session.transaction(WRITE).asSchema()) {
                 if (txn.graph().isInitialised()) throw GraknException.of(DIRTY_INITIALISATION);
@@ -121,6 +204,16 @@ public class RocksDatabase implements Grakn.Database {
                 initialiseCommit(txn);
             }
         }
+        putMarker(IndexIID.SortedAttribute.marker());
+        if (options().substringIndex()) putMarker(IndexIID.AttributeTrigram.marker());
+    }
+
+    private void putMarker(byte[] marker) {
+        try {
+            rocksData.put(rocksDataPartitions.get(Encoding.Partition.of(marker)), marker, new byte[]{});
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
     }
 
     /**
@@ -162,10 +255,63 @@ public class RocksDatabase implements Grakn.Database {
             throw GraknException.of(ILLEGAL_STATE);
         }
 
-        sessions.put(session.uuid(), new Pair<>(session, lock));
+        synchronized (this) {
+            if (isBulkLoading) {
+                if (type.isSchema()) schemaLock().unlockWrite(lock);
+                throw GraknException.of(BULK_LOAD_IN_PROGRESS, name);
+            }
+            sessions.put(session.uuid(), new Pair<>(session, lock));
+        }
         return session;
     }
 
+    /**
+     * Claims the database for a bulk load transaction of the given session.
+     *
+     * The files ingested by a bulk load are not isolated from concurrent writers,
+     * so the transaction has to be the only transaction of the only session open
+     * on the database, and no other session or transaction may be opened until
+     * the claim is released with {@link #bulkLoadEnd()}. The statistics background
+     * counter also writes to the database, as it deletes the count jobs that it
+     * processes, and puts and deletes the markers of what it has counted. A bulk
+     * load processes the count jobs in its own snapshot, so the counter would
+     * count a job that is pending in both twice. The counter is therefore first
+     * drained of every pending count job, and paused until the claim is released.
+     *
+     * @param session the session opening the bulk load transaction
+     */
+    void bulkLoadStart(RocksSession.Data session) {
+        verifyBulkLoadExclusive(session);
+        statisticsBackgroundCounter.pause();
+        try {
+            synchronized (this) {
+                verifyBulkLoadExclusive(session);
+                isBulkLoading = true;
+            }
+        } catch (Throwable e) {
+            statisticsBackgroundCounter.resume();
+            throw e;
+        }
+    }
+
+    private synchronized void verifyBulkLoadExclusive(RocksSession.Data session) {
+        if (isBulkLoading || sessions.size() > 1 || !sessions.containsKey(session.uuid()) ||
+                !session.transactions.isEmpty()) {
+            throw GraknException.of(BULK_LOAD_NOT_EXCLUSIVE, name);
+        }
+    }
+
+    void bulkLoadEnd() {
+        synchronized (this) {
+            isBulkLoading = false;
+        }
+        statisticsBackgroundCounter.resume();
+    }
+
+    synchronized void verifyNotBulkLoading() {
+        if (isBulkLoading) throw GraknException.of(BULK_LOAD_IN_PROGRESS, name);
+    }
+
     synchronized Cache cacheBorrow() {
         if (!isOpen.get()) throw GraknException.of(DATABASE_CLOSED, name);
 
@@ -187,6 +333,59 @@ public class RocksDatabase implements Grakn.Database {
         }
     }
 
+    /**
+     * Invalidates the cache once the given types and rules have been modified in the schema. The schema
+     * graph is replaced, but the planners, type resolutions and rules that are not concerned with the
+     * modifications are carried over into the new cache, rather than computed again from scratch.
+     *
+     * @param modifiedTypes the labels of the types that have been modified, with their subtypes and supertypes
+     * @param modifiedRules the labels of the rules that have been modified
+     */
+    public synchronized void cacheInvalidate(Set<Label> modifiedTypes, Set<String> modifiedRules) {
+        if (!isOpen.get()) throw GraknException.of(DATABASE_CLOSED, name);
+
+        if (cache != null) {
+            Cache invalidated = cache;
+            cache = new Cache(this, invalidated.traversal().copyUnaffectedBy(modifiedTypes),
+                              invalidated.logic().copyUnaffectedBy(modifiedTypes, modifiedRules));
+            invalidated.invalidate();
+        }
+    }
+
+    /**
+     * Restores the query plans and type resolutions that the database stored when it was last closed, if
+     * the schema has not changed since. They cannot be planned against until a query of the same shape
+     * looks them up, so they are handed to the caches to restore lazily, rather than to be used as they are.
+     */
+    private synchronized void cacheRestore() {
+        Path file = directory().resolve(CACHE_FILE);
+        if (!options().planStore() || !Files.exists(file)) return;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() == CACHE_FILE_VERSION && input.readLong() == rocksSchema.getLatestSequenceNumber()) {
+                cache = new Cache(this, TraversalCache.read(input), LogicCache.read(input));
+            }
+        } catch (IOException e) {
+            LOG.warn("Failed to restore the query plans of database: " + name, e);
+        }
+    }
+
+    private synchronized void cacheStore() {
+        if (!options().planStore() || cache == null) return;
+        Path file = directory().resolve(CACHE_FILE);
+        Path temporary = directory().resolve(CACHE_FILE + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(CACHE_FILE_VERSION);
+                output.writeLong(rocksSchema.getLatestSequenceNumber());
+                cache.traversal().write(output);
+                cache.logic().write(output);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to store the query plans of database: " + name, e);
+        }
+    }
+
     private synchronized void cacheClose() {
         if (cache != null) cache.close();
     }
@@ -221,6 +420,14 @@ public class RocksDatabase implements Grakn.Database {
         return rocksData;
     }
 
+    Map<Encoding.Partition, ColumnFamilyHandle> rocksDataPartitions() {
+        return rocksDataPartitions;
+    }
+
+    RocksConfig rocksConfig() {
+        return grakn.rocksConfig();
+    }
+
     OptimisticTransactionDB rocksSchema() {
         return rocksSchema;
     }
@@ -287,7 +494,13 @@ public class RocksDatabase implements Grakn.Database {
     protected void closeResources() {
         sessions.values().forEach(p -> p.first().close());
         statisticsBgCounterStop();
+        cacheStore();
         cacheClose();
+        closeStorage();
+    }
+
+    private void closeStorage() {
+        rocksDataPartitions.values().forEach(ColumnFamilyHandle::close);
         rocksData.close();
         rocksSchema.close();
     }
@@ -313,10 +526,14 @@ public class RocksDatabase implements Grakn.Database {
         private boolean invalidated;
 
         private Cache(RocksDatabase database) {
+            this(database, new TraversalCache(), new LogicCache());
+        }
+
+        private Cache(RocksDatabase database, TraversalCache traversalCache, LogicCache logicCache) {
             schemaStorage = new RocksStorage.Cache(database.rocksSchema());
             schemaGraph = new SchemaGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
-            logicCache = new LogicCache();
+            this.traversalCache = traversalCache;
+            this.logicCache = logicCache;
             borrowerCount = 0L;
             invalidated = false;
         }
@@ -362,11 +579,15 @@ public class RocksDatabase implements Grakn.Database {
         private final RocksSession.Data session;
         private final Thread thread;
         private final Semaphore countJobNotifications;
-        private boolean isStopped;
+        private volatile boolean isStopped;
+        private int pauses;
+        private boolean isPaused;
 
         StatisticsBackgroundCounter(RocksSession.Data session) {
             this.session = session;
             countJobNotifications = new Semaphore(0);
+            pauses = 0;
+            isPaused = false;
             thread = NamedThreadFactory.create(session.database().name + "::statistics-background-counter")
                     .newThread(this::countFn);
             thread.start();
@@ -377,27 +598,49 @@ public class RocksDatabase implements Grakn.Database {
         }
 
         private void countFn() {
-            do {
-                try (RocksTransaction.Data tx = session.transaction(WRITE)) {
-                    boolean shouldRestart = tx.graphMgr.data().stats().processCountJobs();
-                    if (shouldRestart) countJobNotifications.release();
-                    tx.commit();
-                } catch (GraknException e) {
-                    if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) {
-                        break;
-                    } else {
-                        // TODO: Add specific code indicating rocksdb conflict to GraknException status code
-                        boolean txConflicted = e.getCause() instanceof RocksDBException &&
-                                ((RocksDBException) e.getCause()).getStatus().getCode() == Status.Code.Busy;
-                        if (txConflicted) {
-                            countJobNotifications.release();
+            try {
+                do {
+                    boolean hasPending;
+                    try (RocksTransaction.Data tx = session.transaction(WRITE)) {
+                        hasPending = tx.graphMgr.data().stats().processCountJobs();
+                        tx.commit();
+                    } catch (GraknException e) {
+                        if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) {
+                            break;
                         } else {
-                            throw e;
+                            // TODO: Add specific code indicating rocksdb conflict to GraknException status code
+                            boolean txConflicted = e.getCause() instanceof RocksDBException &&
+                                    ((RocksDBException) e.getCause()).getStatus().getCode() == Status.Code.Busy;
+                            if (txConflicted) hasPending = true;
+                            else throw e;
                         }
                     }
+                    if (hasPending) countJobNotifications.release();
+                    else awaitResumed();
+                    waitForCountJob();
+                } while (!isStopped);
+            } finally {
+                synchronized (this) {
+                    isStopped = true;
+                    notifyAll();
                 }
-                waitForCountJob();
-            } while (!isStopped);
+            }
+        }
+
+        /**
+         * Parks the counter, which has no count job left to process, for as long as it is paused.
+         */
+        private synchronized void awaitResumed() {
+            if (pauses == 0) return;
+            isPaused = true;
+            notifyAll();
+            try {
+                while (pauses > 0 && !isStopped) wait();
+            } catch (InterruptedException e) {
+                throw GraknException.of(UNEXPECTED_INTERRUPTION);
+            } finally {
+                isPaused = false;
+            }
         }
 
         private void waitForCountJob() {
@@ -409,9 +652,34 @@ public class RocksDatabase implements Grakn.Database {
             countJobNotifications.drainPermits();
         }
 
+        /**
+         * Waits until the counter has processed every pending count job, and keeps it from processing any other one
+         * until it is resumed as many times as it has been paused.
+         */
+        synchronized void pause() {
+            pauses++;
+            countJobNotifications.release();
+            try {
+                while (!isPaused && !isStopped) wait();
+            } catch (InterruptedException e) {
+                pauses--;
+                notifyAll();
+                throw GraknException.of(UNEXPECTED_INTERRUPTION);
+            }
+        }
+
+        synchronized void resume() {
+            assert pauses > 0;
+            pauses--;
+            notifyAll();
+        }
+
         public void stop() {
             try {
-                isStopped = true;
+                synchronized (this) {
+                    isStopped = true;
+                    notifyAll();
+                }
                 countJobNotifications.release();
                 thread.join();
             } catch (InterruptedException e) {
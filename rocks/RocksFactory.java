@@ -106,6 +106,11 @@ public final class RocksFactory implements Factory {
                 public RocksStorage.Data storageData(RocksDatabase database, RocksTransaction transaction) {
                     return new RocksStorage.Data(database, transaction);
                 }
+
+                @Override
+                public RocksStorage.Data storageDataBulkLoad(RocksDatabase database, RocksTransaction.Data transaction) {
+                    return new RocksStorage.DataBulkLoad(database, transaction);
+                }
             };
         }
         return storageFactory;
@@ -26,7 +26,6 @@ import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Options;
 import grakn.core.concurrent.common.ExecutorService;
 import org.rocksdb.RocksDB;
-import org.rocksdb.UInt64AddOperator;
 
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,7 +45,7 @@ public class RocksGrakn implements Grakn {
 
     private final Path directory;
     private final Options.Database options;
-    private final org.rocksdb.Options rocksConfig;
+    private final RocksConfig rocksConfig;
     private final RocksDatabaseManager databaseMgr;
     private final AtomicBoolean isOpen;
 
@@ -54,7 +53,7 @@ public class RocksGrakn implements Grakn {
         if (!ExecutorService.isInitialised()) ExecutorService.initialise(MAX_THREADS);
         this.directory = directory;
         this.options = options;
-        this.rocksConfig = new org.rocksdb.Options().setCreateIfMissing(true).setMergeOperator(new UInt64AddOperator());
+        this.rocksConfig = new RocksConfig(options);
         this.databaseMgr = databaseMgrFactory.databaseManager(this);
         this.databaseMgr.loadAll();
         this.isOpen = new AtomicBoolean(true);
@@ -76,7 +75,7 @@ public class RocksGrakn implements Grakn {
         return directory;
     }
 
-    org.rocksdb.Options rocksOptions() {
+    RocksConfig rocksConfig() {
         return rocksConfig;
     }
 
@@ -19,17 +19,24 @@
 package grakn.core.rocks;
 
 import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.graph.common.Encoding;
 
+import javax.annotation.Nullable;
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 
 import static grakn.core.common.collection.Bytes.bytesHavePrefix;
+import static grakn.core.common.collection.Bytes.compareUnsigned;
 
 public final class RocksIterator<T> extends AbstractResourceIterator<T> implements AutoCloseable {
 
     private final byte[] prefix;
+    private final byte[] from;
+    @Nullable
+    private final byte[] to;
     private final RocksStorage storage;
+    private final Encoding.Partition partition;
     private final AtomicBoolean isOpen;
     private final BiFunction<byte[], byte[], T> constructor;
     private org.rocksdb.RocksIterator internalRocksIterator;
@@ -39,8 +46,22 @@ public final class RocksIterator<T> extends AbstractResourceIterator<T> implemen
     private enum State {INIT, EMPTY, FETCHED, COMPLETED}
 
     RocksIterator(RocksStorage storage, byte[] prefix, BiFunction<byte[], byte[], T> constructor) {
+        this(storage, prefix, null, null, constructor);
+    }
+
+    /**
+     * Creates an iterator over the keys that begin with {@code prefix}, and lie within the range
+     * {@code [from, to)}. Both ends of the range are optional, and must begin with the prefix.
+     */
+    RocksIterator(RocksStorage storage, byte[] prefix, @Nullable byte[] from, @Nullable byte[] to,
+                  BiFunction<byte[], byte[], T> constructor) {
+        assert from == null || bytesHavePrefix(from, prefix);
+        assert to == null || bytesHavePrefix(to, prefix);
         this.storage = storage;
         this.prefix = prefix;
+        this.from = from != null ? from : prefix;
+        this.to = to;
+        this.partition = storage.partition(prefix);
         this.constructor = constructor;
 
         isOpen = new AtomicBoolean(true);
@@ -48,13 +69,14 @@ public final class RocksIterator<T> extends AbstractResourceIterator<T> implemen
     }
 
     private void initalise() {
-        this.internalRocksIterator = storage.getInternalRocksIterator();
-        this.internalRocksIterator.seek(prefix);
+        this.internalRocksIterator = storage.getInternalRocksIterator(partition, prefix);
+        this.internalRocksIterator.seek(from);
     }
 
     private boolean fetchAndCheck() {
         byte[] key;
-        if (!internalRocksIterator.isValid() || !bytesHavePrefix(key = internalRocksIterator.key(), prefix)) {
+        if (!internalRocksIterator.isValid() || !bytesHavePrefix(key = internalRocksIterator.key(), prefix) ||
+                (to != null && compareUnsigned(key, to) >= 0)) {
             state = State.COMPLETED;
             recycle();
             return false;
@@ -103,7 +125,7 @@ public final class RocksIterator<T> extends AbstractResourceIterator<T> implemen
     @Override
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
-            if (state != State.INIT) storage.recycle(internalRocksIterator);
+            if (state != State.INIT) storage.recycle(partition, prefix, internalRocksIterator);
             state = State.COMPLETED;
             storage.remove(this);
         }
@@ -197,7 +197,13 @@ public abstract class RocksSession implements Grakn.Session {
             } catch (InterruptedException e) {
                 throw GraknException.of(e);
             }
-            RocksTransaction.Data transaction = txDataFactory.transaction(this, type, options);
+            RocksTransaction.Data transaction;
+            try {
+                transaction = txDataFactory.transaction(this, type, options);
+            } catch (RuntimeException e) {
+                database().schemaLock().unlockRead(lock);
+                throw e;
+            }
             transactions.put(transaction, lock);
             return transaction;
         }
@@ -18,36 +18,64 @@
 
 package grakn.core.rocks;
 
+import grakn.common.collection.Pair;
+import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.concurrent.common.ConcurrentSet;
+import grakn.core.graph.common.Encoding;
 import grakn.core.graph.common.KeyGenerator;
 import grakn.core.graph.common.Storage;
 import org.rocksdb.AbstractImmutableNativeReference;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.OptimisticTransactionDB;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.Snapshot;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.StampedLock;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
+import static grakn.core.common.collection.Bytes.LONG_SIZE;
 import static grakn.core.common.collection.Bytes.bytesHavePrefix;
+import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.common.collection.Bytes.longToBytes;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_DATA_READ_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_SCHEMA_READ_VIOLATION;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.Comparator.reverseOrder;
 
 public abstract class RocksStorage implements Storage {
 
@@ -59,21 +87,28 @@ public abstract class RocksStorage implements Storage {
     protected final ReadOptions readOptions;
     protected final boolean isReadOnly;
 
-    private final ConcurrentLinkedQueue<org.rocksdb.RocksIterator> recycled;
+    private final Map<Encoding.Partition, ColumnFamilyHandle> partitions;
+    private final ReadOptions prefixReadOptions;
+    private final ConcurrentMap<Pair<Encoding.Partition, Boolean>, ConcurrentLinkedQueue<org.rocksdb.RocksIterator>> recycled;
     private final OptimisticTransactionOptions transactionOptions;
     private final WriteOptions writeOptions;
     private final AtomicBoolean isOpen;
     private final Snapshot snapshot;
 
-    private RocksStorage(OptimisticTransactionDB rocksDB, boolean isReadOnly) {
+    private RocksStorage(OptimisticTransactionDB rocksDB, Map<Encoding.Partition, ColumnFamilyHandle> partitions,
+                         boolean isReadOnly) {
         this.isReadOnly = isReadOnly;
+        this.partitions = partitions;
         iterators = new ConcurrentSet<>();
-        recycled = new ConcurrentLinkedQueue<>();
+        recycled = new ConcurrentHashMap<>();
         writeOptions = new WriteOptions();
         transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
         storageTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
         snapshot = storageTransaction.getSnapshot();
-        readOptions = new ReadOptions().setSnapshot(snapshot);
+        // Seeks that are not bounded to a prefix must not rely on the prefix filters of any partition
+        readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+        // Seeks through the prefix filters of a partition must stop at the end of the filtered prefix
+        prefixReadOptions = new ReadOptions().setSnapshot(snapshot).setPrefixSameAsStart(true);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -82,6 +117,11 @@ public abstract class RocksStorage implements Storage {
         return isOpen.get();
     }
 
+    @Override
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+
     @Override
     public byte[] getLastKey(byte[] prefix) {
         throw exception(ILLEGAL_OPERATION);
@@ -117,16 +157,74 @@ public abstract class RocksStorage implements Storage {
         throw exception(ILLEGAL_OPERATION);
     }
 
-    org.rocksdb.RocksIterator getInternalRocksIterator() {
+    private static Map<Encoding.Partition, ColumnFamilyHandle> unpartitioned(OptimisticTransactionDB rocksDB) {
+        return singletonMap(Encoding.Partition.DEFAULT, rocksDB.getDefaultColumnFamily());
+    }
+
+    /**
+     * Returns the partition in which a given key, or key prefix, is stored.
+     * Storages that are not partitioned store every key in the default partition.
+     *
+     * @param key the key, or key prefix, to be partitioned
+     * @return the partition in which the key is stored
+     */
+    Encoding.Partition partition(byte[] key) {
+        return Encoding.Partition.DEFAULT;
+    }
+
+    ColumnFamilyHandle handle(byte[] key) {
+        return partitions.get(partition(key));
+    }
+
+    org.rocksdb.RocksIterator getInternalRocksIterator(Encoding.Partition partition) {
+        return getInternalRocksIterator(partition, readOptions);
+    }
+
+    org.rocksdb.RocksIterator getInternalRocksIterator(Encoding.Partition partition, ReadOptions options) {
+        return storageTransaction.getIterator(options, partitions.get(partition));
+    }
+
+    /**
+     * Returns a native iterator, on the snapshot of this storage, for a scan of the keys that begin
+     * with a given prefix, reusing the iterator of a completed scan if there is one. The iterator
+     * seeks through the prefix filters of the partition if the prefix is long enough for them, and
+     * then stops by itself at the end of the filtered prefix. Otherwise, it seeks in total order.
+     *
+     * @param partition the partition that the iterator will read from
+     * @param prefix    the prefix that every key read by the iterator begins with
+     * @return the iterator, which the scan is responsible for recycling
+     */
+    org.rocksdb.RocksIterator getInternalRocksIterator(Encoding.Partition partition, byte[] prefix) {
+        boolean isPrefixSeek = RocksConfig.isPrefixSeekable(partition, prefix);
         if (isReadOnly) {
-            org.rocksdb.RocksIterator iterator = recycled.poll();
+            ConcurrentLinkedQueue<org.rocksdb.RocksIterator> queue = recycled.get(new Pair<>(partition, isPrefixSeek));
+            org.rocksdb.RocksIterator iterator = queue != null ? queue.poll() : null;
             if (iterator != null) return iterator;
         }
-        return storageTransaction.getIterator(readOptions);
+        return getInternalRocksIterator(partition, isPrefixSeek ? prefixReadOptions : readOptions);
+    }
+
+    void recycle(Encoding.Partition partition, byte[] prefix, org.rocksdb.RocksIterator iterator) {
+        // The iterators of a writable storage overlay the uncommitted writes of its transaction,
+        // which may change between scans, so only those of a read-only storage are reused
+        if (!isReadOnly) iterator.close();
+        else recycled.computeIfAbsent(new Pair<>(partition, RocksConfig.isPrefixSeekable(partition, prefix)),
+                                      p -> new ConcurrentLinkedQueue<>()).add(iterator);
     }
 
-    void recycle(org.rocksdb.RocksIterator rocksIterator) {
-        recycled.add(rocksIterator);
+    /**
+     * Returns the values of a batch of keys, read from the snapshot of this storage with a single
+     * RocksDB {@code multiGet}, such that the batch crosses JNI once, rather than once per key. The
+     * keys are still looked up one after the other within RocksDB.
+     *
+     * @param keys the keys to look up
+     * @return the value of every key, in the order of the keys, or null for every key that does not exist
+     */
+    List<byte[]> multiGet(List<byte[]> keys) throws RocksDBException {
+        if (keys.isEmpty()) return emptyList();
+        List<ColumnFamilyHandle> handles = new ArrayList<>(keys.size());
+        for (byte[] key : keys) handles.add(handle(key));
+        return Arrays.asList(storageTransaction.multiGet(readOptions, handles, keys.toArray(new byte[0][])));
     }
 
     void remove(RocksIterator<?> iterator) {
@@ -153,11 +251,12 @@ public abstract class RocksStorage implements Storage {
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
             iterators.parallelStream().forEach(RocksIterator::close);
-            recycled.forEach(AbstractImmutableNativeReference::close);
+            recycled.values().forEach(queue -> queue.forEach(AbstractImmutableNativeReference::close));
             snapshot.close();
             storageTransaction.close();
             transactionOptions.close();
             readOptions.close();
+            prefixReadOptions.close();
             writeOptions.close();
         }
     }
@@ -165,14 +264,24 @@ public abstract class RocksStorage implements Storage {
     static class Cache extends RocksStorage {
 
         public Cache(OptimisticTransactionDB rocksDB) {
-            super(rocksDB, true);
+            super(rocksDB, unpartitioned(rocksDB), true);
         }
 
         @Override
         public byte[] get(byte[] key) {
             assert isOpen();
             try {
-                return storageTransaction.get(readOptions, key);
+                return storageTransaction.get(handle(key), readOptions, key);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+        }
+
+        @Override
+        public List<byte[]> getAll(List<byte[]> keys) {
+            assert isOpen();
+            try {
+                return multiGet(keys);
             } catch (RocksDBException e) {
                 throw exception(e);
             }
@@ -185,6 +294,15 @@ public abstract class RocksStorage implements Storage {
             iterators.add(iterator);
             return iterator.onFinalise(iterator::close);
         }
+
+        @Override
+        public <G> ResourceIterator<G> iterate(byte[] prefix, @Nullable byte[] from, @Nullable byte[] to,
+                                               BiFunction<byte[], byte[], G> constructor) {
+            assert isOpen();
+            RocksIterator<G> iterator = new RocksIterator<>(this, prefix, from, to, constructor);
+            iterators.add(iterator);
+            return iterator.onFinalise(iterator::close);
+        }
     }
 
     static abstract class TransactionBounded extends RocksStorage {
@@ -192,8 +310,9 @@ public abstract class RocksStorage implements Storage {
         protected final ReadWriteLock readWriteLock;
         protected final RocksTransaction transaction;
 
-        TransactionBounded(OptimisticTransactionDB rocksDB, RocksTransaction transaction) {
-            super(rocksDB, transaction.type().isRead());
+        TransactionBounded(OptimisticTransactionDB rocksDB, Map<Encoding.Partition, ColumnFamilyHandle> partitions,
+                           RocksTransaction transaction) {
+            super(rocksDB, partitions, transaction.type().isRead());
             this.transaction = transaction;
             readWriteLock = new StampedLock().asReadWriteLock();
         }
@@ -203,7 +322,20 @@ public abstract class RocksStorage implements Storage {
             assert isOpen();
             try {
                 if (!isReadOnly) readWriteLock.readLock().lock();
-                return storageTransaction.get(readOptions, key);
+                return storageTransaction.get(handle(key), readOptions, key);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            } finally {
+                if (!isReadOnly) readWriteLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public List<byte[]> getAll(List<byte[]> keys) {
+            assert isOpen();
+            try {
+                if (!isReadOnly) readWriteLock.readLock().lock();
+                return multiGet(keys);
             } catch (RocksDBException e) {
                 throw exception(e);
             } finally {
@@ -218,7 +350,7 @@ public abstract class RocksStorage implements Storage {
             upperBound[upperBound.length - 1] = (byte) (upperBound[upperBound.length - 1] + 1);
             assert upperBound[upperBound.length - 1] != Byte.MIN_VALUE;
 
-            try (org.rocksdb.RocksIterator iterator = getInternalRocksIterator()) {
+            try (org.rocksdb.RocksIterator iterator = getInternalRocksIterator(partition(prefix))) {
                 iterator.seekForPrev(upperBound);
                 if (bytesHavePrefix(iterator.key(), prefix)) return iterator.key();
                 else return null;
@@ -235,7 +367,7 @@ public abstract class RocksStorage implements Storage {
             }
             try {
                 readWriteLock.writeLock().lock();
-                storageTransaction.delete(key);
+                storageTransaction.delete(handle(key), key);
             } catch (RocksDBException e) {
                 throw exception(e);
             } finally {
@@ -251,6 +383,15 @@ public abstract class RocksStorage implements Storage {
             return iterator;
         }
 
+        @Override
+        public <G> ResourceIterator<G> iterate(byte[] prefix, @Nullable byte[] from, @Nullable byte[] to,
+                                               BiFunction<byte[], byte[], G> constructor) {
+            assert isOpen();
+            RocksIterator<G> iterator = new RocksIterator<>(this, prefix, from, to, constructor);
+            iterators.add(iterator);
+            return iterator;
+        }
+
         @Override
         public GraknException exception(ErrorMessage errorMessage) {
             transaction.close();
@@ -280,7 +421,7 @@ public abstract class RocksStorage implements Storage {
         private final KeyGenerator.Schema schemaKeyGenerator;
 
         public Schema(RocksDatabase database, RocksTransaction transaction) {
-            super(database.rocksSchema, transaction);
+            super(database.rocksSchema, unpartitioned(database.rocksSchema), transaction);
             this.schemaKeyGenerator = database.schemaKeyGenerator();
         }
 
@@ -294,7 +435,7 @@ public abstract class RocksStorage implements Storage {
             assert isOpen() && !isReadOnly;
             try {
                 if (transaction.isOpen()) readWriteLock.writeLock().lock();
-                storageTransaction.put(key, value);
+                storageTransaction.put(handle(key), key, value);
             } catch (RocksDBException e) {
                 throw exception(e);
             } finally {
@@ -307,7 +448,7 @@ public abstract class RocksStorage implements Storage {
             assert isOpen() && !isReadOnly;
             try {
                 if (transaction.isOpen()) readWriteLock.writeLock().lock();
-                storageTransaction.putUntracked(key, value);
+                storageTransaction.putUntracked(handle(key), key, value);
             } catch (RocksDBException e) {
                 throw exception(e);
             } finally {
@@ -322,10 +463,15 @@ public abstract class RocksStorage implements Storage {
         private final KeyGenerator.Data dataKeyGenerator;
 
         public Data(RocksDatabase database, RocksTransaction transaction) {
-            super(database.rocksData, transaction);
+            super(database.rocksData, database.rocksDataPartitions(), transaction);
             this.dataKeyGenerator = database.dataKeyGenerator();
         }
 
+        @Override
+        Encoding.Partition partition(byte[] key) {
+            return Encoding.Partition.of(key);
+        }
+
         @Override
         public KeyGenerator.Data dataKeyGenerator() {
             return dataKeyGenerator;
@@ -335,7 +481,7 @@ public abstract class RocksStorage implements Storage {
         public void put(byte[] key, byte[] value) {
             assert isOpen() && !isReadOnly;
             try {
-                storageTransaction.put(key, value);
+                storageTransaction.put(handle(key), key, value);
             } catch (RocksDBException e) {
                 throw exception(e);
             }
@@ -345,7 +491,7 @@ public abstract class RocksStorage implements Storage {
         public void putUntracked(byte[] key, byte[] value) {
             assert isOpen() && !isReadOnly;
             try {
-                storageTransaction.putUntracked(key, value);
+                storageTransaction.putUntracked(handle(key), key, value);
             } catch (RocksDBException e) {
                 throw exception(e);
             }
@@ -355,10 +501,212 @@ public abstract class RocksStorage implements Storage {
         public void mergeUntracked(byte[] key, byte[] value) {
             assert isOpen() && !isReadOnly;
             try {
-                storageTransaction.mergeUntracked(key, value);
+                storageTransaction.mergeUntracked(handle(key), key, value);
             } catch (RocksDBException e) {
                 throw exception(e);
             }
         }
     }
+
+    /**
+     * A data storage that bypasses the RocksDB transaction for its writes: they are
+     * buffered in sorted order per partition, spilled into SST files whenever the
+     * buffer grows too large, and the files are ingested into the data storage on commit.
+     *
+     * Reads are still served from the snapshot of the storage, and never see the writes
+     * of the storage itself. Writes are neither conflict-checked, nor atomic across the
+     * files being ingested, so the database only opens this storage for a transaction that
+     * is its only writer, see {@link RocksDatabase#bulkLoadStart(RocksSession.Data)}.
+     */
+    @NotThreadSafe
+    public static class DataBulkLoad extends Data {
+
+        private static final long SPILL_THRESHOLD_BYTES = 64L * 1024 * 1024;
+        private static final int WRITE_OVERHEAD_BYTES = 32;
+
+        private final OptimisticTransactionDB rocksData;
+        private final Map<Encoding.Partition, ColumnFamilyHandle> partitions;
+        private final RocksConfig rocksConfig;
+        private final Path directory;
+        private final Map<Encoding.Partition, TreeMap<byte[], Write>> buffer;
+        private final List<Pair<Encoding.Partition, Path>> files;
+        private long bufferSize;
+
+        public DataBulkLoad(RocksDatabase database, RocksTransaction.Data transaction) {
+            super(database, transaction);
+            rocksData = database.rocksData;
+            partitions = database.rocksDataPartitions();
+            rocksConfig = database.rocksConfig();
+            directory = database.directory().resolve(Encoding.ROCKS_BULK_LOAD).resolve(UUID.randomUUID().toString());
+            buffer = new EnumMap<>(Encoding.Partition.class);
+            files = new ArrayList<>();
+            bufferSize = 0;
+        }
+
+        @Override
+        public boolean isBulkLoad() {
+            return true;
+        }
+
+        @Override
+        public void delete(byte[] key) {
+            assert isOpen() && !isReadOnly;
+            write(key, Write.delete());
+        }
+
+        @Override
+        public void put(byte[] key, byte[] value) {
+            assert isOpen() && !isReadOnly;
+            write(key, Write.put(value));
+        }
+
+        @Override
+        public void putUntracked(byte[] key, byte[] value) {
+            assert isOpen() && !isReadOnly;
+            write(key, Write.put(value));
+        }
+
+        @Override
+        public void mergeUntracked(byte[] key, byte[] value) {
+            assert isOpen() && !isReadOnly;
+            write(key, Write.merge(value));
+        }
+
+        private void write(byte[] key, Write write) {
+            TreeMap<byte[], Write> writes = buffer.computeIfAbsent(
+                    partition(key), p -> new TreeMap<>(Bytes::compareUnsigned)
+            );
+            Write previous = writes.get(key);
+            writes.put(key, previous == null ? write : previous.then(write));
+            if (previous == null) bufferSize += key.length + write.value.length + WRITE_OVERHEAD_BYTES;
+            if (bufferSize >= SPILL_THRESHOLD_BYTES) spill();
+        }
+
+        private void spill() {
+            try {
+                Files.createDirectories(directory);
+                for (Map.Entry<Encoding.Partition, TreeMap<byte[], Write>> entry : buffer.entrySet()) {
+                    if (entry.getValue().isEmpty()) continue;
+                    Path file = directory.resolve(entry.getKey().label() + "-" + files.size() + ".sst");
+                    try (EnvOptions envOptions = new EnvOptions();
+                         org.rocksdb.Options options = rocksConfig.dataPartitionWriterOptions(entry.getKey());
+                         SstFileWriter writer = new SstFileWriter(envOptions, options)) {
+                        writer.open(file.toString());
+                        for (Map.Entry<byte[], Write> write : entry.getValue().entrySet()) {
+                            write.getValue().writeTo(writer, write.getKey());
+                        }
+                        writer.finish();
+                    }
+                    files.add(new Pair<>(entry.getKey(), file));
+                }
+                buffer.clear();
+                bufferSize = 0;
+            } catch (RocksDBException | IOException e) {
+                throw exception(e);
+            }
+        }
+
+        /**
+         * Ingests every write of this storage into the data storage, in the order in which
+         * they were spilled, so that later files take precedence over earlier ones.
+         */
+        @Override
+        public void commit() throws RocksDBException {
+            spill();
+            try (IngestExternalFileOptions options = new IngestExternalFileOptions().setMoveFiles(true)) {
+                for (Pair<Encoding.Partition, Path> file : files) {
+                    rocksData.ingestExternalFile(partitions.get(file.first()), singletonList(file.second().toString()), options);
+                }
+            } finally {
+                deleteFiles();
+            }
+        }
+
+        @Override
+        public void rollback() {
+            buffer.clear();
+            bufferSize = 0;
+            deleteFiles();
+        }
+
+        @Override
+        public void close() {
+            deleteFiles();
+            super.close();
+        }
+
+        private void deleteFiles() {
+            files.clear();
+            if (!Files.exists(directory)) return;
+            try (Stream<Path> paths = Files.walk(directory)) {
+                paths.sorted(reverseOrder()).map(Path::toFile).forEach(File::delete);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete the bulk load files in: " + directory, e);
+            }
+        }
+
+        /**
+         * The last write to a key within the buffer, which folds every earlier write to that key,
+         * including the merges of counters, which are summed like the {@code UInt64AddOperator}.
+         */
+        private static class Write {
+
+            private enum Operation {PUT, MERGE, DELETE}
+
+            private final Operation operation;
+            private final byte[] value;
+
+            private Write(Operation operation, byte[] value) {
+                this.operation = operation;
+                this.value = value;
+            }
+
+            static Write put(byte[] value) {
+                return new Write(Operation.PUT, value);
+            }
+
+            static Write merge(byte[] value) {
+                return new Write(Operation.MERGE, value);
+            }
+
+            static Write delete() {
+                return new Write(Operation.DELETE, EMPTY_ARRAY);
+            }
+
+            Write then(Write next) {
+                if (next.operation != Operation.MERGE) return next;
+                switch (operation) {
+                    case PUT:
+                        return put(longToBytes(counter(value) + counter(next.value)));
+                    case MERGE:
+                        return merge(longToBytes(counter(value) + counter(next.value)));
+                    case DELETE:
+                        return put(next.value);
+                    default:
+                        throw GraknException.of(ILLEGAL_STATE);
+                }
+            }
+
+            void writeTo(SstFileWriter writer, byte[] key) throws RocksDBException {
+                switch (operation) {
+                    case PUT:
+                        writer.put(key, value);
+                        break;
+                    case MERGE:
+                        writer.merge(key, value);
+                        break;
+                    case DELETE:
+                        writer.delete(key);
+                        break;
+                    default:
+                        throw GraknException.of(ILLEGAL_STATE);
+                }
+            }
+
+            private static long counter(byte[] value) {
+                if (value.length != LONG_SIZE) throw GraknException.of(ILLEGAL_STATE);
+                return bytesToLong(value);
+            }
+        }
+    }
 }
@@ -22,6 +22,7 @@ import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Label;
 import grakn.core.common.parameters.Options;
 import grakn.core.concept.ConceptManager;
 import grakn.core.graph.DataGraph;
@@ -35,6 +36,7 @@ import grakn.core.traversal.TraversalCache;
 import grakn.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
 
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static grakn.common.util.Objects.className;
@@ -62,7 +64,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
     }
 
     void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
-        traversalEng = new TraversalEngine(graphMgr, traversalCache);
+        traversalEng = new TraversalEngine(graphMgr, traversalCache, context.options().replanCostRatio());
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
         reasoner = new Reasoner(conceptMgr, logicMgr, traversalEng, context);
@@ -209,9 +211,11 @@ public abstract class RocksTransaction implements Grakn.Transaction {
 
                     conceptMgr.validateTypes();
                     logicMgr.revalidateAndReindexRules();
+                    Set<Label> modifiedTypes = graphMgr.schema().modifiedTypes();
+                    Set<String> modifiedRules = graphMgr.schema().rules().modifiedRules();
                     graphMgr.schema().commit();
                     schemaStorage.commit();
-                    session.database().cacheInvalidate();
+                    session.database().cacheInvalidate(modifiedTypes, modifiedRules);
                 } catch (RocksDBException e) {
                     rollback();
                     throw GraknException.of(e);
@@ -245,13 +249,21 @@ public abstract class RocksTransaction implements Grakn.Transaction {
 
         protected final RocksStorage.Data dataStorage;
         private final RocksDatabase.Cache cache;
+        private final boolean isBulkLoad;
 
         public Data(RocksSession.Data session, Arguments.Transaction.Type type,
                     Options.Transaction options, Factory.Storage storageFactory) {
             super(session, type, options);
 
+            isBulkLoad = type.isWrite() && context.options().bulkLoad();
+            if (isBulkLoad) session.database().bulkLoadStart(session);
+            else session.database().verifyNotBulkLoading();
             cache = session.database().cacheBorrow();
-            dataStorage = storageFactory.storageData(session.database(), this);
+            if (isBulkLoad) {
+                dataStorage = storageFactory.storageDataBulkLoad(session.database(), this);
+            } else {
+                dataStorage = storageFactory.storageData(session.database(), this);
+            }
             DataGraph dataGraph = new DataGraph(dataStorage, cache.schemaGraph());
             graphMgr = new GraphManager(cache.schemaGraph(), dataGraph);
 
@@ -322,6 +334,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
         void closeStorage() {
             session.database().cacheUnborrow(cache);
             dataStorage.close();
+            if (isBulkLoad) session.database().bulkLoadEnd();
         }
 
         /**
@@ -23,7 +23,9 @@ import grabl.tracing.client.GrablTracingThreadStatic;
 import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
 import grakn.core.concurrent.common.ExecutorService;
+import grakn.core.rocks.RocksFactory;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.server.migrator.MigratorClient;
 import grakn.core.server.rpc.GraknRPCService;
@@ -86,7 +88,9 @@ public class GraknServer implements AutoCloseable {
 
         if (command.debug()) LOG.info("Running Grakn Core Server in debug mode.");
 
-        grakn = RocksGrakn.open(command.dataDir());
+        Options.Database options = new Options.Database().storageMemoryBudgetMB(command.storageMemoryBudgetMB())
+                .substringIndex(command.substringIndex());
+        grakn = RocksGrakn.open(command.dataDir(), options, new RocksFactory());
         graknRPCService = new GraknRPCService(grakn);
         migratorRPCService = new MigratorRPCService(grakn);
 
@@ -255,6 +259,8 @@ public class GraknServer implements AutoCloseable {
         LOG.info("- version: {}", Version.VERSION);
         LOG.info("- listening to port: {}", server.port());
         LOG.info("- data directory configured to: {}", server.dataDir());
+        LOG.info("- storage memory budget configured to: {} MB", command.storageMemoryBudgetMB());
+        LOG.info("- storage substring index for new databases: {}", command.substringIndex() ? "enabled" : "disabled");
         LOG.info("- bootup completed in: {} ms", Duration.between(start, end).toMillis());
         LOG.info("");
         LOG.info("Grakn Core Server is now running and will keep this process alive.");
@@ -20,10 +20,12 @@ package grakn.core.server.rpc;
 import com.google.protobuf.ByteString;
 import grakn.core.Grakn;
 import grakn.core.common.parameters.Options;
+import grakn.core.server.rpc.query.PreparedQueries;
 import grakn.protocol.TransactionProto;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -40,6 +42,7 @@ class SessionRPC {
     private final Grakn.Session session;
     private final GraknRPCService graknRPCService;
     private final ConcurrentHashMap<Integer, TransactionRPC> transactionRPCs;
+    private final PreparedQueries preparedQueries;
     private final AtomicBoolean isOpen;
     private final long idleTimeoutMillis;
     private ScheduledFuture<?> idleTimeoutTask;
@@ -48,13 +51,15 @@ class SessionRPC {
         this.graknRPCService = graknRPCService;
         this.session = session;
         transactionRPCs = new ConcurrentHashMap<>();
+        preparedQueries = new PreparedQueries();
         isOpen = new AtomicBoolean(true);
         idleTimeoutMillis = options.sessionIdleTimeoutMillis();
         setIdleTimeout();
     }
 
-    TransactionRPC transaction(TransactionStream transactionStream, TransactionProto.Transaction.Open.Req request) {
-        TransactionRPC transactionRPC = new TransactionRPC(this, transactionStream, request);
+    TransactionRPC transaction(TransactionStream transactionStream, TransactionProto.Transaction.Open.Req request,
+                               Map<String, String> metadata) {
+        TransactionRPC transactionRPC = new TransactionRPC(this, transactionStream, request, metadata);
         transactionRPCs.put(transactionRPC.hashCode(), transactionRPC);
         return transactionRPC;
     }
@@ -63,6 +68,10 @@ class SessionRPC {
         return session;
     }
 
+    PreparedQueries preparedQueries() {
+        return preparedQueries;
+    }
+
     ByteString uuidAsByteString() {
         return copyFrom(uuidToBytes(session.uuid()));
     }
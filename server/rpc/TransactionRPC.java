@@ -36,6 +36,7 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -48,6 +49,7 @@ import static grakn.core.common.exception.ErrorMessage.Server.UNKNOWN_REQUEST_TY
 import static grakn.core.common.exception.ErrorMessage.Transaction.BAD_TRANSACTION_TYPE;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_ALREADY_OPENED;
 import static grakn.core.server.rpc.common.RequestReader.setDefaultOptions;
+import static grakn.core.server.rpc.common.RequestReader.setTransactionOptions;
 import static grakn.core.server.rpc.common.ResponseBuilder.Transaction.continueRes;
 import static grakn.core.server.rpc.common.ResponseBuilder.Transaction.done;
 
@@ -60,13 +62,15 @@ public class TransactionRPC {
     private final RequestHandlers handlers;
     private final AtomicBoolean isOpen;
 
-    TransactionRPC(SessionRPC sessionRPC, TransactionStream stream, TransactionProto.Transaction.Open.Req request) {
+    TransactionRPC(SessionRPC sessionRPC, TransactionStream stream, TransactionProto.Transaction.Open.Req request,
+                   Map<String, String> metadata) {
         this.sessionRPC = sessionRPC;
         this.stream = stream;
 
         Arguments.Transaction.Type transactionType = Arguments.Transaction.Type.of(request.getType().getNumber());
         if (transactionType == null) throw GraknException.of(BAD_TRANSACTION_TYPE, request.getType());
         Options.Transaction options = setDefaultOptions(new Options.Transaction(), request.getOptions());
+        setTransactionOptions(options, metadata);
 
         transaction = sessionRPC.session().transaction(transactionType, options);
         isOpen = new AtomicBoolean(true);
@@ -310,7 +314,7 @@ public class TransactionRPC {
         private RequestHandlers() {
             conceptMgr = new ConceptManagerHandler(TransactionRPC.this, transaction.concepts());
             logicMgr = new LogicManagerHandler(TransactionRPC.this, transaction.logic());
-            query = new QueryHandler(TransactionRPC.this, transaction.query());
+            query = new QueryHandler(TransactionRPC.this, transaction.query(), sessionRPC.preparedQueries());
             thing = new ThingHandler(TransactionRPC.this, transaction.concepts());
             type = new TypeHandler(TransactionRPC.this, transaction.concepts());
             rule = new RuleHandler(TransactionRPC.this, transaction.logic());
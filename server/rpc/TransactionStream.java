@@ -132,7 +132,7 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
         SessionRPC sessionRPC = graknRPCService.getSession(sessionID);
         if (sessionRPC == null) throw GraknException.of(SESSION_NOT_FOUND, sessionID);
 
-        if (!transactionRPC.compareAndSet(null, sessionRPC.transaction(this, openReq))) {
+        if (!transactionRPC.compareAndSet(null, sessionRPC.transaction(this, openReq, request.getMetadataMap()))) {
             throw GraknException.of(TRANSACTION_ALREADY_OPENED);
         }
 
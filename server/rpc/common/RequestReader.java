@@ -17,9 +17,17 @@
 
 package grakn.core.server.rpc.common;
 
+import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Options;
+import grakn.core.query.PreparedMatch;
 import grakn.protocol.OptionsProto;
+import graql.lang.pattern.variable.Reference;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import static grakn.core.common.exception.ErrorMessage.Server.BAD_OPTION_VALUE;
+import static grakn.core.common.exception.ErrorMessage.Server.UNPREPARED_QUERY_PARAMETER;
 import static grakn.protocol.OptionsProto.Options.BatchSizeOptCase.BATCH_SIZE;
 import static grakn.protocol.OptionsProto.Options.ExplainOptCase.EXPLAIN;
 import static grakn.protocol.OptionsProto.Options.InferOptCase.INFER;
@@ -29,6 +37,27 @@ import static grakn.protocol.OptionsProto.Options.SessionIdleTimeoutOptCase.SESS
 
 public class RequestReader {
 
+    /**
+     * The names of the query options that the protocol's options do not carry yet, which a client
+     * sets as entries of the metadata of the transaction request that carries the query.
+     */
+    public static final String APPROXIMATE_AGGREGATES = "approximateAggregates";
+    public static final String PREPARED = "prepared";
+    public static final String EXPLAIN_PLAN = "explainPlan";
+    public static final String PROFILE = "profile";
+
+    /**
+     * The names of the transaction options that the protocol's options do not carry yet, which a client
+     * sets as entries of the metadata of the request that opens the transaction.
+     */
+    public static final String REPLAN_COST_RATIO = "replanCostRatio";
+
+    /**
+     * The prefix of the metadata entries that bind the parameters of a prepared match query, each of which is
+     * keyed by the syntax of the named variable that it binds, such as {@code $name}, to a Graql value or IID.
+     */
+    public static final String PARAMETER_PREFIX = "$";
+
     public static <T extends Options<?, ?>> T setDefaultOptions(T options, OptionsProto.Options request) {
         if (request.getInferOptCase().equals(INFER)) {
             options.infer(request.getInfer());
@@ -48,10 +77,77 @@ public class RequestReader {
         return options;
     }
 
-    public static Options.Query setQueryOptions(Options.Query options, OptionsProto.Options request) {
+    public static Options.Transaction setTransactionOptions(Options.Transaction options, Map<String, String> metadata) {
+        if (metadata.containsKey(REPLAN_COST_RATIO)) {
+            options.replanCostRatio(doubleOption(REPLAN_COST_RATIO, metadata.get(REPLAN_COST_RATIO), 1));
+        }
+        return options;
+    }
+
+    public static Options.Query setQueryOptions(Options.Query options, OptionsProto.Options request,
+                                                Map<String, String> metadata) {
         if (request.getPrefetchOptCase().equals(PREFETCH)) {
             options.prefetch(request.getPrefetch());
         }
+        if (metadata.containsKey(APPROXIMATE_AGGREGATES)) {
+            options.approximateAggregates(booleanOption(APPROXIMATE_AGGREGATES, metadata.get(APPROXIMATE_AGGREGATES)));
+        }
         return options;
     }
+
+    public static boolean isPrepared(Map<String, String> metadata) {
+        return isSet(metadata, PREPARED);
+    }
+
+    /**
+     * Returns whether the procedures that a match query is planned into are to be logged before it is executed.
+     */
+    public static boolean isPlanExplained(Map<String, String> metadata) {
+        return isSet(metadata, EXPLAIN_PLAN);
+    }
+
+    /**
+     * Returns whether a match query is to be executed on the thread that responds with its answers, and what each
+     * edge of its procedures cost logged once every answer has been responded with.
+     */
+    public static boolean isProfiled(Map<String, String> metadata) {
+        return isSet(metadata, PROFILE);
+    }
+
+    /**
+     * Returns the values that the parameters of a match query are bound to, which may only be given for a
+     * query that is prepared.
+     */
+    public static Map<Reference.Name, Object> queryParameters(Map<String, String> metadata) {
+        Map<Reference.Name, Object> parameters = new HashMap<>();
+        boolean isPrepared = isPrepared(metadata);
+        metadata.forEach((key, value) -> {
+            if (!key.startsWith(PARAMETER_PREFIX)) return;
+            if (!isPrepared) throw GraknException.of(UNPREPARED_QUERY_PARAMETER, key);
+            Reference.Name parameter = Reference.name(key.substring(PARAMETER_PREFIX.length()));
+            parameters.put(parameter, PreparedMatch.parameter(parameter, value));
+        });
+        return parameters;
+    }
+
+    private static boolean isSet(Map<String, String> metadata, String name) {
+        return metadata.containsKey(name) && booleanOption(name, metadata.get(name));
+    }
+
+    private static boolean booleanOption(String name, String value) {
+        if (value.equalsIgnoreCase("true")) return true;
+        else if (value.equalsIgnoreCase("false")) return false;
+        else throw GraknException.of(BAD_OPTION_VALUE, value, name);
+    }
+
+    private static double doubleOption(String name, String value, double min) {
+        double option;
+        try {
+            option = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw GraknException.of(BAD_OPTION_VALUE, value, name);
+        }
+        if (Double.isNaN(option) || option < min) throw GraknException.of(BAD_OPTION_VALUE, value, name);
+        return option;
+    }
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+
+package grakn.core.server.rpc.query;
+
+import grakn.common.collection.Pair;
+import grakn.core.common.cache.CommonCache;
+import grakn.core.query.PreparedMatch;
+import grakn.core.query.QueryManager;
+import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.pair;
+
+/**
+ * The match queries that have been prepared in a session. A client prepares a match query by setting the
+ * {@code prepared} option of the request that carries it, and binds the named variables of the query that are
+ * its parameters through the metadata of the request. A query is parsed, and its types resolved, the first
+ * time that it is sent with a set of parameters, and later executions only bind the values of the parameters
+ * into the prepared template.
+ */
+public class PreparedQueries {
+
+    private static final int CACHE_SIZE = 1_000;
+    private static final int CACHE_TIMEOUT_MINUTES = 60;
+
+    private final CommonCache<Pair<String, Set<Reference.Name>>, PreparedMatch> templates;
+
+    public PreparedQueries() {
+        templates = new CommonCache<>(CACHE_SIZE, CACHE_TIMEOUT_MINUTES);
+    }
+
+    PreparedMatch prepare(String query, Set<Reference.Name> parameters, QueryManager queryMgr) {
+        return templates.get(pair(query, new HashSet<>(parameters)), key -> queryMgr.prepare(
+                Graql.parseQuery(key.first()).asMatch(), key.second()
+        ));
+    }
+}
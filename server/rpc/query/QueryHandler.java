@@ -25,41 +25,57 @@ import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
 import grakn.core.concept.answer.NumericGroup;
+import grakn.core.query.PreparedMatch;
 import grakn.core.query.QueryManager;
 import grakn.core.server.rpc.TransactionRPC;
 import grakn.core.server.rpc.common.ResponseBuilder;
+import grakn.core.traversal.TraversalProfile;
 import grakn.protocol.QueryProto;
 import grakn.protocol.TransactionProto;
 import grakn.protocol.TransactionProto.Transaction;
 import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlDelete;
 import graql.lang.query.GraqlInsert;
 import graql.lang.query.GraqlMatch;
 import graql.lang.query.GraqlUndefine;
 import graql.lang.query.GraqlUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+
+import static grakn.core.common.exception.ErrorMessage.Server.PROFILED_PREPARED_QUERY;
 import static grakn.core.common.exception.ErrorMessage.Server.UNKNOWN_REQUEST_TYPE;
 import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.server.rpc.common.RequestReader.isPlanExplained;
+import static grakn.core.server.rpc.common.RequestReader.isPrepared;
+import static grakn.core.server.rpc.common.RequestReader.isProfiled;
+import static grakn.core.server.rpc.common.RequestReader.queryParameters;
 import static grakn.core.server.rpc.common.RequestReader.setDefaultOptions;
 import static grakn.core.server.rpc.common.RequestReader.setQueryOptions;
 import static grakn.core.server.rpc.common.ResponseBuilder.Answer.numeric;
 
 public class QueryHandler {
 
+    private static final Logger LOG = LoggerFactory.getLogger(QueryHandler.class);
+
     private final TransactionRPC transactionRPC;
     private final QueryManager queryManager;
+    private final PreparedQueries preparedQueries;
 
-    public QueryHandler(TransactionRPC transactionRPC, QueryManager queryManager) {
+    public QueryHandler(TransactionRPC transactionRPC, QueryManager queryManager, PreparedQueries preparedQueries) {
         this.queryManager = queryManager;
         this.transactionRPC = transactionRPC;
+        this.preparedQueries = preparedQueries;
     }
 
     public void handleRequest(Transaction.Req request) {
         QueryProto.Query.Req req = request.getQueryReq();
         Options.Query options = new Options.Query();
         setDefaultOptions(options, req.getOptions());
-        setQueryOptions(options, req.getOptions());
+        setQueryOptions(options, req.getOptions(), request.getMetadataMap());
         switch (req.getReqCase()) {
             case DEFINE_REQ:
                 this.define(request, req.getDefineReq(), options);
@@ -99,9 +115,56 @@ public class QueryHandler {
     }
 
     private void match(Transaction.Req request, QueryProto.Query.Match.Req req, Options.Query options) {
+        if (isProfiled(request.getMetadataMap())) {
+            if (isPrepared(request.getMetadataMap())) throw GraknException.of(PROFILED_PREPARED_QUERY);
+            profile(request, req, options);
+            return;
+        } else if (isPlanExplained(request.getMetadataMap())) {
+            explain(req, options);
+        }
+
+        GraqlMatch query;
+        ResourceIterator<ConceptMap> answers;
+        Context.Query context;
+        Map<Reference.Name, Object> parameters = queryParameters(request.getMetadataMap());
+        if (isPrepared(request.getMetadataMap())) {
+            PreparedMatch prepared = preparedQueries.prepare(req.getQuery(), parameters.keySet(), queryManager);
+            query = prepared.template();
+            context = new Context.Query(transactionRPC.context(), options.query(query), query);
+            answers = queryManager.match(prepared, parameters, context);
+        } else {
+            query = Graql.parseQuery(req.getQuery()).asMatch();
+            context = new Context.Query(transactionRPC.context(), options.query(query), query);
+            answers = queryManager.match(query, context);
+        }
+        transactionRPC.respond(
+                request, answers, context,
+                as -> response(request, QueryProto.Query.Res.newBuilder().setMatchRes(
+                        QueryProto.Query.Match.Res.newBuilder().addAllAnswers(
+                                iterate(as).map(ResponseBuilder.Answer::conceptMap).toList()))));
+    }
+
+    /**
+     * Logs the procedures that a match query is planned into, with the estimated costs of their edges.
+     */
+    private void explain(QueryProto.Query.Match.Req req, Options.Query options) {
+        GraqlMatch query = Graql.parseQuery(req.getQuery()).asMatch();
+        Context.Query context = new Context.Query(transactionRPC.context(), options.query(query), query);
+        LOG.info("Query: {}\n{}", query, queryManager.explain(query, context));
+    }
+
+    /**
+     * Executes a match query on the thread that responds with its answers, and logs what each edge of the procedures
+     * of its traversals cost once every answer has been responded with.
+     */
+    private void profile(Transaction.Req request, QueryProto.Query.Match.Req req, Options.Query options) {
         GraqlMatch query = Graql.parseQuery(req.getQuery()).asMatch();
         Context.Query context = new Context.Query(transactionRPC.context(), options.query(query), query);
-        ResourceIterator<ConceptMap> answers = queryManager.match(query, context);
+        TraversalProfile profile = new TraversalProfile(true);
+        long start = System.nanoTime();
+        ResourceIterator<ConceptMap> answers = queryManager.profile(query, context, profile).onConsumed(
+                () -> LOG.info("Query: {} ({} ms)\n{}", query, (System.nanoTime() - start) / 1_000_000, profile)
+        );
         transactionRPC.respond(
                 request, answers, context,
                 as -> response(request, QueryProto.Query.Res.newBuilder().setMatchRes(
@@ -19,6 +19,7 @@
 package grakn.core.server.util;
 
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
 import grakn.core.server.Version;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -79,6 +80,19 @@ public interface ServerCommand {
                 description = "Port number of database server in which GRPC clients will connect to")
         private int port;
 
+        @Option(descriptionKey = "storage.memory-budget",
+                names = {"--storage-memory-budget"},
+                defaultValue = Options.DEFAULT_STORAGE_MEMORY_BUDGET_MB + "",
+                description = "Memory, in megabytes, shared by the storage of all databases for its block cache and memtables")
+        private long storageMemoryBudgetMB;
+
+        @Option(descriptionKey = "storage.substring-index",
+                names = {"--storage-substring-index"},
+                negatable = true,
+                defaultValue = Options.DEFAULT_SUBSTRING_INDEX + "",
+                description = "Maintain a trigram index of string attributes in databases created from now on")
+        private boolean substringIndex;
+
         @Option(descriptionKey = "grabl.trace",
                 names = {"--grabl-trace"},
                 negatable = true,
@@ -117,6 +131,14 @@ public interface ServerCommand {
             return port;
         }
 
+        public long storageMemoryBudgetMB() {
+            return storageMemoryBudgetMB;
+        }
+
+        public boolean substringIndex() {
+            return substringIndex;
+        }
+
         public boolean debug() {
             return debug;
         }
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.reasoner;
+
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksSession;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+
+public class NegationTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("negation-test");
+    private static final String database = "negation-test";
+    private static final int PEOPLE = 300;
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define name sub attribute, value string; " +
+                            "person sub entity, owns name, plays friendship:friend; " +
+                            "friendship sub relation, relates friend;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            for (int i = 0; i < PEOPLE; i++) {
+                transaction.query().insert(Graql.parseQuery("insert $x isa person, has name \"" + name(i) + "\";").asInsert());
+            }
+            for (int i = 0; i + 1 < PEOPLE; i += 3) {
+                transaction.query().insert(Graql.parseQuery(
+                        "match $x isa person, has name \"" + name(i) + "\"; $y isa person, has name \"" + name(i + 1) + "\"; " +
+                                "insert (friend: $x, friend: $y) isa friendship;"
+                ).asInsert());
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static String name(int i) {
+        return "p" + i;
+    }
+
+    private static Set<String> names(int... excluded) {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < PEOPLE; i++) names.add(name(i));
+        for (int i : excluded) names.remove(name(i));
+        return names;
+    }
+
+    private static Set<String> unfriended() {
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < PEOPLE; i++) {
+            boolean hasFriend = i % 3 == 0 ? i + 1 < PEOPLE : i % 3 == 1;
+            if (!hasFriend) names.add(name(i));
+        }
+        return names;
+    }
+
+    private static Set<String> match(String query, boolean parallel) {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            GraqlMatch match = Graql.parseQuery(query).asMatch();
+            Context.Query context = new Context.Query(transaction.context(), new Options.Query().parallel(parallel));
+            return transaction.query().match(match, context)
+                    .map((ConceptMap answer) -> answer.get("n").asAttribute().asString().getValue()).toSet();
+        }
+    }
+
+    private static void assertMatches(Set<String> expected, String query) {
+        assertEquals(expected, match(query, false));
+        assertEquals(expected, match(query, true));
+    }
+
+    @Test
+    public void negation_of_a_value_excludes_one_answer() {
+        assertMatches(names(7), "match $x isa person, has name $n; not { $x has name \"p7\"; };");
+    }
+
+    @Test
+    public void negation_of_a_disjunction_excludes_the_answers_of_either_branch() {
+        assertMatches(names(1, 2, 250),
+                      "match $x isa person, has name $n; " +
+                              "not { { $x has name \"p1\"; } or { $x has name \"p2\"; } or { $x has name \"p250\"; }; };");
+    }
+
+    @Test
+    public void negation_with_variables_of_its_own_is_projected_onto_the_shared_variables() {
+        // every friendship is negated for each of its two friends, and projected onto the friend being filtered
+        assertMatches(unfriended(),
+                      "match $x isa person, has name $n; not { ($x, $y) isa friendship; };");
+    }
+
+    @Test
+    public void negation_without_answers_excludes_nothing() {
+        assertMatches(names(), "match $x isa person, has name $n; not { $x has name \"nobody\"; };");
+    }
+
+    @Test
+    public void negation_of_every_answer_excludes_everything() {
+        assertMatches(set(), "match $x isa person, has name $n; not { $x has name $m; };");
+    }
+
+    @Test
+    public void negations_of_few_answers_are_filtered_one_answer_at_a_time() {
+        assertMatches(set(), "match $x isa person, has name \"p3\"; $x has name $n; not { ($x, $y) isa friendship; };");
+        assertMatches(set(name(5)), "match $x isa person, has name \"p5\"; $x has name $n; not { ($x, $y) isa friendship; };");
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.common.Encoding;
+import grakn.core.graph.edge.ThingEdge;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.vertex.ThingVertex;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.concept.type.AttributeType.ValueType.LONG;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class AdjacencyTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("adjacency-test");
+    private static final String database = "adjacency-test";
+    private static final int PEOPLE = 20;
+
+    private static void reset(RocksGrakn grakn) {
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().putEntityType("person");
+            person.setOwns(transaction.concepts().putAttributeType("age", LONG));
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().getEntityType("person");
+            AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+            for (int i = 0; i < PEOPLE; i++) person.create().setHas(age.put(i));
+            transaction.commit();
+        }
+    }
+
+    @Test
+    public void batched_edge_lookups_match_single_lookups() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA);
+                 RocksTransaction transaction = session.transaction(READ)) {
+                DataGraph data = transaction.graphMgr.data();
+                List<ThingVertex> people = data.get(transaction.graphMgr.schema().getType("person")).toList();
+                List<ThingVertex> ages = data.get(transaction.graphMgr.schema().getType("age")).toList();
+                assertEquals(PEOPLE, people.size());
+                assertEquals(PEOPLE, ages.size());
+
+                for (ThingVertex person : people) {
+                    List<ThingEdge> edges = person.outs().edges(Encoding.Edge.Thing.HAS, ages);
+                    assertEquals(ages.size(), edges.size());
+                    int owned = 0;
+                    for (int i = 0; i < ages.size(); i++) {
+                        ThingEdge single = person.outs().edge(Encoding.Edge.Thing.HAS, ages.get(i));
+                        if (single == null) {
+                            assertNull(edges.get(i));
+                        } else {
+                            assertNotNull(edges.get(i));
+                            assertEquals(ages.get(i), edges.get(i).to());
+                            owned++;
+                        }
+                    }
+                    assertEquals(1, owned);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void batched_edge_lookups_see_buffered_edges() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA);
+                 RocksTransaction transaction = session.transaction(WRITE)) {
+                DataGraph data = transaction.graphMgr.data();
+                TypeVertex ageType = transaction.graphMgr.schema().getType("age");
+                ThingVertex person = data.get(transaction.graphMgr.schema().getType("person")).first().get();
+                List<ThingVertex> ages = new ArrayList<>(data.get(ageType).toList());
+                ThingVertex buffered = data.put(ageType, (long) PEOPLE, false);
+                person.outs().put(Encoding.Edge.Thing.HAS, buffered, false);
+                ages.add(buffered);
+
+                List<ThingEdge> edges = person.outs().edges(Encoding.Edge.Thing.HAS, ages);
+                assertEquals(2, iterate(edges).filter(e -> e != null).count());
+                assertNotNull(edges.get(ages.size() - 1));
+                assertTrue(person.outs().edges(Encoding.Edge.Thing.HAS, list()).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void inferred_edges_do_not_shadow_persisted_edges() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA);
+                 RocksTransaction transaction = session.transaction(READ)) {
+                DataGraph data = transaction.graphMgr.data();
+                ThingVertex person = data.get(transaction.graphMgr.schema().getType("person")).first().get();
+                ThingVertex owned = person.outs().edge(Encoding.Edge.Thing.HAS).to().first().get();
+                ThingVertex inferred = data.get(transaction.graphMgr.schema().getType("age"))
+                        .filter(age -> !age.equals(owned)).first().get();
+
+                person.outs().put(Encoding.Edge.Thing.HAS, owned, true);
+                person.outs().put(Encoding.Edge.Thing.HAS, inferred, true);
+
+                assertFalse(person.outs().edge(Encoding.Edge.Thing.HAS, owned).isInferred());
+                assertFalse(owned.ins().edge(Encoding.Edge.Thing.HAS, person).isInferred());
+                assertTrue(person.outs().edge(Encoding.Edge.Thing.HAS, inferred).isInferred());
+                List<ThingEdge> edges = person.outs().edge(Encoding.Edge.Thing.HAS).get().toList();
+                assertEquals(2, edges.size());
+                assertEquals(1, iterate(edges).filter(ThingEdge::isInferred).count());
+            }
+        }
+    }
+
+    @Test
+    public void storage_reads_a_batch_of_keys_in_order() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA);
+                 RocksTransaction transaction = session.transaction(READ)) {
+                DataGraph data = transaction.graphMgr.data();
+                List<byte[]> keys = new ArrayList<>();
+                TypeVertex personType = transaction.graphMgr.schema().getType("person");
+                data.get(personType).forEachRemaining(v -> keys.add(v.iid().bytes()));
+                byte[] missing = keys.get(keys.size() - 1).clone();
+                Arrays.fill(missing, VertexIID.Thing.PREFIX_W_TYPE_LENGTH, missing.length, (byte) 0xFF);
+                keys.add(PEOPLE / 2, missing);
+
+                List<byte[]> values = data.storage().getAll(keys);
+                assertEquals(keys.size(), values.size());
+                for (int i = 0; i < keys.size(); i++) {
+                    if (keys.get(i) == missing) assertNull(values.get(i));
+                    else assertArrayEquals(data.storage().get(keys.get(i)), values.get(i));
+                }
+                assertTrue(data.storage().getAll(list()).isEmpty());
+            }
+        }
+    }
+}
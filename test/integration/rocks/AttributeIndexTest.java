@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.iid.IndexIID;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.concept.type.AttributeType.ValueType.STRING;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AttributeIndexTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("attribute-index-test");
+    private static final String database = "attribute-index-test";
+    private static final String AB_NUL = "ab\u0000";
+    private static final Set<String> NAMES = set("a", "ab", AB_NUL, "aba", "abc", "abz", "ac", "b");
+
+    private static void reset(RocksGrakn grakn) {
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().putAttributeType("name", STRING);
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            AttributeType.String name = transaction.concepts().getAttributeType("name").asString();
+            NAMES.forEach(name::put);
+            transaction.commit();
+        }
+    }
+
+    private static Set<String> names(RocksTransaction transaction, String from, boolean fromInclusive,
+                                     String to, boolean toInclusive) {
+        DataGraph data = transaction.graphMgr.data();
+        TypeVertex type = transaction.graphMgr.schema().getType("name");
+        return data.get(type, from, fromInclusive, to, toInclusive)
+                .map(vertex -> vertex.asAttribute().asString().value()).toSet();
+    }
+
+    private static void assertRanges(RocksTransaction transaction) {
+        assertEquals(NAMES, names(transaction, null, true, null, true));
+        assertEquals(set("ab", AB_NUL, "aba", "abc", "abz", "ac", "b"), names(transaction, "ab", true, null, true));
+        assertEquals(set(AB_NUL, "aba", "abc", "abz", "ac", "b"), names(transaction, "ab", false, null, true));
+        assertEquals(set("a", "ab"), names(transaction, null, true, "ab", true));
+        assertEquals(set("a"), names(transaction, null, true, "ab", false));
+        assertEquals(set("ab", AB_NUL, "aba", "abc"), names(transaction, "ab", true, "abc", true));
+        assertEquals(set(AB_NUL, "aba"), names(transaction, "ab", false, "abc", false));
+        assertEquals(set("ab"), names(transaction, "ab", true, "ab", true));
+        assertEquals(set(), names(transaction, "ab", false, "ab", true));
+        assertEquals(set(), names(transaction, "ab", true, "ab", false));
+        // the values with a prefix lie between the prefix and its successor
+        assertEquals(set("ab", AB_NUL, "aba", "abc", "abz"), names(transaction, "ab", true, "ac", false));
+    }
+
+    @Test
+    public void sorted_index_ranges_respect_their_bounds() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA)) {
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    assertTrue(transaction.graphMgr.data().isSortedIndexed());
+                    assertRanges(transaction);
+                }
+                try (RocksTransaction transaction = session.transaction(WRITE)) {
+                    transaction.concepts().getAttributeType("name").asString().put("abb");
+                    assertEquals(set(AB_NUL, "aba", "abb"), names(transaction, "ab", false, "abc", false));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sorted_index_ranges_fall_back_to_a_scan_without_the_marker() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA)) {
+                try (RocksTransaction transaction = session.transaction(WRITE)) {
+                    transaction.graphMgr.data().storage().delete(IndexIID.SortedAttribute.marker());
+                    transaction.commit();
+                }
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    assertFalse(transaction.graphMgr.data().isSortedIndexed());
+                    assertRanges(transaction);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void string_predicates_find_every_value_in_their_range() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA);
+                 RocksTransaction transaction = session.transaction(READ)) {
+                assertEquals(set("ab", AB_NUL, "aba", "abc", "abz"), match(transaction, "$x like \"^ab.*\";"));
+                assertEquals(set("aba", "abc"), match(transaction, "$x like \"^ab[a-c]\";"));
+                assertEquals(set(AB_NUL, "aba", "abc", "abz", "ac", "b"), match(transaction, "$x > \"ab\";"));
+                assertEquals(set("ab", AB_NUL, "aba", "abc"), match(transaction, "$x >= \"ab\"; $x <= \"abc\";"));
+                assertEquals(set("a"), match(transaction, "$x < \"ab\";"));
+            }
+        }
+    }
+
+    private static Set<String> match(RocksTransaction transaction, String predicates) {
+        GraqlMatch query = Graql.parseQuery("match $x isa name; " + predicates).asMatch();
+        return transaction.query().match(query)
+                .map((ConceptMap answer) -> answer.get("x").asAttribute().asString().getValue()).toSet();
+    }
+}
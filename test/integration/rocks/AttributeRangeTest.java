@@ -0,0 +1,261 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.thing.Attribute;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.predicate.Predicate;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.concept.type.AttributeType.ValueType.DATETIME;
+import static grakn.core.concept.type.AttributeType.ValueType.DOUBLE;
+import static grakn.core.concept.type.AttributeType.ValueType.LONG;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that the range scans of sorted attribute types, which the start vertex of a traversal seeks to by the bounds
+ * of its predicates, find the same attributes as a full scan of the type filtered by the same predicates.
+ */
+public class AttributeRangeTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("attribute-range-test");
+    private static final String database = "attribute-range-test";
+    private static final LocalDateTime DATE_1 = LocalDateTime.of(1999, 12, 31, 23, 59, 59);
+    private static final LocalDateTime DATE_2 = LocalDateTime.of(2000, 1, 1, 0, 0, 1);
+    private static final LocalDateTime DATE_3 = LocalDateTime.of(2010, 6, 15, 12, 30, 30);
+    private static final LocalDateTime DATE_4 = LocalDateTime.of(2020, 2, 29, 8, 15, 45);
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().putAttributeType("count", LONG);
+            transaction.concepts().putAttributeType("weight", DOUBLE);
+            transaction.concepts().putAttributeType("born", DATETIME);
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            AttributeType.Long count = transaction.concepts().getAttributeType("count").asLong();
+            for (long value : list(Long.MIN_VALUE, -1000L, -3L, -1L, 0L, 1L, 2L, 3L, 4L, 5L, 10L, 11L, 1000L,
+                                   Long.MAX_VALUE)) {
+                count.put(value);
+            }
+            AttributeType.Double weight = transaction.concepts().getAttributeType("weight").asDouble();
+            for (double value : list(-100.5, -1.0, -0.5, -0.0, 0.0, 0.00000000000000001, 0.25, 1.0, 2.5, 3.0, 100.0)) {
+                weight.put(value);
+            }
+            AttributeType.DateTime born = transaction.concepts().getAttributeType("born").asDateTime();
+            for (LocalDateTime value : list(DATE_1, DATE_2, DATE_3, DATE_4)) born.put(value);
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static Object value(Attribute attribute) {
+        if (attribute.isLong()) return attribute.asLong().getValue();
+        else if (attribute.isDouble()) return attribute.asDouble().getValue();
+        else return attribute.asDateTime().getValue();
+    }
+
+    private static String literal(Object bound) {
+        if (bound instanceof Double) return BigDecimal.valueOf((Double) bound).toPlainString();
+        else return bound.toString();
+    }
+
+    private static boolean satisfies(Object value, String operator, Object bound) {
+        int comparison;
+        if (value instanceof LocalDateTime) comparison = ((LocalDateTime) value).compareTo((LocalDateTime) bound);
+        else if (value instanceof Long && bound instanceof Long) comparison = Long.compare((Long) value, (Long) bound);
+        else comparison = Predicate.compareDoubles(((Number) value).doubleValue(), ((Number) bound).doubleValue());
+        switch (operator) {
+            case ">":
+                return comparison > 0;
+            case ">=":
+                return comparison >= 0;
+            case "<":
+                return comparison < 0;
+            case "<=":
+                return comparison <= 0;
+            default:
+                throw new IllegalArgumentException(operator);
+        }
+    }
+
+    /**
+     * Asserts that the attributes of the given type that satisfy the given predicates, which are pairs of an operator
+     * and a bound, are the same when matched by a query as when the full scan of the type is filtered.
+     */
+    private static void assertRange(RocksTransaction transaction, String type, Object... predicates) {
+        StringBuilder query = new StringBuilder("match $x isa " + type + ";");
+        for (int i = 0; i < predicates.length; i += 2) {
+            query.append(" $x ").append(predicates[i]).append(" ").append(literal(predicates[i + 1])).append(";");
+        }
+        Set<Object> expected = transaction.concepts().getAttributeType(type).getInstances()
+                .map(AttributeRangeTest::value).filter(value -> {
+                    for (int i = 0; i < predicates.length; i += 2) {
+                        if (!satisfies(value, (String) predicates[i], predicates[i + 1])) return false;
+                    }
+                    return true;
+                }).collect(Collectors.toSet());
+        GraqlMatch match = Graql.parseQuery(query.toString()).asMatch();
+        Set<Object> matched = transaction.query().match(match)
+                .map((ConceptMap answer) -> value(answer.get("x").asAttribute())).toSet();
+        assertEquals(query.toString(), expected, matched);
+    }
+
+    @Test
+    public void long_ranges_respect_exclusive_and_inclusive_bounds() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertRange(transaction, "count", ">", 3L);
+            assertRange(transaction, "count", ">=", 3L);
+            assertRange(transaction, "count", "<", 3L);
+            assertRange(transaction, "count", "<=", 3L);
+            assertRange(transaction, "count", ">", 3L, "<", 10L);
+            assertRange(transaction, "count", ">=", 3L, "<=", 10L);
+            assertRange(transaction, "count", ">", -1L);
+            assertRange(transaction, "count", "<", 0L);
+            assertRange(transaction, "count", ">=", 0L, "<=", 0L);
+            assertRange(transaction, "count", ">", 0L, "<", 0L);
+            assertRange(transaction, "count", ">", 1000L);
+            assertRange(transaction, "count", "<", -2000L);
+            assertRange(transaction, "count", ">", 9223372036854775806L);
+        }
+    }
+
+    @Test
+    public void several_predicates_narrow_the_same_bound() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertRange(transaction, "count", ">", 3L, ">=", 5L);
+            assertRange(transaction, "count", ">=", 5L, ">", 3L);
+            assertRange(transaction, "count", "<", 10L, "<=", 4L);
+            assertRange(transaction, "count", "<=", 4L, "<", 10L);
+            // on a tie, the exclusive bound is the narrower, whichever order the predicates are in
+            assertRange(transaction, "count", ">=", 3L, ">", 3L);
+            assertRange(transaction, "count", ">", 3L, ">=", 3L);
+            assertRange(transaction, "count", "<=", 4L, "<", 4L);
+            assertRange(transaction, "count", "<", 4L, "<=", 4L);
+            assertRange(transaction, "count", ">", -3L, ">=", 1L, "<", 11L, "<=", 5L);
+        }
+    }
+
+    @Test
+    public void double_ranges_are_widened_by_the_double_precision() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertRange(transaction, "weight", ">", 0.25);
+            assertRange(transaction, "weight", ">=", 0.25);
+            assertRange(transaction, "weight", "<", 1.0);
+            assertRange(transaction, "weight", "<=", 1.0);
+            assertRange(transaction, "weight", ">", 0.25, "<=", 3.0);
+            assertRange(transaction, "weight", ">", 1.0, ">=", 2.5);
+            assertRange(transaction, "weight", "<", 100.0, "<=", 2.5);
+            // a value within the double precision of a bound is equal to it
+            assertRange(transaction, "weight", "<=", 0.0);
+            assertRange(transaction, "weight", "<", 0.0);
+            assertRange(transaction, "weight", ">", 0.00000000000000002);
+            assertRange(transaction, "weight", "<", 0.00000000000000002);
+        }
+    }
+
+    @Test
+    public void double_ranges_skip_non_positive_lower_bounds() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            // -0.0 is encoded before every negative double, so a non-positive lower bound cannot be sought to
+            assertRange(transaction, "weight", ">", 0.0);
+            assertRange(transaction, "weight", ">=", 0.0);
+            assertRange(transaction, "weight", ">", -0.5);
+            assertRange(transaction, "weight", ">=", -1.0);
+            assertRange(transaction, "weight", ">", -0.75, "<", 0.5);
+            assertRange(transaction, "weight", ">=", 0.00000000000000005);
+            assertRange(transaction, "weight", ">", -1000.0, "<", -0.5);
+        }
+    }
+
+    @Test
+    public void long_predicates_bound_double_ranges() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertRange(transaction, "weight", ">", 1L);
+            assertRange(transaction, "weight", ">=", 1L);
+            assertRange(transaction, "weight", "<=", 3L);
+            assertRange(transaction, "weight", ">=", -1L, "<", 2L);
+            assertRange(transaction, "weight", ">", 0L, "<", 2.5);
+            // a double predicate does not bound a range of longs, but is still applied to them
+            assertRange(transaction, "count", ">", 2.5, "<", 10L);
+        }
+    }
+
+    @Test
+    public void datetime_ranges_respect_their_bounds() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertRange(transaction, "born", ">", DATE_2);
+            assertRange(transaction, "born", ">=", DATE_2);
+            assertRange(transaction, "born", "<", DATE_4);
+            assertRange(transaction, "born", "<=", DATE_4);
+            assertRange(transaction, "born", ">=", DATE_2, "<", DATE_4);
+            assertRange(transaction, "born", ">", DATE_1, ">", DATE_3);
+            assertRange(transaction, "born", ">", DATE_4);
+        }
+    }
+
+    @Test
+    public void ranges_find_the_attributes_put_in_the_transaction() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.concepts().getAttributeType("count").asLong().put(7L);
+            transaction.concepts().getAttributeType("weight").asDouble().put(0.75);
+            transaction.concepts().getAttributeType("born").asDateTime().put(DATE_3.plusDays(1));
+            assertRange(transaction, "count", ">", 5L, "<", 10L);
+            assertRange(transaction, "weight", ">=", 0.5, "<=", 1.0);
+            assertRange(transaction, "born", ">", DATE_3, "<", DATE_4);
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.graph.GraphManager;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.iterator.BatchIterator;
+import grakn.core.traversal.iterator.GraphIterator;
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureVertex;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static java.time.Duration.between;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that a {@code BatchIterator} produces the same answers, in the same order, as a {@code GraphIterator} from
+ * each start vertex in turn, for procedures of isa and has edges, and compares how long each of them takes to do so.
+ */
+public class BatchIteratorBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchIteratorBenchmarkTest.class);
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("batch-iterator-test");
+    private static final String database = "batch-iterator-test";
+    private static final int PEOPLE = 2_000;
+    private static final int NAMES = 400;
+    private static final int AGES = 50;
+    private static final int ROUNDS = 5;
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define name sub attribute, value string; age sub attribute, value long; " +
+                            "person sub entity, owns name, owns age;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().getEntityType("person");
+            AttributeType.String name = transaction.concepts().getAttributeType("name").asString();
+            AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+            for (int i = 0; i < PEOPLE; i++) {
+                Entity entity = person.create();
+                entity.setHas(name.put("name-" + i % NAMES));
+                entity.setHas(age.put((long) (i * 7 % AGES)));
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static Identifier.Variable.Name name(String name) {
+        return Identifier.Variable.name(name).asName();
+    }
+
+    /**
+     * match $p isa person, has $n, has $a;
+     */
+    private static GraphProcedure ownedAttributes() {
+        GraphProcedure.Builder builder = GraphProcedure.builder(3);
+        ProcedureVertex.Type person = builder.labelledType("person", true);
+        builder.setLabel(person, "person");
+        ProcedureVertex.Thing p = builder.namedThing("p");
+        ProcedureVertex.Thing n = builder.namedThing("n");
+        ProcedureVertex.Thing a = builder.namedThing("a");
+        builder.backwardIsa(1, person, p, false);
+        builder.forwardHas(2, p, n);
+        builder.forwardHas(3, p, a);
+        return builder.build();
+    }
+
+    /**
+     * match $p isa person, has $n, has $a; $q has $n, has $a;
+     *
+     * where $q is branched to from the name of $p, and checked for the attribute of $p, one batch at a time.
+     */
+    private static GraphProcedure sharedAttributes() {
+        GraphProcedure.Builder builder = GraphProcedure.builder(5);
+        ProcedureVertex.Type person = builder.labelledType("person", true);
+        builder.setLabel(person, "person");
+        ProcedureVertex.Thing p = builder.namedThing("p");
+        ProcedureVertex.Thing n = builder.namedThing("n");
+        ProcedureVertex.Thing a = builder.namedThing("a");
+        ProcedureVertex.Thing q = builder.namedThing("q");
+        builder.backwardIsa(1, person, p, false);
+        builder.forwardHas(2, p, n);
+        builder.forwardHas(3, p, a);
+        builder.backwardHas(4, n, q);
+        builder.forwardHas(5, q, a);
+        return builder.build();
+    }
+
+    @Test
+    public void batch_iterator_answers_owned_attributes_like_graph_iterator() {
+        benchmark("owned attributes", ownedAttributes(), set(name("p"), name("n"), name("a")));
+    }
+
+    @Test
+    public void batch_iterator_answers_shared_attributes_like_graph_iterator() {
+        benchmark("shared attributes", sharedAttributes(), set(name("p"), name("n"), name("a"), name("q")));
+    }
+
+    private void benchmark(String description, GraphProcedure procedure, Set<Identifier.Variable.Name> filter) {
+        assertTrue(procedure.isBatchable());
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            GraphManager graphMgr = transaction.graphMgr;
+            Traversal.Parameters params = new Traversal.Parameters();
+            Supplier<List<VertexMap>> graphIterator = () -> procedure.startVertex().iterator(graphMgr, params)
+                    .flatMap(sv -> new GraphIterator(graphMgr, sv, procedure, params, filter)).toList();
+            Supplier<List<VertexMap>> batchIterator = () -> new BatchIterator(
+                    graphMgr, procedure.startVertex().iterator(graphMgr, params), procedure, params, filter
+            ).toList();
+
+            List<VertexMap> expected = graphIterator.get();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, batchIterator.get());
+
+            Duration graph = Duration.ZERO, batch = Duration.ZERO;
+            for (int round = 0; round < ROUNDS; round++) {
+                graph = graph.plus(time(graphIterator, expected.size()));
+                batch = batch.plus(time(batchIterator, expected.size()));
+            }
+            LOG.info("{}: {} answers of {} people, {} rounds: graph iterator in {} ms, batch iterator in {} ms",
+                     description, expected.size(), PEOPLE, ROUNDS, graph.toMillis(), batch.toMillis());
+        }
+    }
+
+    private static Duration time(Supplier<List<VertexMap>> answers, int expected) {
+        Instant start = Instant.now();
+        int answered = answers.get().size();
+        Duration duration = between(start, Instant.now());
+        assertEquals(expected, answered);
+        return duration;
+    }
+}
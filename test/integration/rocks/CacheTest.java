@@ -0,0 +1,234 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Label;
+import grakn.core.common.parameters.Options;
+import grakn.core.graph.SchemaGraph;
+import grakn.core.graph.edge.TypeEdge;
+import grakn.core.graph.edge.impl.TypeEdgeImpl;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.TraversalProfile;
+import grakn.core.traversal.planner.Planner;
+import grakn.core.traversal.structure.Structure;
+import graql.lang.Graql;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.graph.common.Encoding.Edge.Type.OWNS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CacheTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("cache-test");
+    private static final String database = "cache-test";
+    private static final String EMPLOYEES = "match $e isa employee, has first-name $f;";
+    private static final String DOGS = "match $d isa dog, has age $a;";
+
+    private static void reset(RocksGrakn grakn) {
+        grakn.databases().create(database);
+        define(grakn, "define " +
+                "name sub attribute, abstract, value string; first-name sub name; age sub attribute, value long; " +
+                "person sub entity, owns name; employee sub person, owns first-name; dog sub entity, owns age;");
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(Graql.parseQuery("insert $e isa employee, has first-name \"alice\";").asInsert());
+            transaction.query().insert(Graql.parseQuery("insert $d isa dog, has age 3;").asInsert());
+            transaction.commit();
+        }
+    }
+
+    private static void define(RocksGrakn grakn, String query) {
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(query).asDefine());
+            transaction.commit();
+        }
+    }
+
+    private static void match(RocksGrakn grakn, String query) {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertEquals(1, transaction.query().match(Graql.parseQuery(query).asMatch()).count());
+        }
+    }
+
+    private static TraversalProfile.Procedure explain(RocksGrakn grakn, String query) {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            TraversalProfile profile = transaction.query().explain(
+                    Graql.parseQuery(query).asMatch(), new Context.Query(transaction.context(), new Options.Query())
+            );
+            assertEquals(1, profile.procedures().size());
+            return profile.procedures().get(0);
+        }
+    }
+
+    private static List<String> plan(TraversalProfile.Procedure procedure) {
+        List<String> plan = new ArrayList<>();
+        plan.add(procedure.startVertex());
+        procedure.edges().forEach(edge -> plan.add(edge.description()));
+        return plan;
+    }
+
+    /**
+     * Waits for the background counter to count the committed count jobs, such that the statistics that the
+     * queries are planned on do not move on before the database is closed.
+     */
+    private static void awaitStatistics(RocksGrakn grakn) throws InterruptedException {
+        try (RocksSession session = grakn.session(database, DATA)) {
+            Util.awaitCountJobs(() -> {
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    return transaction.graphMgr.data().stats().hasPendingCountJobs();
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns the planners in the traversal cache of the database, of the structures that refer to the given type.
+     */
+    private static Set<Planner> planners(RocksGrakn grakn, String type) {
+        RocksDatabase rocksDatabase = grakn.databases().get(database);
+        RocksDatabase.Cache cache = rocksDatabase.cacheBorrow();
+        try {
+            // planners are compared by identity, to tell those that were carried over from those planned again
+            Set<Planner> planners = new HashSet<>();
+            cache.traversal().forEach((Structure structure, Planner planner) -> {
+                if (structure.labels().contains(Label.of(type))) planners.add(planner);
+            });
+            return planners;
+        } finally {
+            rocksDatabase.cacheUnborrow(cache);
+        }
+    }
+
+    @Test
+    public void schema_commits_only_evict_the_planners_of_the_modified_types() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            match(grakn, EMPLOYEES);
+            match(grakn, DOGS);
+            Set<Planner> employeePlanners = planners(grakn, "employee");
+            Set<Planner> dogPlanners = planners(grakn, "dog");
+            assertFalse(employeePlanners.isEmpty());
+            assertFalse(dogPlanners.isEmpty());
+
+            define(grakn, "define nickname sub attribute, value string; employee owns nickname;");
+            assertTrue(planners(grakn, "employee").isEmpty());
+            assertEquals(dogPlanners, planners(grakn, "dog"));
+            match(grakn, EMPLOYEES);
+            match(grakn, DOGS);
+            assertFalse(planners(grakn, "employee").isEmpty());
+            assertEquals(dogPlanners, planners(grakn, "dog"));
+        }
+    }
+
+    @Test
+    public void overriding_a_persisted_edge_evicts_the_planners_of_both_its_ends() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            match(grakn, EMPLOYEES);
+            match(grakn, DOGS);
+            Set<Planner> dogPlanners = planners(grakn, "dog");
+
+            try (RocksSession session = grakn.session(database, SCHEMA);
+                 RocksTransaction transaction = session.transaction(WRITE)) {
+                SchemaGraph schema = transaction.graphMgr.schema();
+                TypeVertex employee = schema.getType("employee"), firstName = schema.getType("first-name");
+                TypeEdge owns = employee.outs().edge(OWNS, firstName);
+                assertTrue(owns instanceof TypeEdgeImpl.Persisted);
+                owns.overridden(schema.getType("name"));
+                assertTrue(schema.modifiedTypes().containsAll(set(Label.of("employee"), Label.of("first-name"))));
+                transaction.commit();
+            }
+            assertTrue(planners(grakn, "employee").isEmpty());
+            assertTrue(planners(grakn, "first-name").isEmpty());
+            assertEquals(dogPlanners, planners(grakn, "dog"));
+        }
+    }
+
+    @Test
+    public void plans_are_restored_when_the_database_is_reopened() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        Options.Database options = new Options.Database().planStore(true);
+        List<String> plan;
+        try (RocksGrakn grakn = RocksGrakn.open(directory, options, new RocksFactory())) {
+            reset(grakn);
+            awaitStatistics(grakn);
+            match(grakn, EMPLOYEES);
+            TraversalProfile.Procedure procedure = explain(grakn, EMPLOYEES);
+            assertTrue(procedure.isCached());
+            assertFalse(procedure.edges().isEmpty());
+            plan = plan(procedure);
+        }
+
+        try (RocksGrakn grakn = RocksGrakn.open(directory, options, new RocksFactory())) {
+            assertFalse(planners(grakn, "employee").isEmpty());
+            TraversalProfile.Procedure procedure = explain(grakn, EMPLOYEES);
+            assertTrue(procedure.isCached());
+            assertEquals(plan, plan(procedure));
+            match(grakn, EMPLOYEES);
+        }
+
+        // a database that does not use the plan store plans its queries from scratch
+        try (RocksGrakn grakn = RocksGrakn.open(directory, new Options.Database().planStore(false), new RocksFactory())) {
+            assertTrue(planners(grakn, "employee").isEmpty());
+            assertFalse(explain(grakn, EMPLOYEES).isCached());
+        }
+    }
+
+    @Test
+    public void plans_are_not_restored_when_the_schema_has_changed() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        Options.Database options = new Options.Database().planStore(true);
+        try (RocksGrakn grakn = RocksGrakn.open(directory, options, new RocksFactory())) {
+            reset(grakn);
+            awaitStatistics(grakn);
+            match(grakn, EMPLOYEES);
+        }
+
+        try (RocksGrakn grakn = RocksGrakn.open(directory, new Options.Database().planStore(false), new RocksFactory())) {
+            define(grakn, "define nickname sub attribute, value string; employee owns nickname;");
+        }
+
+        try (RocksGrakn grakn = RocksGrakn.open(directory, options, new RocksFactory())) {
+            assertTrue(planners(grakn, "employee").isEmpty());
+            assertFalse(explain(grakn, EMPLOYEES).isCached());
+            match(grakn, EMPLOYEES);
+        }
+    }
+}
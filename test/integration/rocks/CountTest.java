@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.pattern.Disjunction;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.common.Identifier;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CountTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("count-test");
+    private static final String database = "count-test";
+    private static final String PEOPLE = "match $x isa person;";
+    private static final String AGES = "match $a isa age;";
+    private static final String THINGS = "match $x isa thing;";
+    private static final String OWNERSHIPS = "match $x isa person, has age $a;";
+
+    private static void reset(RocksGrakn grakn) {
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define age sub attribute, value long; person sub entity, owns age;"
+            ).asDefine());
+            transaction.commit();
+        }
+    }
+
+    private static void insert(RocksSession session, int from, int to) {
+        try (RocksTransaction transaction = session.transaction(WRITE)) {
+            for (int i = from; i < to; i++) {
+                // every third person has no age, and the ages are shared between people
+                String query = i % 3 == 0 ? "insert $x isa person;" : "insert $x isa person, has age " + (i % 7) + ";";
+                transaction.query().insert(Graql.parseQuery(query).asInsert());
+            }
+            transaction.commit();
+        }
+    }
+
+    private static Optional<Long> countFromStatistics(RocksTransaction transaction, String query) {
+        GraqlMatch match = Graql.parseQuery(query).asMatch();
+        Disjunction disjunction = Disjunction.create(match.conjunction().normalise());
+        Set<Identifier.Variable.Name> filter = iterate(match.filter())
+                .map(v -> Identifier.Variable.of(v.reference().asName())).toSet();
+        return transaction.reasoner().countFromStatistics(
+                disjunction, filter, new Context.Query(transaction.context(), new Options.Query())
+        );
+    }
+
+    private static long traversedCount(RocksTransaction transaction, String query) {
+        return transaction.query().match(Graql.parseQuery(query).asMatch()).count();
+    }
+
+    private static long aggregateCount(RocksTransaction transaction, String query) {
+        return transaction.query().match(Graql.parseQuery(query + " count;").asMatchAggregate()).asLong();
+    }
+
+    private static boolean hasPendingCountJobs(RocksTransaction transaction) {
+        return transaction.graphMgr.data().stats().hasPendingCountJobs();
+    }
+
+    private static void awaitCountJobs(RocksSession session) throws InterruptedException {
+        Util.awaitCountJobs(() -> {
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                return hasPendingCountJobs(transaction);
+            }
+        });
+    }
+
+    private static void assertCounts(RocksTransaction transaction) {
+        boolean hasPendingCountJobs = hasPendingCountJobs(transaction);
+        for (String query : list(PEOPLE, AGES, THINGS, OWNERSHIPS)) {
+            long expected = traversedCount(transaction, query);
+            assertEquals(query, expected, aggregateCount(transaction, query));
+            Optional<Long> fromStatistics = countFromStatistics(transaction, query);
+            // entities are counted on commit, but attributes and has edges only once their count jobs are counted
+            if (query.equals(PEOPLE) || !hasPendingCountJobs) {
+                assertTrue(query, fromStatistics.isPresent());
+                assertEquals(query, expected, (long) fromStatistics.get());
+            } else {
+                assertFalse(query, fromStatistics.isPresent());
+            }
+        }
+    }
+
+    @Test
+    public void counts_are_exact_whether_or_not_count_jobs_are_pending() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA)) {
+                for (int batch = 0; batch < 10; batch++) {
+                    insert(session, batch * 10, batch * 10 + 10);
+                    // the background counter may or may not have counted the batch by now
+                    try (RocksTransaction transaction = session.transaction(READ)) {
+                        assertCounts(transaction);
+                    }
+                }
+                awaitCountJobs(session);
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    assertFalse(hasPendingCountJobs(transaction));
+                    assertCounts(transaction);
+                    assertEquals(100, aggregateCount(transaction, PEOPLE));
+                    assertEquals(7, aggregateCount(transaction, AGES));
+                    assertEquals(66, aggregateCount(transaction, OWNERSHIPS));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void counts_include_the_writes_of_the_transaction() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA)) {
+                insert(session, 0, 30);
+                awaitCountJobs(session);
+                try (RocksTransaction transaction = session.transaction(WRITE)) {
+                    transaction.query().insert(Graql.parseQuery("insert $x isa person, has age 100;").asInsert());
+                    transaction.query().delete(Graql.parseQuery(
+                            "match $x isa person, has age $a; $a 1 isa age; delete $x has $a;"
+                    ).asDelete());
+                    assertCounts(transaction);
+                    assertEquals(31, aggregateCount(transaction, PEOPLE));
+                    assertEquals(8, aggregateCount(transaction, AGES));
+                    assertEquals(17, aggregateCount(transaction, OWNERSHIPS));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void counts_of_constrained_patterns_are_traversed() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            reset(grakn);
+            try (RocksSession session = grakn.session(database, DATA)) {
+                insert(session, 0, 30);
+                awaitCountJobs(session);
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    for (String query : list("match $x isa person, has age $a; $a > 2;", "match $a 3 isa age;",
+                                             "match $x isa person, has age $a; get $x;")) {
+                        assertFalse(query, countFromStatistics(transaction, query).isPresent());
+                        assertEquals(query, traversedCount(transaction, query), aggregateCount(transaction, query));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.thing.Attribute;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.planner.Planner;
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.structure.Structure;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntersectionTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("intersection-test");
+    private static final String database = "intersection-test";
+    private static final int PEOPLE = 60;
+    private static final int NAMES = 10;
+    private static final int TAGS = 12;
+    private static final String TRIANGLES = "match $p isa person, has name $n, has tag $k; $n has tag $k;";
+    private static final String WEDGES = "match $p isa person, has name $n, has tag $k;";
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define tag sub attribute, value string; name sub attribute, value string, owns tag; " +
+                            "person sub entity, owns name, owns tag;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            AttributeType.String name = transaction.concepts().getAttributeType("name").asString();
+            AttributeType.String tag = transaction.concepts().getAttributeType("tag").asString();
+            for (int i = 0; i < NAMES; i++) {
+                Attribute.String n = name.put("name-" + i);
+                for (int j : set(i % TAGS, (i * 2) % TAGS)) n.setHas(tag.put("tag-" + j));
+            }
+            for (int i = 0; i < PEOPLE; i++) {
+                // people share their names, and only some of their tags are tags of their names as well
+                Entity person = transaction.concepts().getEntityType("person").create();
+                person.setHas(name.put("name-" + (i % NAMES)));
+                for (int j : set(i % TAGS, (i * 5) % TAGS, (i + 3) % TAGS)) person.setHas(tag.put("tag-" + j));
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    /**
+     * Returns whether any cached procedure answers a closure edge by an intersection.
+     */
+    private static boolean isIntersected() {
+        RocksDatabase rocksDatabase = grakn.databases().get(database);
+        RocksDatabase.Cache cache = rocksDatabase.cacheBorrow();
+        try {
+            AtomicBoolean isIntersected = new AtomicBoolean(false);
+            cache.traversal().forEach((Structure structure, Planner planner) -> {
+                if (!planner.isGraph() || !planner.isPlanned()) return;
+                GraphProcedure procedure = planner.asGraph().procedure();
+                for (int pos = 1; pos <= procedure.edgesCount(); pos++) {
+                    if (procedure.isIntersected(pos)) isIntersected.set(true);
+                }
+            });
+            return isIntersected.get();
+        } finally {
+            rocksDatabase.cacheUnborrow(cache);
+        }
+    }
+
+    @Test
+    public void triangles_are_intersected_into_the_answers_of_the_plan_without_intersections() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            Set<ConceptMap> triangles = transaction.query().match(Graql.parseQuery(TRIANGLES).asMatch()).toSet();
+            assertTrue(isIntersected());
+
+            // the wedges of a person, their name and one of their tags are acyclic, and closed by the concept API
+            AttributeType.String tag = transaction.concepts().getAttributeType("tag").asString();
+            Set<ConceptMap> expected = iterate(transaction.query().match(Graql.parseQuery(WEDGES).asMatch()))
+                    .filter(answer -> answer.get("n").asAttribute().getHas(tag)
+                            .anyMatch(t -> t.equals(answer.get("k")))).toSet();
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, triangles);
+        }
+    }
+}
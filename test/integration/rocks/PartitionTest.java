@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.concept.type.EntityType;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.vertex.ThingVertex;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("partition-test");
+    private static final String database = "partition-test";
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define person sub entity; dog sub entity; cat sub entity;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            create(transaction, "person", 1000);
+            create(transaction, "dog", 100);
+            create(transaction, "cat", 10);
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static void create(RocksTransaction transaction, String type, int count) {
+        EntityType entityType = transaction.concepts().getEntityType(type);
+        for (int i = 0; i < count; i++) entityType.create();
+    }
+
+    /**
+     * Returns the instances of every partition, asserting that no instance is in more than one of them.
+     */
+    private static Set<ThingVertex> disjointUnion(List<ResourceIterator<ThingVertex>> partitions) {
+        Set<ThingVertex> union = new HashSet<>();
+        for (ResourceIterator<ThingVertex> partition : partitions) {
+            partition.forEachRemaining(vertex -> assertTrue(union.add(vertex)));
+        }
+        return union;
+    }
+
+    @Test
+    public void partitions_of_a_type_are_disjoint_and_cover_every_instance() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            DataGraph data = transaction.graphMgr.data();
+            TypeVertex person = transaction.graphMgr.schema().getType("person");
+            for (int partitions : list(2, 7, 16)) {
+                assertEquals(partitions, data.get(person, partitions).size());
+                assertEquals(data.get(person).toSet(), disjointUnion(data.get(person, partitions)));
+            }
+        }
+    }
+
+    @Test
+    public void first_and_last_partitions_are_unbounded() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            DataGraph data = transaction.graphMgr.data();
+            TypeVertex person = transaction.graphMgr.schema().getType("person");
+            List<ResourceIterator<ThingVertex>> partitions = data.get(person, 4);
+            assertTrue(partitions.get(0).hasNext());
+            assertTrue(partitions.get(partitions.size() - 1).hasNext());
+            assertEquals(1000, disjointUnion(data.get(person, 4)).size());
+        }
+    }
+
+    @Test
+    public void partitions_cover_the_instances_buffered_in_the_transaction() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            DataGraph data = transaction.graphMgr.data();
+            TypeVertex person = transaction.graphMgr.schema().getType("person");
+            Set<ThingVertex> persisted = data.get(person).toSet();
+            create(transaction, "person", 50);
+            Set<ThingVertex> buffered = data.get(person).toSet();
+            buffered.removeAll(persisted);
+            assertEquals(50, buffered.size());
+
+            Set<ThingVertex> union = disjointUnion(data.get(person, 8));
+            assertEquals(1050, union.size());
+            assertTrue(union.containsAll(buffered));
+        }
+    }
+
+    @Test
+    public void partitions_are_capped_in_total_over_every_type() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            DataGraph data = transaction.graphMgr.data();
+            List<TypeVertex> types = list(transaction.graphMgr.schema().getType("person"),
+                                          transaction.graphMgr.schema().getType("dog"),
+                                          transaction.graphMgr.schema().getType("cat"));
+            Set<ThingVertex> instances = new HashSet<>();
+            for (TypeVertex type : types) instances.addAll(data.get(type).toSet());
+            assertEquals(1110, instances.size());
+
+            for (int partitions : list(1, 2, 3, 8, 16)) {
+                List<ResourceIterator<ThingVertex>> iterators = data.get(types, partitions);
+                assertFalse(iterators.isEmpty());
+                assertTrue(iterators.size() <= partitions);
+                assertEquals(instances, disjointUnion(iterators));
+            }
+        }
+    }
+}
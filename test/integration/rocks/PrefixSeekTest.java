@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.concept.thing.Attribute;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.graph.common.Encoding;
+import grakn.core.graph.iid.InfixIID;
+import grakn.core.graph.vertex.AttributeVertex;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.RocksDBException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.collection.Bytes.join;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that scans of the thing edge partition only seek through its prefix filters when their prefix is at least
+ * as long as the prefix that the partition is filtered by, and that the native iterators recycled between scans of
+ * either kind read the same keys as new ones.
+ */
+public class PrefixSeekTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("prefix-seek-test");
+    private static final String database = "prefix-seek-test";
+    private static final int PEOPLE = 100;
+    private static final int TAGS = 4;
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException, RocksDBException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define flag sub attribute, value boolean; tag sub attribute, value string; " +
+                            "person sub entity, owns flag, owns tag;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().getEntityType("person");
+            AttributeType.Boolean flag = transaction.concepts().getAttributeType("flag").asBoolean();
+            AttributeType.String tag = transaction.concepts().getAttributeType("tag").asString();
+            for (int i = 0; i < PEOPLE; i++) {
+                Entity entity = person.create();
+                entity.setHas(flag.put(i % 2 == 0));
+                entity.setHas(tag.put("t" + i % TAGS));
+            }
+            transaction.commit();
+        }
+        // Move the edges into SST files, such that the seeks go through the filters of the files as well
+        RocksDatabase rocksDatabase = grakn.databases().get(database);
+        try (FlushOptions options = new FlushOptions().setWaitForFlush(true)) {
+            for (ColumnFamilyHandle handle : rocksDatabase.rocksDataPartitions.values()) {
+                rocksDatabase.rocksData.flush(options, handle);
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static byte[] hasInPrefix(AttributeVertex<?> attribute) {
+        return join(attribute.iid().bytes(), InfixIID.Thing.of(Encoding.Edge.Thing.HAS.in()).bytes());
+    }
+
+    @Test
+    public void short_thing_edge_prefixes_fall_back_to_total_order_seeks() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            TypeVertex flag = transaction.graphMgr.schema().getType("flag");
+            TypeVertex tag = transaction.graphMgr.schema().getType("tag");
+            List<byte[]> prefixes = list(hasInPrefix(transaction.graphMgr.data().get(flag, true)),
+                                         hasInPrefix(transaction.graphMgr.data().get(flag, false)),
+                                         hasInPrefix(transaction.graphMgr.data().get(tag, "t0")));
+            for (byte[] prefix : prefixes) {
+                assertEquals(Encoding.Partition.THING_EDGE, Encoding.Partition.of(prefix));
+                assertTrue(prefix.length < RocksConfig.THING_EDGE_PREFIX_LENGTH);
+                assertFalse(RocksConfig.isPrefixSeekable(Encoding.Partition.THING_EDGE, prefix));
+            }
+            // A prefix seek would look these prefixes up in filters of longer prefixes, and miss every edge
+            RocksStorage.Data storage = transaction.asData().dataStorage;
+            assertEquals(PEOPLE / 2, storage.iterate(prefixes.get(0), (key, value) -> key).count());
+            assertEquals(PEOPLE / 2, storage.iterate(prefixes.get(1), (key, value) -> key).count());
+            assertEquals(PEOPLE / TAGS, storage.iterate(prefixes.get(2), (key, value) -> key).count());
+        }
+    }
+
+    @Test
+    public void recycled_iterators_read_the_same_edges_as_new_ones() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            AttributeType.Boolean flag = transaction.concepts().getAttributeType("flag").asBoolean();
+            AttributeType.String tag = transaction.concepts().getAttributeType("tag").asString();
+            List<? extends Entity> people = transaction.concepts().getEntityType("person").getInstances()
+                    .collect(Collectors.toList());
+            assertEquals(PEOPLE, people.size());
+            // Alternate between the total order seeks of attribute owners, and the prefix seeks of owned
+            // attributes, such that every scan after the first of each kind reuses a recycled iterator
+            for (int round = 0; round < 2; round++) {
+                for (Entity person : people) {
+                    assertEquals(PEOPLE / 2, flag.get(true).getOwners().count());
+                    assertEquals(1, person.getHas(flag).count());
+                    assertEquals(PEOPLE / TAGS, tag.get("t" + round).getOwners().count());
+                    Attribute.String owned = person.getHas(tag).findFirst().get();
+                    assertTrue(owned.getOwners().anyMatch(person::equals));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.common.collection.Bytes;
+import grakn.core.common.exception.ErrorMessage;
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.query.PreparedMatch;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.common.test.Util.assertThrowsGraknException;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class PreparedMatchTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("prepared-match-test");
+    private static final String database = "prepared-match-test";
+    private static final Reference.Name P = Reference.name("p");
+    private static final Reference.Name N = Reference.name("n");
+    private static final Reference.Name A = Reference.name("a");
+    private static final Reference.Name H = Reference.name("h");
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define name sub attribute, value string; age sub attribute, value long; " +
+                            "height sub attribute, value double; person sub entity, owns name, owns age, owns height;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().insert(Graql.parseQuery(
+                    "insert $p isa person, has name \"alice\", has age 30, has height 1.6;").asInsert());
+            transaction.query().insert(Graql.parseQuery(
+                    "insert $p isa person, has name \"bob\", has age 40, has height 1.8;").asInsert());
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static Map<Reference.Name, Object> bindings(Reference.Name parameter, Object value) {
+        Map<Reference.Name, Object> bindings = new HashMap<>();
+        bindings.put(parameter, value);
+        return bindings;
+    }
+
+    private static List<ConceptMap> match(RocksTransaction transaction, String template, Reference.Name parameter,
+                                          Object value) {
+        PreparedMatch prepared = transaction.query().prepare(Graql.parseQuery(template).asMatch(), set(parameter));
+        Context.Query context = new Context.Query(transaction.context(), new Options.Query());
+        return transaction.query().match(prepared, bindings(parameter, value), context).toList();
+    }
+
+    private static List<ConceptMap> match(RocksTransaction transaction, String query) {
+        return transaction.query().match(Graql.parseQuery(query).asMatch()).toList();
+    }
+
+    private static long age(ConceptMap answer) {
+        return answer.get("a").asAttribute().asLong().getValue();
+    }
+
+    @Test
+    public void bound_parameters_match_the_answers_of_the_literal_query() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            for (String name : set("alice", "bob")) {
+                List<ConceptMap> literal = match(transaction, "match $p isa person, has name \"" + name + "\", has age $a;");
+                List<ConceptMap> bound = match(transaction, "match $p isa person, has name $n, has age $a;", N, name);
+                assertEquals(1, literal.size());
+                assertEquals(1, bound.size());
+                assertEquals(literal.get(0), bound.get(0));
+                assertEquals(set(P, A), bound.get(0).concepts().keySet());
+            }
+            assertEquals(0, match(transaction, "match $p isa person, has name $n, has age $a;", N, "carol").size());
+            List<ConceptMap> answers = match(transaction, "match $p isa person, has age $a, has name $n;", A, 40L);
+            assertEquals(1, answers.size());
+            assertEquals("bob", answers.get(0).get("n").asAttribute().asString().getValue());
+        }
+    }
+
+    @Test
+    public void parameters_are_bound_to_values_or_iids_parsed_from_graql() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            ConceptMap alice = match(transaction, "match $p isa person, has name \"alice\", has age $a;").get(0);
+            byte[] iid = alice.get("p").asThing().getIID();
+            Object parsed = PreparedMatch.parameter(P, "iid " + Bytes.bytesToHexString(iid));
+            assertArrayEquals(iid, (byte[]) parsed);
+            List<ConceptMap> answers = match(transaction, "match $p isa person, has age $a;", P, parsed);
+            assertEquals(1, answers.size());
+            assertEquals(30, age(answers.get(0)));
+
+            answers = match(transaction, "match $p isa person, has name $n, has age $a;", N,
+                            PreparedMatch.parameter(N, "\"bob\""));
+            assertEquals(1, answers.size());
+            assertEquals(40, age(answers.get(0)));
+        }
+
+        assertEquals(42L, PreparedMatch.parameter(A, "42"));
+        assertEquals(1.6, PreparedMatch.parameter(H, "1.6"));
+        assertEquals(true, PreparedMatch.parameter(N, "true"));
+        assertEquals(LocalDateTime.of(2021, 1, 2, 3, 4), PreparedMatch.parameter(N, "2021-01-02T03:04"));
+        String invalid = ErrorMessage.ThingRead.INVALID_PARAMETER_LITERAL.code();
+        for (String literal : set("isa person", "> 3", "$m", "\"alice\"; $m isa person", "\"alice\" isa name")) {
+            assertThrowsGraknException(() -> PreparedMatch.parameter(N, literal), invalid);
+        }
+    }
+
+    @Test
+    public void parameters_are_only_bound_to_values_comparable_to_their_attribute_types() {
+        String template = "match $p isa person, has name $n, has age $a, has height $h;";
+        String invalid = ErrorMessage.ThingRead.INVALID_PARAMETER_VALUE_TYPE.code();
+        try (RocksSession session = grakn.session(database, DATA)) {
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                assertThrowsGraknException(() -> match(transaction, template, N, 42L), invalid);
+            }
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                assertThrowsGraknException(() -> match(transaction, template, A, "thirty"), invalid);
+            }
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                assertThrowsGraknException(() -> match(transaction, template, H, true), invalid);
+            }
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                // longs and doubles are comparable to each other, as they are in a literal query
+                assertEquals(0, match(transaction, template, H, 2L).size());
+                assertEquals(1, match(transaction, template, H, 1.8).size());
+                assertEquals(1, match(transaction, template, A, 30.0).size());
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.common.collection.Bytes;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.iterator.ReplanningIterator;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReplanningTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("replanning-test");
+    private static final String database = "replanning-test";
+    private static final int PEOPLE = 20;
+    private static final int DOGS = 500;
+    private static final int HUB_NAMES = 5_000;
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define name sub attribute, value string; person sub entity, owns name; dog sub entity, owns name;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA)) {
+            try (RocksTransaction transaction = session.transaction(WRITE)) {
+                // every person and dog has a name of its own, such that a person has one name on average
+                for (int i = 0; i < PEOPLE; i++) put(transaction, "person", "person-" + i, 1);
+                for (int i = 0; i < DOGS; i++) put(transaction, "dog", "dog-" + i, 1);
+                transaction.commit();
+            }
+            awaitStatistics(session);
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static Entity put(RocksTransaction transaction, String type, String name, int names) {
+        Entity entity = transaction.concepts().getEntityType(type).create();
+        AttributeType.String nameType = transaction.concepts().getAttributeType("name").asString();
+        for (int i = 0; i < names; i++) entity.setHas(nameType.put(names == 1 ? name : name + "-" + i));
+        return entity;
+    }
+
+    private static void awaitStatistics(RocksSession session) throws InterruptedException {
+        Util.awaitCountJobs(() -> {
+            try (RocksTransaction transaction = session.transaction(READ)) {
+                return transaction.graphMgr.data().stats().hasPendingCountJobs();
+            }
+        });
+    }
+
+    /**
+     * Traverses the dogs that share a name with the given person, which none do, starting from the person, as
+     * the planner estimates that a person has a single name, and returns the iterator once it is exhausted.
+     */
+    private static ReplanningIterator traverseDogsSharingNames(RocksTransaction transaction, Entity person) {
+        Disjunction disjunction = Disjunction.create(Graql.parseQuery(
+                "match $p iid " + Bytes.bytesToHexString(person.getIID()) + "; $p has name $n; $d isa dog, has name $n;"
+        ).asMatch().conjunction().normalise());
+        assertEquals(1, disjunction.conjunctions().size());
+        Conjunction conjunction = disjunction.conjunctions().get(0);
+        transaction.logic().typeResolver().resolve(conjunction);
+        ResourceIterator<VertexMap> iterator = transaction.traversal().iterator(conjunction.traversal());
+        assertTrue(iterator instanceof ReplanningIterator);
+        assertFalse(iterator.hasNext());
+        return (ReplanningIterator) iterator;
+    }
+
+    @Test
+    public void traversals_restart_with_a_new_plan_once_an_edge_costs_more_than_the_cost_ratio_allows() {
+        try (RocksSession session = grakn.session(database, DATA)) {
+            // the names of the hub are written in the transaction, and so are missing from the statistics
+            try (RocksTransaction transaction = session.transaction(WRITE, new Options.Transaction().replanCostRatio(1))) {
+                Entity hub = put(transaction, "person", "hub", HUB_NAMES);
+                assertTrue(traverseDogsSharingNames(transaction, hub).restarts() > 0);
+            }
+            try (RocksTransaction transaction = session.transaction(WRITE, new Options.Transaction().replanCostRatio(1e9))) {
+                Entity hub = put(transaction, "person", "hub", HUB_NAMES);
+                assertEquals(0, traverseDogsSharingNames(transaction, hub).restarts());
+            }
+        }
+    }
+}
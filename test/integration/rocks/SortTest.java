@@ -0,0 +1,188 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.exception.ErrorMessage;
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.common.test.Util.assertThrowsGraknException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that the sorts of queries with a limit, which only retain as many answers as they return or skip in a
+ * bounded heap, return the same answers, in the same order, as the page of the unbounded sort of the same query.
+ */
+public class SortTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("sort-test");
+    private static final String database = "sort-test";
+    private static final String OWNERSHIPS = "match $p isa person, has age $a;";
+    private static final int PEOPLE = 40;
+    private static final int AGES = 5;
+    private static final long MAX_SORT_HEAP_SIZE = 1_000_000;
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define age sub attribute, value long; person sub entity, owns age;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().getEntityType("person");
+            AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+            // every age is shared by several people, so the sort has many ties to keep in order
+            for (int i = 0; i < PEOPLE; i++) person.create().setHas(age.put((long) (i * 3 % AGES)));
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    /**
+     * Returns the answers of a query, produced on a single thread, such that they are produced in the same order
+     * every time, and so are the ties of a sort.
+     */
+    private static List<ConceptMap> match(RocksTransaction transaction, String query) {
+        Context.Query context = new Context.Query(transaction.context(), new Options.Query().parallel(false));
+        return transaction.query().match(Graql.parseQuery(query).asMatch(), context).toList();
+    }
+
+    private static List<ConceptMap> page(List<ConceptMap> answers, long offset, long limit) {
+        int from = (int) Math.min(offset, answers.size());
+        int to = (int) Math.min(offset + limit, answers.size());
+        return answers.subList(from, to);
+    }
+
+    private static long age(ConceptMap answer) {
+        return answer.get("a").asAttribute().asLong().getValue();
+    }
+
+    private static void assertPage(RocksTransaction transaction, String order, long offset, long limit) {
+        List<ConceptMap> unbounded = match(transaction, OWNERSHIPS + " sort $a " + order + ";");
+        assertEquals(PEOPLE, unbounded.size());
+        String query = OWNERSHIPS + " sort $a " + order + "; offset " + offset + "; limit " + limit + ";";
+        assertEquals(query, page(unbounded, offset, limit), match(transaction, query));
+    }
+
+    @Test
+    public void ties_are_kept_in_the_order_they_were_produced_in() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            List<ConceptMap> produced = match(transaction, OWNERSHIPS);
+            for (String order : list("asc", "desc")) {
+                List<ConceptMap> sorted = match(transaction, OWNERSHIPS + " sort $a " + order + ";");
+                List<ConceptMap> bounded = match(transaction, OWNERSHIPS + " sort $a " + order + "; limit 20;");
+                assertEquals(page(sorted, 0, 20), bounded);
+                for (long age = 0; age < AGES; age++) {
+                    long tie = age;
+                    List<ConceptMap> ties = produced.stream().filter(a -> age(a) == tie).collect(Collectors.toList());
+                    assertEquals(ties, sorted.stream().filter(a -> age(a) == tie).collect(Collectors.toList()));
+                    assertEquals(page(ties, 0, bounded.stream().filter(a -> age(a) == tie).count()),
+                                 bounded.stream().filter(a -> age(a) == tie).collect(Collectors.toList()));
+                }
+                for (int i = 1; i < sorted.size(); i++) {
+                    if (order.equals("asc")) assertTrue(age(sorted.get(i - 1)) <= age(sorted.get(i)));
+                    else assertTrue(age(sorted.get(i - 1)) >= age(sorted.get(i)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void offsets_and_limits_return_the_page_of_the_unbounded_sort() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            for (String order : list("asc", "desc")) {
+                assertPage(transaction, order, 0, 1);
+                assertPage(transaction, order, 0, 7);
+                assertPage(transaction, order, 3, 7);
+                assertPage(transaction, order, 5, 10);
+                assertPage(transaction, order, 35, 10);
+                assertPage(transaction, order, 0, PEOPLE);
+                assertPage(transaction, order, PEOPLE, 5);
+                assertPage(transaction, order, PEOPLE + 10, 5);
+            }
+        }
+    }
+
+    @Test
+    public void a_limit_of_zero_returns_nothing() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            assertPage(transaction, "asc", 0, 0);
+            assertPage(transaction, "desc", 10, 0);
+            assertTrue(match(transaction, OWNERSHIPS + " sort $a; limit 0;").isEmpty());
+        }
+    }
+
+    @Test
+    public void pages_beyond_the_heap_size_fall_back_to_the_unbounded_sort() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            for (String order : list("asc", "desc")) {
+                assertPage(transaction, order, 0, MAX_SORT_HEAP_SIZE + 1);
+                assertPage(transaction, order, 3, MAX_SORT_HEAP_SIZE);
+                assertPage(transaction, order, MAX_SORT_HEAP_SIZE, 5);
+            }
+        }
+    }
+
+    @Test
+    public void sorting_by_a_variable_that_is_not_an_attribute_throws() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            for (String page : list("", " limit 3;", " offset 2; limit 3;", " limit " + (MAX_SORT_HEAP_SIZE + 1) + ";")) {
+                assertThrowsGraknException(() -> match(transaction, OWNERSHIPS + " sort $p;" + page),
+                                           ErrorMessage.ThingRead.SORT_VARIABLE_NOT_ATTRIBUTE.code());
+            }
+        }
+    }
+}
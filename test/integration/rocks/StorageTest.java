@@ -0,0 +1,211 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.exception.ErrorMessage;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.thing.Attribute;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.common.Encoding;
+import grakn.core.graph.vertex.TypeVertex;
+import grakn.core.test.integration.util.Util;
+import org.junit.Test;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.DBOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.UInt64AddOperator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static grakn.core.common.test.Util.assertThrowsGraknException;
+import static grakn.core.concept.type.AttributeType.ValueType.LONG;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class StorageTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("storage-test");
+    private static final String database = "storage-test";
+
+    @Test
+    public void database_without_the_storage_format_is_refused() throws IOException, RocksDBException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+        }
+        deleteFromDataStorage(Encoding.DATA_STORAGE_FORMAT_KEY);
+        assertThrowsGraknException(() -> RocksGrakn.open(directory).close(),
+                                   ErrorMessage.Database.INCOMPATIBLE_STORAGE_FORMAT.code());
+    }
+
+    @Test
+    public void bulk_loaded_data_is_read_back() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            defineSchema(grakn);
+
+            int people = 1000;
+            try (RocksSession session = grakn.session(database, DATA)) {
+                Options.Transaction bulkLoad = new Options.Transaction().bulkLoad(true);
+                try (RocksTransaction transaction = session.transaction(WRITE, bulkLoad)) {
+                    EntityType person = transaction.concepts().getEntityType("person");
+                    AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+                    for (int i = 0; i < people; i++) {
+                        person.create().setHas(age.put(i % 100));
+                    }
+                    transaction.commit();
+                }
+                assertFalse(hasBulkLoadFiles());
+
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    EntityType person = transaction.concepts().getEntityType("person");
+                    AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+                    assertEquals(people, person.getInstances().count());
+                    assertEquals(100, age.getInstances().count());
+                    long ages = person.getInstances().flatMap(p -> p.getHas(age))
+                            .mapToLong(Attribute.Long::getValue).sum();
+                    assertEquals(people / 100 * (99 * 100 / 2), ages);
+                    assertEquals(people, transaction.graphMgr.data().stats().thingVertexCount(person.getLabel()));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bulk_load_excludes_other_sessions_and_transactions() throws IOException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            defineSchema(grakn);
+
+            try (RocksSession session = grakn.session(database, DATA)) {
+                try (RocksSession other = grakn.session(database, DATA)) {
+                    assertThrowsGraknException(
+                            () -> session.transaction(WRITE, new Options.Transaction().bulkLoad(true)),
+                            ErrorMessage.Transaction.BULK_LOAD_NOT_EXCLUSIVE.code()
+                    );
+                }
+                Options.Transaction bulkLoad = new Options.Transaction().bulkLoad(true);
+                try (RocksTransaction transaction = session.transaction(WRITE, bulkLoad)) {
+                    assertThrowsGraknException(() -> grakn.session(database, DATA),
+                                               ErrorMessage.Database.BULK_LOAD_IN_PROGRESS.code());
+                    assertThrowsGraknException(() -> session.transaction(READ),
+                                               ErrorMessage.Database.BULK_LOAD_IN_PROGRESS.code());
+                    transaction.concepts().getEntityType("person").create();
+                    transaction.commit();
+                }
+                try (RocksSession other = grakn.session(database, DATA);
+                     RocksTransaction transaction = other.transaction(READ)) {
+                    assertEquals(1, transaction.concepts().getEntityType("person").getInstances().count());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void bulk_load_drains_the_pending_count_jobs_first() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            defineSchema(grakn);
+
+            int people = 1000;
+            try (RocksSession session = grakn.session(database, DATA)) {
+                try (RocksTransaction transaction = session.transaction(WRITE)) {
+                    EntityType person = transaction.concepts().getEntityType("person");
+                    AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+                    for (int i = 0; i < people; i++) person.create().setHas(age.put(i % 100));
+                    transaction.commit();
+                }
+                // the count jobs of the commit are still pending when the bulk load starts
+                Options.Transaction bulkLoad = new Options.Transaction().bulkLoad(true);
+                try (RocksTransaction transaction = session.transaction(WRITE, bulkLoad)) {
+                    assertFalse(transaction.graphMgr.data().stats().hasPendingCountJobs());
+                    EntityType person = transaction.concepts().getEntityType("person");
+                    AttributeType.Long age = transaction.concepts().getAttributeType("age").asLong();
+                    for (int i = 0; i < people; i++) person.create().setHas(age.put(50 + i % 100));
+                    transaction.commit();
+                }
+                Util.awaitCountJobs(() -> {
+                    try (RocksTransaction transaction = session.transaction(READ)) {
+                        return transaction.graphMgr.data().stats().hasPendingCountJobs();
+                    }
+                });
+
+                try (RocksTransaction transaction = session.transaction(READ)) {
+                    DataGraph.Statistics stats = transaction.graphMgr.data().stats();
+                    TypeVertex person = transaction.graphMgr.schema().getType("person");
+                    TypeVertex age = transaction.graphMgr.schema().getType("age");
+                    assertEquals(2 * people, stats.thingVertexCount(person));
+                    assertEquals(150, stats.thingVertexCount(age));
+                    assertEquals(2 * people, stats.hasEdgeCount(person, age));
+                }
+            }
+        }
+    }
+
+    private static void defineSchema(RocksGrakn grakn) {
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            EntityType person = transaction.concepts().putEntityType("person");
+            person.setOwns(transaction.concepts().putAttributeType("age", LONG));
+            transaction.commit();
+        }
+    }
+
+    private static boolean hasBulkLoadFiles() throws IOException {
+        Path files = directory.resolve(database).resolve(Encoding.ROCKS_BULK_LOAD);
+        if (!Files.exists(files)) return false;
+        try (Stream<Path> paths = Files.list(files)) {
+            return paths.findAny().isPresent();
+        }
+    }
+
+    private static void deleteFromDataStorage(byte[] key) throws RocksDBException {
+        String path = directory.resolve(database).resolve(Encoding.ROCKS_DATA).toString();
+        try (UInt64AddOperator mergeOperator = new UInt64AddOperator();
+             ColumnFamilyOptions familyOptions = new ColumnFamilyOptions().setMergeOperator(mergeOperator);
+             DBOptions options = new DBOptions()) {
+            List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+            for (byte[] family : RocksDB.listColumnFamilies(new org.rocksdb.Options(), path)) {
+                descriptors.add(new ColumnFamilyDescriptor(family, familyOptions));
+            }
+            List<ColumnFamilyHandle> handles = new ArrayList<>();
+            try (RocksDB rocksDB = RocksDB.open(options, path, descriptors, handles)) {
+                rocksDB.delete(key);
+                handles.forEach(ColumnFamilyHandle::close);
+            }
+        }
+    }
+}
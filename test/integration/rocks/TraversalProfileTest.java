@@ -0,0 +1,181 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.rocks;
+
+import grakn.core.common.parameters.Context;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.TraversalProfile;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static grakn.core.common.parameters.Arguments.Session.Type.DATA;
+import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
+import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TraversalProfileTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("traversal-profile-test");
+    private static final String database = "traversal-profile-test";
+    private static final int PEOPLE = 30;
+    private static final int DOGS = 4;
+    private static final String PEOPLE_WITH_NAMES_AND_AGES = "match $p isa person, has name $n, has age $a;";
+    private static final String PEOPLE_OLDER_THAN_TEN = "match $p isa person, has age $a; $a > 10;";
+
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, SCHEMA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            transaction.query().define(Graql.parseQuery(
+                    "define name sub attribute, value string; age sub attribute, value long; " +
+                            "tail-length sub attribute, value long; " +
+                            "person sub entity, owns name, owns age; dog sub entity, owns name, owns tail-length;"
+            ).asDefine());
+            transaction.commit();
+        }
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(WRITE)) {
+            for (int i = 0; i < PEOPLE; i++) {
+                // every other person has no age
+                String age = i % 2 == 0 ? ", has age " + i : "";
+                transaction.query().insert(Graql.parseQuery(
+                        "insert $p isa person, has name \"person-" + i + "\"" + age + ";").asInsert());
+            }
+            for (int i = 0; i < DOGS; i++) {
+                transaction.query().insert(Graql.parseQuery("insert $d isa dog, has name \"dog-" + i + "\";").asInsert());
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static Context.Query context(RocksTransaction transaction) {
+        return new Context.Query(transaction.context(), new Options.Query());
+    }
+
+    private static TraversalProfile explain(RocksTransaction transaction, String query) {
+        return transaction.query().explain(Graql.parseQuery(query).asMatch(), context(transaction));
+    }
+
+    @Test
+    public void explaining_a_query_describes_its_plan_without_executing_it() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            // the query is only planned by this test, such that its planner is not cached by another one
+            TraversalProfile profile = explain(transaction, PEOPLE_OLDER_THAN_TEN);
+            assertFalse(profile.isExecuted());
+            assertTrue(profile.skipped().isEmpty());
+            assertEquals(0, profile.answers());
+            assertEquals(1, profile.procedures().size());
+
+            TraversalProfile.Procedure procedure = profile.procedures().get(0);
+            assertFalse(procedure.isCached());
+            assertEquals(0, procedure.answers());
+            assertFalse(procedure.edges().isEmpty());
+            for (int pos = 1; pos <= procedure.edges().size(); pos++) {
+                TraversalProfile.Edge edge = procedure.edge(pos);
+                assertEquals(pos, edge.order());
+                assertFalse(Double.isNaN(edge.estimatedCost()));
+                assertTrue(edge.estimatedCost() >= 0);
+                assertEquals(0, edge.vertices());
+                assertEquals(0, edge.seeks());
+            }
+            assertTrue(profile.toString().startsWith("Traversal Plan: {"));
+
+            TraversalProfile.Procedure replanned = explain(transaction, PEOPLE_OLDER_THAN_TEN).procedures().get(0);
+            assertTrue(replanned.isCached());
+            assertEquals(procedure.startVertex(), replanned.startVertex());
+        }
+    }
+
+    @Test
+    public void profiling_a_query_counts_its_answers_and_what_each_edge_branched_out_to() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            GraqlMatch query = Graql.parseQuery(PEOPLE_WITH_NAMES_AND_AGES).asMatch();
+            TraversalProfile profile = new TraversalProfile(true);
+            List<ConceptMap> answers = transaction.query().profile(query, context(transaction), profile).toList();
+            assertEquals(PEOPLE / 2, answers.size());
+            assertTrue(profile.isExecuted());
+            assertEquals(answers.size(), profile.answers());
+            assertEquals(1, profile.procedures().size());
+
+            TraversalProfile.Procedure procedure = profile.procedures().get(0);
+            assertEquals(answers.size(), procedure.answers());
+            for (TraversalProfile.Edge edge : procedure.edges()) {
+                // every edge is reached, as every person has a name, and half of them have an age
+                assertTrue(edge.seeks() > 0);
+            }
+            assertTrue(procedure.edges().stream().mapToLong(TraversalProfile.Edge::vertices).sum() >= answers.size());
+            assertTrue(profile.toString().startsWith("Traversal Profile: {"));
+            assertTrue(profile.toString().contains("answers: " + answers.size()));
+        }
+    }
+
+    @Test
+    public void disconnected_patterns_are_planned_into_a_procedure_each() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            GraqlMatch query = Graql.parseQuery("match $p isa person; $d isa dog;").asMatch();
+            TraversalProfile profile = new TraversalProfile(true);
+            long answers = transaction.query().profile(query, context(transaction), profile).count();
+            assertEquals(PEOPLE * DOGS, answers);
+            assertEquals(answers, profile.answers());
+            assertEquals(2, profile.procedures().size());
+            for (TraversalProfile.Procedure procedure : profile.procedures()) {
+                assertTrue(procedure.edges().isEmpty());
+                assertTrue(procedure.answers() > 0);
+            }
+        }
+    }
+
+    @Test
+    public void conjunctions_that_are_not_traversed_are_skipped() {
+        try (RocksSession session = grakn.session(database, DATA);
+             RocksTransaction transaction = session.transaction(READ)) {
+            TraversalProfile profile = explain(
+                    transaction, "match $x isa person, has name $n; { $x has age $a; } or { $x has tail-length $t; };"
+            );
+            assertEquals(1, profile.procedures().size());
+            assertEquals(1, profile.skipped().size());
+            assertTrue(profile.skipped().get(0).startsWith("unsatisfiable: "));
+        }
+    }
+}
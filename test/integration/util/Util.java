@@ -22,9 +22,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Comparator;
+import java.util.function.BooleanSupplier;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
 
 public class Util {
 
@@ -40,6 +42,18 @@ public class Util {
         System.out.println("Database directory created: " + directory.toString());
     }
 
+    /**
+     * Waits for the statistics background counter to count every committed count job, polling the given check of
+     * whether any is still pending, for up to ten seconds.
+     */
+    public static void awaitCountJobs(BooleanSupplier hasPendingCountJobs) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            if (!hasPendingCountJobs.getAsBoolean()) return;
+            Thread.sleep(50);
+        }
+        fail("The background counter did not count the committed count jobs");
+    }
+
     public static void assertNotNulls(Object... objects) {
         for (Object object : objects) {
             assertNotNull(object);
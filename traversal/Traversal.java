@@ -32,20 +32,24 @@ import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.graph.TraversalVertex;
+import grakn.core.traversal.iterator.ReplanningIterator;
 import grakn.core.traversal.planner.Planner;
 import grakn.core.traversal.predicate.Predicate;
 import grakn.core.traversal.predicate.PredicateArgument;
+import grakn.core.traversal.procedure.Procedure;
 import grakn.core.traversal.structure.Structure;
 import graql.lang.common.GraqlArg;
 import graql.lang.common.GraqlToken;
 import graql.lang.pattern.variable.Reference;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -99,21 +103,47 @@ public class Traversal {
         return filter;
     }
 
+    /**
+     * Returns whether the answers of this traversal may differ, once the given types have been modified
+     * in the schema: either because it refers to any of them, or because one of its graphs refers to no
+     * type at all, such that any type of the schema may be found by it.
+     *
+     * @param modifiedTypes the labels of the types that have been modified
+     * @return false if the answers of this traversal are not concerned with the modified types
+     */
+    public boolean isAffectedBy(Set<Label> modifiedTypes) {
+        return iterate(structure.asGraphs()).anyMatch(graph -> {
+            Set<Label> labels = graph.labels();
+            return labels.isEmpty() || !Collections.disjoint(labels, modifiedTypes);
+        });
+    }
+
+    /**
+     * Returns a description of this traversal that is equal for equal traversals, and that remains the same
+     * across restarts of the server, or an empty optional if the traversal is parameterised by IIDs or values.
+     */
+    public Optional<String> fingerprint() {
+        if (!parameters.iid.isEmpty() || !parameters.values.isEmpty()) return Optional.empty();
+        List<String> names = iterate(filter()).map(Identifier::toString).toList();
+        Collections.sort(names);
+        return Optional.of(structure.fingerprint() + names);
+    }
+
     void initialise(TraversalCache cache) {
         planners = iterate(structure.asGraphs()).filter(p -> iterate(p.vertices()).anyMatch(
                 v -> v.id().isName() && filter().contains(v.id().asVariable().asName())
-        )).map(s -> cache.get(s, Planner::create)).toList();
+        )).map(cache::planner).toList();
     }
 
-    ResourceIterator<VertexMap> iterator(GraphManager graphMgr, boolean extraPlanningTime) {
+    ResourceIterator<VertexMap> iterator(GraphManager graphMgr, boolean extraPlanningTime, double replanRatio) {
         assert !planners.isEmpty();
         if (planners.size() == 1) {
             planners.get(0).tryOptimise(graphMgr, extraPlanningTime);
-            return planners.get(0).procedure().iterator(graphMgr, parameters, filter());
+            return iterator(planners.get(0), graphMgr, replanRatio);
         } else {
             return cartesian(planners.parallelStream().map(planner -> {
                 planner.tryOptimise(graphMgr, extraPlanningTime);
-                return planner.procedure().iterator(graphMgr, parameters, filter());
+                return iterator(planner, graphMgr, replanRatio);
             }).collect(toList())).map(partialAnswers -> {
                 Map<Reference, Vertex<?, ?>> combinedAnswers = new HashMap<>();
                 partialAnswers.forEach(p -> combinedAnswers.putAll(p.map()));
@@ -122,16 +152,24 @@ public class Traversal {
         }
     }
 
+    private ResourceIterator<VertexMap> iterator(Planner planner, GraphManager graphMgr, double replanRatio) {
+        if (planner.isGraph()) {
+            return new ReplanningIterator(planner.asGraph(), graphMgr, parameters, filter(), replanRatio);
+        } else {
+            return planner.procedure().iterator(graphMgr, parameters, filter());
+        }
+    }
+
     Producer<VertexMap> producer(GraphManager graphMgr, Arguments.Query.Producer mode,
-                                 int parallelisation, boolean extraPlanningTime) {
+                                 int parallelisation, boolean extraPlanningTime, double replanRatio) {
         assert !planners.isEmpty();
         if (planners.size() == 1) {
             planners.get(0).tryOptimise(graphMgr, extraPlanningTime);
-            return planners.get(0).procedure().producer(graphMgr, parameters, filter(), parallelisation);
+            return producer(planners.get(0), graphMgr, parallelisation, replanRatio);
         } else {
             return Producers.producer(cartesian(planners.parallelStream().map(planner -> {
                 planner.tryOptimise(graphMgr, extraPlanningTime);
-                return planner.procedure().producer(graphMgr, parameters, filter(), parallelisation);
+                return producer(planner, graphMgr, parallelisation, replanRatio);
             }).map(producer -> produce(producer, mode)).collect(toList())).map(partialAnswers -> {
                 Map<Reference, Vertex<?, ?>> combinedAnswers = new HashMap<>();
                 partialAnswers.forEach(p -> combinedAnswers.putAll(p.map()));
@@ -140,6 +178,70 @@ public class Traversal {
         }
     }
 
+    private Producer<VertexMap> producer(Planner planner, GraphManager graphMgr, int parallelisation,
+                                         double replanRatio) {
+        // answers are produced in parallel, and cannot be restarted, but they still report what they cost to the plan
+        if (planner.isGraph()) {
+            return planner.asGraph().procedure().producer(graphMgr, parameters, filter(), parallelisation, replanRatio);
+        } else {
+            return planner.procedure().producer(graphMgr, parameters, filter(), parallelisation);
+        }
+    }
+
+    /**
+     * Returns the number of vertices that the procedures of this traversal are estimated to traverse altogether.
+     */
+    double estimatedCost(GraphManager graphMgr) {
+        assert !planners.isEmpty();
+        return iterate(planners).stream().mapToDouble(planner -> planner.estimatedCost(graphMgr)).sum();
+    }
+
+    /**
+     * Plans every procedure of this traversal, and records them into the given profile, without executing them.
+     */
+    void explain(GraphManager graphMgr, TraversalProfile profile) {
+        assert !planners.isEmpty();
+        planners.forEach(planner -> plan(planner, graphMgr, profile));
+    }
+
+    /**
+     * Returns an iterator over the answers of this traversal, whose procedures record what they cost into the given
+     * profile. Every procedure runs as planned, without restarting when it turns out to cost more than estimated, such
+     * that the profile describes exactly the procedures that were executed.
+     */
+    ResourceIterator<VertexMap> iterator(GraphManager graphMgr, TraversalProfile profile) {
+        assert !planners.isEmpty();
+        List<ResourceIterator<VertexMap>> iterators = iterate(planners).map(planner -> {
+            TraversalProfile.Procedure procedureProfile = plan(planner, graphMgr, profile);
+            ResourceIterator<VertexMap> answers;
+            if (planner.isGraph()) {
+                answers = planner.asGraph().procedure().iterator(graphMgr, parameters, filter(), procedureProfile);
+            } else {
+                answers = planner.procedure().iterator(graphMgr, parameters, filter());
+            }
+            return answers.map(answer -> {
+                procedureProfile.answered();
+                return answer;
+            });
+        }).toList();
+        if (iterators.size() == 1) return iterators.get(0);
+        else return cartesian(iterators).map(partialAnswers -> {
+            Map<Reference, Vertex<?, ?>> combinedAnswers = new HashMap<>();
+            partialAnswers.forEach(p -> combinedAnswers.putAll(p.map()));
+            return VertexMap.of(combinedAnswers);
+        });
+    }
+
+    private TraversalProfile.Procedure plan(Planner planner, GraphManager graphMgr, TraversalProfile profile) {
+        Procedure previous = planner.isPlanned() ? planner.procedure() : null;
+        long start = System.nanoTime();
+        planner.tryOptimise(graphMgr, false);
+        long planningNanos = System.nanoTime() - start;
+        boolean isCached = previous != null && previous == planner.procedure();
+        if (planner.isGraph()) return profile.procedure(planner.asGraph().procedure(), isCached, planningNanos);
+        else return profile.procedure(planner.asVertex().procedure(), isCached, planningNanos);
+    }
+
     public void equalThings(Identifier.Variable thing1, Identifier.Variable thing2) {
         assert modifiable;
         structure.equalEdge(structure.thingVertex(thing1), structure.thingVertex(thing2));
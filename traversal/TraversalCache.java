@@ -19,16 +19,71 @@
 package grakn.core.traversal;
 
 import grakn.core.common.cache.CommonCache;
+import grakn.core.common.parameters.Label;
+import grakn.core.traversal.planner.PlanStore;
 import grakn.core.traversal.planner.Planner;
 import grakn.core.traversal.structure.Structure;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
 public class TraversalCache extends CommonCache<Structure, Planner> {
 
+    private final PlanStore planStore;
+
     public TraversalCache() {
-        super();
+        this(new PlanStore());
     }
 
     public TraversalCache(int size, int timeOutMinutes) {
         super(size, timeOutMinutes);
+        planStore = new PlanStore();
+    }
+
+    private TraversalCache(PlanStore planStore) {
+        super();
+        this.planStore = planStore;
+    }
+
+    /**
+     * Returns the planner of the given structure, which is restored from the plans that this cache was
+     * read with, if there is one for the structure, or created to be planned from scratch otherwise.
+     */
+    public Planner planner(Structure structure) {
+        return get(structure, planStore::create);
+    }
+
+    /**
+     * Writes the plans of the planners in this cache, as well as those it was read with that have not
+     * been used since, such that the cache can be read back in once the server restarts.
+     */
+    public void write(DataOutput output) throws IOException {
+        forEach(planStore::put);
+        planStore.write(output);
+    }
+
+    public static TraversalCache read(DataInput input) throws IOException {
+        return new TraversalCache(PlanStore.read(input));
+    }
+
+    /**
+     * Returns a new cache with the planners of this cache, other than those of the structures that
+     * refer to any of the given types, whose cost estimates no longer hold once the types are modified.
+     * The entries are copied into the new cache, so the transactions that still borrow this cache cannot
+     * put planners into the new one. The planners themselves are shared by both caches, as any planner
+     * already is by concurrent transactions.
+     *
+     * @param modifiedTypes the labels of the types that have been modified in the schema
+     * @return a new cache with the planners that are not concerned with the modified types
+     */
+    public TraversalCache copyUnaffectedBy(Set<Label> modifiedTypes) {
+        TraversalCache cache = new TraversalCache();
+        forEach((structure, planner) -> {
+            if (Collections.disjoint(structure.labels(), modifiedTypes)) cache.put(structure, planner);
+        });
+        return cache;
     }
 }
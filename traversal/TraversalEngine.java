@@ -20,6 +20,7 @@ package grakn.core.traversal;
 
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.traversal.common.Identifier;
@@ -34,10 +35,16 @@ public class TraversalEngine {
 
     private final GraphManager graphMgr;
     private final TraversalCache cache;
+    private final double replanRatio;
 
     public TraversalEngine(GraphManager graphMgr, TraversalCache cache) {
+        this(graphMgr, cache, Options.DEFAULT_REPLAN_COST_RATIO);
+    }
+
+    public TraversalEngine(GraphManager graphMgr, TraversalCache cache, double replanRatio) {
         this.graphMgr = graphMgr;
         this.cache = cache;
+        this.replanRatio = replanRatio;
     }
 
     public GraphManager graph() {
@@ -51,7 +58,7 @@ public class TraversalEngine {
     public Producer<VertexMap> producer(Traversal traversal, Arguments.Query.Producer mode,
                                         int parallelisation, boolean extraPlanningTime) {
         traversal.initialise(cache);
-        return traversal.producer(graphMgr, mode, parallelisation, extraPlanningTime);
+        return traversal.producer(graphMgr, mode, parallelisation, extraPlanningTime, replanRatio);
     }
 
     public ResourceIterator<VertexMap> iterator(Traversal traversal) {
@@ -60,7 +67,31 @@ public class TraversalEngine {
 
     public ResourceIterator<VertexMap> iterator(Traversal traversal, boolean extraPlanningTime) {
         traversal.initialise(cache);
-        return traversal.iterator(graphMgr, extraPlanningTime);
+        return traversal.iterator(graphMgr, extraPlanningTime, replanRatio);
+    }
+
+    /**
+     * Plans the traversal, and records the procedures that it was planned into in the given profile.
+     */
+    public void explain(Traversal traversal, TraversalProfile profile) {
+        traversal.initialise(cache);
+        traversal.explain(graphMgr, profile);
+    }
+
+    /**
+     * Plans the traversal, and returns the number of vertices that its procedures are estimated to traverse.
+     */
+    public double estimatedCost(Traversal traversal) {
+        traversal.initialise(cache);
+        return traversal.estimatedCost(graphMgr);
+    }
+
+    /**
+     * Returns an iterator over the answers of the traversal, which records what its procedures cost into a profile.
+     */
+    public ResourceIterator<VertexMap> iterator(Traversal traversal, TraversalProfile profile) {
+        traversal.initialise(cache);
+        return traversal.iterator(graphMgr, profile);
     }
 
     public ResourceIterator<VertexMap> iterator(GraphProcedure procedure, Traversal.Parameters params) {
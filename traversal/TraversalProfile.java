@@ -0,0 +1,240 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal;
+
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureEdge;
+import grakn.core.traversal.procedure.VertexProcedure;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Describes the procedures that the traversals of a query were planned into, in the order in which they were planned:
+ * where each procedure starts, the order of its edges, and what the planner estimated each edge to cost, along with
+ * how long the planning took, and whether the planner reused a plan that it already had. A profile of a query that is
+ * executed also counts, for each edge, the vertices it branched out to, the seeks it made into the graph to do so, and
+ * the time it spent, as the answers of the query are iterated over.
+ *
+ * A profile is filled in by the thread that iterates over the answers of the query, and is not thread-safe.
+ */
+public class TraversalProfile {
+
+    private final boolean isExecuted;
+    private final List<Procedure> procedures;
+    private final List<String> skipped;
+    private long answers;
+
+    public TraversalProfile(boolean isExecuted) {
+        this.isExecuted = isExecuted;
+        this.procedures = new ArrayList<>();
+        this.skipped = new ArrayList<>();
+        this.answers = 0;
+    }
+
+    public boolean isExecuted() {
+        return isExecuted;
+    }
+
+    public List<Procedure> procedures() {
+        return Collections.unmodifiableList(procedures);
+    }
+
+    /**
+     * Returns the reasons that parts of the query were not traversed by a planned procedure, such as conjunctions that
+     * are unsatisfiable, or that are answered by the reasoner, whose resolution is not profiled.
+     */
+    public List<String> skipped() {
+        return Collections.unmodifiableList(skipped);
+    }
+
+    /**
+     * Returns the number of answers that the query was executed to, before they were sorted, offset or limited.
+     */
+    public long answers() {
+        return answers;
+    }
+
+    public void skip(String reason) {
+        skipped.add(reason);
+    }
+
+    public void answered() {
+        answers++;
+    }
+
+    Procedure procedure(GraphProcedure procedure, boolean isCached, long planningNanos) {
+        List<Edge> edges = new ArrayList<>();
+        for (int pos = 1; pos <= procedure.edgesCount(); pos++) {
+            edges.add(new Edge(procedure.edge(pos), procedure.estimatedCost(pos)));
+        }
+        Procedure profile = new Procedure(procedure.startVertex().toString(), edges, isCached, planningNanos);
+        procedures.add(profile);
+        return profile;
+    }
+
+    Procedure procedure(VertexProcedure procedure, boolean isCached, long planningNanos) {
+        List<Edge> edges = Collections.emptyList();
+        Procedure profile = new Procedure(procedure.vertex().toString(), edges, isCached, planningNanos);
+        procedures.add(profile);
+        return profile;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder str = new StringBuilder();
+        str.append(isExecuted ? "Traversal Profile: {" : "Traversal Plan: {");
+        for (Procedure procedure : procedures) procedure.append(str, isExecuted);
+        for (String reason : skipped) str.append("\n\tskipped: ").append(reason);
+        if (isExecuted) str.append("\n\tanswers: ").append(answers);
+        str.append("\n}");
+        return str.toString();
+    }
+
+    public static class Procedure {
+
+        private final String startVertex;
+        private final List<Edge> edges;
+        private final boolean isCached;
+        private final long planningNanos;
+        private long answers;
+
+        private Procedure(String startVertex, List<Edge> edges, boolean isCached, long planningNanos) {
+            this.startVertex = startVertex;
+            this.edges = edges;
+            this.isCached = isCached;
+            this.planningNanos = planningNanos;
+            this.answers = 0;
+        }
+
+        public String startVertex() {
+            return startVertex;
+        }
+
+        public List<Edge> edges() {
+            return Collections.unmodifiableList(edges);
+        }
+
+        public Edge edge(int pos) {
+            return edges.get(pos - 1);
+        }
+
+        /**
+         * Returns whether the procedure was planned before the query, and reused as it was, rather than planned again.
+         */
+        public boolean isCached() {
+            return isCached;
+        }
+
+        public long planningMillis() {
+            return NANOSECONDS.toMillis(planningNanos);
+        }
+
+        public long answers() {
+            return answers;
+        }
+
+        void answered() {
+            answers++;
+        }
+
+        private void append(StringBuilder str, boolean isExecuted) {
+            str.append("\n\tprocedure:");
+            str.append("\n\t\tstart: ").append(startVertex);
+            str.append("\n\t\tplanning: ").append(planningMillis()).append(" (ms)")
+                    .append(isCached ? ", cached" : ", planned");
+            for (Edge edge : edges) edge.append(str, isExecuted);
+            if (isExecuted) str.append("\n\t\tanswers: ").append(answers);
+        }
+    }
+
+    public static class Edge {
+
+        private final int order;
+        private final String description;
+        private final double estimatedCost;
+        private long vertices;
+        private long seeks;
+        private long nanos;
+
+        private Edge(ProcedureEdge<?, ?> edge, double estimatedCost) {
+            this.order = edge.order();
+            this.description = edge.toString();
+            this.estimatedCost = estimatedCost;
+            this.vertices = 0;
+            this.seeks = 0;
+            this.nanos = 0;
+        }
+
+        public int order() {
+            return order;
+        }
+
+        public String description() {
+            return description;
+        }
+
+        /**
+         * Returns the number of vertices that the planner estimated this edge to branch out to, from each vertex
+         * it branches from, or {@code Double.NaN} if the procedure was not planned.
+         */
+        public double estimatedCost() {
+            return estimatedCost;
+        }
+
+        public long vertices() {
+            return vertices;
+        }
+
+        public long seeks() {
+            return seeks;
+        }
+
+        public long millis() {
+            return NANOSECONDS.toMillis(nanos);
+        }
+
+        public void recordSeek(long nanos) {
+            this.seeks++;
+            this.nanos += nanos;
+        }
+
+        public void recordVertex(long nanos) {
+            this.vertices++;
+            this.nanos += nanos;
+        }
+
+        public void recordTime(long nanos) {
+            this.nanos += nanos;
+        }
+
+        private void append(StringBuilder str, boolean isExecuted) {
+            str.append("\n\t\t").append(description);
+            str.append(String.format("\n\t\t\testimated cost: %.2f", estimatedCost));
+            if (isExecuted) {
+                str.append(String.format(
+                        "\n\t\t\tvertices: %d, seeks: %d, time: %d (ms)", vertices, seeks, millis()
+                ));
+            }
+        }
+    }
+}
@@ -0,0 +1,440 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.traversal.iterator;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.graph.GraphManager;
+import grakn.core.graph.vertex.Vertex;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureEdge;
+import grakn.core.traversal.procedure.ProcedureVertex;
+import graql.lang.pattern.variable.Reference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+
+/**
+ * Answers a graph procedure a batch of bindings at a time, rather than one binding at a time like a
+ * {@code GraphIterator}: the start vertices are drawn in batches, and each edge, in order, consumes the batch of
+ * partial answers of the edge before it to produce a batch of its own. A batch holds up to {@code BATCH_SIZE} partial
+ * answers in arrays, one per bound procedure vertex. A branch edge extends every partial answer with each vertex that
+ * it branches out to, and replays the last branch that it read in full, rather than read it again, for the partial
+ * answers that follow with the same vertex to branch from. A closure edge filters its whole batch in place, and checks
+ * the partial answers that share a bound vertex in one batched read of its adjacency.
+ *
+ * The partial answers are produced in the same order as a {@code GraphIterator} would produce them. Only procedures of
+ * isa and has edges, without intersections, are answered in batches, as other edges depend on the scoped roles that a
+ * {@code GraphIterator} keeps while it backtracks.
+ */
+public class BatchIterator extends AbstractResourceIterator<VertexMap> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchIterator.class);
+    static final int BATCH_SIZE = 1024;
+    private static final int OBSERVATION_FLUSH_INTERVAL = 1024;
+
+    private final GraphManager graphMgr;
+    private final GraphProcedure procedure;
+    private final Traversal.Parameters params;
+    private final List<ProcedureVertex<?, ?>> filtered;
+    private final Stage[] stages;
+    private final Batch answers;
+    private final double replanRatio;
+    private final BooleanSupplier isRestartable;
+    private final long[] observedBranches;
+    private final long[] observedVertices;
+    private int observations;
+    private int cursor;
+    private boolean isCompleted;
+
+    public BatchIterator(GraphManager graphMgr, ResourceIterator<? extends Vertex<?, ?>> starts,
+                         GraphProcedure procedure, Traversal.Parameters params,
+                         Set<Identifier.Variable.Name> filter) {
+        this(graphMgr, starts, procedure, params, filter, Double.POSITIVE_INFINITY, () -> false);
+    }
+
+    /**
+     * Creates an iterator over the answers of a procedure from each of the given start vertices, in turn, which
+     * reports to the procedure what each of its edges branched out to, and throws {@code GraphIterator.Restart} once
+     * an edge has been observed to cost more than planned by more than the given ratio, if the iteration may still be
+     * restarted by then, according to the given supplier.
+     */
+    public BatchIterator(GraphManager graphMgr, ResourceIterator<? extends Vertex<?, ?>> starts,
+                         GraphProcedure procedure, Traversal.Parameters params,
+                         Set<Identifier.Variable.Name> filter, double replanRatio, BooleanSupplier isRestartable) {
+        assert procedure.edgesCount() > 0 && procedure.isBatchable();
+        this.graphMgr = graphMgr;
+        this.procedure = procedure;
+        this.params = params;
+        this.filtered = procedure.filteredVertices(filter);
+        this.stages = new Stage[procedure.edgesCount() + 1];
+        this.replanRatio = replanRatio;
+        this.isRestartable = isRestartable;
+        this.observedBranches = procedure.isObservable() ? new long[stages.length] : null;
+        this.observedVertices = procedure.isObservable() ? new long[stages.length] : null;
+        this.observations = 0;
+
+        int start = procedure.startVertex().index();
+        int[] bound = new int[]{start};
+        boolean[] isBound = new boolean[procedure.vertexCount()];
+        isBound[start] = true;
+        stages[0] = new Start(starts, new Batch(procedure.vertexCount(), bound));
+        for (int pos = 1; pos < stages.length; pos++) {
+            ProcedureEdge<?, ?> edge = procedure.edge(pos);
+            int to = edge.to().index();
+            if (isBound[to]) {
+                stages[pos] = new Closure(edge, stages[pos - 1]);
+            } else {
+                bound = Arrays.copyOf(bound, bound.length + 1);
+                bound[bound.length - 1] = to;
+                isBound[to] = true;
+                stages[pos] = new Branch(edge, stages[pos - 1], new Batch(procedure.vertexCount(), bound));
+            }
+        }
+        this.answers = stages[stages.length - 1].output;
+        this.cursor = 0;
+        this.isCompleted = false;
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (isCompleted) return false;
+            else if (cursor < answers.size) return true;
+            else if (stages[stages.length - 1].fill()) {
+                cursor = 0;
+                return true;
+            } else {
+                isCompleted = true;
+                flushObservations(false);
+                return false;
+            }
+        } catch (GraphIterator.Restart e) {
+            throw e;
+        } catch (Throwable e) {
+            LOG.error("Parameters: " + params.toString());
+            LOG.error("GraphProcedure: " + procedure.toString());
+            throw e;
+        }
+    }
+
+    @Override
+    public VertexMap next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        return toReferenceMap(cursor++);
+    }
+
+    private VertexMap toReferenceMap(int row) {
+        Map<Reference, Vertex<?, ?>> answerMap = new HashMap<>(filtered.size() * 2);
+        for (ProcedureVertex<?, ?> vertex : filtered) {
+            answerMap.put(vertex.id().asVariable().reference(), answers.get(vertex.index(), row));
+        }
+        return VertexMap.of(answerMap);
+    }
+
+    @Override
+    public void recycle() {
+        for (Stage stage : stages) stage.recycle();
+    }
+
+    private void observeBranch(int pos) {
+        if (observedBranches == null) return;
+        observedBranches[pos]++;
+        countObservation();
+    }
+
+    private void observeVertex(int pos) {
+        if (observedVertices == null) return;
+        observedVertices[pos]++;
+        countObservation();
+    }
+
+    private void countObservation() {
+        if (++observations >= OBSERVATION_FLUSH_INTERVAL) flushObservations(true);
+    }
+
+    /**
+     * Reports what the edges have branched out to since the last report to the procedure, and throws {@code Restart}
+     * if any of them has turned out to cost far more than planned, the given flag allows it, and so does the caller.
+     */
+    private void flushObservations(boolean mayRestart) {
+        if (observedBranches == null || observations == 0) return;
+        boolean isDiverged = false;
+        for (int pos = 1; pos < stages.length; pos++) {
+            if (observedBranches[pos] == 0 && observedVertices[pos] == 0) continue;
+            isDiverged |= procedure.observe(pos, observedBranches[pos], observedVertices[pos], replanRatio);
+            observedBranches[pos] = 0;
+            observedVertices[pos] = 0;
+        }
+        observations = 0;
+        if (isDiverged && mayRestart && isRestartable.getAsBoolean()) throw GraphIterator.Restart.INSTANCE;
+    }
+
+    /**
+     * A batch of partial answers, held in an array per procedure vertex that is bound by the time the batch is
+     * produced, and which is refilled in place by the stage that produces it, once it has been consumed.
+     */
+    private static class Batch {
+
+        private final Vertex<?, ?>[][] columns;
+        private final int[] bound;
+        private int size;
+
+        private Batch(int vertexCount, int[] bound) {
+            this.columns = new Vertex<?, ?>[vertexCount][];
+            for (int index : bound) columns[index] = new Vertex<?, ?>[BATCH_SIZE];
+            this.bound = bound;
+            this.size = 0;
+        }
+
+        private Vertex<?, ?> get(int index, int row) {
+            return columns[index][row];
+        }
+
+        private boolean isFull() {
+            return size == BATCH_SIZE;
+        }
+
+        private void add(int index, Vertex<?, ?> vertex) {
+            columns[index][size++] = vertex;
+        }
+
+        /**
+         * Appends a partial answer of another batch, extended with a vertex bound to the given procedure vertex.
+         */
+        private void append(Batch batch, int row, int index, Vertex<?, ?> vertex) {
+            for (int i : batch.bound) columns[i][size] = batch.columns[i][row];
+            columns[index][size++] = vertex;
+        }
+
+        private void move(int from, int to) {
+            if (from == to) return;
+            for (int i : bound) columns[i][to] = columns[i][from];
+        }
+    }
+
+    private abstract static class Stage {
+
+        final Batch output;
+
+        private Stage(Batch output) {
+            this.output = output;
+        }
+
+        /**
+         * Refills the output batch of this stage, once the batch has been consumed, and returns whether it holds any
+         * partial answers, which it only does not once every start vertex has been answered.
+         */
+        abstract boolean fill();
+
+        void recycle() {}
+    }
+
+    private static class Start extends Stage {
+
+        private final ResourceIterator<? extends Vertex<?, ?>> starts;
+        private final int index;
+
+        private Start(ResourceIterator<? extends Vertex<?, ?>> starts, Batch output) {
+            super(output);
+            assert output.bound.length == 1;
+            this.starts = starts;
+            this.index = output.bound[0];
+        }
+
+        @Override
+        boolean fill() {
+            output.size = 0;
+            while (!output.isFull() && starts.hasNext()) output.add(index, starts.next());
+            return output.size > 0;
+        }
+
+        @Override
+        void recycle() {
+            starts.recycle();
+        }
+    }
+
+    private class Branch extends Stage {
+
+        private final ProcedureEdge<?, ?> edge;
+        private final Stage previous;
+        private final int from;
+        private final int to;
+        private final boolean isExistential;
+        private final List<Vertex<?, ?>> branched;
+        private Vertex<?, ?> branchedFrom;
+        private Vertex<?, ?> recordedFrom;
+        private ResourceIterator<? extends Vertex<?, ?>> toIter;
+        private Vertex<?, ?> next;
+        private boolean isBranching;
+        private int replayed;
+        private int row;
+
+        private Branch(ProcedureEdge<?, ?> edge, Stage previous, Batch output) {
+            super(output);
+            this.edge = edge;
+            this.previous = previous;
+            this.from = edge.from().index();
+            this.to = edge.to().index();
+            // a vertex that is not named, and that nothing else depends on, only needs to exist
+            this.isExistential = !edge.to().id().isName() && edge.to().outs().isEmpty() && edge.to().ins().size() == 1;
+            this.branched = new ArrayList<>();
+            this.isBranching = false;
+            this.row = 0;
+        }
+
+        @Override
+        boolean fill() {
+            Batch input = previous.output;
+            output.size = 0;
+            while (!output.isFull()) {
+                if (isBranching && advance()) {
+                    output.append(input, row, to, next);
+                } else {
+                    if (isBranching) {
+                        isBranching = false;
+                        row++;
+                    }
+                    if (row == input.size) {
+                        row = 0;
+                        if (!previous.fill()) break;
+                    }
+                    branch(input.get(from, row));
+                }
+            }
+            return output.size > 0;
+        }
+
+        private void branch(Vertex<?, ?> fromVertex) {
+            isBranching = true;
+            observeBranch(edge.order());
+            if (fromVertex.equals(branchedFrom)) {
+                toIter = null;
+                replayed = 0;
+            } else {
+                toIter = edge.branch(graphMgr, fromVertex, params);
+                if (isExistential) toIter = toIter.limit(1);
+                branched.clear();
+                branchedFrom = null;
+                recordedFrom = fromVertex;
+            }
+        }
+
+        /**
+         * Advances the current branch, by replaying the vertices that the last branch from the same vertex read, or
+         * by reading the next vertex of the branch, which is recorded for a replay, unless the branch is too large.
+         */
+        private boolean advance() {
+            if (toIter == null) {
+                if (replayed == branched.size()) return false;
+                next = branched.get(replayed++);
+            } else if (toIter.hasNext()) {
+                next = toIter.next();
+                if (recordedFrom != null && branched.size() < BATCH_SIZE) branched.add(next);
+                else if (recordedFrom != null) {
+                    recordedFrom = null;
+                    branched.clear();
+                }
+            } else {
+                branchedFrom = recordedFrom;
+                recordedFrom = null;
+                return false;
+            }
+            observeVertex(edge.order());
+            return true;
+        }
+
+        @Override
+        void recycle() {
+            if (toIter != null) toIter.recycle();
+        }
+    }
+
+    private class Closure extends Stage {
+
+        private final ProcedureEdge<?, ?> edge;
+        private final Stage previous;
+        private final int bound;
+        private final int candidate;
+        private final boolean isBoundFrom;
+        private final List<Vertex<?, ?>> candidates;
+
+        private Closure(ProcedureEdge<?, ?> edge, Stage previous) {
+            super(previous.output);
+            this.edge = edge;
+            this.previous = previous;
+            // the end that was bound first changes least often between consecutive partial answers
+            this.isBoundFrom = boundOrder(edge.from()) <= boundOrder(edge.to());
+            this.bound = isBoundFrom ? edge.from().index() : edge.to().index();
+            this.candidate = isBoundFrom ? edge.to().index() : edge.from().index();
+            this.candidates = new ArrayList<>();
+        }
+
+        private int boundOrder(ProcedureVertex<?, ?> vertex) {
+            if (vertex.isStartingVertex()) return 0;
+            else if (vertex.branchEdge() != null) return vertex.branchEdge().order();
+            else throw GraknException.of(ILLEGAL_STATE);
+        }
+
+        @Override
+        boolean fill() {
+            do {
+                if (!previous.fill()) return false;
+                filter();
+            } while (output.size == 0);
+            return true;
+        }
+
+        /**
+         * Filters the batch, in place, down to the partial answers that the edge is closed for, checking the closure
+         * for each run of consecutive partial answers that share the same bound vertex at once.
+         */
+        private void filter() {
+            int kept = 0, run = 0;
+            while (run < output.size) {
+                Vertex<?, ?> boundVertex = output.get(bound, run);
+                int end = run;
+                candidates.clear();
+                while (end < output.size && output.get(bound, end).equals(boundVertex)) {
+                    candidates.add(output.get(candidate, end++));
+                }
+                List<Boolean> closures = edge.isClosure(graphMgr, boundVertex, isBoundFrom, candidates, params);
+                for (int i = 0; i < closures.size(); i++) {
+                    if (closures.get(i)) output.move(run + i, kept++);
+                }
+                run = end;
+            }
+            output.size = kept;
+        }
+    }
+}
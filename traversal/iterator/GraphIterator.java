@@ -25,40 +25,64 @@ import grakn.core.graph.GraphManager;
 import grakn.core.graph.vertex.ThingVertex;
 import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.Traversal;
+import grakn.core.traversal.TraversalProfile;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.procedure.GraphProcedure;
 import grakn.core.traversal.procedure.ProcedureEdge;
+import grakn.core.traversal.procedure.ProcedureVertex;
+import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
-import static java.util.stream.Collectors.toMap;
 
+/**
+ * Answers a graph procedure by backtracking over its edges, in order, one binding at a time: the state of the iteration
+ * is the vertex currently bound to each procedure vertex, and the branch iterator that it was drawn from. Storage reads
+ * are batched where the next edge closes a cycle, through a {@code ClosureBatch} or an {@code Intersection}, but the
+ * edges do not otherwise execute over batches of bindings: scoped roles, closures and seeks all backtrack over a
+ * single binding at a time. Procedures of isa and has edges alone are answered in batches by {@code BatchIterator}.
+ */
 public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraphIterator.class);
+    private static final int CLOSURE_BATCH_INITIAL_SIZE = 4;
+    private static final int CLOSURE_BATCH_MAX_SIZE = 1024;
+    private static final int OBSERVATION_FLUSH_INTERVAL = 1024;
 
     private final GraphManager graphMgr;
     private final GraphProcedure procedure;
     private final Traversal.Parameters params;
-    private final Set<Identifier.Variable.Name> filter;
-    private final Map<Identifier, ResourceIterator<? extends Vertex<?, ?>>> iterators;
-    private final Map<Identifier, Vertex<?, ?>> answer;
-    private final Map<Identifier, ThingVertex> roles;
+    private final ResourceIterator<? extends Vertex<?, ?>>[] iterators;
+    private final Vertex<?, ?>[] answer;
+    private final ThingVertex[] roles;
+    private final ClosureBatch[] closureBatches;
+    private final List<ProcedureVertex<?, ?>> filtered;
     private final Scopes scopes;
     private final SeekStack seekStack;
     private final int edgeCount;
+    private final double replanRatio;
+    private final BooleanSupplier isRestartable;
+    private final long[] observedBranches;
+    private final long[] observedVertices;
+    private final TraversalProfile.Procedure profile;
+    private int observations;
     private int computeNextSeekPos;
     private State state;
 
@@ -66,21 +90,46 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> start, GraphProcedure procedure,
                          Traversal.Parameters params, Set<Identifier.Variable.Name> filter) {
+        this(graphMgr, start, procedure, params, filter, Double.POSITIVE_INFINITY, () -> false, null);
+    }
+
+    /**
+     * Creates an iterator that reports to the procedure what each of its edges branched out to, as it goes, and that
+     * throws {@code Restart} once an edge has been observed to cost more than planned by more than the given ratio,
+     * if the iteration may still be restarted by then, according to the given supplier. If given a profile of the
+     * procedure, the iterator also records into it what each edge branched out to, and the time that it took.
+     */
+    public GraphIterator(GraphManager graphMgr, Vertex<?, ?> start, GraphProcedure procedure,
+                         Traversal.Parameters params, Set<Identifier.Variable.Name> filter,
+                         double replanRatio, BooleanSupplier isRestartable,
+                         @Nullable TraversalProfile.Procedure profile) {
         assert procedure.edgesCount() > 0;
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.params = params;
-        this.filter = filter;
         this.edgeCount = procedure.edgesCount();
-        this.iterators = new HashMap<>();
-        this.roles = new HashMap<>();
-        this.answer = new HashMap<>();
-        this.answer.put(procedure.startVertex().id(), start);
+        this.iterators = newIterators(procedure.vertexCount());
+        this.roles = new ThingVertex[procedure.vertexCount()];
+        this.closureBatches = new ClosureBatch[edgeCount + 1];
+        this.answer = new Vertex<?, ?>[procedure.vertexCount()];
+        this.answer[procedure.startVertex().index()] = start;
+        this.filtered = procedure.filteredVertices(filter);
         this.scopes = new Scopes();
         this.seekStack = new SeekStack(edgeCount);
+        this.replanRatio = replanRatio;
+        this.isRestartable = isRestartable;
+        this.observedBranches = procedure.isObservable() ? new long[edgeCount + 1] : null;
+        this.observedVertices = procedure.isObservable() ? new long[edgeCount + 1] : null;
+        this.observations = 0;
+        this.profile = profile;
         this.state = State.INIT;
     }
 
+    @SuppressWarnings("unchecked")
+    private static ResourceIterator<? extends Vertex<?, ?>>[] newIterators(int size) {
+        return (ResourceIterator<? extends Vertex<?, ?>>[]) new ResourceIterator<?>[size];
+    }
+
     @Override
     public boolean hasNext() {
         try {
@@ -96,7 +145,10 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
             } else {
                 throw GraknException.of(ILLEGAL_STATE);
             }
+            if (state == State.COMPLETED) flushObservations(false);
             return state == State.FETCHED;
+        } catch (Restart e) {
+            throw e;
         } catch (Throwable e) {
             LOG.error("Parameters: " + params.toString());
             LOG.error("GraphProcedure: " + procedure.toString());
@@ -105,33 +157,32 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     }
 
     private boolean computeFirst(int pos) {
-        if (answer.containsKey(procedure.edge(pos).to().id())) return computeFirstClosure(pos);
+        if (answer[procedure.edge(pos).to().index()] != null) return computeFirstClosure(pos);
         else return computeFirstBranch(pos);
     }
 
     private boolean computeFirstBranch(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
-        Identifier fromId = edge.from().id();
-        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(fromId), edge);
+        int to = edge.to().index();
+        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer[edge.from().index()], edge);
 
         if (toIter.hasNext()) {
-            iterators.put(toID, toIter);
-            answer.put(toID, toIter.next());
+            iterators[to] = toIter;
+            answer[to] = toIter.next();
             if (pos == edgeCount) return true;
             while (!computeFirst(pos + 1)) {
                 if (pos == seekStack.peekLastPos()) {
                     seekStack.popLastPos();
-                    if (toIter.hasNext()) answer.put(toID, toIter.next());
+                    if (toIter.hasNext()) answer[to] = toIter.next();
                     else {
                         backTrackCleanUp(pos);
-                        answer.remove(toID);
+                        answer[to] = null;
                         branchFailure(edge);
                         return false;
                     }
                 } else {
                     backTrackCleanUp(pos);
-                    answer.remove(toID);
+                    answer[to] = null;
                     toIter.recycle();
                     return false;
                 }
@@ -145,7 +196,7 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
     private boolean computeFirstClosure(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        if (isClosure(edge, answer.get(edge.from().id()), answer.get(edge.to().id()))) {
+        if (isClosure(edge, answer[edge.from().index()], answer[edge.to().index()])) {
             if (pos == edgeCount) return true;
             else return computeFirst(pos + 1);
         } else {
@@ -181,29 +232,28 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         if (pos == 0) return false;
 
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
+        int to = edge.to().index();
 
         if (pos == computeNextSeekPos) {
             computeNextSeekPos = edgeCount;
         } else if (pos > computeNextSeekPos) {
-            if (!edge.isClosureEdge()) iterators.get(toID).recycle();
+            if (!edge.isClosureEdge()) iterators[to].recycle();
             if (!backTrack(pos)) return false;
 
             if (edge.isClosureEdge()) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
+                Vertex<?, ?> toVertex = answer[edge.to().index()];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
                 else return computeNextClosure(pos);
             } else {
-                ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(edge.from().id()), edge);
-                iterators.put(toID, toIter);
+                iterators[to] = branch(answer[edge.from().index()], edge);
             }
         }
 
         if (edge.isClosureEdge()) {
             return computeNextClosure(pos);
-        } else if (iterators.get(toID).hasNext()) {
-            answer.put(toID, iterators.get(toID).next());
+        } else if (iterators[to].hasNext()) {
+            answer[to] = iterators[to].next();
             return true;
         } else {
             return computeNextBranch(pos);
@@ -215,8 +265,8 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         do {
 
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
+                Vertex<?, ?> toVertex = answer[edge.to().index()];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
             } else {
                 return false;
@@ -230,7 +280,7 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
 
         do {
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().index()];
                 newIter = branch(fromVertex, edge);
                 if (!newIter.hasNext()) {
                     if (edge.onlyStartsFromRelation() && !scopes.get(edge.from().id().asVariable()).isEmpty()) {
@@ -246,21 +296,35 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
                 return false;
             }
         } while (!newIter.hasNext());
-        iterators.put(edge.to().id(), newIter);
-        answer.put(edge.to().id(), newIter.next());
+        iterators[edge.to().index()] = newIter;
+        answer[edge.to().index()] = newIter.next();
         return true;
     }
 
     private boolean isClosure(ProcedureEdge<?, ?> edge, Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex) {
-        if (edge.isRolePlayer()) {
+        if (profile == null) return checkClosure(edge, fromVertex, toVertex);
+        long start = System.nanoTime();
+        boolean isClosure = checkClosure(edge, fromVertex, toVertex);
+        profile.edge(edge.order()).recordSeek(System.nanoTime() - start);
+        return isClosure;
+    }
+
+    private boolean checkClosure(ProcedureEdge<?, ?> edge, Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex) {
+        if (procedure.isIntersected(edge.order())) {
+            return true;
+        } else if (edge.isRolePlayer()) {
             Scopes.Scoped scoped = scopes.getOrInitialise(edge.asRolePlayer().scope());
             return edge.asRolePlayer().isClosure(graphMgr, fromVertex, toVertex, params, scoped);
         } else {
-            return edge.isClosure(graphMgr, fromVertex, toVertex, params);
+            ClosureBatch batch = closureBatches[edge.order()];
+            Boolean isClosure = batch != null ? batch.isClosure(fromVertex, toVertex) : null;
+            if (isClosure != null) return isClosure;
+            else return edge.isClosure(graphMgr, fromVertex, toVertex, params);
         }
     }
 
     private ResourceIterator<? extends Vertex<?, ?>> branch(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> edge) {
+        long start = profile != null ? System.nanoTime() : 0;
         ResourceIterator<? extends Vertex<?, ?>> toIter;
         if (edge.to().id().isScoped()) {
             Identifier.Variable scope = edge.to().id().asScoped().scope();
@@ -269,7 +333,7 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
                 if (scoped.contains(role.asThing())) return false;
                 else {
                     replaceScopedRole(scoped, edge, role.asThing());
-                    roles.put(edge.to().id(), role.asThing());
+                    roles[edge.to().index()] = role.asThing();
                     return true;
                 }
             });
@@ -280,21 +344,82 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
                 if (scoped.contains(e.optimised().get())) return false;
                 else {
                     replaceScopedRole(scoped, edge, e.optimised().get());
-                    roles.put(edge.to().id(), e.optimised().get());
+                    roles[edge.to().index()] = e.optimised().get();
                     return true;
                 }
             }).map(e -> edge.direction().isForward() ? e.to() : e.from());
+        } else if (!procedure.intersections(edge.order()).isEmpty()) {
+            toIter = new Intersection(fromVertex, edge, procedure.intersections(edge.order()));
         } else {
             toIter = edge.branch(graphMgr, fromVertex, params);
+            if (edge.order() < edgeCount) toIter = batchClosure(toIter, edge, procedure.edge(edge.order() + 1));
         }
         if (!edge.to().id().isName() && edge.to().outs().isEmpty() && edge.to().ins().size() == 1) {
             // TODO: This optimisation can apply to more situations, such as to
             //       an entire tree, where none of the leaves are referenced by name
             toIter = toIter.limit(1);
         }
+        if (observedBranches != null) toIter = observe(toIter, edge.order());
+        if (profile != null) {
+            TraversalProfile.Edge edgeProfile = profile.edge(edge.order());
+            edgeProfile.recordSeek(System.nanoTime() - start);
+            toIter = new ProfiledIterator<>(toIter, edgeProfile);
+        }
         return toIter;
     }
 
+    private ResourceIterator<? extends Vertex<?, ?>> observe(ResourceIterator<? extends Vertex<?, ?>> toIter, int pos) {
+        observedBranches[pos]++;
+        countObservation();
+        return toIter.map(vertex -> {
+            observedVertices[pos]++;
+            countObservation();
+            return vertex;
+        });
+    }
+
+    private void countObservation() {
+        if (++observations >= OBSERVATION_FLUSH_INTERVAL) flushObservations(true);
+    }
+
+    /**
+     * Reports what the edges have branched out to since the last report to the procedure, and throws {@code Restart}
+     * if any of them has turned out to cost far more than planned, the given flag allows it, and so does the caller.
+     */
+    private void flushObservations(boolean mayRestart) {
+        if (observedBranches == null || observations == 0) return;
+        boolean isDiverged = false;
+        for (int pos = 1; pos <= edgeCount; pos++) {
+            if (observedBranches[pos] == 0 && observedVertices[pos] == 0) continue;
+            isDiverged |= procedure.observe(pos, observedBranches[pos], observedVertices[pos], replanRatio);
+            observedBranches[pos] = 0;
+            observedVertices[pos] = 0;
+        }
+        observations = 0;
+        if (isDiverged && mayRestart && isRestartable.getAsBoolean()) throw Restart.INSTANCE;
+    }
+
+    /**
+     * Wraps the iterator of a branch edge, whose next edge closes the vertex that the branch
+     * iterates over with a vertex that has already been answered, so that the closure is checked
+     * for the upcoming vertices of the branch in batches, rather than one vertex at a time.
+     */
+    private ResourceIterator<? extends Vertex<?, ?>> batchClosure(ResourceIterator<? extends Vertex<?, ?>> toIter,
+                                                                   ProcedureEdge<?, ?> edge, ProcedureEdge<?, ?> closure) {
+        if (!closure.isClosureEdge() || !closure.isClosureBatchable()) return toIter;
+        int candidate = edge.to().index();
+        boolean isBoundFrom;
+        if (closure.to().index() == candidate) isBoundFrom = true;
+        else if (closure.from().index() == candidate) isBoundFrom = false;
+        else return toIter;
+
+        int bound = isBoundFrom ? closure.from().index() : closure.to().index();
+        if (bound == candidate || answer[bound] == null) return toIter;
+        ClosureBatch batch = new ClosureBatch(toIter, closure, answer[bound], isBoundFrom);
+        closureBatches[closure.order()] = batch;
+        return batch;
+    }
+
     private boolean backTrack(int pos) {
         backTrackCleanUp(pos);
         return computeNext(pos - 1);
@@ -303,19 +428,21 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     private void backTrackCleanUp(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
         Identifier toId = edge.to().id();
-        if (roles.containsKey(toId)) {
+        if (roles[edge.to().index()] != null) {
             if (edge.isRolePlayer()) removeScopedRole(scopes.get(edge.asRolePlayer().scope()), edge);
             else if (toId.isScoped()) removeScopedRole(scopes.get(toId.asScoped().scope()), edge);
         }
     }
 
     private void removeScopedRole(Scopes.Scoped scoped, ProcedureEdge<?, ?> edge) {
-        ThingVertex previousRole = roles.remove(edge.to().id());
+        ThingVertex previousRole = roles[edge.to().index()];
+        roles[edge.to().index()] = null;
         if (previousRole != null) scoped.remove(previousRole, edge.order());
     }
 
     private void replaceScopedRole(Scopes.Scoped scoped, ProcedureEdge<?, ?> edge, ThingVertex newRole) {
-        ThingVertex previousRole = roles.remove(edge.to().id());
+        ThingVertex previousRole = roles[edge.to().index()];
+        roles[edge.to().index()] = null;
         if (previousRole != null) {
             scoped.replaceRole(previousRole, newRole);
         } else {
@@ -327,20 +454,69 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
     public VertexMap next() {
         if (!hasNext()) throw new NoSuchElementException();
         state = State.EMPTY;
-        return toReferenceMap(answer);
+        return toReferenceMap();
     }
 
-    private VertexMap toReferenceMap(Map<Identifier, Vertex<?, ?>> answer) {
-        return VertexMap.of(
-                answer.entrySet().stream()
-                        .filter(e -> e.getKey().isName() && filter.contains(e.getKey().asVariable().asName()))
-                        .collect(toMap(k -> k.getKey().asVariable().reference(), Map.Entry::getValue))
-        );
+    private VertexMap toReferenceMap() {
+        Map<Reference, Vertex<?, ?>> answerMap = new HashMap<>(filtered.size() * 2);
+        for (ProcedureVertex<?, ?> vertex : filtered) {
+            answerMap.put(vertex.id().asVariable().reference(), answer[vertex.index()]);
+        }
+        return VertexMap.of(answerMap);
     }
 
     @Override
     public void recycle() {}
 
+    /**
+     * Times every step of the iterator of a branch, and counts the vertices that it branches out to, into the profile
+     * of its edge. The branches of a procedure are iterated over one at a time, so the time spent by each is its own.
+     */
+    private static class ProfiledIterator<T> extends AbstractResourceIterator<T> {
+
+        private final ResourceIterator<T> iterator;
+        private final TraversalProfile.Edge profile;
+
+        private ProfiledIterator(ResourceIterator<T> iterator, TraversalProfile.Edge profile) {
+            this.iterator = iterator;
+            this.profile = profile;
+        }
+
+        @Override
+        public boolean hasNext() {
+            long start = System.nanoTime();
+            boolean hasNext = iterator.hasNext();
+            profile.recordTime(System.nanoTime() - start);
+            return hasNext;
+        }
+
+        @Override
+        public T next() {
+            long start = System.nanoTime();
+            T next = iterator.next();
+            profile.recordVertex(System.nanoTime() - start);
+            return next;
+        }
+
+        @Override
+        public void recycle() {
+            iterator.recycle();
+        }
+    }
+
+    /**
+     * Thrown by an iteration once it has observed its plan to cost far more than estimated, before it has answered
+     * anything, such that the plan, which is being optimised again with the observed costs, can be restarted instead.
+     */
+    public static class Restart extends RuntimeException {
+
+        static final Restart INSTANCE = new Restart();
+
+        private Restart() {
+            super(null, null, false, false);
+        }
+    }
+
     public static class Scopes {
 
         private final Map<Identifier.Variable, Scoped> scoped;
@@ -406,6 +582,139 @@ public class GraphIterator extends AbstractResourceIterator<VertexMap> {
         }
     }
 
+    /**
+     * Iterates over a branch in batches, whose closure with the next edge is checked for the whole batch at once, with
+     * a single read of the bound vertex's adjacency. The batches grow geometrically, so that a branch that is abandoned
+     * after its first few vertices does not fetch many more than it returns.
+     */
+    private class ClosureBatch extends AbstractResourceIterator<Vertex<?, ?>> {
+
+        private final ResourceIterator<? extends Vertex<?, ?>> iterator;
+        private final ProcedureEdge<?, ?> closure;
+        private final Vertex<?, ?> bound;
+        private final boolean isBoundFrom;
+        private final List<Vertex<?, ?>> fetched;
+        private List<Boolean> closures;
+        private int cursor;
+        private int batchSize;
+
+        private ClosureBatch(ResourceIterator<? extends Vertex<?, ?>> iterator, ProcedureEdge<?, ?> closure,
+                             Vertex<?, ?> bound, boolean isBoundFrom) {
+            this.iterator = iterator;
+            this.closure = closure;
+            this.bound = bound;
+            this.isBoundFrom = isBoundFrom;
+            this.fetched = new ArrayList<>(CLOSURE_BATCH_INITIAL_SIZE);
+            this.closures = null;
+            this.cursor = 0;
+            this.batchSize = CLOSURE_BATCH_INITIAL_SIZE;
+        }
+
+        /**
+         * Returns whether the closure edge is closed between the given vertices, if the candidate is the
+         * vertex of the batch that was last returned, or null otherwise.
+         */
+        private Boolean isClosure(Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex) {
+            Vertex<?, ?> boundVertex = isBoundFrom ? fromVertex : toVertex;
+            Vertex<?, ?> candidate = isBoundFrom ? toVertex : fromVertex;
+            if (cursor == 0 || !bound.equals(boundVertex) || !fetched.get(cursor - 1).equals(candidate)) return null;
+            else return closures.get(cursor - 1);
+        }
+
+        private void fetch() {
+            fetched.clear();
+            cursor = 0;
+            while (fetched.size() < batchSize && iterator.hasNext()) fetched.add(iterator.next());
+            batchSize = Math.min(batchSize * 2, CLOSURE_BATCH_MAX_SIZE);
+            if (!fetched.isEmpty()) closures = closure.isClosure(graphMgr, bound, isBoundFrom, fetched, params);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (cursor == fetched.size()) fetch();
+            return cursor < fetched.size();
+        }
+
+        @Override
+        public Vertex<?, ?> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return fetched.get(cursor++);
+        }
+
+        @Override
+        public void recycle() {
+            iterator.recycle();
+        }
+    }
+
+    /**
+     * Branches to a vertex that closes a cycle, from the vertex of its branch edge, and from the bound vertices of the
+     * closure edges to it, at once. The branches are advanced in lockstep, one vertex at a time, until the smallest of
+     * them runs out, and only the vertices of the smallest branch that every other edge is closed for are returned.
+     * The work is therefore bounded by the smallest branch, rather than by the branch that the plan happened to pick,
+     * whose vertices would otherwise be checked against every closure edge one at a time.
+     */
+    private class Intersection extends AbstractResourceIterator<Vertex<?, ?>> {
+
+        private final List<ProcedureEdge<?, ?>> edges;
+        private final List<Vertex<?, ?>> fromVertices;
+        private Iterator<Vertex<?, ?>> intersection;
+
+        private Intersection(Vertex<?, ?> fromVertex, ProcedureEdge<?, ?> branch, List<ProcedureEdge<?, ?>> closures) {
+            this.edges = new ArrayList<>(closures.size() + 1);
+            this.fromVertices = new ArrayList<>(closures.size() + 1);
+            this.edges.add(branch);
+            this.fromVertices.add(fromVertex);
+            for (ProcedureEdge<?, ?> closure : closures) {
+                this.edges.add(closure);
+                this.fromVertices.add(answer[closure.from().index()]);
+            }
+            this.intersection = null;
+        }
+
+        private Iterator<Vertex<?, ?>> intersect() {
+            List<ResourceIterator<? extends Vertex<?, ?>>> branches = new ArrayList<>(edges.size());
+            List<Set<Vertex<?, ?>>> fetched = new ArrayList<>(edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                branches.add(edges.get(i).branch(graphMgr, fromVertices.get(i), params));
+                fetched.add(new LinkedHashSet<>());
+            }
+            int smallest = -1;
+            while (smallest < 0) {
+                for (int i = 0; i < branches.size() && smallest < 0; i++) {
+                    if (branches.get(i).hasNext()) fetched.get(i).add(branches.get(i).next());
+                    else smallest = i;
+                }
+            }
+            branches.forEach(ResourceIterator::recycle);
+            List<Vertex<?, ?>> intersection = new ArrayList<>();
+            for (Vertex<?, ?> candidate : fetched.get(smallest)) {
+                boolean isClosed = true;
+                for (int i = 0; i < edges.size() && isClosed; i++) {
+                    if (i == smallest || fetched.get(i).contains(candidate)) continue;
+                    isClosed = edges.get(i).isClosure(graphMgr, fromVertices.get(i), candidate, params);
+                }
+                if (isClosed) intersection.add(candidate);
+            }
+            return intersection.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (intersection == null) intersection = intersect();
+            return intersection.hasNext();
+        }
+
+        @Override
+        public Vertex<?, ?> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return intersection.next();
+        }
+
+        @Override
+        public void recycle() {}
+    }
+
     private static class SeekStack {
 
         private boolean[] seek;
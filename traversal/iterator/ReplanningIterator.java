@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.iterator;
+
+import grakn.core.common.iterator.AbstractResourceIterator;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.graph.GraphManager;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.planner.GraphPlanner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Iterates over the answers of the procedure of a planner, and, as long as it has not answered anything yet, restarts
+ * the iteration with a new procedure whenever the current one is observed to cost far more than the planner estimated.
+ * Once an answer has been returned, the iteration carries on with the procedure it has, as a restart would have to
+ * skip the answers that it already returned, while the observed costs still improve the plans of later traversals.
+ */
+public class ReplanningIterator extends AbstractResourceIterator<VertexMap> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReplanningIterator.class);
+    private static final int MAX_RESTARTS = 2;
+
+    private final GraphPlanner planner;
+    private final GraphManager graphMgr;
+    private final Traversal.Parameters params;
+    private final Set<Identifier.Variable.Name> filter;
+    private final double replanRatio;
+    private ResourceIterator<VertexMap> iterator;
+    private boolean hasAnswered;
+    private int restarts;
+
+    public ReplanningIterator(GraphPlanner planner, GraphManager graphMgr, Traversal.Parameters params,
+                              Set<Identifier.Variable.Name> filter, double replanRatio) {
+        this.planner = planner;
+        this.graphMgr = graphMgr;
+        this.params = params;
+        this.filter = filter;
+        this.replanRatio = replanRatio;
+        this.hasAnswered = false;
+        this.restarts = 0;
+        this.iterator = createIterator();
+    }
+
+    private ResourceIterator<VertexMap> createIterator() {
+        return planner.procedure().iterator(graphMgr, params, filter, replanRatio, this::isRestartable);
+    }
+
+    /**
+     * Returns the number of times that the iteration has been restarted with a new procedure.
+     */
+    public int restarts() {
+        return restarts;
+    }
+
+    private boolean isRestartable() {
+        return !hasAnswered && restarts < MAX_RESTARTS;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (true) {
+            try {
+                return iterator.hasNext();
+            } catch (GraphIterator.Restart e) {
+                restarts++;
+                iterator.recycle();
+                if (LOG.isDebugEnabled()) LOG.debug("Restarting traversal with a new plan: restart {}", restarts);
+                planner.tryOptimise(graphMgr, true);
+                iterator = createIterator();
+            }
+        }
+    }
+
+    @Override
+    public VertexMap next() {
+        if (!hasNext()) throw new NoSuchElementException();
+        hasAnswered = true;
+        return iterator.next();
+    }
+
+    @Override
+    public void recycle() {
+        iterator.recycle();
+    }
+}
@@ -36,6 +36,7 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -43,6 +44,7 @@ import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -56,6 +58,7 @@ import static com.google.ortools.linearsolver.MPSolverParameters.IncrementalityV
 import static com.google.ortools.linearsolver.MPSolverParameters.IntegerParam.INCREMENTALITY;
 import static com.google.ortools.linearsolver.MPSolverParameters.IntegerParam.PRESOLVE;
 import static com.google.ortools.linearsolver.MPSolverParameters.PresolveValues.PRESOLVE_ON;
+import static grakn.common.collection.Collections.list;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_PLANNING_ERROR;
 import static java.time.Duration.between;
 import static java.util.Comparator.comparing;
@@ -71,17 +74,20 @@ public class GraphPlanner implements Planner {
     static final double OBJECTIVE_PLANNER_COST_MAX_CHANGE = 0.2;
     static final double OBJECTIVE_VARIABLE_COST_MAX_CHANGE = 2.0;
     static final double OBJECTIVE_VARIABLE_TO_PLANNER_COST_MIN_CHANGE = 0.02;
+    static final int MAX_ENUMERATED_EDGES = 8;
 
-    private final MPSolver solver;
-    private final MPSolverParameters parameters;
+    private MPSolver solver;
+    private MPSolverParameters parameters;
     private final Map<Identifier, PlannerVertex<?>> vertices;
     private final Set<PlannerEdge<?, ?>> edges;
+    private final Map<String, PlannerEdge<?, ?>> edgesByFingerprint;
     private final AtomicBoolean isOptimising;
     private final CountDownLatch procedureLatch;
 
     protected volatile GraphProcedure procedure;
     private volatile MPSolver.ResultStatus resultStatus;
     private volatile boolean isUpToDate;
+    private volatile boolean isDiverged;
     private volatile long totalDuration;
     private volatile long snapshot;
 
@@ -91,17 +97,14 @@ public class GraphPlanner implements Planner {
     double costExponentUnit;
 
     private GraphPlanner() {
-        solver = MPSolver.createSolver("SCIP");
-        solver.objective().setMinimization();
-        parameters = new MPSolverParameters();
-        parameters.setIntegerParam(PRESOLVE, PRESOLVE_ON.swigValue());
-        parameters.setIntegerParam(INCREMENTALITY, INCREMENTALITY_ON.swigValue());
         vertices = new HashMap<>();
         edges = new HashSet<>();
+        edgesByFingerprint = new HashMap<>();
         procedureLatch = new CountDownLatch(1);
         isOptimising = new AtomicBoolean(false);
         resultStatus = MPSolver.ResultStatus.NOT_SOLVED;
         isUpToDate = false;
+        isDiverged = false;
         totalDuration = 0L;
         totalCostLastRecorded = 0.01;
         totalCostNext = 0.01;
@@ -111,13 +114,28 @@ public class GraphPlanner implements Planner {
     }
 
     static GraphPlanner create(Structure structure) {
+        GraphPlanner planner = register(structure);
+        if (!planner.isEnumerable()) planner.initialise();
+        return planner;
+    }
+
+    /**
+     * Creates a planner that always solves the mixed-integer program, however small the structure,
+     * such that its plans can be compared against those that would be enumerated otherwise.
+     */
+    static GraphPlanner createSolved(Structure structure) {
+        GraphPlanner planner = register(structure);
+        planner.initialise();
+        return planner;
+    }
+
+    private static GraphPlanner register(Structure structure) {
         assert structure.vertices().size() > 1;
         GraphPlanner planner = new GraphPlanner();
         Set<StructureVertex<?>> registeredVertices = new HashSet<>();
         Set<StructureEdge<?, ?>> registeredEdges = new HashSet<>();
         structure.vertices().forEach(vertex -> planner.registerVertex(vertex, registeredVertices, registeredEdges));
         assert planner.vertices().size() > 1 && !planner.edges().isEmpty();
-        planner.initialise();
         return planner;
     }
 
@@ -135,6 +153,17 @@ public class GraphPlanner implements Planner {
         return procedure;
     }
 
+    @Override
+    public boolean isPlanned() {
+        return procedure != null;
+    }
+
+    @Override
+    public double estimatedCost(GraphManager graphMgr) {
+        optimise(graphMgr, false);
+        return procedure().estimatedCost();
+    }
+
     @Override
     public boolean isGraph() { return true; }
 
@@ -153,15 +182,25 @@ public class GraphPlanner implements Planner {
         this.isUpToDate = false;
     }
 
+    /**
+     * Marks the plan as out of date, once an execution of it observed one of its edges to cost far more than estimated,
+     * such that the objective is updated, with the observed costs, and the plan optimised again, without waiting
+     * for the statistics of the graph to move on.
+     */
+    void setDiverged() {
+        this.isDiverged = true;
+        setOutOfDate();
+    }
+
     private boolean isUpToDate() {
         return isUpToDate;
     }
 
-    private boolean isPlanned() {
+    private boolean isSolved() {
         return resultStatus == FEASIBLE || resultStatus == OPTIMAL;
     }
 
-    private boolean isOptimal() {
+    boolean isOptimal() {
         return resultStatus == OPTIMAL;
     }
 
@@ -169,6 +208,18 @@ public class GraphPlanner implements Planner {
         return resultStatus == INFEASIBLE || resultStatus == UNBOUNDED || resultStatus == ABNORMAL;
     }
 
+    /**
+     * Returns whether the structure is small enough for its optimal plan to be enumerated in less
+     * time than it takes to build the mixed-integer program, let alone to solve it.
+     */
+    private boolean isEnumerable() {
+        return edges.size() <= MAX_ENUMERATED_EDGES;
+    }
+
+    private boolean hasSolver() {
+        return solver != null;
+    }
+
     MPSolver solver() {
         return solver;
     }
@@ -207,6 +258,7 @@ public class GraphPlanner implements Planner {
         PlannerVertex<?> to = vertex(structureEdge.to());
         PlannerEdge<?, ?> edge = PlannerEdge.of(from, to, structureEdge);
         edges.add(edge);
+        edgesByFingerprint.put(structureEdge.fingerprint(), edge);
         from.out(edge);
         to.in(edge);
     }
@@ -229,6 +281,11 @@ public class GraphPlanner implements Planner {
     }
 
     private void initialise() {
+        solver = MPSolver.createSolver("SCIP");
+        solver.objective().setMinimization();
+        parameters = new MPSolverParameters();
+        parameters.setIntegerParam(PRESOLVE, PRESOLVE_ON.swigValue());
+        parameters.setIntegerParam(INCREMENTALITY, INCREMENTALITY_ON.swigValue());
         initialiseVariables();
         initialiseConstraintsForVariables();
         initialiseConstraintsForEdges();
@@ -261,8 +318,9 @@ public class GraphPlanner implements Planner {
     }
 
     private void updateObjective(GraphManager graph) {
-        if (snapshot < graph.data().stats().snapshot()) {
-            snapshot = graph.data().stats().snapshot();
+        if (snapshot < graph.data().stats().snapshot() || isDiverged) {
+            isDiverged = false;
+            snapshot = Math.max(snapshot, graph.data().stats().snapshot());
             totalCostNext = 0.1;
             setBranchingFactor(graph);
             setCostExponentUnit(graph);
@@ -274,10 +332,41 @@ public class GraphPlanner implements Planner {
                 totalCostLastRecorded = totalCostNext;
                 vertices.values().forEach(PlannerVertex::recordCost);
                 edges.forEach(PlannerEdge::recordCost);
-                setInitialValues();
+                if (hasSolver()) setInitialValues();
+            }
+        }
+        if (hasSolver() && LOG.isTraceEnabled()) LOG.trace(solver.exportModelAsLpFormat());
+    }
+
+    /**
+     * Returns the weight by which the cost of the starting vertex is multiplied in the objective.
+     */
+    double startingVertexCostWeight() {
+        return Math.pow(branchingFactor, edges.size() * costExponentUnit);
+    }
+
+    /**
+     * Returns the weight by which the cost of an edge is multiplied in the objective, given its
+     * order in the plan, such that the edges traversed earlier on weigh more than those after them.
+     */
+    double edgeCostWeight(int orderNumber) {
+        return Math.pow(branchingFactor, 1 + (edges.size() - orderNumber) * costExponentUnit);
+    }
+
+    /**
+     * Returns the value of the objective for the plan that was last found, whether it was solved or enumerated.
+     */
+    double objectiveValue() {
+        double value = 0;
+        for (PlannerVertex<?> vertex : vertices.values()) {
+            if (vertex.isStartingVertex()) value += vertex.costNext * startingVertexCostWeight();
+        }
+        for (PlannerEdge<?, ?> edge : edges) {
+            for (PlannerEdge.Directional<?, ?> directional : list(edge.forward(), edge.backward())) {
+                if (directional.isSelected()) value += directional.costNext * edgeCostWeight(directional.orderNumber());
             }
         }
-        LOG.trace(solver.exportModelAsLpFormat());
+        return value;
     }
 
     void updateCostNext(double costPrevious, double costNext) {
@@ -335,40 +424,132 @@ public class GraphPlanner implements Planner {
         solver.setHint(new MPVariable[]{}, new double[]{});
     }
 
-    @SuppressWarnings("NonAtomicOperationOnVolatileField")
     void optimise(GraphManager graph, boolean extraTime) {
         if (isOptimising.compareAndSet(false, true)) {
             updateObjective(graph);
             if (isUpToDate() && isOptimal()) {
                 if (LOG.isDebugEnabled()) LOG.debug("Optimisation still optimal and up-to-date");
             } else {
-                // TODO: we should have a more clever logic to allocate extra time
-                long allocatedDuration = extraTime ? HIGHER_TIME_LIMIT_MILLIS : DEFAULT_TIME_LIMIT_MILLIS;
-                Instant start, endSolver, end;
-                totalDuration += allocatedDuration;
-                solver.setTimeLimit(totalDuration);
-
-                start = Instant.now();
-                resultStatus = solver.solve(parameters);
-                resetInitialValues();
-                endSolver = Instant.now();
-                if (isError()) throwPlanningError();
-                else assert isPlanned();
-
-                createProcedure();
-                end = Instant.now();
-
-                isUpToDate = true;
-                totalDuration -= allocatedDuration - between(start, endSolver).toMillis();
-                printDebug(start, endSolver, end);
+                plan(extraTime);
             }
             isOptimising.set(false);
         }
     }
 
+    void plan(boolean extraTime) {
+        if (hasSolver()) solve(extraTime);
+        else enumerate();
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    private void solve(boolean extraTime) {
+        // TODO: we should have a more clever logic to allocate extra time
+        long allocatedDuration = extraTime ? HIGHER_TIME_LIMIT_MILLIS : DEFAULT_TIME_LIMIT_MILLIS;
+        Instant start, endSolver, end;
+        totalDuration += allocatedDuration;
+        solver.setTimeLimit(totalDuration);
+
+        start = Instant.now();
+        resultStatus = solver.solve(parameters);
+        resetInitialValues();
+        endSolver = Instant.now();
+        if (isError()) throwPlanningError();
+        else assert isSolved();
+
+        vertices.values().forEach(PlannerVertex::recordResults);
+        edges.forEach(PlannerEdge::recordResults);
+        createProcedure();
+        end = Instant.now();
+
+        isUpToDate = true;
+        totalDuration -= allocatedDuration - between(start, endSolver).toMillis();
+        printDebug(start, endSolver, end);
+    }
+
+    private void enumerate() {
+        Instant start, endEnumerator, end;
+        start = Instant.now();
+        if (!new JoinOrderEnumerator(this).execute()) throwPlanningError();
+        resultStatus = OPTIMAL;
+        endEnumerator = Instant.now();
+
+        createProcedure();
+        end = Instant.now();
+
+        isUpToDate = true;
+        printDebug(start, endEnumerator, end);
+    }
+
+    /**
+     * Records a plan that traverses the given directional edges in order, starting from the vertex that the first
+     * of them goes out of, into the results of the vertices and edges of this planner.
+     */
+    void recordResults(List<PlannerEdge.Directional<?, ?>> plan) {
+        assert plan.size() == edges.size();
+        Set<PlannerVertex<?>> hasIncomingEdges = new HashSet<>();
+        Set<PlannerVertex<?>> hasOutgoingEdges = new HashSet<>();
+        edges.forEach(edge -> {
+            edge.forward().recordResults(false, 0);
+            edge.backward().recordResults(false, 0);
+        });
+        for (int i = 0; i < plan.size(); i++) {
+            plan.get(i).recordResults(true, i + 1);
+            hasOutgoingEdges.add(plan.get(i).from());
+            hasIncomingEdges.add(plan.get(i).to());
+        }
+        PlannerVertex<?> start = plan.get(0).from();
+        vertices.values().forEach(vertex -> vertex.recordResults(
+                vertex.equals(start), hasIncomingEdges.contains(vertex), hasOutgoingEdges.contains(vertex)
+        ));
+    }
+
+    /**
+     * Returns the plan that was last found, as the fingerprints of the edges that it traverses in order,
+     * or an empty optional if no plan has been found yet.
+     */
+    Optional<PlanStore.Plan> storedPlan() {
+        if (procedure == null) return Optional.empty();
+        String[] fingerprints = new String[edges.size()];
+        boolean[] isForward = new boolean[edges.size()];
+        for (Map.Entry<String, PlannerEdge<?, ?>> entry : edgesByFingerprint.entrySet()) {
+            for (PlannerEdge.Directional<?, ?> directional : list(entry.getValue().forward(), entry.getValue().backward())) {
+                if (!directional.isSelected()) continue;
+                int order = directional.orderNumber() - 1;
+                if (order < 0 || order >= edges.size() || fingerprints[order] != null) return Optional.empty();
+                fingerprints[order] = entry.getKey();
+                isForward[order] = directional == entry.getValue().forward();
+            }
+        }
+        if (Arrays.asList(fingerprints).contains(null)) return Optional.empty();
+        return Optional.of(new PlanStore.Plan(snapshot, Arrays.asList(fingerprints), isForward));
+    }
+
+    /**
+     * Restores a plan that was found for a structure with the same fingerprint as that of this planner.
+     * The plan is taken to be up-to-date for as long as the statistics of the graph remain at the
+     * snapshot that it was found with.
+     *
+     * @return false if the plan does not match the edges of this planner, which remains unplanned
+     */
+    boolean restore(PlanStore.Plan plan) {
+        if (plan.edges.size() != edges.size()) return false;
+        List<PlannerEdge.Directional<?, ?>> directionals = new ArrayList<>();
+        for (int i = 0; i < plan.edges.size(); i++) {
+            PlannerEdge<?, ?> edge = edgesByFingerprint.get(plan.edges.get(i));
+            if (edge == null) return false;
+            directionals.add(plan.isForward[i] ? edge.forward() : edge.backward());
+        }
+        recordResults(directionals);
+        snapshot = plan.snapshot;
+        resultStatus = OPTIMAL;
+        isUpToDate = true;
+        createProcedure();
+        return true;
+    }
+
     private void throwPlanningError() {
         LOG.error(toString());
-        LOG.error(solver.exportModelAsLpFormat());
+        if (hasSolver()) LOG.error(solver.exportModelAsLpFormat());
         throw GraknException.of(UNEXPECTED_PLANNING_ERROR);
     }
 
@@ -382,8 +563,6 @@ public class GraphPlanner implements Planner {
     }
 
     private void createProcedure() {
-        vertices.values().forEach(PlannerVertex::recordResults);
-        edges.forEach(PlannerEdge::recordResults);
         procedure = GraphProcedure.create(this);
         if (procedureLatch.getCount() > 0) procedureLatch.countDown();
     }
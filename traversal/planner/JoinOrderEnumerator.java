@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.planner;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the optimal plan of a small graph structure, under the same objective that the {@code GraphPlanner}
+ * otherwise solves as a mixed-integer program, by dynamic programming over the partial plans of the structure.
+ *
+ * A partial plan is a prefix of the edges in the order they are traversed, which may be extended by any
+ * edge from a vertex that it has reached, to a vertex that it has not yet left, nor started from. The cost
+ * of the rest of the plan only depends on which edges the prefix has traversed, which vertices it has
+ * reached and which vertices it has left, so the cheapest extension of every such prefix is only searched once.
+ */
+class JoinOrderEnumerator {
+
+    private final GraphPlanner planner;
+    private final List<PlannerVertex<?>> vertices;
+    private final List<PlannerEdge<?, ?>> edges;
+    private final Map<PlannerVertex<?>, Integer> vertexIndices;
+    private final long allEdges;
+    private Map<Long, Step> steps;
+    private int start;
+
+    JoinOrderEnumerator(GraphPlanner planner) {
+        assert planner.edges().size() <= GraphPlanner.MAX_ENUMERATED_EDGES;
+        this.planner = planner;
+        this.vertices = new ArrayList<>(planner.vertices());
+        this.edges = new ArrayList<>(planner.edges());
+        this.vertexIndices = new HashMap<>();
+        for (int i = 0; i < vertices.size(); i++) vertexIndices.put(vertices.get(i), i);
+        this.allEdges = (1L << edges.size()) - 1;
+    }
+
+    /**
+     * Records the optimal plan into the vertices and edges of the planner.
+     *
+     * @return false if the structure has no plan at all
+     */
+    boolean execute() {
+        double bestCost = Double.POSITIVE_INFINITY;
+        int bestStart = -1;
+        Map<Long, Step> bestSteps = null;
+        for (start = 0; start < vertices.size(); start++) {
+            steps = new HashMap<>();
+            double cost = vertices.get(start).costNext * planner.startingVertexCostWeight() + cost(0, 1L << start, 0, 1);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestStart = start;
+                bestSteps = steps;
+            }
+        }
+        if (bestStart < 0) return false;
+        record(bestStart, bestSteps);
+        return true;
+    }
+
+    private double cost(long traversed, long reached, long left, int orderNumber) {
+        if (traversed == allEdges) return 0;
+        long key = key(traversed, reached, left);
+        Step step = steps.get(key);
+        if (step != null) return step.cost;
+
+        step = Step.NONE;
+        for (int e = 0; e < edges.size(); e++) {
+            if ((traversed & (1L << e)) != 0) continue;
+            for (boolean isForward : new boolean[]{true, false}) {
+                PlannerEdge.Directional<?, ?> edge = directional(e, isForward);
+                int from = vertexIndices.get(edge.from()), to = vertexIndices.get(edge.to());
+                if (!isTraversable(from, to, reached, left)) continue;
+                double cost = edge.costNext * planner.edgeCostWeight(orderNumber) +
+                        cost(traversed | (1L << e), reached | (1L << to), left | (1L << from), orderNumber + 1);
+                if (cost < step.cost) step = new Step(cost, e, isForward);
+            }
+        }
+        steps.put(key, step);
+        return step.cost;
+    }
+
+    private boolean isTraversable(int from, int to, long reached, long left) {
+        // the starting vertex has no incoming edges, and a vertex has no incoming edges after its outgoing edges,
+        // other than the edges that close back onto itself
+        return (reached & (1L << from)) != 0 && to != start && (from == to || (left & (1L << to)) == 0);
+    }
+
+    private void record(int start, Map<Long, Step> steps) {
+        List<PlannerEdge.Directional<?, ?>> plan = new ArrayList<>();
+        long traversed = 0, reached = 1L << start, left = 0;
+        while (traversed != allEdges) {
+            Step step = steps.get(key(traversed, reached, left));
+            assert step != null && step.edge >= 0;
+            PlannerEdge.Directional<?, ?> edge = directional(step.edge, step.isForward);
+            plan.add(edge);
+            traversed |= 1L << step.edge;
+            reached |= 1L << vertexIndices.get(edge.to());
+            left |= 1L << vertexIndices.get(edge.from());
+        }
+        assert plan.get(0).from().equals(vertices.get(start));
+        planner.recordResults(plan);
+    }
+
+    private PlannerEdge.Directional<?, ?> directional(int edge, boolean isForward) {
+        return isForward ? edges.get(edge).forward() : edges.get(edge).backward();
+    }
+
+    private long key(long traversed, long reached, long left) {
+        return traversed | (reached << edges.size()) | (left << (edges.size() + vertices.size()));
+    }
+
+    private static class Step {
+
+        private static final Step NONE = new Step(Double.POSITIVE_INFINITY, -1, false);
+
+        private final double cost;
+        private final int edge;
+        private final boolean isForward;
+
+        private Step(double cost, int edge, boolean isForward) {
+            this.cost = cost;
+            this.edge = edge;
+            this.isForward = isForward;
+        }
+    }
+}
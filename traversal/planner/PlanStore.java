@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.planner;
+
+import grakn.core.traversal.structure.Structure;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the plans that {@code GraphPlanner}s have found, as the order in which they traverse the edges of their
+ * structures, such that the plans can be written out and read back in, and planners restored from them rather
+ * than planned again from scratch.
+ *
+ * Plans are keyed by the fingerprints of their structures, which, unlike their hash codes, remain the same
+ * across restarts of the server. A planner that is restored from a plan is only optimised again once the
+ * statistics of the graph move on from the snapshot that the plan was found with.
+ */
+public class PlanStore {
+
+    private static final int MAX_FINGERPRINT_LENGTH = 16_384;
+
+    private final ConcurrentMap<String, Plan> plans;
+
+    public PlanStore() {
+        plans = new ConcurrentHashMap<>();
+    }
+
+    public Planner create(Structure structure) {
+        if (!plans.isEmpty() && structure.vertices().size() > 1) {
+            Plan plan = plans.remove(structure.fingerprint());
+            if (plan != null) {
+                GraphPlanner planner = GraphPlanner.create(structure);
+                if (planner.restore(plan)) return planner;
+            }
+        }
+        return Planner.create(structure);
+    }
+
+    public void put(Structure structure, Planner planner) {
+        if (!planner.isGraph()) return;
+        String fingerprint = structure.fingerprint();
+        if (fingerprint.length() <= MAX_FINGERPRINT_LENGTH) {
+            planner.asGraph().storedPlan().ifPresent(plan -> plans.put(fingerprint, plan));
+        }
+    }
+
+    public void write(DataOutput output) throws IOException {
+        List<Map.Entry<String, Plan>> entries = new ArrayList<>(plans.entrySet());
+        output.writeInt(entries.size());
+        for (Map.Entry<String, Plan> entry : entries) {
+            output.writeUTF(entry.getKey());
+            entry.getValue().write(output);
+        }
+    }
+
+    public static PlanStore read(DataInput input) throws IOException {
+        PlanStore store = new PlanStore();
+        int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            String fingerprint = input.readUTF();
+            store.plans.put(fingerprint, Plan.read(input));
+        }
+        return store;
+    }
+
+    static class Plan {
+
+        final long snapshot;
+        final List<String> edges;
+        final boolean[] isForward;
+
+        Plan(long snapshot, List<String> edges, boolean[] isForward) {
+            assert edges.size() == isForward.length;
+            this.snapshot = snapshot;
+            this.edges = edges;
+            this.isForward = isForward;
+        }
+
+        private void write(DataOutput output) throws IOException {
+            output.writeLong(snapshot);
+            output.writeInt(edges.size());
+            for (int i = 0; i < edges.size(); i++) {
+                output.writeUTF(edges.get(i));
+                output.writeBoolean(isForward[i]);
+            }
+        }
+
+        private static Plan read(DataInput input) throws IOException {
+            long snapshot = input.readLong();
+            int size = input.readInt();
+            List<String> edges = new ArrayList<>(size);
+            boolean[] isForward = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                edges.add(input.readUTF());
+                isForward[i] = input.readBoolean();
+            }
+            return new Plan(snapshot, edges, isForward);
+        }
+    }
+}
@@ -30,6 +30,17 @@ public interface Planner {
 
     Procedure procedure();
 
+    /**
+     * Returns whether the planner already has a procedure, which it may still optimise further.
+     */
+    boolean isPlanned();
+
+    /**
+     * Returns the number of vertices that the procedure of this planner is estimated to traverse, by the statistics
+     * of the graph, planning it first if it has not been planned yet.
+     */
+    double estimatedCost(GraphManager graphMgr);
+
     default void tryOptimise(GraphManager graphMgr, boolean extraTime) {
         if (isGraph()) this.asGraph().optimise(graphMgr, extraTime);
     }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.planner;
+
+import com.google.ortools.Loader;
+import grakn.core.graph.common.Encoding;
+import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.structure.Structure;
+import grakn.core.traversal.structure.StructureVertex;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static grakn.common.collection.Collections.list;
+import static java.time.Duration.between;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+/**
+ * Compares the plans that the {@code JoinOrderEnumerator} finds for randomly generated structures, and how long it
+ * takes to find them, against the plans that SCIP finds by solving the same structures as mixed-integer programs.
+ */
+public class PlannerBenchmarkTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlannerBenchmarkTest.class);
+    private static final int STRUCTURES = 200;
+    private static final double TOLERANCE = 1e-6;
+    private static final long SEED = 0;
+
+    @BeforeClass
+    public static void loadSolver() {
+        Loader.loadNativeLibraries();
+    }
+
+    @Test
+    public void enumerated_plans_are_no_worse_than_solved_plans() {
+        Random random = new Random(SEED);
+        Duration enumerated = Duration.ZERO, solved = Duration.ZERO;
+        int optimal = 0;
+        for (int i = 0; i < STRUCTURES; i++) {
+            Structure structure = structure(random, 2 + random.nextInt(GraphPlanner.MAX_ENUMERATED_EDGES - 1));
+            GraphPlanner enumerator = GraphPlanner.create(structure);
+            GraphPlanner solver = GraphPlanner.createSolved(structure);
+            setCosts(enumerator, solver, random);
+
+            Instant start = Instant.now();
+            enumerator.plan(false);
+            Instant endEnumerator = Instant.now();
+            solver.plan(true);
+            Instant endSolver = Instant.now();
+            enumerated = enumerated.plus(between(start, endEnumerator));
+            solved = solved.plus(between(endEnumerator, endSolver));
+
+            double enumeratedValue = enumerator.objectiveValue(), solvedValue = solver.objectiveValue();
+            String message = String.format("Enumerated plan costs %s, but the solved plan costs %s:\n%s",
+                                           enumeratedValue, solvedValue, solver);
+            if (solver.isOptimal()) {
+                // both planners minimise the same objective, so their optimal plans cost the same
+                assertEquals(message, solvedValue, enumeratedValue, solvedValue * TOLERANCE);
+                optimal++;
+            } else {
+                assertTrue(message, enumeratedValue <= solvedValue * (1 + TOLERANCE));
+            }
+        }
+        LOG.info("{} structures: enumerated in {} ms, solved in {} ms, of which {} were solved optimally",
+                 STRUCTURES, enumerated.toMillis(), solved.toMillis(), optimal);
+    }
+
+    /**
+     * Generates a connected structure of up to the given number of edges between thing vertices, and from thing
+     * vertices to type vertices: has edges, role player edges, self-closures of has edges, and isa edges.
+     */
+    private static Structure structure(Random random, int edges) {
+        Structure structure = new Structure();
+        List<StructureVertex.Thing> things = new ArrayList<>();
+        List<StructureVertex.Type> types = new ArrayList<>();
+        things.add(structure.thingVertex(Identifier.Variable.name("x0")));
+        for (int e = 0; e < edges; e++) {
+            StructureVertex.Thing from = things.get(random.nextInt(things.size()));
+            // the first edge joins two things, such that no vertex is only joined by a self-closure
+            int kind = structure.vertices().size() == 1 ? 0 : random.nextInt(4);
+            if (kind == 0 || kind == 1) {
+                StructureVertex.Thing to;
+                if (things.size() == 1 || random.nextBoolean()) {
+                    to = structure.thingVertex(Identifier.Variable.name("x" + things.size()));
+                    things.add(to);
+                } else {
+                    to = things.get(random.nextInt(things.size()));
+                    if (to == from || isAdjacent(from, to)) continue;
+                }
+                if (kind == 0) {
+                    if (random.nextBoolean()) structure.nativeEdge(from, to, Encoding.Edge.Thing.HAS);
+                    else structure.nativeEdge(to, from, Encoding.Edge.Thing.HAS);
+                } else {
+                    structure.rolePlayer(from, to, 1);
+                }
+            } else if (kind == 2) {
+                if (isAdjacent(from, from)) continue;
+                structure.nativeEdge(from, from, Encoding.Edge.Thing.HAS);
+            } else {
+                StructureVertex.Type type;
+                if (types.isEmpty() || random.nextBoolean()) {
+                    type = structure.typeVertex(Identifier.Variable.name("t" + types.size()));
+                    types.add(type);
+                } else {
+                    type = types.get(random.nextInt(types.size()));
+                    if (isAdjacent(from, type)) continue;
+                }
+                structure.nativeEdge(from, type, Encoding.Edge.ISA, random.nextBoolean());
+            }
+        }
+        return structure;
+    }
+
+    private static boolean isAdjacent(StructureVertex<?> from, StructureVertex<?> to) {
+        return from.outs().stream().anyMatch(e -> e.to().equals(to)) || from.ins().stream().anyMatch(e -> e.from().equals(to));
+    }
+
+    /**
+     * Gives both planners the same random costs, which span several orders of magnitude, as the estimates do.
+     */
+    private static void setCosts(GraphPlanner enumerator, GraphPlanner solver, Random random) {
+        double branchingFactor = 0.1 + random.nextDouble() * 10;
+        double costExponentUnit = 0.1 + random.nextDouble() / enumerator.edges().size();
+        for (GraphPlanner planner : list(enumerator, solver)) {
+            planner.branchingFactor = branchingFactor;
+            planner.costExponentUnit = costExponentUnit;
+        }
+        for (PlannerVertex<?> vertex : enumerator.vertices()) {
+            double cost = Math.pow(10, random.nextDouble() * 4);
+            vertex.setObjectiveCoefficient(cost);
+            solver.vertices().stream().filter(v -> v.id().equals(vertex.id())).findAny().get().setObjectiveCoefficient(cost);
+        }
+        for (PlannerEdge<?, ?> edge : enumerator.edges()) {
+            PlannerEdge<?, ?> solverEdge = solver.edges().stream().filter(
+                    e -> e.from().id().equals(edge.from().id()) && e.to().id().equals(edge.to().id())
+            ).findAny().get();
+            double forwardCost = Math.pow(10, random.nextDouble() * 3), backwardCost = Math.pow(10, random.nextDouble() * 3);
+            edge.forward().setObjectiveCoefficient(forwardCost);
+            edge.backward().setObjectiveCoefficient(backwardCost);
+            solverEdge.forward().setObjectiveCoefficient(forwardCost);
+            solverEdge.backward().setObjectiveCoefficient(backwardCost);
+        }
+    }
+}
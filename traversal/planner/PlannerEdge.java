@@ -37,6 +37,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Stream;
 
 import static grakn.common.collection.Collections.pair;
@@ -147,6 +148,9 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
     public static abstract class Directional<VERTEX_DIR_FROM extends PlannerVertex<?>, VERTEX_DIR_TO extends PlannerVertex<?>>
             extends TraversalEdge<VERTEX_DIR_FROM, VERTEX_DIR_TO> {
 
+        private static final long MIN_OBSERVED_BRANCHES = 32;
+        private static final long MIN_OBSERVED_VERTICES = 1024;
+
         MPVariable varIsSelected;
         MPVariable[] varOrderAssignment;
         private MPVariable varOrderNumber;
@@ -162,7 +166,9 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
         private boolean hasInitialValue;
         private boolean isInitialisedVariables;
         private boolean isInitialisedConstraints;
-        private double costNext;
+        private final LongAdder observedBranches;
+        private final LongAdder observedVertices;
+        double costNext;
         double costLastRecorded;
 
         private Directional<VERTEX_DIR_TO, VERTEX_DIR_FROM> opposite;
@@ -174,6 +180,8 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             this.costLastRecorded = 0.01; // non-zero value for safe division
             this.isInitialisedVariables = false;
             this.isInitialisedConstraints = false;
+            this.observedBranches = new LongAdder();
+            this.observedVertices = new LongAdder();
             this.varPrefix = "edge_var_" + this.toString() + "_";
             this.conPrefix = "edge_con_" + this.toString() + "_";
         }
@@ -255,13 +263,51 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             return from.equals(to);
         }
 
+        /**
+         * Returns the cost that this edge was last planned with: the number of vertices it is estimated to branch out
+         * to from each vertex it branches from.
+         */
+        public double cost() {
+            return costLastRecorded;
+        }
+
+        /**
+         * Records that executions of a plan branched over this edge from a number of vertices, to a number of
+         * vertices altogether, and returns whether this edge has since been observed to branch out to more vertices,
+         * on average, than its cost estimated by more than the given ratio. If so, the plan is unlikely to be optimal,
+         * and the planner is told to plan again, with the observed cost of this edge in place of the estimated one.
+         */
+        public boolean observe(long branches, long vertices, double replanRatio) {
+            observedBranches.add(branches);
+            observedVertices.add(vertices);
+            double observed = observedCost();
+            if (costNext > 0 && observed > costNext * replanRatio) {
+                planner.setDiverged();
+                return true;
+            } else {
+                return false;
+            }
+        }
+
+        /**
+         * Returns the average number of vertices that executions have been observed to branch out to over this edge,
+         * or 0 if too few have been observed to tell. Executions may stop short of every vertex of a branch, such
+         * that the observed cost of an edge is only ever used to raise its estimated cost, not to lower it.
+         */
+        private double observedCost() {
+            long branches = observedBranches.sum();
+            long vertices = observedVertices.sum();
+            if (branches == 0 || (branches < MIN_OBSERVED_BRANCHES && vertices < MIN_OBSERVED_VERTICES)) return 0;
+            else return (double) vertices / branches;
+        }
+
         protected void setObjectiveCoefficient(double cost) {
             assert !Double.isNaN(cost);
-            int expMultiplier = planner.edges().size() - 1;
-            for (int i = 0; i < planner.edges().size(); i++) {
-                double exp = 1 + (expMultiplier-- * planner.costExponentUnit);
-                double coeff = cost * Math.pow(planner.branchingFactor, exp);
-                planner.objective().setCoefficient(varOrderAssignment[i], coeff);
+            cost = Math.max(cost, observedCost());
+            if (isInitialisedVariables) {
+                for (int i = 0; i < planner.edges().size(); i++) {
+                    planner.objective().setCoefficient(varOrderAssignment[i], cost * planner.edgeCostWeight(i + 1));
+                }
             }
             costNext = cost;
             planner.updateCostNext(costLastRecorded, costNext);
@@ -277,6 +323,11 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             varOrderNumber_result = (int) Math.round(varOrderNumber.solutionValue());
         }
 
+        void recordResults(boolean isSelected, int orderNumber) {
+            varIsSelected_result = isSelected ? 1 : 0;
+            varOrderNumber_result = orderNumber;
+        }
+
         private void resetInitialValue() {
             hasInitialValue = false;
             varIsSelected_init = 0;
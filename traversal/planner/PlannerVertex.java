@@ -29,11 +29,16 @@ import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.graph.TraversalVertex;
 
 import javax.annotation.Nullable;
+import java.util.List;
 
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.traversal.predicate.PredicateOperator.Equality.EQ;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LTE;
 
 public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Properties>
         extends TraversalVertex<PlannerEdge.Directional<?, ?>, PROPERTIES> {
@@ -52,7 +57,7 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
     private int varHasOutgoingEdges_result;
     private boolean isInitialisedVariables;
     private boolean isInitialisedConstraints;
-    private double costNext;
+    double costNext;
     double costLastRecorded;
     MPVariable varIsStartingVertex;
     MPVariable varIsEndingVertex;
@@ -131,6 +136,14 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
         MPConstraint conHasIncomingEdges = planner.solver().makeConstraint(0, ins().size() - 1, conPrefix + "has_incoming_edges");
         conHasIncomingEdges.setCoefficient(varHasIncomingEdges, ins().size());
         ins().forEach(edge -> conHasIncomingEdges.setCoefficient(edge.varIsSelected, -1));
+
+        // a self-closure counts as an incoming edge, so the vertex cannot start the plan, and must be reached
+        // by an edge from another vertex instead, before its self-closure is checked
+        List<PlannerEdge.Directional<?, ?>> reachingEdges = iterate(ins()).filter(edge -> !edge.isSelfClosure()).toList();
+        if (reachingEdges.size() < ins().size()) {
+            MPConstraint conIsReached = planner.solver().makeConstraint(1, reachingEdges.size(), conPrefix + "is_reached");
+            reachingEdges.forEach(edge -> conIsReached.setCoefficient(edge.varIsSelected, 1));
+        }
     }
 
     private void initialiseConstraintsForOutgoingEdges() {
@@ -152,11 +165,19 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     protected void setObjectiveCoefficient(double cost) {
         assert !Double.isNaN(cost);
-        double exp = planner.edges().size() * planner.costExponentUnit;
-        double coeff = cost * Math.pow(planner.branchingFactor, exp);
-        planner.objective().setCoefficient(varIsStartingVertex, coeff);
+        if (isInitialisedVariables) {
+            planner.objective().setCoefficient(varIsStartingVertex, cost * planner.startingVertexCostWeight());
+        }
         costNext = cost;
-        planner.updateCostNext(costLastRecorded, costNext);
+        if (planner != null) planner.updateCostNext(costLastRecorded, costNext);
+    }
+
+    /**
+     * Returns the cost that this vertex was last planned with: the number of vertices it is estimated to start
+     * from, if it is the starting vertex of the plan.
+     */
+    public double cost() {
+        return costLastRecorded;
     }
 
     void recordCost() {
@@ -169,6 +190,18 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
         varIsEndingVertex_result = (int) Math.round(varIsEndingVertex.solutionValue());
         varHasIncomingEdges_result = (int) Math.round(varHasIncomingEdges.solutionValue());
         varHasOutgoingEdges_result = (int) Math.round(varHasOutgoingEdges.solutionValue());
+        assertResults();
+    }
+
+    void recordResults(boolean isStartingVertex, boolean hasIncomingEdges, boolean hasOutgoingEdges) {
+        varIsStartingVertex_result = isStartingVertex ? 1 : 0;
+        varIsEndingVertex_result = hasOutgoingEdges ? 0 : 1;
+        varHasIncomingEdges_result = hasIncomingEdges ? 1 : 0;
+        varHasOutgoingEdges_result = hasOutgoingEdges ? 1 : 0;
+        assertResults();
+    }
+
+    private void assertResults() {
         assert !(isStartingVertex() && isEndingVertex());
         assert (isStartingVertex() ^ hasIncomingEdges());
         assert (isEndingVertex() ^ hasOutgoingEdges());
@@ -248,6 +281,9 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
 
     public static class Thing extends PlannerVertex<Properties.Thing> {
 
+        private static final double OPEN_RANGE_SELECTIVITY = 1.0 / 3;
+        private static final double CLOSED_RANGE_SELECTIVITY = 1.0 / 4;
+
         Thing(Identifier id) {
             this(id, null);
         }
@@ -269,7 +305,7 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     setObjectiveCoefficient(props().types().size());
                 } else {
-                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()));
+                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()) * rangeSelectivity());
                 }
             } else if (!props().predicates().isEmpty()) {
                 ResourceIterator<TypeVertex> attTypes = iterate(props().predicates())
@@ -278,13 +314,34 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     setObjectiveCoefficient(attTypes.count());
                 } else {
-                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(attTypes.stream()));
+                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(attTypes.stream()) * rangeSelectivity());
                 }
             } else {
                 setObjectiveCoefficient(graph.data().stats().thingVertexTransitiveCount(graph.schema().rootThingType()));
             }
         }
 
+        /**
+         * Returns the fraction of attributes expected to be read by a range scan over the values bounded
+         * by the inequality predicates on this vertex, which are only known once the plan is executed,
+         * and are therefore estimated with the fixed selectivities of an open and a closed range.
+         */
+        private double rangeSelectivity() {
+            boolean hasLower = iterate(props().predicates()).anyMatch(
+                    p -> isRangeable(p.valueType()) && (p.operator().equals(GT) || p.operator().equals(GTE))
+            );
+            boolean hasUpper = iterate(props().predicates()).anyMatch(
+                    p -> isRangeable(p.valueType()) && (p.operator().equals(LT) || p.operator().equals(LTE))
+            );
+            if (hasLower && hasUpper) return CLOSED_RANGE_SELECTIVITY;
+            else if (hasLower || hasUpper) return OPEN_RANGE_SELECTIVITY;
+            else return 1;
+        }
+
+        private static boolean isRangeable(Encoding.ValueType valueType) {
+            return valueType.isSorted() || valueType.equals(Encoding.ValueType.STRING);
+        }
+
         @Override
         public boolean isThing() { return true; }
 
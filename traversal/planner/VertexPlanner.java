@@ -18,6 +18,7 @@
 
 package grakn.core.traversal.planner;
 
+import grakn.core.graph.GraphManager;
 import grakn.core.traversal.procedure.VertexProcedure;
 import grakn.core.traversal.structure.Structure;
 import grakn.core.traversal.structure.StructureEdge;
@@ -25,9 +26,11 @@ import grakn.core.traversal.structure.StructureVertex;
 
 public class VertexPlanner implements Planner {
 
+    private final PlannerVertex<?> vertex;
     private final VertexProcedure procedure;
 
-    private VertexPlanner(VertexProcedure procedure) {
+    private VertexPlanner(PlannerVertex<?> vertex, VertexProcedure procedure) {
+        this.vertex = vertex;
         this.procedure = procedure;
     }
 
@@ -35,7 +38,7 @@ public class VertexPlanner implements Planner {
         assert structure.vertices().size() == 1;
         PlannerVertex<?> plannerVertex = toPlanner(structure.vertices().iterator().next());
         VertexProcedure proc = VertexProcedure.create(plannerVertex);
-        return new VertexPlanner(proc);
+        return new VertexPlanner(plannerVertex, proc);
     }
 
     private static PlannerVertex<?> toPlanner(StructureVertex<?> structureVertex) {
@@ -68,6 +71,17 @@ public class VertexPlanner implements Planner {
         return procedure;
     }
 
+    @Override
+    public boolean isPlanned() {
+        return true;
+    }
+
+    @Override
+    public double estimatedCost(GraphManager graphMgr) {
+        vertex.updateObjective(graphMgr);
+        return vertex.costNext;
+    }
+
     @Override
     public boolean isVertex() { return true; }
 
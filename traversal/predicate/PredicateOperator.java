@@ -167,7 +167,7 @@ public abstract class PredicateOperator {
         @Override
         SubString asSubString() { return this; }
 
-        private static final SubString CONTAINS = new SubString(GraqlToken.Predicate.SubString.CONTAINS) {
+        public static final SubString CONTAINS = new SubString(GraqlToken.Predicate.SubString.CONTAINS) {
             @Override
             boolean apply(String vertexValue, Traversal.Parameters.Value predicateValue) {
                 assert predicateValue.isString();
@@ -191,7 +191,7 @@ public abstract class PredicateOperator {
             }
         };
 
-        private static final SubString LIKE = new SubString(GraqlToken.Predicate.SubString.LIKE) {
+        public static final SubString LIKE = new SubString(GraqlToken.Predicate.SubString.LIKE) {
             @Override
             boolean apply(String vertexValue, Traversal.Parameters.Value predicateValue) {
                 assert predicateValue.isRegex();
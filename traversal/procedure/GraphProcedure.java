@@ -18,15 +18,19 @@
 
 package grakn.core.traversal.procedure;
 
+import grakn.common.collection.Pair;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.concurrent.common.ConcurrentSet;
 import grakn.core.concurrent.producer.Producer;
 import grakn.core.graph.GraphManager;
+import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.Traversal;
+import grakn.core.traversal.TraversalProfile;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
+import grakn.core.traversal.iterator.BatchIterator;
 import grakn.core.traversal.iterator.GraphIterator;
 import grakn.core.traversal.planner.GraphPlanner;
 import grakn.core.traversal.planner.PlannerEdge;
@@ -44,23 +48,38 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Stream;
 
+import static grakn.common.collection.Collections.list;
+import static grakn.common.collection.Collections.pair;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.concurrent.producer.Producers.async;
+import static java.util.stream.Collectors.toList;
 
 public class GraphProcedure implements Procedure {
 
     private static final Logger LOG = LoggerFactory.getLogger(GraphProcedure.class);
+    private static final int PARTITIONS_PER_WORKER = 4;
 
     private final Map<Identifier, ProcedureVertex<?, ?>> vertices;
     private final ProcedureEdge<?, ?>[] edges;
+    private final PlannerEdge.Directional<?, ?>[] plannerEdges;
+    private final Map<Integer, List<ProcedureEdge<?, ?>>> intersections;
+    private final Set<Integer> intersectedClosures;
+    private volatile Pair<Set<Identifier.Variable.Name>, List<ProcedureVertex<?, ?>>> filteredVertices;
     private ProcedureVertex<?, ?> startVertex;
+    private double startCost;
 
     private GraphProcedure(int edgeSize) {
         vertices = new HashMap<>();
         edges = new ProcedureEdge<?, ?>[edgeSize];
+        plannerEdges = new PlannerEdge.Directional<?, ?>[edgeSize];
+        intersections = new HashMap<>();
+        intersectedClosures = new HashSet<>();
+        startCost = Double.NaN;
     }
 
     public static GraphProcedure create(GraphPlanner planner) {
@@ -68,6 +87,9 @@ public class GraphProcedure implements Procedure {
         Set<PlannerVertex<?>> registeredVertices = new HashSet<>();
         Set<PlannerEdge.Directional<?, ?>> registeredEdges = new HashSet<>();
         planner.vertices().forEach(vertex -> procedure.registerVertex(vertex, registeredVertices, registeredEdges));
+        planner.vertices().stream().filter(PlannerVertex::isStartingVertex).findAny()
+                .ifPresent(vertex -> procedure.startCost = vertex.cost());
+        procedure.registerIntersections();
         return procedure;
     }
 
@@ -88,6 +110,26 @@ public class GraphProcedure implements Procedure {
         return startVertex;
     }
 
+    /**
+     * Returns the named vertices of this procedure that are within the given filter, which every answer of the
+     * procedure is projected onto. The vertices of the last filter are kept, as every iterator of a traversal asks
+     * for the same filter.
+     */
+    public List<ProcedureVertex<?, ?>> filteredVertices(Set<Identifier.Variable.Name> filter) {
+        Pair<Set<Identifier.Variable.Name>, List<ProcedureVertex<?, ?>>> filtered = filteredVertices;
+        if (filtered == null || !filtered.first().equals(filter)) {
+            filtered = pair(filter, vertices().filter(
+                    v -> v.id().isName() && filter.contains(v.id().asVariable().asName())
+            ).collect(toList()));
+            filteredVertices = filtered;
+        }
+        return filtered.second();
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
     public ProcedureVertex<?, ?> vertex(Identifier identifier) {
         return vertices.get(identifier);
     }
@@ -130,6 +172,7 @@ public class GraphProcedure implements Procedure {
         ProcedureVertex<?, ?> to = vertex(plannerEdge.to());
         ProcedureEdge<?, ?> edge = ProcedureEdge.of(from, to, plannerEdge);
         registerEdge(edge);
+        plannerEdges[edge.order() - 1] = plannerEdge;
     }
 
     public void registerEdge(ProcedureEdge<?, ?> edge) {
@@ -138,6 +181,85 @@ public class GraphProcedure implements Procedure {
         edge.to().in(edge);
     }
 
+    /**
+     * Finds the cycles of the procedure, where the vertex that an edge branches to is also the end of closure edges
+     * from vertices that are bound before it, such that the vertex can be branched to from each of them at once, and
+     * the closure edges are answered by the intersection of those branches, rather than checked one vertex at a time.
+     * Without cycles, no vertex is the end of a closure edge from a vertex bound before it, and nothing is intersected.
+     */
+    private void registerIntersections() {
+        for (ProcedureEdge<?, ?> closure : edges) {
+            if (!closure.isClosureEdge() || !closure.isIntersectable() || !closure.to().isThing()) continue;
+            ProcedureEdge<?, ?> branch = closure.to().branchEdge();
+            ProcedureVertex<?, ?> bound = closure.from();
+            if (!branch.isIntersectable() || bound.equals(branch.to())) continue;
+            if (bound.ins().isEmpty() || bound.branchEdge().order() < branch.order()) {
+                intersections.computeIfAbsent(branch.order(), o -> new ArrayList<>()).add(closure);
+                intersectedClosures.add(closure.order());
+            }
+        }
+    }
+
+    /**
+     * Returns the closure edges whose branches from their bound vertices are intersected with the branch of the edge
+     * at the given position, which are empty unless the edge closes a cycle of the procedure.
+     */
+    public List<ProcedureEdge<?, ?>> intersections(int pos) {
+        return intersections.getOrDefault(pos, list());
+    }
+
+    /**
+     * Returns whether the closure edge at the given position is answered by the intersection of the branches to its
+     * end, such that it is closed for every vertex that the intersection branches out to.
+     */
+    public boolean isIntersected(int pos) {
+        return intersectedClosures.contains(pos);
+    }
+
+    /**
+     * Returns the cost that the edge at the given position was planned with, or {@code Double.NaN} if it was not.
+     */
+    public double estimatedCost(int pos) {
+        PlannerEdge.Directional<?, ?> plannerEdge = plannerEdges[pos - 1];
+        return plannerEdge != null ? plannerEdge.cost() : Double.NaN;
+    }
+
+    /**
+     * Returns the number of vertices that an execution of this procedure is estimated to traverse, as it was planned:
+     * those it starts from, and for each edge, those it branches out to from every partial answer of the edges
+     * before it. Returns {@code Double.NaN} if the procedure was not planned.
+     */
+    public double estimatedCost() {
+        double partialAnswers = startCost, cost = startCost;
+        for (int pos = 1; pos <= edges.length; pos++) {
+            partialAnswers *= estimatedCost(pos);
+            cost += partialAnswers;
+        }
+        return cost;
+    }
+
+    /**
+     * Returns whether this procedure can be answered a batch of bindings at a time, by a {@code BatchIterator}, which
+     * it can if every edge is batchable, and no closure is answered by an intersection.
+     */
+    public boolean isBatchable() {
+        return intersectedClosures.isEmpty() && Arrays.stream(edges).allMatch(ProcedureEdge::isBatchable);
+    }
+
+    public boolean isObservable() {
+        return plannerEdges.length > 0 && plannerEdges[0] != null;
+    }
+
+    /**
+     * Records what the edge at the given position branched out to during an execution of this procedure, against
+     * the edge of the plan that it was created from, if it was planned, and returns whether the edge has been observed
+     * to cost more than the plan estimated by more than the given ratio, such that it is being planned again.
+     */
+    public boolean observe(int pos, long branches, long vertices, double replanRatio) {
+        PlannerEdge.Directional<?, ?> plannerEdge = plannerEdges[pos - 1];
+        return plannerEdge != null && plannerEdge.observe(branches, vertices, replanRatio);
+    }
+
     private ProcedureVertex<?, ?> vertex(PlannerVertex<?> plannerVertex) {
         if (plannerVertex.isThing()) return thingVertex(plannerVertex.asThing());
         else return typeVertex(plannerVertex.asType());
@@ -153,16 +275,21 @@ public class GraphProcedure implements Procedure {
 
     private ProcedureVertex.Thing thingVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Thing(id, isStart)
+                identifier, id -> indexed(new ProcedureVertex.Thing(id, isStart))
         ).asThing();
     }
 
     private ProcedureVertex.Type typeVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Type(id, isStart)
+                identifier, id -> indexed(new ProcedureVertex.Type(id, isStart))
         ).asType();
     }
 
+    private ProcedureVertex<?, ?> indexed(ProcedureVertex<?, ?> vertex) {
+        vertex.index(vertices.size());
+        return vertex;
+    }
+
     private void assertWithinFilterBounds(Set<Identifier.Variable.Name> filter) {
         assert iterate(vertices.keySet()).anyMatch(id -> id.isName() && filter.contains(id.asVariable().asName()));
     }
@@ -170,26 +297,94 @@ public class GraphProcedure implements Procedure {
     @Override
     public Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
                                         Set<Identifier.Variable.Name> filter, int parallelisation) {
+        return producer(graphMgr, params, filter, parallelisation, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Returns a producer of the answers of this procedure, whose start vertices are scanned in partitions that are
+     * each iterated by a worker of its own, where the start vertex can be split, so that no single thread has to
+     * enumerate every start vertex. There are a few partitions for every worker, so that those that finish early
+     * can move on to the partitions that are left.
+     */
+    public Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params,
+                                        Set<Identifier.Variable.Name> filter, int parallelisation, double replanRatio) {
         LOG.debug(params.toString());
         LOG.debug(this.toString());
         assertWithinFilterBounds(filter);
         ConcurrentSet<VertexMap> produced = new ConcurrentSet<>();
-        ResourceIterator<ResourceIterator<VertexMap>> iterators = startVertex().iterator(graphMgr, params)
-                .map(v -> new GraphIterator(graphMgr, v, this, params, filter).distinct(produced));
+        List<? extends ResourceIterator<? extends Vertex<?, ?>>> partitions =
+                startVertex().partitions(graphMgr, params, parallelisation * PARTITIONS_PER_WORKER);
+        ResourceIterator<ResourceIterator<VertexMap>> iterators;
+        if (partitions.size() < parallelisation) {
+            // too few partitions to keep every worker busy: hand out every start vertex as a job of its own instead
+            ResourceIterator<Vertex<?, ?>> starts = link(partitions);
+            iterators = starts.map(v -> graphIterator(graphMgr, v, params, filter, replanRatio).distinct(produced));
+        } else {
+            iterators = iterate(partitions).map(partition -> iterator(
+                    graphMgr, partition, params, filter, replanRatio, () -> false
+            ).distinct(produced));
+        }
         return async(iterators, parallelisation);
     }
 
+    private ResourceIterator<VertexMap> graphIterator(GraphManager graphMgr, Vertex<?, ?> start,
+                                                      Traversal.Parameters params,
+                                                      Set<Identifier.Variable.Name> filter, double replanRatio) {
+        return new GraphIterator(graphMgr, start, this, params, filter, replanRatio, () -> false, null);
+    }
+
+    /**
+     * Returns an iterator over the answers of this procedure from each of the given start vertices, which answers
+     * them in batches if this procedure is batchable, and from one start vertex at a time otherwise.
+     */
+    private ResourceIterator<VertexMap> iterator(GraphManager graphMgr, ResourceIterator<? extends Vertex<?, ?>> starts,
+                                                 Traversal.Parameters params, Set<Identifier.Variable.Name> filter,
+                                                 double replanRatio, BooleanSupplier isRestartable) {
+        if (isBatchable()) {
+            return new BatchIterator(graphMgr, starts, this, params, filter, replanRatio, isRestartable);
+        } else {
+            return starts.flatMap(sv -> new GraphIterator(graphMgr, sv, this, params, filter,
+                                                          replanRatio, isRestartable, null));
+        }
+    }
+
     @Override
     public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
                                                 Set<Identifier.Variable.Name> filter) {
+        return iterator(graphMgr, params, filter, Double.POSITIVE_INFINITY, () -> false);
+    }
+
+    /**
+     * Returns an iterator over the answers of this procedure, whose executions record what each edge of the procedure
+     * branched out to, and the time that it took, into the given profile of the procedure.
+     */
+    public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
+                                                Set<Identifier.Variable.Name> filter,
+                                                TraversalProfile.Procedure profile) {
         LOG.debug(params.toString());
         LOG.debug(this.toString());
         assertWithinFilterBounds(filter);
         return startVertex().iterator(graphMgr, params).flatMap(
-                sv -> new GraphIterator(graphMgr, sv, this, params, filter)
+                sv -> new GraphIterator(graphMgr, sv, this, params, filter,
+                                        Double.POSITIVE_INFINITY, () -> false, profile)
         ).distinct();
     }
 
+    /**
+     * Returns an iterator over the answers of this procedure, whose executions report what the edges of the procedure
+     * branch out to, and which throws {@code GraphIterator.Restart} if the edges turn out to cost more than the plan
+     * estimated by more than the given ratio, as long as the iteration may still be restarted by then.
+     */
+    public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params,
+                                                Set<Identifier.Variable.Name> filter, double replanRatio,
+                                                BooleanSupplier isRestartable) {
+        LOG.debug(params.toString());
+        LOG.debug(this.toString());
+        assertWithinFilterBounds(filter);
+        return iterator(graphMgr, startVertex().iterator(graphMgr, params), params, filter,
+                        replanRatio, isRestartable).distinct();
+    }
+
     @Override
     public String toString() {
         StringBuilder str = new StringBuilder();
@@ -39,7 +39,9 @@ import grakn.core.traversal.iterator.GraphIterator;
 import grakn.core.traversal.planner.PlannerEdge;
 import graql.lang.common.GraqlToken;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -107,6 +109,51 @@ public abstract class ProcedureEdge<
     public abstract boolean isClosure(GraphManager graphMgr, Vertex<?, ?> fromVertex, Vertex<?, ?> toVertex,
                                       Traversal.Parameters params);
 
+    /**
+     * Returns whether the closure of this edge can be checked in batches, by
+     * {@link #isClosure(GraphManager, Vertex, boolean, List, Traversal.Parameters)}.
+     */
+    public boolean isClosureBatchable() {
+        return false;
+    }
+
+    /**
+     * Returns whether the vertices that this edge branches out to, from a bound vertex, can be intersected with the
+     * vertices that other such edges branch out to, from their own bound vertices, to the same vertex.
+     */
+    public boolean isIntersectable() {
+        return false;
+    }
+
+    /**
+     * Returns whether this edge can be executed over a batch of bindings at a time, by a {@code BatchIterator}, as
+     * it neither depends on nor records the scoped roles that a {@code GraphIterator} keeps while it backtracks.
+     */
+    public boolean isBatchable() {
+        return false;
+    }
+
+    /**
+     * Returns whether this edge is closed between a bound vertex on one end, and
+     * each of a batch of candidate vertices on the other end.
+     *
+     * @param graphMgr    the graph to check the edge in
+     * @param bound       the vertex on one end of the edge
+     * @param isBoundFrom true if {@code bound} is the {@code from} end of the edge
+     * @param candidates  the vertices on the other end of the edge
+     * @param params      the parameters of the traversal
+     * @return whether the edge is closed for each of the {@code candidates}, in the same order
+     */
+    public List<Boolean> isClosure(GraphManager graphMgr, Vertex<?, ?> bound, boolean isBoundFrom,
+                                   List<? extends Vertex<?, ?>> candidates, Traversal.Parameters params) {
+        List<Boolean> closures = new ArrayList<>(candidates.size());
+        for (Vertex<?, ?> candidate : candidates) {
+            if (isBoundFrom) closures.add(isClosure(graphMgr, bound, candidate, params));
+            else closures.add(isClosure(graphMgr, candidate, bound, params));
+        }
+        return closures;
+    }
+
     public int order() {
         return order;
     }
@@ -265,6 +312,11 @@ public abstract class ProcedureEdge<
                 this.isTransitive = isTransitive;
             }
 
+            @Override
+            public boolean isBatchable() {
+                return true;
+            }
+
             ResourceIterator<TypeVertex> isaTypes(ThingVertex thing) {
                 if (!isTransitive) return single(thing.type());
                 else return loop(thing.type(), Objects::nonNull, v -> v.outs().edge(SUB).to().firstOrNull());
@@ -674,9 +726,34 @@ public abstract class ProcedureEdge<
 
         static abstract class Thing extends Native<ProcedureVertex.Thing, ProcedureVertex.Thing> {
 
+            private final Encoding.Edge.Thing thingEncoding;
+
             private Thing(ProcedureVertex.Thing from, ProcedureVertex.Thing to, int order,
-                          Encoding.Direction.Edge direction, Encoding.Edge encoding) {
+                          Encoding.Direction.Edge direction, Encoding.Edge.Thing encoding) {
                 super(from, to, order, direction, encoding);
+                this.thingEncoding = encoding;
+            }
+
+            @Override
+            public boolean isClosureBatchable() {
+                return !isRolePlayer();
+            }
+
+            @Override
+            public boolean isIntersectable() {
+                return !isRolePlayer() && !to().id().isScoped();
+            }
+
+            @Override
+            public List<Boolean> isClosure(GraphManager graphMgr, Vertex<?, ?> bound, boolean isBoundFrom,
+                                           List<? extends Vertex<?, ?>> candidates, Traversal.Parameters params) {
+                assert isClosureBatchable();
+                ThingVertex boundThing = bound.asThing();
+                List<ThingVertex> candidateThings = iterate(candidates).map(Vertex::asThing).toList();
+                List<ThingEdge> edges;
+                if (direction().isForward() == isBoundFrom) edges = boundThing.outs().edges(thingEncoding, candidateThings);
+                else edges = boundThing.ins().edges(thingEncoding, candidateThings);
+                return iterate(edges).map(Objects::nonNull).toList();
             }
 
             static Native.Thing of(ProcedureVertex.Thing from, ProcedureVertex.Thing to,
@@ -732,6 +809,11 @@ public abstract class ProcedureEdge<
                     super(from, to, order, direction, HAS);
                 }
 
+                @Override
+                public boolean isBatchable() {
+                    return true;
+                }
+
                 static class Forward extends Has {
 
                     Forward(ProcedureVertex.Thing from, ProcedureVertex.Thing to, int order) {
@@ -24,6 +24,7 @@ import grakn.core.common.parameters.Label;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.common.Encoding;
 import grakn.core.graph.edge.ThingEdge;
+import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.vertex.AttributeVertex;
 import grakn.core.graph.vertex.ThingVertex;
 import grakn.core.graph.vertex.TypeVertex;
@@ -41,9 +42,12 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 
+import static grakn.common.collection.Collections.list;
 import static grakn.common.collection.Collections.set;
 import static grakn.common.util.Objects.className;
+import static grakn.core.common.collection.Bytes.compareUnsigned;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_ATTRIBUTE_TYPE;
@@ -53,9 +57,19 @@ import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.single;
 import static grakn.core.common.iterator.Iterators.tree;
 import static grakn.core.graph.common.Encoding.Edge.Type.SUB;
+import static grakn.core.graph.common.Encoding.ValueType.DATETIME;
+import static grakn.core.graph.common.Encoding.ValueType.DOUBLE;
+import static grakn.core.graph.common.Encoding.ValueType.DOUBLE_PRECISION;
+import static grakn.core.graph.common.Encoding.ValueType.LONG;
 import static grakn.core.graph.common.Encoding.ValueType.STRING;
 import static grakn.core.graph.common.Encoding.Vertex.Thing.ROLE;
 import static grakn.core.traversal.predicate.PredicateOperator.Equality.EQ;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LTE;
+import static grakn.core.traversal.predicate.PredicateOperator.SubString.CONTAINS;
+import static grakn.core.traversal.predicate.PredicateOperator.SubString.LIKE;
 
 public abstract class ProcedureVertex<
         VERTEX extends Vertex<?, ?>,
@@ -65,15 +79,31 @@ public abstract class ProcedureVertex<
     private final boolean isStartingVertex;
     private final AtomicReference<Set<Integer>> dependedEdgeOrders;
     private ProcedureEdge<?, ?> iteratorEdge;
+    private int index;
 
     ProcedureVertex(Identifier identifier, boolean isStartingVertex) {
         super(identifier);
         this.isStartingVertex = isStartingVertex;
         this.dependedEdgeOrders = new AtomicReference<>(null);
+        this.index = 0;
     }
 
     public abstract ResourceIterator<? extends VERTEX> iterator(GraphManager graphMgr, Traversal.Parameters parameters);
 
+    /**
+     * Returns the vertices that this starting vertex iterates over, split into disjoint partitions that can be
+     * iterated in parallel, or as a single partition if the vertices cannot be split.
+     *
+     * @param graphMgr   the graph manager of the vertices
+     * @param parameters the parameters of the traversal
+     * @param partitions the greatest number of partitions to split the vertices into, in total
+     * @return the iterators over every partition of the vertices, of which there is at least one
+     */
+    public List<ResourceIterator<? extends VERTEX>> partitions(GraphManager graphMgr, Traversal.Parameters parameters,
+                                                               int partitions) {
+        return list(iterator(graphMgr, parameters));
+    }
+
     @Override
     public void in(ProcedureEdge<?, ?> edge) {
         super.in(edge);
@@ -84,6 +114,18 @@ public abstract class ProcedureVertex<
         return isStartingVertex;
     }
 
+    /**
+     * Returns the position of this vertex among the vertices of its procedure, from 0 up to the number of vertices,
+     * which iterators of the procedure hold the state of this vertex at, rather than look it up by its identifier.
+     */
+    public int index() {
+        return index;
+    }
+
+    void index(int index) {
+        this.index = index;
+    }
+
     public Set<Integer> dependedEdgeOrders() {
         dependedEdgeOrders.compareAndSet(null, computeDependedEdgeOrders());
         return dependedEdgeOrders.get();
@@ -124,6 +166,9 @@ public abstract class ProcedureVertex<
 
     public static class Thing extends ProcedureVertex<ThingVertex, Properties.Thing> {
 
+        private static final String REGEX_METACHARACTERS = ".[]()*+?{}|^$\\";
+        private static final String REGEX_RUN_TERMINATORS = ".*+?$";
+
         Thing(Identifier identifier, boolean isStartingVertex) {
             super(identifier, isStartingVertex);
         }
@@ -151,6 +196,28 @@ public abstract class ProcedureVertex<
             else throw GraknException.of(ILLEGAL_STATE);
         }
 
+        /**
+         * Returns the instances of the types of this starting vertex in partitions that are shared between the types,
+         * each of which is read with a bounded seek of its own, if the instances are not looked up by IID, or by the
+         * predicates.
+         */
+        @Override
+        public List<ResourceIterator<? extends ThingVertex>> partitions(GraphManager graphMgr,
+                                                                       Traversal.Parameters parameters,
+                                                                       int partitions) {
+            assert isStartingVertex();
+            if (props().hasIID() || props().types().isEmpty() || !props().predicates().isEmpty()) {
+                return super.partitions(graphMgr, parameters, partitions);
+            }
+            List<TypeVertex> types = new ArrayList<>(props().types().size());
+            for (Label label : props().types()) types.add(assertTypeNotNull(graphMgr.schema().getType(label), label));
+            List<ResourceIterator<? extends ThingVertex>> iterators = new ArrayList<>();
+            for (ResourceIterator<ThingVertex> partition : graphMgr.data().get(types, partitions)) {
+                iterators.add(id().isVariable() ? filterReferableThings(partition) : partition);
+            }
+            return iterators;
+        }
+
         ResourceIterator<? extends ThingVertex> filter(ResourceIterator<? extends ThingVertex> iterator,
                                                        Traversal.Parameters params) {
             if (props().hasIID()) iterator = filterIID(iterator, params);
@@ -194,7 +261,7 @@ public abstract class ProcedureVertex<
                 } else {
                     attTypes = tree(graph.schema().rootAttributeType(), a -> a.ins().edge(SUB).from());
                 }
-                iter = attTypes.flatMap(t -> graph.data().get(t)).map(ThingVertex::asAttribute);
+                iter = attTypes.flatMap(t -> iterateOfType(graph, t, parameters)).map(ThingVertex::asAttribute);
             }
 
             if (props().predicates().isEmpty()) return iter;
@@ -222,13 +289,187 @@ public abstract class ProcedureVertex<
             if (eq.isPresent()) iter = iteratorOfAttributesWithTypes(graphMgr, parameters, eq.get());
             else iter = iterate(props().types().iterator())
                     .map(l -> assertTypeNotNull(graphMgr.schema().getType(l), l))
-                    .flatMap(t -> graphMgr.data().get(t));
+                    .flatMap(t -> iterateOfType(graphMgr, t, parameters));
 
             if (id().isVariable()) iter = filterReferableThings(iter);
             if (props().predicates().isEmpty()) return iter;
             else return filterPredicates(filterAttributes(iter), parameters, eq.orElse(null));
         }
 
+        /**
+         * Returns the instances of a given type, which are read with a range scan over the values of the
+         * attribute type instead, if the type is of a sorted value type, or of strings, and its values are
+         * bounded by its predicates. The caller is still responsible for filtering the predicates.
+         */
+        private ResourceIterator<ThingVertex> iterateOfType(GraphManager graphMgr, TypeVertex type,
+                                                            Traversal.Parameters parameters) {
+            if (props().predicates().isEmpty() || !type.isAttributeType()) return graphMgr.data().get(type);
+            else if (type.valueType().isSorted()) return iterateOfSortedType(graphMgr, type, parameters);
+            else if (type.valueType().equals(STRING)) return iterateOfStringType(graphMgr, type, parameters);
+            else return graphMgr.data().get(type);
+        }
+
+        private ResourceIterator<ThingVertex> iterateOfStringType(GraphManager graphMgr, TypeVertex type,
+                                                                  Traversal.Parameters parameters) {
+            String from = null, to = null;
+            boolean fromInclusive = true, toInclusive = true;
+            List<String> substrings = new ArrayList<>();
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!predicate.valueType().equals(STRING)) continue;
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    String lower = null, upper = null;
+                    boolean lowerInclusive = true, upperInclusive = false;
+                    if (predicate.operator().equals(LIKE)) {
+                        List<String> literals = regexLiterals(value.getRegex());
+                        substrings.addAll(literals);
+                        if (literals.get(0).isEmpty()) continue;
+                        lower = literals.get(0);
+                        upper = prefixSuccessor(lower);
+                    } else if (predicate.operator().equals(CONTAINS)) {
+                        substrings.add(value.getString());
+                        continue;
+                    } else if (predicate.operator().equals(GT) || predicate.operator().equals(GTE)) {
+                        lower = value.getString();
+                        lowerInclusive = predicate.operator().equals(GTE);
+                    } else if (predicate.operator().equals(LT) || predicate.operator().equals(LTE)) {
+                        upper = value.getString();
+                        upperInclusive = predicate.operator().equals(LTE);
+                    } else {
+                        continue;
+                    }
+                    if (lower != null) {
+                        int comparison = from == null ? 1 : lower.compareTo(from);
+                        if (comparison > 0 || (comparison == 0 && !lowerInclusive)) {
+                            from = lower;
+                            fromInclusive = lowerInclusive;
+                        }
+                    }
+                    if (upper != null) {
+                        int comparison = to == null ? -1 : upper.compareTo(to);
+                        if (comparison < 0 || (comparison == 0 && !upperInclusive)) {
+                            to = upper;
+                            toInclusive = upperInclusive;
+                        }
+                    }
+                }
+            }
+
+            if (from != null || to != null) return graphMgr.data().get(type, from, fromInclusive, to, toInclusive);
+            else if (!substrings.isEmpty()) return graphMgr.data().getContaining(type, substrings);
+            else return graphMgr.data().get(type);
+        }
+
+        /**
+         * Returns the runs of literal characters that every string matched in full by a given regular
+         * expression contains, in order, of which the first is the prefix of every such string, and is
+         * empty if there is none. The regex is only read up to the first construct that would need to be
+         * interpreted, such as a group or a character class.
+         */
+        static List<String> regexLiterals(Pattern regex) {
+            List<String> literals = new ArrayList<>();
+            StringBuilder run = new StringBuilder();
+            String pattern = regex.pattern();
+            int i = pattern.startsWith("^") ? 1 : 0;
+            if (regex.flags() != 0 || pattern.indexOf('|') >= 0) i = pattern.length();
+            while (i < pattern.length()) {
+                char c = pattern.charAt(i);
+                if (c == '\\' && i + 1 < pattern.length() && !Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    c = pattern.charAt(i + 1);
+                    i += 2;
+                } else if (REGEX_METACHARACTERS.indexOf(c) < 0) {
+                    i++;
+                } else if (REGEX_RUN_TERMINATORS.indexOf(c) >= 0) {
+                    literals.add(run.toString());
+                    run.setLength(0);
+                    i++;
+                    continue;
+                } else {
+                    break;
+                }
+                // a literal followed by a quantifier that allows it to be absent is not part of the run
+                if (i < pattern.length() && "*?{".indexOf(pattern.charAt(i)) >= 0) {
+                    if (Character.isLowSurrogate(c) && run.length() > 0) run.setLength(run.length() - 1);
+                    literals.add(run.toString());
+                    run.setLength(0);
+                } else {
+                    run.append(c);
+                }
+            }
+            literals.add(run.toString());
+            return literals;
+        }
+
+        /**
+         * Returns the least string that is greater than every string beginning with a given prefix,
+         * or null if there is none, as the prefix consists only of the greatest character.
+         */
+        @Nullable
+        static String prefixSuccessor(String prefix) {
+            char[] chars = prefix.toCharArray();
+            for (int i = chars.length - 1; i >= 0; i--) {
+                if (chars[i] != Character.MAX_VALUE) {
+                    chars[i]++;
+                    return new String(chars, 0, i + 1);
+                }
+            }
+            return null;
+        }
+
+        private ResourceIterator<ThingVertex> iterateOfSortedType(GraphManager graphMgr, TypeVertex type,
+                                                                  Traversal.Parameters parameters) {
+            VertexIID.Attribute<?> from = null, to = null;
+            boolean fromInclusive = true, toInclusive = true;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                boolean isLower = predicate.operator().equals(GT) || predicate.operator().equals(GTE);
+                boolean isUpper = predicate.operator().equals(LT) || predicate.operator().equals(LTE);
+                if (!isLower && !isUpper) continue;
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    VertexIID.Attribute<?> bound = rangeBound(type, predicate, value, isLower);
+                    if (bound == null) continue;
+                    boolean inclusive = type.valueType().equals(DOUBLE) ||
+                            predicate.operator().equals(GTE) || predicate.operator().equals(LTE);
+                    if (isLower) {
+                        int comparison = from == null ? 1 : compareUnsigned(bound.bytes(), from.bytes());
+                        if (comparison > 0 || (comparison == 0 && !inclusive)) {
+                            from = bound;
+                            fromInclusive = inclusive;
+                        }
+                    } else {
+                        int comparison = to == null ? -1 : compareUnsigned(bound.bytes(), to.bytes());
+                        if (comparison < 0 || (comparison == 0 && !inclusive)) {
+                            to = bound;
+                            toInclusive = inclusive;
+                        }
+                    }
+                }
+            }
+
+            if (from == null && to == null) return graphMgr.data().get(type);
+            else return graphMgr.data().get(type, from, fromInclusive, to, toInclusive);
+        }
+
+        @Nullable
+        private VertexIID.Attribute<?> rangeBound(TypeVertex type, Predicate.Value<?> predicate,
+                                                  Traversal.Parameters.Value value, boolean isLower) {
+            switch (type.valueType()) {
+                case LONG:
+                    if (!predicate.valueType().equals(LONG)) return null;
+                    return new VertexIID.Attribute.Long(type.iid(), value.getLong());
+                case DOUBLE:
+                    // doubles are compared within DOUBLE_PRECISION, so the bound is widened by it, and as -0.0
+                    // is encoded before every negative double, it cannot be excluded by a non-positive lower bound
+                    if (!predicate.valueType().equals(LONG) && !predicate.valueType().equals(DOUBLE)) return null;
+                    double bound = isLower ? value.getDouble() - DOUBLE_PRECISION : value.getDouble() + DOUBLE_PRECISION;
+                    if (isLower && bound <= 0) return null;
+                    return new VertexIID.Attribute.Double(type.iid(), bound);
+                case DATETIME:
+                    if (!predicate.valueType().equals(DATETIME)) return null;
+                    return new VertexIID.Attribute.DateTime(type.iid(), value.getDateTime());
+                default:
+                    return null;
+            }
+        }
+
         ResourceIterator<? extends ThingVertex> filterReferableThings(ResourceIterator<? extends ThingVertex> iterator) {
             assert id().isVariable();
             return iterator.filter(v -> !v.encoding().equals(ROLE));
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.traversal.procedure;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.traversal.procedure.ProcedureVertex.Thing.prefixSuccessor;
+import static grakn.core.traversal.procedure.ProcedureVertex.Thing.regexLiterals;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+
+public class ProcedureVertexTest {
+
+    private static String prefix(String regex) {
+        return regexLiterals(Pattern.compile(regex)).get(0);
+    }
+
+    private static List<String> literals(String regex) {
+        return iterate(regexLiterals(Pattern.compile(regex))).filter(literal -> !literal.isEmpty()).toList();
+    }
+
+    @Test
+    public void test_regex_literals_of_plain_runs() {
+        assertEquals("SKU-2021", prefix("^SKU-2021.*"));
+        assertEquals("SKU-2021", prefix("SKU-2021.*"));
+        assertEquals(list("SKU-", "-2021"), literals("^SKU-.*-2021$"));
+        assertEquals(list("ab", "c"), literals("ab+c"));
+        assertEquals("", prefix(".*abc"));
+        assertEquals(list("abc"), literals(".*abc"));
+    }
+
+    @Test
+    public void test_regex_literals_of_escapes() {
+        assertEquals("a.b", prefix("a\\.b.*"));
+        assertEquals(list("a.b", "c"), literals("a\\.b.*c"));
+        assertEquals("1+1", prefix("1\\+1"));
+        assertEquals("", prefix("\\d+x"));
+        assertEquals(list("ab"), literals("ab\\w"));
+    }
+
+    @Test
+    public void test_regex_literals_of_optional_characters() {
+        assertEquals("ab", prefix("abc?d"));
+        assertEquals(list("ab", "d"), literals("abc?d"));
+        assertEquals(list("ab"), literals("abc*"));
+        assertEquals("", prefix("x{2}"));
+    }
+
+    @Test
+    public void test_regex_literals_stop_at_alternation_groups_and_classes() {
+        assertEquals(list(), literals("ab|cd"));
+        assertEquals(list(), literals("^abc|^abd"));
+        assertEquals(list("ab"), literals("ab[cd]ef"));
+        assertEquals(list("ab"), literals("ab(cd)*"));
+        assertEquals(list(), literals("[a-z]+abc"));
+        assertEquals(list(), literals("(?i)abc"));
+        assertEquals(list(), iterate(regexLiterals(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)))
+                .filter(literal -> !literal.isEmpty()).toList());
+    }
+
+    @Test
+    public void test_prefix_successor() {
+        assertEquals("ac", prefixSuccessor("ab"));
+        assertEquals("b", prefixSuccessor("a\uFFFF"));
+        assertNull(prefixSuccessor("\uFFFF\uFFFF"));
+    }
+}
@@ -48,6 +48,10 @@ public class VertexProcedure implements Procedure {
         this.vertex = vertex;
     }
 
+    public ProcedureVertex<?, ?> vertex() {
+        return vertex;
+    }
+
     public static VertexProcedure create(PlannerVertex<?> plannerVertex) {
         assert plannerVertex.id().isName();
         return new VertexProcedure(toProcedure(plannerVertex));
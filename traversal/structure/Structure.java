@@ -26,6 +26,7 @@ import grakn.core.traversal.predicate.Predicate;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -33,6 +34,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import static java.util.stream.Collectors.toList;
+
 public class Structure {
 
     // TODO: create vertex properties first, then the vertex itself, then edges
@@ -111,6 +114,49 @@ public class Structure {
         to.in(edge);
     }
 
+    /**
+     * Returns the labels of the types that this structure refers to: through the labels of its type
+     * vertices, the types of its thing vertices, and the role types of its role player edges.
+     */
+    public Set<Label> labels() {
+        Set<Label> labels = new HashSet<>();
+        vertices.values().forEach(vertex -> {
+            if (vertex.isType()) labels.addAll(vertex.asType().props().labels());
+            else labels.addAll(vertex.asThing().props().types());
+        });
+        edges.forEach(edge -> {
+            if (edge.isNative() && edge.asNative().isRolePlayer()) labels.addAll(edge.asNative().asRolePlayer().types());
+        });
+        return labels;
+    }
+
+    /**
+     * Returns a description of this structure that is equal for equal structures, whichever order they
+     * were built in, and that remains the same across restarts of the server, unlike its hash code.
+     */
+    public String fingerprint() {
+        List<String> fingerprints = new ArrayList<>();
+        vertices.values().forEach(vertex -> fingerprints.add(fingerprint(vertex)));
+        edges.forEach(edge -> fingerprints.add(edge.fingerprint()));
+        Collections.sort(fingerprints);
+        return String.join(";", fingerprints);
+    }
+
+    private static String fingerprint(StructureVertex<?> vertex) {
+        if (vertex.isType()) {
+            TraversalVertex.Properties.Type props = vertex.asType().props();
+            return vertex.id() + "[type]" + sorted(props.labels()) + props.isAbstract() +
+                    sorted(props.valueTypes()) + props.regex().orElse("");
+        } else {
+            TraversalVertex.Properties.Thing props = vertex.asThing().props();
+            return vertex.id() + "[thing]" + props.hasIID() + sorted(props.types()) + sorted(props.predicates());
+        }
+    }
+
+    private static List<String> sorted(Set<?> elements) {
+        return elements.stream().map(Object::toString).sorted().collect(toList());
+    }
+
     public List<Structure> asGraphs() {
         if (structures == null) {
             structures = new ArrayList<>();
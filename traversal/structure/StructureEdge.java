@@ -30,6 +30,7 @@ import java.util.Set;
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.graph.common.Encoding.Edge.Thing.ROLEPLAYER;
+import static java.util.stream.Collectors.toList;
 
 public abstract class StructureEdge<VERTEX_FROM extends StructureVertex<?>, VERTEX_TO extends StructureVertex<?>>
         extends TraversalEdge<VERTEX_FROM, VERTEX_TO> {
@@ -62,6 +63,14 @@ public abstract class StructureEdge<VERTEX_FROM extends StructureVertex<?>, VERT
         throw GraknException.of(ILLEGAL_CAST, className(this.getClass()), className(Native.class));
     }
 
+    /**
+     * Returns a description of this edge that is equal for equal edges, and remains the same across
+     * restarts of the server, unlike its hash code.
+     */
+    public String fingerprint() {
+        return from.id() + "[" + symbol + "]" + to.id();
+    }
+
     public static class Equal extends StructureEdge<StructureVertex<?>, StructureVertex<?>> {
 
         private final int hash;
@@ -164,6 +173,11 @@ public abstract class StructureEdge<VERTEX_FROM extends StructureVertex<?>, VERT
             throw GraknException.of(ILLEGAL_CAST, className(this.getClass()), className(RolePlayer.class));
         }
 
+        @Override
+        public String fingerprint() {
+            return super.fingerprint() + (isTransitive ? "*" : "");
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -204,6 +218,11 @@ public abstract class StructureEdge<VERTEX_FROM extends StructureVertex<?>, VERT
             @Override
             public RolePlayer asRolePlayer() { return this; }
 
+            @Override
+            public String fingerprint() {
+                return super.fingerprint() + roleTypes.stream().map(Label::scopedName).sorted().collect(toList()) + repetition;
+            }
+
             @Override
             public boolean equals(Object o) {
                 if (this == o) return true;